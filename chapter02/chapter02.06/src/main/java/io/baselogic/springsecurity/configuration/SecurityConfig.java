@@ -1,8 +1,12 @@
 package io.baselogic.springsecurity.configuration;
 
+import io.baselogic.springsecurity.provisioning.CompactUserDetailsManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
+import org.springframework.core.io.Resource;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.authentication.configurers.provisioning.InMemoryUserDetailsManagerConfigurer;
@@ -19,6 +23,7 @@ import org.springframework.security.config.annotation.web.configuration.WebSecur
  * @since chapter02.03 Added basic role-based authorization
  * @since chapter02.04 converted antMatchers to SPeL expressions
  * @since chapter02.05 Added .defaultSuccessUrl("/default")
+ * @since chapter02.06 Users loaded from 'security.users.location' into a {@link CompactUserDetailsManager}
  */
 @Configuration
 @EnableWebSecurity(debug = true)
@@ -29,8 +34,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private static final String HASROLE_USER = "hasRole('USER')";
     private static final String HASROLE_ADMIN = "hasRole('ADMIN')";
 
-    private static final String ROLE_USER = "USER";
-    private static final String ROLE_ADMIN = "ADMIN";
+    /** A '.csv' file or a binary snapshot, see {@link io.baselogic.springsecurity.provisioning.CompactUserStore} */
+    @Value("${security.users.location:classpath:users.csv}")
+    private Resource usersLocation;
 
     /**
      * Configure {@link AuthenticationManager} with {@link InMemoryUserDetailsManagerConfigurer} credentials.
@@ -49,21 +55,42 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
      *          .withUser("user1@baselogic.com").password("user1").roles(ROLE_USER);
      * </code>
      *
+     * Users are now loaded from 'users.csv' by {@link CompactUserDetailsManager}, which scales to millions
+     * of users, instead of:
+     * <code>
+     *     am.inMemoryAuthentication()
+     *          .withUser("user1@baselogic.com").password("{noop}user1").roles(ROLE_USER)
+     *          .and().withUser("admin1@baselogic.com").password("{noop}admin1").roles(ROLE_USER, ROLE_ADMIN);
+     * </code>
+     *
      * @param am       AuthenticationManagerBuilder
      * @throws Exception Authentication exception
+     *
+     * @since chapter02.06 Replaced inMemoryAuthentication() with {@link CompactUserDetailsManager}
      */
     @Override
     public void configure(final AuthenticationManagerBuilder am) throws Exception {
 
-        am.inMemoryAuthentication()
-                .withUser("user1@baselogic.com").password("{noop}user1").roles(ROLE_USER)
-                .and().withUser("admin1@baselogic.com").password("{noop}admin1").roles(ROLE_USER, ROLE_ADMIN)
-        ;
+        am.userDetailsService(compactUserDetailsManager());
 
         log.debug("***** Password for user 'user1@baselogic.com' is 'user1'");
         log.debug("***** Password for admin 'admin1@baselogic.com' is 'admin1'");
     }
 
+    /**
+     * Compact, file based {@link org.springframework.security.provisioning.UserDetailsManager}.
+     * Call {@link CompactUserDetailsManager#reload(Resource)} to atomically replace all users.
+     *
+     * @return CompactUserDetailsManager
+     * @throws Exception if the users can not be loaded
+     * @since chapter02.06
+     */
+    @Bean
+    @Description("Compact in-memory UserDetailsManager")
+    public CompactUserDetailsManager compactUserDetailsManager() throws Exception {
+        return new CompactUserDetailsManager(usersLocation);
+    }
+
     /**
      * HTTP Security configuration
      *
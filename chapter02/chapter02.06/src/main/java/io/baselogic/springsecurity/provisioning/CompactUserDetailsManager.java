@@ -0,0 +1,167 @@
+package io.baselogic.springsecurity.provisioning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.provisioning.UserDetailsManager;
+import org.springframework.util.Assert;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link UserDetailsManager} backed by a {@link CompactUserStore}, as a replacement for
+ * {@link InMemoryUserDetailsManager} when loading a large, mostly static set of users from a file.
+ *
+ * Changes made through {@link UserDetailsManager} (createUser(), updateUser(), deleteUser() and
+ * changePassword()) are kept in a small overlay on top of the immutable store.
+ * {@link #reload(CompactUserStore)} swaps in a new store and overlay in a single write,
+ * so a lookup sees either the old or the new users, never a mix. Overlay changes are discarded by a reload.
+ *
+ * @author mickknutson
+ *
+ * @since chapter02.06 Created Class
+ */
+@Slf4j
+public class CompactUserDetailsManager implements UserDetailsManager {
+
+    private static final UserDetails DELETED = User.withUsername("deleted").password("")
+            .authorities(Collections.emptyList()).build();
+
+    private volatile State state;
+
+    private AuthenticationManager authenticationManager;
+
+
+    public CompactUserDetailsManager(final @NotNull CompactUserStore store) {
+        this.state = new State(store);
+    }
+
+    public CompactUserDetailsManager(final @NotNull Resource resource) throws IOException {
+        this(CompactUserStore.load(resource));
+    }
+
+
+    /**
+     * Atomically replace all users.
+     */
+    public void reload(final @NotNull CompactUserStore store) {
+        this.state = new State(store);
+        log.info("*** Reloaded {} users", store.size());
+    }
+
+    public void reload(final @NotNull Resource resource) throws IOException {
+        reload(CompactUserStore.load(resource));
+    }
+
+    public CompactUserStore getStore() {
+        return state.store;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    @Override
+    public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
+        State current = state;
+        UserDetails changed = current.overlay.get(CompactUserStore.key(username));
+        UserDetails result;
+        if (changed == null) {
+            result = current.store.find(username);
+        } else {
+            result = changed == DELETED ? null : copy(changed);
+        }
+        if (result == null) {
+            throw new UsernameNotFoundException(username);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean userExists(final String username) {
+        State current = state;
+        UserDetails changed = current.overlay.get(CompactUserStore.key(username));
+        if (changed != null) {
+            return changed != DELETED;
+        }
+        return current.store.contains(username);
+    }
+
+    @Override
+    public void createUser(final UserDetails user) {
+        Assert.isTrue(!userExists(user.getUsername()), "user should not exist");
+        state.overlay.put(CompactUserStore.key(user.getUsername()), copy(user));
+    }
+
+    @Override
+    public void updateUser(final UserDetails user) {
+        Assert.isTrue(userExists(user.getUsername()), "user should exist");
+        state.overlay.put(CompactUserStore.key(user.getUsername()), copy(user));
+    }
+
+    @Override
+    public void deleteUser(final String username) {
+        state.overlay.put(CompactUserStore.key(username), DELETED);
+    }
+
+    @Override
+    public void changePassword(final String oldPassword, final String newPassword) {
+        Authentication currentUser = SecurityContextHolder.getContext().getAuthentication();
+        if (currentUser == null) {
+            // This would indicate bad coding somewhere
+            throw new AccessDeniedException(
+                    "Can't change password as no Authentication object found in context for current user.");
+        }
+        String username = currentUser.getName();
+        log.debug("Changing password for user '{}'", username);
+
+        // If an authentication manager has been set, re-authenticate the user with the supplied password.
+        if (authenticationManager != null) {
+            log.debug("Reauthenticating user '{}' for password change request.", username);
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, oldPassword));
+        } else {
+            log.debug("No authentication manager set. Password won't be re-checked.");
+        }
+
+        if (!userExists(username)) {
+            throw new IllegalStateException("Current user doesn't exist in database.");
+        }
+        UserDetails user = loadUserByUsername(username);
+        state.overlay.put(CompactUserStore.key(username),
+                User.withUserDetails(user).password(newPassword).build());
+    }
+
+    public void setAuthenticationManager(final AuthenticationManager authenticationManager) {
+        this.authenticationManager = authenticationManager;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private static UserDetails copy(final UserDetails user) {
+        return new User(user.getUsername(), user.getPassword(), user.isEnabled(),
+                user.isAccountNonExpired(), user.isCredentialsNonExpired(), user.isAccountNonLocked(),
+                user.getAuthorities());
+    }
+
+    private static final class State {
+        private final CompactUserStore store;
+        private final Map<String, UserDetails> overlay = new ConcurrentHashMap<>();
+
+        private State(final CompactUserStore store) {
+            this.store = store;
+        }
+    }
+
+} // The End...
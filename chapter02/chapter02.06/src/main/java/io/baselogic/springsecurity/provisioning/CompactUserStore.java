@@ -0,0 +1,458 @@
+package io.baselogic.springsecurity.provisioning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.validation.constraints.NotNull;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * An immutable, compact store of users, for user sets far too large for the {@link User} objects
+ * held by {@link org.springframework.security.provisioning.InMemoryUserDetailsManager}.
+ *
+ * <ul>
+ *     <li>Usernames and passwords are packed into two UTF-8 byte buffers, addressed by offset.</li>
+ *     <li>Users are found through an open addressing (linear probing) table of user indexes.</li>
+ *     <li>Each distinct combination of authorities is stored once, users refer to it by a short id.</li>
+ * </ul>
+ *
+ * A store is built from a CSV file, or mapped from a binary snapshot written by
+ * {@link #writeSnapshot(Path)}. A mapped snapshot is used in place, so startup does not depend on the
+ * number of users.
+ *
+ * CSV format, one user per line, '#' starts a comment:
+ * <pre>
+ *     username,password,AUTHORITY_1;AUTHORITY_2[,enabled]
+ * </pre>
+ *
+ * Usernames are case-insensitive and stored in lower case.
+ *
+ * @author mickknutson
+ *
+ * @since chapter02.06 Created Class
+ */
+@Slf4j
+public final class CompactUserStore {
+
+    static final int MAGIC = 0x43555344; // CUSD
+    static final int VERSION = 1;
+
+    private static final byte ENABLED = 1;
+
+    private final int size;
+    private final IntBuffer table;
+    private final IntBuffer hashes;
+    private final IntBuffer nameOffsets;
+    private final IntBuffer passwordOffsets;
+    private final ShortBuffer authoritySetIds;
+    private final ByteBuffer flags;
+    private final ByteBuffer names;
+    private final ByteBuffer passwords;
+    private final List<Collection<GrantedAuthority>> authoritySets;
+
+
+    private CompactUserStore(final int size,
+                             final IntBuffer table,
+                             final IntBuffer hashes,
+                             final IntBuffer nameOffsets,
+                             final IntBuffer passwordOffsets,
+                             final ShortBuffer authoritySetIds,
+                             final ByteBuffer flags,
+                             final ByteBuffer names,
+                             final ByteBuffer passwords,
+                             final List<Collection<GrantedAuthority>> authoritySets) {
+        this.size = size;
+        this.table = table;
+        this.hashes = hashes;
+        this.nameOffsets = nameOffsets;
+        this.passwordOffsets = passwordOffsets;
+        this.authoritySetIds = authoritySetIds;
+        this.flags = flags;
+        this.names = names;
+        this.passwords = passwords;
+        this.authoritySets = authoritySets;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+
+    //-----------------------------------------------------------------------//
+    // Lookup
+
+    public int size() {
+        return size;
+    }
+
+    public int authoritySetCount() {
+        return authoritySets.size();
+    }
+
+    public boolean contains(final @NotNull String username) {
+        return indexOf(username) >= 0;
+    }
+
+    /**
+     * @return a new {@link User}, as the caller may erase its credentials, or null if there is no such user.
+     */
+    public UserDetails find(final @NotNull String username) {
+        int index = indexOf(username);
+        if (index < 0) {
+            return null;
+        }
+        boolean enabled = (flags.get(index) & ENABLED) != 0;
+        return new User(string(names, nameOffsets, index),
+                string(passwords, passwordOffsets, index),
+                enabled, true, true, true,
+                authoritySets.get(authoritySetIds.get(index)));
+    }
+
+    private int indexOf(final String username) {
+        String key = key(username);
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(key);
+        int mask = table.limit() - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = table.get(slot);
+            if (entry == 0) {
+                return -1;
+            }
+            int index = entry - 1;
+            if (hashes.get(index) == hash && nameEquals(index, bytes)) {
+                return index;
+            }
+        }
+    }
+
+    private boolean nameEquals(final int index, final byte[] bytes) {
+        int start = nameOffsets.get(index);
+        if (nameOffsets.get(index + 1) - start != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (names.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    //-----------------------------------------------------------------------//
+    // Loading
+
+    /**
+     * Load a '.csv' file, or map a binary snapshot.
+     */
+    public static CompactUserStore load(final @NotNull Resource resource) throws IOException {
+        long start = System.nanoTime();
+        CompactUserStore result;
+        String filename = resource.getFilename();
+        if (filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                result = fromCsv(reader);
+            }
+        } else {
+            result = fromSnapshot(resource.getFile().toPath());
+        }
+        log.info("*** Loaded {} users with {} authority sets from '{}' in {} ms",
+                result.size, result.authoritySets.size(), resource,
+                (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    public static CompactUserStore fromCsv(final @NotNull Reader reader) throws IOException {
+        Builder builder = builder();
+        BufferedReader lines = new BufferedReader(reader);
+        int lineNumber = 0;
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+            String[] columns = line.split(",", 4);
+            if (columns.length < 3) {
+                throw new IllegalArgumentException("Invalid user on line " + lineNumber + ": expected "
+                        + "'username,password,authorities[,enabled]'");
+            }
+            builder.add(columns[0].trim(), columns[1].trim(),
+                    columns.length < 4 || Boolean.parseBoolean(columns[3].trim()),
+                    Arrays.asList(columns[2].trim().split(";")));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Memory-map a snapshot written by {@link #writeSnapshot(Path)}. The file must not be modified
+     * while the store is in use, {@link #writeSnapshot(Path)} replaces it with an atomic move instead.
+     */
+    public static CompactUserStore fromSnapshot(final @NotNull Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a user snapshot, or unsupported version: " + path);
+        }
+        int size = buffer.getInt();
+        int tableSize = buffer.getInt();
+        int namesLength = buffer.getInt();
+        int passwordsLength = buffer.getInt();
+        int authoritySetCount = buffer.getInt();
+
+        List<Collection<GrantedAuthority>> authoritySets = new ArrayList<>(authoritySetCount);
+        for (int i = 0; i < authoritySetCount; i++) {
+            int count = buffer.getInt();
+            List<String> authorities = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                authorities.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            authoritySets.add(authorities(authorities));
+        }
+
+        return new CompactUserStore(size,
+                section(buffer, tableSize * Integer.BYTES).asIntBuffer(),
+                section(buffer, size * Integer.BYTES).asIntBuffer(),
+                section(buffer, (size + 1) * Integer.BYTES).asIntBuffer(),
+                section(buffer, (size + 1) * Integer.BYTES).asIntBuffer(),
+                section(buffer, size * Short.BYTES).asShortBuffer(),
+                section(buffer, size),
+                section(buffer, namesLength),
+                section(buffer, passwordsLength),
+                Collections.unmodifiableList(authoritySets));
+    }
+
+    /**
+     * Write this store as a binary snapshot. The file is written next to {@code path} and then moved
+     * in place, so a concurrent {@link #fromSnapshot(Path)} never sees a partial file.
+     */
+    public void writeSnapshot(final @NotNull Path path) throws IOException {
+        Path tmp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            out.writeInt(table.limit());
+            out.writeInt(names.limit());
+            out.writeInt(passwords.limit());
+            out.writeInt(authoritySets.size());
+
+            for (Collection<GrantedAuthority> authorities : authoritySets) {
+                out.writeInt(authorities.size());
+                for (GrantedAuthority authority : authorities) {
+                    byte[] bytes = authority.getAuthority().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+
+            write(out, table);
+            write(out, hashes);
+            write(out, nameOffsets);
+            write(out, passwordOffsets);
+            for (int i = 0; i < size; i++) {
+                out.writeShort(authoritySetIds.get(i));
+            }
+            write(out, flags);
+            write(out, names);
+            write(out, passwords);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    static String key(final String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Murmur3 finalizer over {@link String#hashCode()}, which is specified and so stable between JVMs.
+     */
+    static int hash(final String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static String string(final ByteBuffer buffer, final IntBuffer offsets, final int index) {
+        int start = offsets.get(index);
+        byte[] bytes = new byte[offsets.get(index + 1) - start];
+        ByteBuffer view = buffer.duplicate();
+        view.position(start);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Collection<GrantedAuthority> authorities(final Collection<String> authorities) {
+        List<GrantedAuthority> result = new ArrayList<>(authorities.size());
+        for (String authority : authorities) {
+            result.add(new SimpleGrantedAuthority(authority));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static ByteBuffer section(final ByteBuffer buffer, final int length) {
+        ByteBuffer result = buffer.slice();
+        result.limit(length);
+        buffer.position(buffer.position() + length);
+        return result;
+    }
+
+    private static void write(final DataOutputStream out, final IntBuffer buffer) throws IOException {
+        for (int i = 0; i < buffer.limit(); i++) {
+            out.writeInt(buffer.get(i));
+        }
+    }
+
+    private static void write(final DataOutputStream out, final ByteBuffer buffer) throws IOException {
+        for (int i = 0; i < buffer.limit(); i++) {
+            out.write(buffer.get(i));
+        }
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    /**
+     * Collects users into growable primitive arrays, then builds the lookup table.
+     */
+    public static final class Builder {
+
+        private int size;
+        private int[] hashes = new int[16];
+        private int[] nameOffsets = new int[17];
+        private int[] passwordOffsets = new int[17];
+        private short[] authoritySetIds = new short[16];
+        private byte[] flags = new byte[16];
+        private final ByteArrayOutputStream names = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream passwords = new ByteArrayOutputStream();
+
+        private final Map<String, Short> authoritySetIndex = new HashMap<>();
+        private final List<Collection<GrantedAuthority>> authoritySets = new ArrayList<>();
+
+        private Builder() {}
+
+        public Builder add(final @NotNull String username,
+                           final @NotNull String password,
+                           final boolean enabled,
+                           final @NotNull Collection<String> authorities) {
+            if (size == hashes.length) {
+                int capacity = size * 2;
+                hashes = Arrays.copyOf(hashes, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+                passwordOffsets = Arrays.copyOf(passwordOffsets, capacity + 1);
+                authoritySetIds = Arrays.copyOf(authoritySetIds, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+            }
+
+            String key = key(username);
+            names.writeBytes(key.getBytes(StandardCharsets.UTF_8));
+            passwords.writeBytes(password.getBytes(StandardCharsets.UTF_8));
+
+            hashes[size] = hash(key);
+            nameOffsets[size + 1] = names.size();
+            passwordOffsets[size + 1] = passwords.size();
+            authoritySetIds[size] = intern(authorities);
+            flags[size] = enabled ? ENABLED : 0;
+            size++;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException for a duplicate username
+         */
+        public CompactUserStore build() {
+            int tableSize = Integer.highestOneBit(Math.max(1, size * 2 - 1)) << 1;
+            int[] table = new int[tableSize];
+            byte[] nameBytes = names.toByteArray();
+            int mask = tableSize - 1;
+
+            for (int index = 0; index < size; index++) {
+                int slot = hashes[index] & mask;
+                for (; table[slot] != 0; slot = (slot + 1) & mask) {
+                    int other = table[slot] - 1;
+                    if (hashes[other] == hashes[index] && sameName(nameBytes, other, index)) {
+                        throw new IllegalArgumentException("Duplicate username: " + new String(nameBytes,
+                                nameOffsets[index], nameOffsets[index + 1] - nameOffsets[index],
+                                StandardCharsets.UTF_8));
+                    }
+                }
+                table[slot] = index + 1;
+            }
+
+            return new CompactUserStore(size,
+                    IntBuffer.wrap(table),
+                    IntBuffer.wrap(Arrays.copyOf(hashes, size)),
+                    IntBuffer.wrap(Arrays.copyOf(nameOffsets, size + 1)),
+                    IntBuffer.wrap(Arrays.copyOf(passwordOffsets, size + 1)),
+                    ShortBuffer.wrap(Arrays.copyOf(authoritySetIds, size)),
+                    ByteBuffer.wrap(Arrays.copyOf(flags, size)),
+                    ByteBuffer.wrap(nameBytes),
+                    ByteBuffer.wrap(passwords.toByteArray()),
+                    Collections.unmodifiableList(new ArrayList<>(authoritySets)));
+        }
+
+        private short intern(final Collection<String> authorities) {
+            TreeSet<String> sorted = new TreeSet<>();
+            for (String authority : authorities) {
+                if (!authority.trim().isEmpty()) {
+                    sorted.add(authority.trim());
+                }
+            }
+            return authoritySetIndex.computeIfAbsent(String.join(";", sorted), k -> {
+                if (authoritySets.size() > Short.MAX_VALUE) {
+                    throw new IllegalStateException("More than " + Short.MAX_VALUE + " distinct authority sets");
+                }
+                authoritySets.add(authorities(sorted));
+                return (short) (authoritySets.size() - 1);
+            });
+        }
+
+        private boolean sameName(final byte[] nameBytes, final int a, final int b) {
+            return Arrays.equals(nameBytes, nameOffsets[a], nameOffsets[a + 1],
+                    nameBytes, nameOffsets[b], nameOffsets[b + 1]);
+        }
+    }
+
+} // The End...
@@ -0,0 +1,103 @@
+package io.baselogic.springsecurity.provisioning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * CompactUserDetailsManagerTests
+ *
+ * @since chapter02.06
+ */
+@Slf4j
+class CompactUserDetailsManagerTests {
+
+    private CompactUserDetailsManager manager;
+
+
+    @BeforeEach
+    void beforeEachTest() throws Exception {
+        manager = new CompactUserDetailsManager(new ClassPathResource("users.csv"));
+    }
+
+    @AfterEach
+    void afterEachTest() {
+        SecurityContextHolder.clearContext();
+    }
+
+
+    @Test
+    @DisplayName("loadUserByUsername - user1")
+    void loadUserByUsername() {
+        assertThat(manager.loadUserByUsername("user1@baselogic.com").getPassword()).isEqualTo("{noop}user1");
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername - unknown user")
+    void loadUserByUsername_unknown_user() {
+        assertThrows(UsernameNotFoundException.class, () -> {
+            manager.loadUserByUsername("nobody@baselogic.com");
+        });
+    }
+
+    @Test
+    @DisplayName("createUser, updateUser and deleteUser")
+    void create_update_delete() {
+        manager.createUser(User.withUsername("user2@baselogic.com").password("{noop}user2").roles("USER").build());
+        assertThat(manager.userExists("user2@baselogic.com")).isTrue();
+
+        manager.updateUser(User.withUsername("user2@baselogic.com").password("{noop}changed").roles("USER").build());
+        assertThat(manager.loadUserByUsername("user2@baselogic.com").getPassword()).isEqualTo("{noop}changed");
+
+        manager.deleteUser("user1@baselogic.com");
+        assertThat(manager.userExists("user1@baselogic.com")).isFalse();
+        assertThrows(UsernameNotFoundException.class, () -> {
+            manager.loadUserByUsername("user1@baselogic.com");
+        });
+    }
+
+    @Test
+    @DisplayName("createUser - existing user")
+    void createUser_existing() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            manager.createUser(User.withUsername("user1@baselogic.com").password("x").roles("USER").build());
+        });
+    }
+
+    @Test
+    @DisplayName("changePassword - current user")
+    void changePassword() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user1@baselogic.com", "user1"));
+
+        manager.changePassword("{noop}user1", "{noop}changed");
+
+        assertThat(manager.loadUserByUsername("user1@baselogic.com").getPassword()).isEqualTo("{noop}changed");
+    }
+
+    @Test
+    @DisplayName("reload - replaces all users and discards changes")
+    void reload() throws Exception {
+        manager.deleteUser("user1@baselogic.com");
+
+        manager.reload(CompactUserStore.fromCsv(new StringReader(
+                "user1@baselogic.com,{noop}reloaded,ROLE_USER\n")));
+
+        assertThat(manager.loadUserByUsername("user1@baselogic.com").getPassword()).isEqualTo("{noop}reloaded");
+        assertThat(manager.userExists("admin1@baselogic.com")).isFalse();
+        assertThat(manager.getStore().size()).isEqualTo(1);
+    }
+
+} // The End...
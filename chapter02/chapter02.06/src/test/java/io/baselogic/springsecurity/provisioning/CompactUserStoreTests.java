@@ -0,0 +1,144 @@
+package io.baselogic.springsecurity.provisioning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * CompactUserStoreTests
+ *
+ * @since chapter02.06
+ */
+@Slf4j
+class CompactUserStoreTests {
+
+    private static final String CSV = "# comment\n"
+            + "user1@baselogic.com,{noop}user1,ROLE_USER\n"
+            + "\n"
+            + "admin1@baselogic.com,{noop}admin1,ROLE_USER;ROLE_ADMIN\n"
+            + "user2@baselogic.com,{noop}user2,ROLE_USER,false\n";
+
+
+    @Test
+    @DisplayName("CompactUserStore - load users.csv")
+    void load_csv() throws Exception {
+        CompactUserStore store = CompactUserStore.load(new ClassPathResource("users.csv"));
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.find("admin1@baselogic.com").getPassword()).isEqualTo("{noop}admin1");
+    }
+
+    @Test
+    @DisplayName("CompactUserStore - find")
+    void find() throws Exception {
+        CompactUserStore store = CompactUserStore.fromCsv(new StringReader(CSV));
+
+        UserDetails admin1 = store.find("Admin1@BaseLogic.com");
+        assertThat(admin1.getUsername()).isEqualTo("admin1@baselogic.com");
+        assertThat(admin1.getPassword()).isEqualTo("{noop}admin1");
+        assertThat(admin1.isEnabled()).isTrue();
+        assertThat(AuthorityUtils.authorityListToSet(admin1.getAuthorities()))
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+
+        assertThat(store.find("user2@baselogic.com").isEnabled()).isFalse();
+        assertThat(store.find("nobody@baselogic.com")).isNull();
+        assertThat(store.contains("user1@baselogic.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("CompactUserStore - authority sets are interned")
+    void authority_sets_interned() throws Exception {
+        CompactUserStore store = CompactUserStore.fromCsv(new StringReader(CSV
+                + "admin2@baselogic.com,{noop}admin2,ROLE_ADMIN;ROLE_USER\n"));
+
+        assertThat(store.size()).isEqualTo(4);
+        assertThat(store.authoritySetCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("CompactUserStore - snapshot round trip")
+    void snapshot(@TempDir Path directory) throws Exception {
+        Path snapshot = directory.resolve("users.bin");
+        CompactUserStore.fromCsv(new StringReader(CSV)).writeSnapshot(snapshot);
+
+        CompactUserStore store = CompactUserStore.load(new FileSystemResource(snapshot));
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.authoritySetCount()).isEqualTo(2);
+        assertThat(store.find("user1@baselogic.com").getPassword()).isEqualTo("{noop}user1");
+        assertThat(store.find("user2@baselogic.com").isEnabled()).isFalse();
+        assertThat(store.find("nobody@baselogic.com")).isNull();
+    }
+
+    @Test
+    @DisplayName("CompactUserStore - not a snapshot")
+    void snapshot_invalid(@TempDir Path directory) throws Exception {
+        Path snapshot = Files.write(directory.resolve("users.bin"), new byte[64]);
+
+        assertThrows(IOException.class, () -> {
+            CompactUserStore.fromSnapshot(snapshot);
+        });
+    }
+
+    @Test
+    @DisplayName("CompactUserStore - many users")
+    void many_users(@TempDir Path directory) throws Exception {
+        CompactUserStore.Builder builder = CompactUserStore.builder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.add("user" + i + "@baselogic.com", "{noop}password" + i, true,
+                    i % 10 == 0 ? Arrays.asList("ROLE_USER", "ROLE_ADMIN") : Collections.singletonList("ROLE_USER"));
+        }
+        Path snapshot = directory.resolve("users.bin");
+        builder.build().writeSnapshot(snapshot);
+
+        CompactUserStore store = CompactUserStore.fromSnapshot(snapshot);
+
+        assertThat(store.size()).isEqualTo(100_000);
+        assertThat(store.authoritySetCount()).isEqualTo(2);
+        for (int i = 0; i < 100_000; i += 997) {
+            assertThat(store.find("user" + i + "@baselogic.com").getPassword()).isEqualTo("{noop}password" + i);
+        }
+        assertThat(store.find("user100000@baselogic.com")).isNull();
+    }
+
+    @Test
+    @DisplayName("CompactUserStore - duplicate username")
+    void duplicate() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            CompactUserStore.fromCsv(new StringReader(CSV + "USER1@baselogic.com,{noop}user1,ROLE_USER\n"));
+        });
+    }
+
+    @Test
+    @DisplayName("CompactUserStore - invalid line")
+    void invalid_line() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            CompactUserStore.fromCsv(new StringReader("user1@baselogic.com,{noop}user1\n"));
+        });
+    }
+
+    @Test
+    @DisplayName("CompactUserStore - empty")
+    void empty() {
+        CompactUserStore store = CompactUserStore.builder().build();
+
+        assertThat(store.size()).isZero();
+        assertThat(store.find("user1@baselogic.com")).isNull();
+    }
+
+} // The End...
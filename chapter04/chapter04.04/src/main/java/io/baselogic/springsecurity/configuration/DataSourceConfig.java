@@ -18,6 +18,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  * @since chapter01.00
  * @since chapter04.02 Added customGroupAuthoritiesByUsernameQuery() for GBAC support
  * @since chapter04.03 Added Support for JdbcUserDetailsManager SQL
+ * @since chapter04.04 Added customUserWithAuthoritiesByUsernameQuery() for a single query login
  */
 @Configuration
 @EnableTransactionManagement
@@ -138,6 +139,25 @@ public class DataSourceConfig {
     }
 
 
+    /**
+     * Single query for the user and its 'appUsers_authorities', one row per authority.
+     * Column order is significant, see {@link io.baselogic.springsecurity.userdetails.SingleQueryJdbcUserDetailsManager}
+     * @return String SQL query
+     *
+     * @since chapter04.04
+     */
+    @Bean
+    @Description("Custom Query for 'appUsers' joined with 'appUsers_authorities'")
+    public String customUserWithAuthoritiesByUsernameQuery(){
+        return new StringBuilder(100)
+                .append("SELECT au.email, au.password, true, aua.authority ")
+                .append("FROM appUsers au LEFT OUTER JOIN appUsers_authorities aua ")
+                .append("ON au.id = aua.appUsers ")
+                .append("WHERE au.email = ?")
+                .toString();
+    }
+
+
     //-----------------------------------------------------------------------//
 
 
@@ -2,22 +2,25 @@ package io.baselogic.springsecurity.configuration;
 
 import io.baselogic.springsecurity.service.DefaultEventService;
 import io.baselogic.springsecurity.service.EventService;
+import io.baselogic.springsecurity.userdetails.SingleQueryJdbcUserDetailsManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
+import org.springframework.security.authentication.CachingUserDetailsService;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.provisioning.JdbcUserDetailsManager;
 import org.springframework.security.provisioning.UserDetailsManager;
 
 import javax.sql.DataSource;
@@ -43,6 +46,8 @@ import java.util.Map;
  * @since chapter04.01 Exposed 'JdbcUserDetailsManager' as 'UserDetailsManager' named 'userDetailsService'
  * @since chapter04.03 Added custom SQL Queries
  * @since chapter04.04 configured bcrypt passwordEncoder
+ * @since chapter04.04 Authenticate through a {@link CachingUserDetailsService} backed by the {@link UserCache}
+ * @since chapter04.04 Load the user and authorities in a single query, see {@link SingleQueryJdbcUserDetailsManager}
  */
 @Configuration
 @EnableWebSecurity
@@ -69,6 +74,12 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired @Qualifier("customUserByUsernameAuthoritiesQuery")
     private String customUserByUsernameAuthoritiesQuery;
 
+    @Autowired @Qualifier("customUserWithAuthoritiesByUsernameQuery")
+    private String customUserWithAuthoritiesByUsernameQuery;
+
+    @Autowired
+    private UserCache userCache;
+
 
     /**
      * Configure AuthenticationManager with inMemory credentials.
@@ -92,15 +103,21 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
      * @throws Exception Authentication exception
      *
      * @since chapter04.03 Added custom SQL queries
+     * @since chapter04.04 Replaced jdbcAuthentication() with a {@link CachingUserDetailsService}
+     *                     around {@link SecurityConfig#userDetailsService()}, which keeps the credentials
+     *                     of the authenticated users: the cached {@link UserDetails} is the same instance,
+     *                     erasing its password would fail the next login within the time-to-live
      */
     @Description("Configure AuthenticationManager with inMemory credentials")
     @Override
     public void configure(final AuthenticationManagerBuilder auth) throws Exception {
+        CachingUserDetailsService cachingUserDetailsService = new CachingUserDetailsService(userDetailsService());
+        cachingUserDetailsService.setUserCache(userCache);
+
         auth
-                .jdbcAuthentication()
-                .dataSource(dataSource)
-                .usersByUsernameQuery(customUserByUsernameQuery)
-                .authoritiesByUsernameQuery(customUserByUsernameAuthoritiesQuery)
+                .eraseCredentials(false)
+                .userDetailsService(cachingUserDetailsService)
+                .passwordEncoder(passwordEncoder())
         ;
     }
 
@@ -111,14 +128,18 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
      * UserDetailsManager vs UserDetailsService
      *
      * @since chapter04.03 Added custom SQL queries
+     * @since chapter04.04 {@link SingleQueryJdbcUserDetailsManager} loads the user and its authorities in one query
      */
     @Bean
     @Description("Expose 'JdbcUserDetailsManager' as 'UserDetailsManager' named 'userDetailsService'")
     @Override
     public UserDetailsManager userDetailsService() {
-        JdbcUserDetailsManager judm = new JdbcUserDetailsManager();
+        SingleQueryJdbcUserDetailsManager judm = new SingleQueryJdbcUserDetailsManager();
         judm.setDataSource(dataSource);
 
+        // Used by loadUserByUsername(), one round-trip per login
+        judm.setUserWithAuthoritiesByUsernameQuery(customUserWithAuthoritiesByUsernameQuery);
+
         // Override default SQL for JdbcUserDetailsManager
         judm.setUsersByUsernameQuery(customUserByUsernameQuery);
         judm.setAuthoritiesByUsernameQuery(customUserByUsernameAuthoritiesQuery);
@@ -127,6 +148,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         judm.setCreateUserSql(customCreateUserSql);
         judm.setCreateAuthoritySql(customCreateUserAuthoritiesSql);
 
+        // changePassword(), updateUser() and deleteUser() evict from the shared UserCache
+        judm.setUserCache(userCache);
+
         return judm;
     }
 
@@ -0,0 +1,39 @@
+package io.baselogic.springsecurity.configuration;
+
+import io.baselogic.springsecurity.userdetails.BoundedUserCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Description;
+import org.springframework.security.authentication.CachingUserDetailsService;
+
+import java.time.Duration;
+
+/**
+ * User Cache Configuration
+ *
+ * Provides the {@link BoundedUserCache} used by the {@link CachingUserDetailsService} in {@link SecurityConfig}
+ * so form login does not query 'appUsers' and 'appUsers_authorities' on every authentication.
+ *
+ * @author mickknutson
+ *
+ * @since chapter04.04 Created
+ */
+@Configuration
+public class UserCacheConfig {
+
+    @Value("${security.user-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${security.user-cache.time-to-live:5m}")
+    private Duration timeToLive;
+
+
+    @Bean
+    @Description("Bounded, TTL based UserCache")
+    public BoundedUserCache userCache(final MeterRegistry meterRegistry) {
+        return new BoundedUserCache(maxSize, timeToLive, meterRegistry);
+    }
+
+} // The End...
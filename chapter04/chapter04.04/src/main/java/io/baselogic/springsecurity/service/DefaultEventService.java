@@ -7,6 +7,7 @@ import io.baselogic.springsecurity.domain.Event;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
@@ -24,6 +25,7 @@ import java.util.List;
  * @since chapter03.02 adding {@link UserDetailsManager} userDetailsManager
  * @since chapter03.03 removed {@link UserDetailsManager} userDetailsManager
  * @since chapter04.03 added jdbcOperations.update for appUsers_authorities
+ * @since chapter04.04 Evict created users from the {@link UserCache}
  *
  */
 @Service
@@ -38,18 +40,22 @@ public class DefaultEventService implements EventService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final UserCache userCache;
+
 
     @Autowired
     public DefaultEventService(final @NotNull EventDao eventDao,
                                final @NotNull UserDao userDao,
                                final @NotNull @Qualifier("customCreateUserAuthoritiesSql") String customCreateUserAuthoritiesSql,
                                final @NotNull JdbcOperations jdbcOperations,
-                               final PasswordEncoder passwordEncoder) {
+                               final PasswordEncoder passwordEncoder,
+                               final @NotNull UserCache userCache) {
         this.eventDao = eventDao;
         this.userDao = userDao;
         this.customCreateUserAuthoritiesSql = customCreateUserAuthoritiesSql;
         this.jdbcOperations = jdbcOperations;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
     }
 
     @Override
@@ -103,6 +109,10 @@ public class DefaultEventService implements EventService {
 
         int userId = userDao.save(appUser);
         jdbcOperations.update(customCreateUserAuthoritiesSql, userId, "ROLE_USER");
+
+        // Never serve a stale UserDetails for a (re-)created email address:
+        userCache.removeUserFromCache(appUser.getEmail());
+
         return userId;
     }
 
@@ -0,0 +1,143 @@
+package io.baselogic.springsecurity.userdetails;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, time-to-live {@link UserCache} used to front the {@link org.springframework.security.provisioning.JdbcUserDetailsManager}
+ * with Spring Security's {@link org.springframework.security.authentication.CachingUserDetailsService}.
+ *
+ * Entries are kept in access order, so once {@code maxSize} is reached the least recently used
+ * {@link UserDetails} is evicted. Entries older than {@code timeToLive} are treated as a miss and removed.
+ *
+ * Metrics are published to the {@link MeterRegistry} as:
+ * <ul>
+ *     <li>{@code users.cache.hits}</li>
+ *     <li>{@code users.cache.misses}</li>
+ *     <li>{@code users.cache.evictions}</li>
+ *     <li>{@code users.cache.size}</li>
+ * </ul>
+ *
+ * @author mickknutson
+ *
+ * @since chapter04.04 Created Class
+ */
+@Slf4j
+public class BoundedUserCache implements UserCache {
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+
+    private final Map<String, CachedUser> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+
+    public BoundedUserCache(final int maxSize,
+                            final @NotNull Duration timeToLive,
+                            final @NotNull MeterRegistry meterRegistry) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+
+        this.cache = new LinkedHashMap<String, CachedUser>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedUser> eldest) {
+                boolean evict = size() > BoundedUserCache.this.maxSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+
+            private static final long serialVersionUID = 3104227716351637014L;
+        };
+
+        this.hits = meterRegistry.counter("users.cache.hits");
+        this.misses = meterRegistry.counter("users.cache.misses");
+        this.evictions = meterRegistry.counter("users.cache.evictions");
+        meterRegistry.gauge("users.cache.size", this, BoundedUserCache::size);
+    }
+
+
+    @Override
+    public UserDetails getUserFromCache(final String username) {
+        if (username == null) {
+            return null;
+        }
+        synchronized (cache) {
+            CachedUser cached = cache.get(username);
+            if (cached == null) {
+                misses.increment();
+                return null;
+            }
+            if (System.nanoTime() - cached.created >= timeToLiveNanos) {
+                cache.remove(username);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return cached.user;
+        }
+    }
+
+    @Override
+    public void putUserInCache(final @NotNull UserDetails user) {
+        synchronized (cache) {
+            cache.put(user.getUsername(), new CachedUser(user, System.nanoTime()));
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(final String username) {
+        if (username == null) {
+            return;
+        }
+        log.debug("*** Evicting '{}' from the user cache", username);
+        synchronized (cache) {
+            cache.remove(username);
+        }
+    }
+
+    /**
+     * Remove every cached {@link UserDetails}.
+     */
+    public void removeAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private static final class CachedUser {
+        private final UserDetails user;
+        private final long created;
+
+        private CachedUser(final UserDetails user, final long created) {
+            this.user = user;
+            this.created = created;
+        }
+    }
+
+} // The End...
@@ -0,0 +1,103 @@
+package io.baselogic.springsecurity.userdetails;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.JdbcUserDetailsManager;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link JdbcUserDetailsManager} that loads the user and all of its authorities with a single joined query,
+ * instead of the 'users-by-username-query' followed by the 'authorities-by-username-query'.
+ *
+ * The query must return one row per authority, with the columns in this order:
+ * <pre>
+ *     1: username, 2: password, 3: enabled, 4: authority (NULL when the user has no authorities)
+ * </pre>
+ * Columns are read by index, so no column label lookup is done per row.
+ *
+ * The query is a constant String, so every login re-prepares the same statement and hits the
+ * prepared statement cache of the driver (H2 caches the parsed command per session).
+ *
+ * Provisioning (createUser(), changePassword(), ...) is inherited unchanged from {@link JdbcUserDetailsManager}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter04.04 Created Class
+ */
+@Slf4j
+public class SingleQueryJdbcUserDetailsManager extends JdbcUserDetailsManager {
+
+    private static final int USERNAME = 1;
+    private static final int PASSWORD = 2;
+    private static final int ENABLED = 3;
+    private static final int AUTHORITY = 4;
+
+    private String userWithAuthoritiesByUsernameQuery;
+
+    private final ResultSetExtractor<UserDetails> extractor = rs -> {
+        String username = null;
+        String password = null;
+        boolean enabled = false;
+        List<GrantedAuthority> authorities = new ArrayList<>(2);
+
+        while (rs.next()) {
+            if (username == null) {
+                username = rs.getString(USERNAME);
+                password = rs.getString(PASSWORD);
+                enabled = rs.getBoolean(ENABLED);
+            }
+            String authority = rs.getString(AUTHORITY);
+            if (authority != null) {
+                authorities.add(new SimpleGrantedAuthority(getRolePrefix() + authority));
+            }
+        }
+
+        if (username == null) {
+            return null;
+        }
+        return new User(username, password, enabled, true, true, true, authorities);
+    };
+
+
+    public void setUserWithAuthoritiesByUsernameQuery(final @NotNull String userWithAuthoritiesByUsernameQuery) {
+        this.userWithAuthoritiesByUsernameQuery = userWithAuthoritiesByUsernameQuery;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(final String username) {
+        UserDetails user = getJdbcTemplate().query(userWithAuthoritiesByUsernameQuery,
+                ps -> ps.setString(1, username),
+                extractor);
+
+        if (user == null) {
+            log.debug("Query returned no results for user '{}'", username);
+            throw new UsernameNotFoundException(messages.getMessage("JdbcDaoImpl.notFound",
+                    new Object[] { username }, "Username {0} not found"));
+        }
+
+        if (user.getAuthorities().isEmpty()) {
+            log.debug("User '{}' has no authorities and will be treated as 'not found'", username);
+            throw new UsernameNotFoundException(messages.getMessage("JdbcDaoImpl.noAuthority",
+                    new Object[] { username }, "User {0} has no GrantedAuthority"));
+        }
+
+        return user;
+    }
+
+    @Override
+    protected void initDao() {
+        if (userWithAuthoritiesByUsernameQuery == null) {
+            throw new IllegalArgumentException("userWithAuthoritiesByUsernameQuery must be set");
+        }
+        super.initDao();
+    }
+
+} // The End...
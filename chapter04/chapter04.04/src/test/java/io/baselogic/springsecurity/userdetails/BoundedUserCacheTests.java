@@ -0,0 +1,99 @@
+package io.baselogic.springsecurity.userdetails;
+
+import io.baselogic.springsecurity.dao.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * BoundedUserCacheTests
+ *
+ * @since chapter04.04
+ */
+@Slf4j
+class BoundedUserCacheTests {
+
+    private MeterRegistry meterRegistry;
+    private BoundedUserCache userCache;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new BoundedUserCache(2, Duration.ofMinutes(5), meterRegistry);
+    }
+
+
+    @Test
+    @DisplayName("getUserFromCache - hit and miss")
+    void getUserFromCache() {
+        assertThat(userCache.getUserFromCache(TestUtils.user1UserDetails.getUsername())).isNull();
+
+        userCache.putUserInCache(TestUtils.user1UserDetails);
+        UserDetails result = userCache.getUserFromCache(TestUtils.user1UserDetails.getUsername());
+
+        assertThat(result).isSameAs(TestUtils.user1UserDetails);
+        assertThat(meterRegistry.counter("users.cache.hits").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("users.cache.misses").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getUserFromCache - null username")
+    void getUserFromCache_null_username() {
+        assertThat(userCache.getUserFromCache(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("putUserInCache - evicts least recently used")
+    void putUserInCache_evicts_eldest() {
+        userCache.putUserInCache(TestUtils.user1UserDetails);
+        userCache.putUserInCache(TestUtils.admin1UserDetails);
+        userCache.putUserInCache(TestUtils.springUserUser);
+
+        assertThat(userCache.size()).isEqualTo(2);
+        assertThat(userCache.getUserFromCache(TestUtils.user1UserDetails.getUsername())).isNull();
+        assertThat(meterRegistry.counter("users.cache.evictions").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("users.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getUserFromCache - expired entry")
+    void getUserFromCache_expired() {
+        userCache = new BoundedUserCache(2, Duration.ZERO, meterRegistry);
+        userCache.putUserInCache(TestUtils.user1UserDetails);
+
+        assertThat(userCache.getUserFromCache(TestUtils.user1UserDetails.getUsername())).isNull();
+        assertThat(userCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("removeUserFromCache")
+    void removeUserFromCache() {
+        userCache.putUserInCache(TestUtils.user1UserDetails);
+        userCache.putUserInCache(TestUtils.admin1UserDetails);
+
+        userCache.removeUserFromCache(TestUtils.user1UserDetails.getUsername());
+        assertThat(userCache.size()).isEqualTo(1);
+
+        userCache.removeAll();
+        assertThat(userCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("BoundedUserCache - invalid maxSize")
+    void invalid_maxSize() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new BoundedUserCache(0, Duration.ofMinutes(5), meterRegistry);
+        });
+    }
+
+} // The End...
@@ -0,0 +1,97 @@
+package io.baselogic.springsecurity.userdetails;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.JdbcUserDetailsManager;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * SingleQueryJdbcUserDetailsManagerTests
+ *
+ * @since chapter04.04
+ */
+@Slf4j
+class SingleQueryJdbcUserDetailsManagerTests {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcUserDetailsManager stock;
+    private SingleQueryJdbcUserDetailsManager singleQuery;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        dataSource = UserDetailsManagerBenchmark.createDataSource();
+        stock = UserDetailsManagerBenchmark.stockManager(dataSource);
+        singleQuery = UserDetailsManagerBenchmark.singleQueryManager(dataSource);
+    }
+
+    @AfterEach
+    void afterEachTest() {
+        dataSource.shutdown();
+    }
+
+
+    @Test
+    @DisplayName("loadUserByUsername - same UserDetails as the two query JdbcUserDetailsManager")
+    void loadUserByUsername() {
+        for (String username : UserDetailsManagerBenchmark.USERNAMES) {
+            UserDetails expected = stock.loadUserByUsername(username);
+            UserDetails result = singleQuery.loadUserByUsername(username);
+
+            assertThat(result.getUsername()).isEqualTo(expected.getUsername());
+            assertThat(result.getPassword()).isEqualTo(expected.getPassword());
+            assertThat(result.isEnabled()).isEqualTo(expected.isEnabled());
+            assertThat(AuthorityUtils.authorityListToSet(result.getAuthorities()))
+                    .isEqualTo(AuthorityUtils.authorityListToSet(expected.getAuthorities()));
+        }
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername - admin1 has two authorities")
+    void loadUserByUsername_admin1() {
+        UserDetails result = singleQuery.loadUserByUsername("admin1@baselogic.com");
+
+        assertThat(AuthorityUtils.authorityListToSet(result.getAuthorities()))
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername - unknown user")
+    void loadUserByUsername_unknown_user() {
+        assertThrows(UsernameNotFoundException.class, () -> {
+            singleQuery.loadUserByUsername("nobody@baselogic.com");
+        });
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername - user without authorities")
+    void loadUserByUsername_no_authorities() {
+        new JdbcTemplate(dataSource).update("DELETE FROM appUsers_authorities WHERE appUsers = 2");
+
+        assertThrows(UsernameNotFoundException.class, () -> {
+            singleQuery.loadUserByUsername("user2@baselogic.com");
+        });
+    }
+
+    @Test
+    @DisplayName("benchmark - both loaders complete")
+    void benchmark() {
+        Map<String, Double> result = UserDetailsManagerBenchmark.run(dataSource, 100);
+
+        assertThat(result).containsKeys(UserDetailsManagerBenchmark.STOCK, UserDetailsManagerBenchmark.SINGLE_QUERY);
+        assertThat(result.values()).allMatch(loginsPerSecond -> loginsPerSecond > 0);
+    }
+
+} // The End...
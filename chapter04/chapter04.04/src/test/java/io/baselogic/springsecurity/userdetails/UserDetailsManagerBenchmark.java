@@ -0,0 +1,118 @@
+package io.baselogic.springsecurity.userdetails;
+
+import io.baselogic.springsecurity.configuration.DataSourceConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.JdbcUserDetailsManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares the logins per second of the stock two query {@link JdbcUserDetailsManager}
+ * with the {@link SingleQueryJdbcUserDetailsManager} on an embedded H2 database.
+ *
+ * Only {@link UserDetailsService#loadUserByUsername(String)} is measured, as password hashing
+ * would otherwise dominate the result.
+ *
+ * Run from the IDE, optionally with the number of iterations as args[0].
+ *
+ * @since chapter04.04
+ */
+@Slf4j
+public final class UserDetailsManagerBenchmark {
+
+    public static final String STOCK = "JdbcUserDetailsManager";
+    public static final String SINGLE_QUERY = "SingleQueryJdbcUserDetailsManager";
+
+    static final String[] USERNAMES = {"user1@baselogic.com", "admin1@baselogic.com", "user2@baselogic.com"};
+
+    private static final int DEFAULT_ITERATIONS = 100_000;
+
+    private static final DataSourceConfig SQL = new DataSourceConfig();
+
+
+    public static void main(final String[] args) {
+        int iterations = args != null && args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+
+        EmbeddedDatabase dataSource = createDataSource();
+        try {
+            run(dataSource, iterations);
+        } finally {
+            dataSource.shutdown();
+        }
+    }
+
+    /**
+     * @return logins per second for each {@link UserDetailsService}
+     */
+    public static Map<String, Double> run(final DataSource dataSource, final int iterations) {
+        Map<String, UserDetailsService> services = new LinkedHashMap<>();
+        services.put(STOCK, stockManager(dataSource));
+        services.put(SINGLE_QUERY, singleQueryManager(dataSource));
+
+        StringBuilder report = new StringBuilder(500);
+        report.append("\n------------------------------------------------");
+        report.append("\nloadUserByUsername() x ").append(iterations);
+        report.append("\n------------------------------------------------");
+
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<String, UserDetailsService> service : services.entrySet()) {
+            // warm up
+            login(service.getValue(), iterations / 10 + 1);
+
+            long start = System.nanoTime();
+            login(service.getValue(), iterations);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            double loginsPerSecond = iterations / seconds;
+            result.put(service.getKey(), loginsPerSecond);
+            report.append(String.format("%n  %-35s %12.0f logins/s", service.getKey(), loginsPerSecond));
+        }
+        report.append("\n------------------------------------------------\n");
+
+        log.info(report.toString());
+        return result;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    static EmbeddedDatabase createDataSource() {
+        return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScripts("database/h2/events-schema.sql",
+                        "database/h2/events-authorities-schema.sql",
+                        "database/h2/events-data.sql",
+                        "database/h2/events-authorities-data.sql",
+                        "database/h2/app_user_bcrypt_password_update.sql")
+                .build();
+    }
+
+    static JdbcUserDetailsManager stockManager(final DataSource dataSource) {
+        JdbcUserDetailsManager judm = new JdbcUserDetailsManager();
+        judm.setDataSource(dataSource);
+        judm.setUsersByUsernameQuery(SQL.customUserByUsernameQuery());
+        judm.setAuthoritiesByUsernameQuery(SQL.customUserByUsernameAuthoritiesQuery());
+        return judm;
+    }
+
+    static SingleQueryJdbcUserDetailsManager singleQueryManager(final DataSource dataSource) {
+        SingleQueryJdbcUserDetailsManager judm = new SingleQueryJdbcUserDetailsManager();
+        judm.setDataSource(dataSource);
+        judm.setUserWithAuthoritiesByUsernameQuery(SQL.customUserWithAuthoritiesByUsernameQuery());
+        return judm;
+    }
+
+    private static void login(final UserDetailsService userDetailsService, final int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            userDetailsService.loadUserByUsername(USERNAMES[i % USERNAMES.length]);
+        }
+    }
+
+} // The End...
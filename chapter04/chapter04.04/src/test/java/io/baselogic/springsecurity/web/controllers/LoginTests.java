@@ -246,6 +246,31 @@ public class LoginTests {
     }
 
 
+    /**
+     * Test two form logins of the same user within the time-to-live of the
+     * {@link io.baselogic.springsecurity.userdetails.BoundedUserCache}: the second login is served from the cache,
+     * so the credentials of the cached user must not be erased by the first one.
+     *
+     * @throws Exception is the test fails unexpectedly.
+     *
+     * @since chapter04.04
+     */
+    @Test
+    @DisplayName("Form Login - twice - user1 - cached user keeps its credentials")
+    public void testFormLogin_twice_user1_authenticated() throws Exception {
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(
+                    formLogin()
+                            .user(USER)
+                            .password(TestUtils.user1.getPassword())
+            )
+                    .andExpect(authenticated().withUsername(USER))
+                    .andExpect(redirectedUrl("/default"));
+        }
+    }
+
+
     //-----------------------------------------------------------------------//
     // admin1 Tests
 
@@ -1,6 +1,7 @@
 package io.baselogic.springsecurity.configuration;
 
 import io.baselogic.springsecurity.dao.EventRowMapper;
+import io.baselogic.springsecurity.dao.EventSummaryRowMapper;
 import io.baselogic.springsecurity.dao.UserRowMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.h2.server.web.WebServlet;
@@ -18,6 +19,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  * @since chapter01.00
  * @since chapter04.02 Added customGroupAuthoritiesByUsernameQuery() for GBAC support
  * @since chapter04.03 Added Support for JdbcUserDetailsManager SQL
+ * @since chapter05.00 Added eventSummaryQuery() for the event lists
  */
 @Configuration
 @EnableTransactionManagement
@@ -67,6 +69,27 @@ public class DataSourceConfig {
                 .toString();
     }
 
+    @Bean
+    @Description("EventSummary RowMapper")
+    public EventSummaryRowMapper eventSummaryRowMapper(){
+        return new EventSummaryRowMapper();
+    }
+
+    /**
+     * Only the columns of an {@link io.baselogic.springsecurity.domain.EventSummary}, for the event lists.
+     * @return String SQL query
+     */
+    @Bean
+    @Description("Jdbc SQL Query for 'EVENT' summaries")
+    public String eventSummaryQuery(){
+        return new StringBuilder(100)
+                .append("SELECT e.id, e.summary, e.event_date, ")
+                .append("owner.email as owner_email, attendee.email as attendee_email ")
+                .append("FROM events as e, appUsers as owner, appUsers as attendee ")
+                .append("WHERE e.owner = owner.id and e.attendee = attendee.id")
+                .toString();
+    }
+
     @Bean
     @Description("Jdbc SQL Query for 'appUsers'")
     public String userQuery(){
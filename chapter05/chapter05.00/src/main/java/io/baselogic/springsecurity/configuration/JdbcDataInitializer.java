@@ -0,0 +1,187 @@
+package io.baselogic.springsecurity.configuration;
+
+import io.baselogic.springsecurity.configuration.SyntheticDataset.EventRow;
+import io.baselogic.springsecurity.configuration.SyntheticDataset.UserRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Seeds the database with the 'spring.datasource.schema' and 'spring.datasource.data' scripts, and optionally
+ * a {@link SyntheticDataset}, only when the seed version in the {@value #SEED_VERSION} table is not current.
+ *
+ * This replaces the Spring Boot script initialization, 'spring.datasource.initialization-mode: never', which
+ * replays every script on every start. The seed version is 'events.seed.version', to be raised when the scripts
+ * change, with the parameters of the synthetic dataset, see {@link SyntheticDataset#version(int)}.
+ *
+ * When the version changed, the seeded tables are cleared and seeded again. The synthetic rows are written with
+ * JDBC batches of 'events.seed.batch-size' rows, then the identity columns restart above them.
+ *
+ * With read replicas the seeding uses the primary: it is not in a read-only transaction,
+ * see {@link ReplicaDataSourceConfig}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+@Component
+@Slf4j
+public class JdbcDataInitializer {
+
+    public static final String SEED_VERSION = "seed_version";
+
+    /** The seeded tables, in the order they are cleared */
+    private static final List<String> SEEDED_TABLES = List.of("appUsers_authorities", "events", "appUsers");
+
+    private static final String SEED_NAME = "events";
+
+    private final DataSource dataSource;
+    private final DataSourceProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    private final int seedVersion;
+    private final SyntheticDataset dataset;
+    private final int batchSize;
+
+
+    public JdbcDataInitializer(final DataSource dataSource,
+                               final DataSourceProperties properties,
+                               final @Value("${events.seed.version:1}") int seedVersion,
+                               final @Value("${events.seed.synthetic.users:0}") int users,
+                               final @Value("${events.seed.synthetic.events:0}") int events,
+                               final @Value("${events.seed.synthetic.random-seed:42}") long randomSeed,
+                               final @Value("${events.seed.batch-size:10000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Expected events.seed.batch-size >= 1 but was " + batchSize);
+        }
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.seedVersion = seedVersion;
+        this.dataset = new SyntheticDataset(users, events, randomSeed);
+        this.batchSize = batchSize;
+    }
+
+
+    @PostConstruct
+    public void setUp() {
+        seed();
+    }
+
+    /**
+     * @return true if the database was seeded, false if the seed version was current
+     */
+    public boolean seed() {
+        String version = dataset.version(seedVersion);
+        String current = currentVersion();
+        if (version.equals(current)) {
+            log.info("*** Seed version {} is current, skipping the seeding", version);
+            return false;
+        }
+
+        long start = System.nanoTime();
+        if (current == null) {
+            populate(properties.getSchema());
+        } else {
+            log.info("*** Seed version {} replaces {}, clearing {}", version, current, SEEDED_TABLES);
+            SEEDED_TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+        }
+        populate(properties.getData());
+
+        if (!dataset.isEmpty()) {
+            seedSynthetic();
+        }
+
+        jdbcTemplate.update("DELETE FROM " + SEED_VERSION + " WHERE name = ?", SEED_NAME);
+        jdbcTemplate.update("INSERT INTO " + SEED_VERSION + " (name, version, seeded_at) VALUES (?, ?, ?)",
+                SEED_NAME, version, new Timestamp(System.currentTimeMillis()));
+
+        log.info("*** Seeded version {} in {} ms", version,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return true;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    /**
+     * @return the seed version of the database, or null if it was never seeded
+     */
+    private String currentVersion() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + SEED_VERSION + " ("
+                + "name VARCHAR(50) NOT NULL PRIMARY KEY, "
+                + "version VARCHAR(100) NOT NULL, "
+                + "seeded_at TIMESTAMP NOT NULL)");
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM " + SEED_VERSION + " WHERE name = ?", String.class, SEED_NAME);
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    private void populate(final List<String> locations) {
+        if (locations == null || locations.isEmpty()) {
+            return;
+        }
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        locations.forEach(location -> populator.addScript(resourceLoader.getResource(location)));
+        populator.setContinueOnError(properties.isContinueOnError());
+        populator.setSeparator(properties.getSeparator());
+        if (properties.getSqlScriptEncoding() != null) {
+            populator.setSqlScriptEncoding(properties.getSqlScriptEncoding().name());
+        }
+        DatabasePopulatorUtils.execute(populator, dataSource);
+    }
+
+    private void seedSynthetic() {
+        long start = System.nanoTime();
+
+        batchInsert("INSERT INTO appUsers (id, email, password, first_name, last_name) VALUES (?, ?, ?, ?, ?)",
+                dataset.users(),
+                (UserRow u) -> new Object[]{u.getId(), u.getEmail(), u.getPassword(), u.getFirstName(), u.getLastName()});
+        batchInsert("INSERT INTO appUsers_authorities (appUsers, authority) VALUES (?, 'ROLE_USER')",
+                dataset.users(),
+                (UserRow u) -> new Object[]{u.getId()});
+        batchInsert("INSERT INTO events (id, event_date, summary, description, owner, attendee) VALUES (?, ?, ?, ?, ?, ?)",
+                dataset.events(),
+                (EventRow e) -> new Object[]{e.getId(), new Timestamp(e.getWhen()), e.getSummary(), e.getDescription(),
+                        e.getOwner(), e.getAttendee()});
+
+        // New rows get ids above the synthetic ones
+        jdbcTemplate.execute("ALTER TABLE appUsers ALTER COLUMN id RESTART WITH " + (dataset.getLastUserId() + 1));
+        if (dataset.getEvents() > 0) {
+            jdbcTemplate.execute("ALTER TABLE events ALTER COLUMN id RESTART WITH " + (dataset.getLastEventId() + 1));
+        }
+
+        log.info("*** Seeded {} synthetic users and {} events in {} ms", dataset.getUsers(), dataset.getEvents(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private <T> void batchInsert(final String sql, final Stream<T> rows, final Function<T, Object[]> values) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            batch.add(values.apply(iterator.next()));
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+
+} // The End...
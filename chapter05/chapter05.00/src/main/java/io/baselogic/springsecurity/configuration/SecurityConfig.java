@@ -169,7 +169,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/registration/*").permitAll()
                 .antMatchers("/login/*").permitAll()
                 .antMatchers("/logout/*").hasAnyRole(ROLE_ANONYMOUS, ROLE_USER)
-                .antMatchers("/admin/*").hasRole(ROLE_ADMIN)
+                .antMatchers("/admin/**").hasRole(ROLE_ADMIN)
                 .antMatchers("/events/").hasRole(ROLE_ADMIN)
                 .antMatchers("/**").hasRole(ROLE_USER)
         );
@@ -2,15 +2,28 @@ package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
 
 /**
  * An Event implementation of {@link RowMapper}.
  *
+ * The {@link #indexed()} mode resolves the column indexes once per {@link ResultSet}, shares a single
+ * {@link AppUser} instance per user id between all the {@link Event}'s of the {@link ResultSet}, and
+ * creates the {@link Calendar} of each row directly with a {@link TimeZone} and {@link Locale} looked up
+ * once, instead of through {@link Calendar#getInstance()}.
+ *
  * @since chapter01.00
  *
  * @author mickknutson
@@ -22,6 +35,8 @@ public class EventRowMapper implements RowMapper<Event> {
 
     private UserRowMapper attendeeRowMapper;
 
+    private final ResultSetExtractor<List<Event>> indexed = this::extractIndexed;
+
     /**
      * Creates a new instance that takes an owner and attendee {@link UserRowMapper}
      *
@@ -53,4 +68,53 @@ public class EventRowMapper implements RowMapper<Event> {
                 .build();
     }
 
+    /**
+     * The {@link AppUser}'s of the returned {@link Event}'s are shared, an owner or attendee must not
+     * be modified through one {@link Event} only.
+     *
+     * @return a {@link ResultSetExtractor} that maps every row of a {@link ResultSet} with resolved column indexes
+     * @since chapter05.00
+     */
+    public ResultSetExtractor<List<Event>> indexed() {
+        return indexed;
+    }
+
+
+    //-----------------------------------------------------------------------//
+    // @since chapter05.00 Indexed mode
+
+    private List<Event> extractIndexed(final ResultSet rs) throws SQLException {
+        List<Event> events = new ArrayList<>();
+        if (!rs.next()) {
+            return events;
+        }
+
+        int id = rs.findColumn("events.id");
+        int summary = rs.findColumn("events.summary");
+        int description = rs.findColumn("events.description");
+        int eventDate = rs.findColumn("events.event_date");
+        UserRowMapper.Columns ownerColumns = ownerRowMapper.columns(rs);
+        UserRowMapper.Columns attendeeColumns = attendeeRowMapper.columns(rs);
+
+        Map<Integer, AppUser> identityMap = new HashMap<>();
+        TimeZone timeZone = TimeZone.getDefault();
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+
+        do {
+            Calendar when = new GregorianCalendar(timeZone, locale);
+            when.setTimeInMillis(rs.getDate(eventDate).getTime());
+
+            events.add(Event.builder()
+                    .id(rs.getInt(id))
+                    .summary(rs.getString(summary))
+                    .description(rs.getString(description))
+                    .when(when)
+                    .attendee(attendeeRowMapper.mapRow(rs, attendeeColumns, identityMap))
+                    .owner(ownerRowMapper.mapRow(rs, ownerColumns, identityMap))
+                    .build());
+        } while (rs.next());
+
+        return events;
+    }
+
 } // The End...
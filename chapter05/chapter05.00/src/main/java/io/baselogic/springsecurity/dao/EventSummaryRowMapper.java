@@ -0,0 +1,82 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.domain.EventSummary;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * An {@link EventSummary} implementation of {@link RowMapper}, for the 'eventSummaryQuery'.
+ *
+ * The {@link #indexed()} mode resolves the column indexes once per {@link ResultSet}, like
+ * {@link EventRowMapper#indexed()}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+public class EventSummaryRowMapper implements RowMapper<EventSummary> {
+
+    private final ResultSetExtractor<List<EventSummary>> indexed = this::extractIndexed;
+
+
+    @Override
+    public EventSummary mapRow(final ResultSet rs, final int rowNum) throws SQLException {
+        Calendar when = Calendar.getInstance();
+        when.setTime(rs.getTimestamp("events.event_date"));
+
+        return new EventSummary(rs.getInt("events.id"),
+                rs.getString("events.summary"),
+                when,
+                rs.getString("owner_email"),
+                rs.getString("attendee_email"));
+    }
+
+    /**
+     * @return a {@link ResultSetExtractor} that maps every row of a {@link ResultSet} with resolved column indexes
+     */
+    public ResultSetExtractor<List<EventSummary>> indexed() {
+        return indexed;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private List<EventSummary> extractIndexed(final ResultSet rs) throws SQLException {
+        List<EventSummary> events = new ArrayList<>();
+        if (!rs.next()) {
+            return events;
+        }
+
+        int id = rs.findColumn("events.id");
+        int summary = rs.findColumn("events.summary");
+        int eventDate = rs.findColumn("events.event_date");
+        int ownerEmail = rs.findColumn("owner_email");
+        int attendeeEmail = rs.findColumn("attendee_email");
+
+        TimeZone timeZone = TimeZone.getDefault();
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+
+        do {
+            Calendar when = new GregorianCalendar(timeZone, locale);
+            when.setTimeInMillis(rs.getTimestamp(eventDate).getTime());
+
+            events.add(new EventSummary(rs.getInt(id),
+                    rs.getString(summary),
+                    when,
+                    rs.getString(ownerEmail),
+                    rs.getString(attendeeEmail)));
+        } while (rs.next());
+
+        return events;
+    }
+
+} // The End...
@@ -0,0 +1,70 @@
+package io.baselogic.springsecurity.dao;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts rows as JDBC batches on a single {@link PreparedStatement}, and collects the generated ids of every batch.
+ *
+ * The {@link java.sql.Connection} is the one of the current transaction, if any.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+final class JdbcBatchInsert {
+
+    static final int BATCH_SIZE = 500;
+
+    private JdbcBatchInsert() {
+    }
+
+    /**
+     * @param jdbcOperations the {@link JdbcOperations} to get the {@link java.sql.Connection} from
+     * @param sql the insert statement with '?' placeholders
+     * @param rows the rows to insert
+     * @param setter sets the placeholders for a row
+     * @return the generated ids, in the order of {@code rows}
+     */
+    static <T> List<Integer> insert(final JdbcOperations jdbcOperations,
+                                    final String sql,
+                                    final List<T> rows,
+                                    final ParameterizedPreparedStatementSetter<T> setter) {
+        return jdbcOperations.execute((ConnectionCallback<List<Integer>>) connection -> {
+            List<Integer> ids = new ArrayList<>(rows.size());
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int pending = 0;
+                for (T row : rows) {
+                    setter.setValues(ps, row);
+                    ps.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        executeBatch(ps, ids);
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    executeBatch(ps, ids);
+                }
+            }
+            return ids;
+        });
+    }
+
+    private static void executeBatch(final PreparedStatement ps, final List<Integer> ids) throws SQLException {
+        ps.executeBatch();
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getInt(1));
+            }
+        }
+    }
+
+} // The End...
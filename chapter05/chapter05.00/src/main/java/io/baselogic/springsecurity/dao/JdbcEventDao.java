@@ -2,6 +2,7 @@ package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventSummary;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -14,13 +15,18 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.sql.Timestamp;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * A jdbc implementation of {@link EventDao}.
  *
  * @author mickknutson
+ *
+ * @since chapter05.00 Added keyset pagination, lists are mapped with {@link EventRowMapper#indexed()}
+ * @since chapter05.00 The keyset pages only select the {@link EventSummary} columns
  */
 @Repository
 @Validated
@@ -32,14 +38,22 @@ public class JdbcEventDao implements EventDao {
 
     private final String eventQuery;
 
+    private final EventSummaryRowMapper eventSummaryRowMapper;
+
+    private final String eventSummaryQuery;
+
     //-----------------------------------------------------------------------//
 
     public JdbcEventDao(final @NotNull NamedParameterJdbcTemplate jdbcTemplate,
                         final EventRowMapper eventRowMapper,
-                        final @Qualifier("eventQuery") String eventQuery) {
+                        final @Qualifier("eventQuery") String eventQuery,
+                        final EventSummaryRowMapper eventSummaryRowMapper,
+                        final @Qualifier("eventSummaryQuery") String eventSummaryQuery) {
         this.jdbcTemplate = jdbcTemplate;
         this.eventRowMapper = eventRowMapper;
         this.eventQuery = eventQuery;
+        this.eventSummaryRowMapper = eventSummaryRowMapper;
+        this.eventSummaryQuery = eventSummaryQuery;
     }
 
     //-----------------------------------------------------------------------//
@@ -61,13 +75,69 @@ public class JdbcEventDao implements EventDao {
 
         SqlParameterSource parameter = new MapSqlParameterSource().addValue("id", userId);
 
-        return jdbcTemplate.query(sql, parameter, eventRowMapper);
+        return jdbcTemplate.query(sql, parameter, eventRowMapper.indexed());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Event> findAll() {
-        return jdbcTemplate.query(eventQuery + " order by e.id", eventRowMapper);
+        return jdbcTemplate.query(eventQuery + " order by e.id", eventRowMapper.indexed());
+    }
+
+    /**
+     * Seeks in the primary key index, so the cost does not depend on how many {@link Event}'s come before the page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventSummary> findAll(final Integer afterId, final Integer beforeId, final int limit) {
+        final String sql = eventSummaryQuery
+                + (beforeId != null ? " and e.id < :cursor order by e.id desc" : " and e.id > :cursor order by e.id")
+                + " limit :limit";
+
+        return page(sql, beforeId, new MapSqlParameterSource()
+                .addValue("cursor", cursor(afterId, beforeId))
+                .addValue("limit", limit));
+    }
+
+    /**
+     * An OR over owner and attendee cannot seek in a single index, so the ids are seeked separately in the
+     * (owner, id) and (attendee, id) indexes, each limited to the page size, and then merged.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventSummary> findByUser(final @NotNull Integer userId,
+                                         final Integer afterId,
+                                         final Integer beforeId,
+                                         final int limit) {
+        final String seek = beforeId != null ? " and id < :cursor order by id desc" : " and id > :cursor order by id";
+        final String sql = eventSummaryQuery
+                + " and e.id in ("
+                + "select id from (select id from events where owner = :id" + seek + " limit :limit) as o"
+                + " union "
+                + "select id from (select id from events where attendee = :id" + seek + " limit :limit) as a"
+                + ")"
+                + (beforeId != null ? " order by e.id desc" : " order by e.id")
+                + " limit :limit";
+
+        return page(sql, beforeId, new MapSqlParameterSource()
+                .addValue("id", userId)
+                .addValue("cursor", cursor(afterId, beforeId))
+                .addValue("limit", limit));
+    }
+
+    private List<EventSummary> page(final String sql, final Integer beforeId, final SqlParameterSource parameter) {
+        List<EventSummary> events = jdbcTemplate.query(sql, parameter, eventSummaryRowMapper.indexed());
+        if (beforeId != null) {
+            Collections.reverse(events);
+        }
+        return events;
+    }
+
+    private static int cursor(final Integer afterId, final Integer beforeId) {
+        if (beforeId != null) {
+            return beforeId;
+        }
+        return afterId != null ? afterId : Integer.MIN_VALUE;
     }
 
     private static final String EVENT_INSERT_QUERY = "insert into events (event_date, summary, description, owner, attendee) values(:event_date, :summary, :description, :owner, :attendee)";
@@ -96,4 +166,26 @@ public class JdbcEventDao implements EventDao {
         return holder.getKey() == null? null: holder.getKey().intValue();
     }
 
+    private static final String EVENT_BATCH_INSERT_QUERY = "insert into events (event_date, summary, description, owner, attendee) values(?, ?, ?, ?, ?)";
+
+    /**
+     * Inserts the {@link Event}'s as JDBC batches of {@link JdbcBatchInsert#BATCH_SIZE}, instead of a round trip per {@link Event}.
+     */
+    @Override
+    public List<Integer> saveAll(final @NotNull @Valid List<Event> events) {
+        for (Event event : events) {
+            if (event.getId() != null) {
+                throw new IllegalArgumentException("event.getId() must be null for every Event in saveAll(), found " + event.getId());
+            }
+        }
+
+        return JdbcBatchInsert.insert(jdbcTemplate.getJdbcOperations(), EVENT_BATCH_INSERT_QUERY, events, (ps, event) -> {
+            ps.setTimestamp(1, new Timestamp(event.getWhen().getTimeInMillis()));
+            ps.setString(2, event.getSummary());
+            ps.setString(3, event.getDescription());
+            ps.setInt(4, event.getOwner().getId());
+            ps.setInt(5, event.getAttendee().getId());
+        });
+    }
+
 } // The End...
@@ -1,9 +1,11 @@
 package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
@@ -15,6 +17,8 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -22,6 +26,8 @@ import java.util.List;
  *
  * @author mickknutson
  * @since chapter01.00
+ * @since chapter05.00 findAllByEmail uses the {@link EmailSearchIndex}
+ * @since chapter05.00 findSummariesByEmail selects the {@link UserSummary} columns only
  *
  */
 @Repository
@@ -35,6 +41,8 @@ public class JdbcUserDao implements UserDao {
     private final String userQuery;
     private final String userInsertQuery;
 
+    private final EmailSearchIndex emailSearchIndex = new EmailSearchIndex(this::loadEmails);
+
     @Autowired
     public JdbcUserDao(final @NotNull NamedParameterJdbcTemplate jdbcTemplate,
                        final UserRowMapper userRowMapper,
@@ -75,10 +83,37 @@ public class JdbcUserDao implements UserDao {
 
     @Override
     @Transactional(readOnly = true)
-    public List<AppUser> findAllByEmail(final @NotEmpty String email) {
-        final String sql = userQuery + " email LIKE '%"+ email +"%' ORDER BY id";
+    public List<AppUser> findAllByEmail(final @NotEmpty String partialEmail, final int limit) {
+        List<Integer> ids = emailSearchIndex.search(partialEmail, Math.min(Math.max(limit, 1), MAX_EMAIL_RESULTS));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final String sql = userQuery + " id IN (:ids)";
+
+        SqlParameterSource parameter = new MapSqlParameterSource().addValue("ids", ids);
+
+        List<AppUser> appUsers = jdbcTemplate.query(sql, parameter, userRowMapper.indexed());
+        appUsers.sort(Comparator.comparingInt(appUser -> ids.indexOf(appUser.getId())));
+        return appUsers;
+    }
+
+    private static final String USER_SUMMARY_QUERY = "SELECT id, email, first_name, last_name FROM appUsers WHERE id IN (:ids)";
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserSummary> findSummariesByEmail(final @NotEmpty String partialEmail, final int limit) {
+        List<Integer> ids = emailSearchIndex.search(partialEmail, Math.min(Math.max(limit, 1), MAX_EMAIL_RESULTS));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        SqlParameterSource parameter = new MapSqlParameterSource().addValue("ids", ids);
 
-        return jdbcTemplate.query(sql, userRowMapper);
+        List<UserSummary> users = jdbcTemplate.query(USER_SUMMARY_QUERY, parameter, (rs, rowNum) ->
+                new UserSummary(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+        users.sort(Comparator.comparingInt(user -> ids.indexOf(user.getId())));
+        return users;
     }
 
     @Override
@@ -97,7 +132,43 @@ public class JdbcUserDao implements UserDao {
 
         jdbcTemplate.update(userInsertQuery, parameter, holder);
 
-        return holder.getKey() == null? null: holder.getKey().intValue();
+        if (holder.getKey() == null) {
+            return null;
+        }
+        Integer userId = holder.getKey().intValue();
+        emailSearchIndex.add(userId, newAppUser.getEmail());
+        return userId;
+    }
+
+    private static final String USER_BATCH_INSERT_QUERY = "INSERT INTO appUsers (email, password, first_name, last_name) VALUES (?, ?, ?, ?)";
+
+    /**
+     * Inserts the {@link AppUser}s as JDBC batches of {@link JdbcBatchInsert#BATCH_SIZE}, instead of a round trip per {@link AppUser}.
+     */
+    @Override
+    public List<Integer> saveAll(final @NotNull List<AppUser> appUsers) {
+        for (AppUser appUser : appUsers) {
+            if (appUser.getId() != null) {
+                throw new IllegalArgumentException("newUser.getId() must be null when creating a "+ AppUser.class.getName());
+            }
+        }
+
+        List<Integer> ids = JdbcBatchInsert.insert(jdbcTemplate.getJdbcOperations(), USER_BATCH_INSERT_QUERY, appUsers, (ps, appUser) -> {
+            ps.setString(1, appUser.getEmail());
+            ps.setString(2, appUser.getPassword());
+            ps.setString(3, appUser.getFirstName());
+            ps.setString(4, appUser.getLastName());
+        });
+
+        for (int i = 0; i < ids.size(); i++) {
+            emailSearchIndex.add(ids.get(i), appUsers.get(i).getEmail());
+        }
+        return ids;
+    }
+
+    private void loadEmails(final EmailSearchIndex index) {
+        jdbcTemplate.getJdbcOperations().query("SELECT id, email FROM appUsers",
+                (RowCallbackHandler) rs -> index.add(rs.getInt(1), rs.getString(2)));
     }
 
 
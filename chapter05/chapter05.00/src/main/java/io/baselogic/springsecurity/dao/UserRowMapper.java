@@ -1,21 +1,32 @@
 package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A User implementation of {@link RowMapper}.
  *
+ * The {@link #indexed()} mode resolves the column indexes once per {@link ResultSet} instead of looking up
+ * every column label on every row, and maps each user id only once per {@link ResultSet}.
+ *
  * @author mickknutson
  *
+ * @since chapter05.00 Added the indexed mode
  */
 public class UserRowMapper implements RowMapper<AppUser> {
 
     private final String columnLabelPrefix;
 
+    private final ResultSetExtractor<List<AppUser>> indexed = this::extractIndexed;
+
     /**
      * Creates a new instance that allows for a custom prefix for the columnLabel.
      *
@@ -38,4 +49,95 @@ public class UserRowMapper implements RowMapper<AppUser> {
         return appUser;
     }
 
+    /**
+     * @return a {@link ResultSetExtractor} that maps every row of a {@link ResultSet} with resolved column indexes
+     */
+    public ResultSetExtractor<List<AppUser>> indexed() {
+        return indexed;
+    }
+
+
+    //-----------------------------------------------------------------------//
+    // @since chapter05.00 Indexed mode
+
+    /**
+     * Resolve the column indexes of this mapper's columns in the given {@link ResultSet}.
+     *
+     * @param rs the {@link ResultSet} to resolve the column labels in
+     * @return the resolved {@link Columns}
+     * @throws SQLException if a column label is not in the {@link ResultSet}
+     */
+    public Columns columns(final ResultSet rs) throws SQLException {
+        return new Columns(
+                rs.findColumn(columnLabelPrefix + "id"),
+                rs.findColumn(columnLabelPrefix + "email"),
+                rs.findColumn(columnLabelPrefix + "password"),
+                rs.findColumn(columnLabelPrefix + "first_name"),
+                rs.findColumn(columnLabelPrefix + "last_name"));
+    }
+
+    /**
+     * Map the current row with resolved column indexes.
+     *
+     * Only the id column is read for a user that is already in the {@code identityMap},
+     * the same {@link AppUser} instance is returned instead.
+     *
+     * @param rs the {@link ResultSet} positioned on the row to map
+     * @param columns the {@link Columns} resolved for {@code rs}
+     * @param identityMap the {@link AppUser}'s already mapped from {@code rs}, by id
+     * @return the mapped or already mapped {@link AppUser}
+     * @throws SQLException if a column could not be read
+     */
+    public AppUser mapRow(final ResultSet rs,
+                          final Columns columns,
+                          final Map<Integer, AppUser> identityMap) throws SQLException {
+        Integer id = rs.getInt(columns.id);
+
+        AppUser appUser = identityMap.get(id);
+        if (appUser == null) {
+            appUser = new AppUser();
+            appUser.setId(id);
+            appUser.setEmail(rs.getString(columns.email));
+            appUser.setPassword(rs.getString(columns.password));
+            appUser.setFirstName(rs.getString(columns.firstName));
+            appUser.setLastName(rs.getString(columns.lastName));
+            identityMap.put(id, appUser);
+        }
+        return appUser;
+    }
+
+    private List<AppUser> extractIndexed(final ResultSet rs) throws SQLException {
+        List<AppUser> appUsers = new ArrayList<>();
+        if (!rs.next()) {
+            return appUsers;
+        }
+
+        Columns columns = columns(rs);
+        Map<Integer, AppUser> identityMap = new HashMap<>();
+        do {
+            appUsers.add(mapRow(rs, columns, identityMap));
+        } while (rs.next());
+
+        return appUsers;
+    }
+
+    /**
+     * The column indexes of an {@link AppUser} in a single {@link ResultSet}.
+     */
+    public static final class Columns {
+        private final int id;
+        private final int email;
+        private final int password;
+        private final int firstName;
+        private final int lastName;
+
+        private Columns(final int id, final int email, final int password, final int firstName, final int lastName) {
+            this.id = id;
+            this.email = email;
+            this.password = password;
+            this.firstName = firstName;
+            this.lastName = lastName;
+        }
+    }
+
 } // The End...
@@ -0,0 +1,192 @@
+package io.baselogic.springsecurity.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import javax.validation.constraints.NotNull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link DataSource} that sends the connections of read-only transactions, e.g. of
+ * {@code @Transactional(readOnly = true)}, to one of the {@link ReplicaDataSource}s and every other connection
+ * to the primary {@link DataSource}.
+ *
+ * A replica is chosen per connection by the {@link Selection}, skipping the replicas that lag more than
+ * {@code maxLagMillis}. When no replica is available the primary is used.
+ *
+ * The read-only flag of the transaction is only known once the transaction has started, after the transaction
+ * manager got its connection, so this {@link DataSource} must be used through a {@link LazyConnectionDataSourceProxy},
+ * see {@link #lazy()}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    public enum Selection {
+        /** Each replica in turn */
+        ROUND_ROBIN,
+        /** The replica with the fewest borrowed connections, in turn when equal */
+        LEAST_LOADED
+    }
+
+    private final DataSource primary;
+    private final List<ReplicaDataSource> replicas;
+    private final Selection selection;
+    private final long maxLagMillis;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+
+    /**
+     * @param primary the {@link DataSource} for writes, and for reads when no replica is available
+     * @param replicas the read replicas, may be empty
+     * @param selection how a replica is chosen
+     * @param maxLagMillis the maximum replication lag of a replica in milliseconds
+     */
+    public ReadWriteRoutingDataSource(final @NotNull DataSource primary,
+                                      final @NotNull List<ReplicaDataSource> replicas,
+                                      final @NotNull Selection selection,
+                                      final long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+
+    /**
+     * @return this {@link DataSource} behind a {@link LazyConnectionDataSourceProxy}, with the defaults of the primary.
+     *         Closing the proxy closes this {@link DataSource}, so it can be a bean on its own.
+     */
+    public LazyConnectionDataSourceProxy lazy() {
+        LazyConnectionDataSourceProxy proxy = new ClosingLazyConnectionDataSourceProxy(this);
+        try (Connection connection = primary.getConnection()) {
+            proxy.setDefaultAutoCommit(connection.getAutoCommit());
+            proxy.setDefaultTransactionIsolation(connection.getTransactionIsolation());
+        } catch (SQLException e) {
+            log.warn("*** Could not read the connection defaults of the primary: {}", e.getMessage());
+        }
+        return proxy;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<ReplicaDataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTargetDataSource().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return determineTargetDataSource().getConnection(username, password);
+    }
+
+    /**
+     * @return the primary, or a replica within a read-only transaction
+     */
+    public DataSource determineTargetDataSource() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary;
+        }
+        ReplicaDataSource replica = selectReplica();
+        if (replica == null) {
+            log.debug("*** No replica available, reading from the primary");
+            return primary;
+        }
+        return replica;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    /**
+     * Close the primary and replica pools.
+     */
+    @Override
+    public void close() throws IOException {
+        for (ReplicaDataSource replica : replicas) {
+            close(replica.getTargetDataSource());
+        }
+        close(primary);
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    ReplicaDataSource selectReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+
+        ReplicaDataSource selected = null;
+        for (int i = 0; i < size; i++) {
+            ReplicaDataSource replica = replicas.get((start + i) % size);
+            if (!replica.isAvailable(maxLagMillis)) {
+                continue;
+            }
+            if (selection == Selection.ROUND_ROBIN) {
+                return replica;
+            }
+            if (selected == null || replica.getActiveConnections() < selected.getActiveConnections()) {
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+
+    private static void close(final DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+
+    /**
+     * A {@link LazyConnectionDataSourceProxy} closing its {@link ReadWriteRoutingDataSource}.
+     */
+    private static final class ClosingLazyConnectionDataSourceProxy extends LazyConnectionDataSourceProxy
+            implements Closeable {
+
+        private final ReadWriteRoutingDataSource target;
+
+        private ClosingLazyConnectionDataSourceProxy(final ReadWriteRoutingDataSource target) {
+            super(target);
+            this.target = target;
+        }
+
+        @Override
+        public void close() throws IOException {
+            target.close();
+        }
+    }
+
+} // The End...
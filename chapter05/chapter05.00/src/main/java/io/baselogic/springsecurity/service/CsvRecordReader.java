@@ -0,0 +1,107 @@
+package io.baselogic.springsecurity.service;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads one CSV record at a time from a {@link Reader}, so an upload of any size is never held in memory.
+ *
+ * Fields are separated by ',' and may be quoted with '"', a quoted field can contain ',', line breaks and
+ * '""' for a '"'.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+public class CsvRecordReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private int pushedBack = EOF;
+    private int line;
+
+
+    /**
+     * @param reader a buffered {@link Reader}, it is read one character at a time
+     */
+    public CsvRecordReader(final @NotNull Reader reader) {
+        this.reader = reader;
+    }
+
+
+    /**
+     * @return the fields of the next record, or null at the end of the input
+     * @throws IOException if the input could not be read or a quoted field is not closed
+     */
+    public List<String> read() throws IOException {
+        int c = next();
+        if (c == EOF) {
+            return null;
+        }
+        line++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder(32);
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Unclosed quoted field on line " + line);
+                }
+                if (c == '"') {
+                    int following = next();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pushedBack = following;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r') {
+                    int following = next();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = next();
+        }
+    }
+
+    /**
+     * @return the number of the last record read, starting at 1
+     */
+    public int getLine() {
+        return line;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private int next() throws IOException {
+        if (pushedBack != EOF) {
+            int c = pushedBack;
+            pushedBack = EOF;
+            return c;
+        }
+        return reader.read();
+    }
+
+} // The End...
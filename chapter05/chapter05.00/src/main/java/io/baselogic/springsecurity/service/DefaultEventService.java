@@ -4,6 +4,8 @@ import io.baselogic.springsecurity.dao.EventDao;
 import io.baselogic.springsecurity.dao.UserDao;
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventPage;
+import io.baselogic.springsecurity.domain.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.jdbc.core.JdbcOperations;
@@ -14,6 +16,7 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.validation.constraints.NotNull;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * A default implementation of {@link EventService} that delegates to {@link EventDao} and {@link UserDao}.
@@ -67,11 +70,32 @@ public class DefaultEventService implements EventService {
         return eventDao.findAll();
     }
 
+    @Override
+    public EventPage findAllEvents(Integer afterId, Integer beforeId, int size) {
+        int pageSize = pageSize(size);
+        return EventPage.of(eventDao.findAll(afterId, beforeId, pageSize + 1), pageSize, afterId, beforeId);
+    }
+
+    @Override
+    public EventPage findEventByUser(Integer userId, Integer afterId, Integer beforeId, int size) {
+        int pageSize = pageSize(size);
+        return EventPage.of(eventDao.findByUser(userId, afterId, beforeId, pageSize + 1), pageSize, afterId, beforeId);
+    }
+
+    private static int pageSize(final int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
     @Override
     public Integer createEvent(Event event) {
         return eventDao.save(event);
     }
 
+    @Override
+    public List<Integer> createEvents(final List<Event> events) {
+        return eventDao.saveAll(events);
+    }
+
     @Override
     public AppUser findUserById(Integer id) {
         return userDao.findById(id);
@@ -87,6 +111,11 @@ public class DefaultEventService implements EventService {
         return userDao.findAllByEmail(partialEmail);
     }
 
+    @Override
+    public List<UserSummary> findUsersByEmail(final String partialEmail, final int limit) {
+        return userDao.findSummariesByEmail(partialEmail, limit);
+    }
+
     @Override
     public Integer createUser(final AppUser appUser) {
         String encodedPassword = passwordEncoder.encode(appUser.getPassword());
@@ -97,4 +126,15 @@ public class DefaultEventService implements EventService {
         return userId;
     }
 
+    @Override
+    public List<Integer> createUsers(final List<AppUser> appUsers) {
+        appUsers.forEach(appUser -> appUser.setPassword(passwordEncoder.encode(appUser.getPassword())));
+
+        List<Integer> userIds = userDao.saveAll(appUsers);
+        jdbcOperations.batchUpdate(customCreateUserAuthoritiesSql, userIds.stream()
+                .map(userId -> new Object[]{userId, "ROLE_USER"})
+                .collect(Collectors.toList()));
+        return userIds;
+    }
+
 } // The End...
\ No newline at end of file
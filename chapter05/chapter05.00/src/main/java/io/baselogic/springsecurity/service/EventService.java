@@ -2,6 +2,8 @@ package io.baselogic.springsecurity.service;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventPage;
+import io.baselogic.springsecurity.domain.UserSummary;
 import org.springframework.dao.EmptyResultDataAccessException;
 
 import java.util.List;
@@ -37,6 +39,17 @@ public interface EventService {
      */
     Integer createEvent(Event event);
 
+    /**
+     * Creates the {@link Event}'s in batches, see {@link io.baselogic.springsecurity.dao.EventDao#saveAll(List)}.
+     *
+     * @param events
+     *            the {@link Event}'s to create. Note that every {@link Event#getId()} should be null.
+     * @return the new ids, in the order of {@code events}
+     *
+     * @since chapter05.00
+     */
+    List<Integer> createEvents(List<Event> events);
+
     /**
      * Finds the {@link Event}'s that are intended for the {@link AppUser}.
      *
@@ -54,6 +67,37 @@ public interface EventService {
      */
     List<Event> findAllEvents();
 
+    /**
+     * Gets a keyset page of all the available {@link Event}'s.
+     *
+     * @param afterId  the {@link EventPage#getNextCursor()} of the previous page, or null for the first page
+     * @param beforeId the {@link EventPage#getPreviousCursor()} of the next page, or null
+     * @param size     the page size, limited to {@link #MAX_PAGE_SIZE}
+     * @return a non-null {@link EventPage}
+     *
+     * @since chapter05.00
+     */
+    EventPage findAllEvents(Integer afterId, Integer beforeId, int size);
+
+    /**
+     * Gets a keyset page of the {@link Event}'s owned by, or attended by the {@link AppUser}.
+     *
+     * @param userId   the {@link AppUser#getId()} to obtain {@link Event}'s for.
+     * @param afterId  the {@link EventPage#getNextCursor()} of the previous page, or null for the first page
+     * @param beforeId the {@link EventPage#getPreviousCursor()} of the next page, or null
+     * @param size     the page size, limited to {@link #MAX_PAGE_SIZE}
+     * @return a non-null {@link EventPage}
+     *
+     * @since chapter05.00
+     */
+    EventPage findEventByUser(Integer userId, Integer afterId, Integer beforeId, int size);
+
+    /** Default number of {@link Event}'s on a page */
+    int DEFAULT_PAGE_SIZE = 25;
+
+    /** Maximum number of {@link Event}'s on a page */
+    int MAX_PAGE_SIZE = 100;
+
 
 
 
@@ -81,17 +125,31 @@ public interface EventService {
     AppUser findUserByEmail(String email);
 
     /**
-     * Finds any {@link AppUser} that has an email that starts with {@code partialEmail}.
+     * Finds any {@link AppUser} that has an email that contains {@code partialEmail}.
      *
      * @param partialEmail
      *            the email address to use to find {@link AppUser}s. Cannot be null or empty String.
-     * @return a List of {@link AppUser}s that have an email that starts with given partialEmail. The returned
+     * @return a List of {@link AppUser}s that have an email that contains given partialEmail. The returned
      *         value will never be null. If no results are found an empty List will be returned.
      * @throws IllegalArgumentException
      *             if email is null or empty String.
      */
     List<AppUser> findUsersByEmail(String partialEmail);
 
+    /**
+     * Finds up to {@code limit} {@link AppUser}s that have an email that contains {@code partialEmail}.
+     *
+     * @param partialEmail
+     *            the email address to use to find {@link AppUser}s. Cannot be null or empty String.
+     * @param limit
+     *            the maximum number of {@link AppUser}s to return.
+     * @return a List of {@link UserSummary}s that have an email that contains given partialEmail. The returned
+     *         value will never be null. If no results are found an empty List will be returned.
+     *
+     * @since chapter05.00 returns the {@link UserSummary} projection
+     */
+    List<UserSummary> findUsersByEmail(String partialEmail, int limit);
+
     /**
      * Creates a new {@link AppUser}.
      *
@@ -103,4 +161,15 @@ public interface EventService {
      */
     Integer createUser(AppUser appUser);
 
+    /**
+     * Creates new {@link AppUser}s in batches, see {@link io.baselogic.springsecurity.dao.UserDao#saveAll(List)}.
+     *
+     * @param appUsers
+     *            the new {@link AppUser}s to create. Every {@link AppUser#getId()} must be null.
+     * @return the new ids, in the order of {@code appUsers}
+     *
+     * @since chapter05.00
+     */
+    List<Integer> createUsers(List<AppUser> appUsers);
+
 } // The End...
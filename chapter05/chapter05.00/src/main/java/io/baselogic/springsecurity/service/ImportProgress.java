@@ -0,0 +1,54 @@
+package io.baselogic.springsecurity.service;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The progress of a CSV import by the {@link BulkImportService}, reported after every committed chunk.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+@Getter
+@ToString
+public class ImportProgress {
+
+    private final String type;
+
+    /** The number of committed chunks */
+    private int chunks;
+
+    /** The number of committed records */
+    private int imported;
+
+    /** The last CSV record read, starting at 1 */
+    private int line;
+
+    /** The reason the import stopped, the records of the failed chunk are not imported */
+    private String error;
+
+    private boolean done;
+
+
+    public ImportProgress(final String type) {
+        this.type = type;
+    }
+
+    void committed(final int records, final int line) {
+        this.chunks++;
+        this.imported += records;
+        this.line = line;
+    }
+
+    void failed(final int line, final String error) {
+        this.line = line;
+        this.error = error;
+        this.done = true;
+    }
+
+    void completed() {
+        this.done = true;
+    }
+
+} // The End...
@@ -0,0 +1,26 @@
+package io.baselogic.springsecurity.web.model;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.UserSummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * An attendee suggestion of the 'attendeeEmail' typeahead. Only the email and the name of an {@link AppUser}
+ * are returned to the browser.
+ *
+ * @since chapter05.00
+ * @author mickknutson
+ */
+@Data
+@AllArgsConstructor
+public class AttendeeDto {
+
+    private String email;
+    private String name;
+
+    public static AttendeeDto of(final UserSummary user) {
+        return new AttendeeDto(user.getEmail(), user.getFirstName() + " " + user.getLastName());
+    }
+
+} // The End...
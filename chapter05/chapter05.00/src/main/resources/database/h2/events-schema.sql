@@ -26,4 +26,8 @@ CREATE TABLE events (
                         FOREIGN KEY(attendee) REFERENCES appUsers(id)
 );
 
+-- chapter05.00 keyset pagination of the events of a user
+CREATE INDEX events_owner_id ON events(owner, id);
+CREATE INDEX events_attendee_id ON events(attendee, id);
+
 -- The End...
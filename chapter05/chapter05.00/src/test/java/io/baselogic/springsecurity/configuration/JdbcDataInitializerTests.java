@@ -0,0 +1,99 @@
+package io.baselogic.springsecurity.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JdbcDataInitializerTests, on a separate in-memory H2 database so the seeded rows do not change the
+ * database of the other tests.
+ *
+ * @since chapter05.00
+ */
+class JdbcDataInitializerTests {
+
+    private DriverManagerDataSource dataSource;
+    private DataSourceProperties properties;
+    private JdbcTemplate jdbcTemplate;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:seedTests;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+
+        properties = new DataSourceProperties();
+        properties.setSchema(List.of(
+                "classpath:/database/h2/events-schema.sql",
+                "classpath:/database/h2/events-authorities-schema.sql"));
+        properties.setData(List.of(
+                "classpath:/database/h2/events-data.sql",
+                "classpath:/database/h2/events-authorities-data.sql"));
+    }
+
+
+    @Test
+    @DisplayName("JdbcDataInitializer - seeds once, then skips while the version is current")
+    void seed_skips_current_version() {
+        assertThat(initializer(1, 0, 0).seed()).isTrue();
+        assertThat(count("appUsers")).isEqualTo(3);
+        assertThat(count("events")).isEqualTo(3);
+
+        jdbcTemplate.update("DELETE FROM events WHERE id = 100");
+
+        assertThat(initializer(1, 0, 0).seed()).isFalse();
+        assertThat(count("events")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("JdbcDataInitializer - a new version clears and seeds the synthetic dataset")
+    void seed_synthetic() {
+        initializer(1, 0, 0).seed();
+
+        assertThat(initializer(1, 100, 500).seed()).isTrue();
+        assertThat(count("appUsers")).isEqualTo(103);
+        assertThat(count("appUsers_authorities")).isEqualTo(104);
+        assertThat(count("events")).isEqualTo(503);
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM seed_version", String.class))
+                .isEqualTo("1:100:500:42");
+
+        assertThat(initializer(2, 0, 0).seed()).isTrue();
+        assertThat(count("appUsers")).isEqualTo(3);
+        assertThat(count("events")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("JdbcDataInitializer - new rows get ids above the synthetic ones")
+    void seed_synthetic_restarts_ids() {
+        SyntheticDataset dataset = new SyntheticDataset(100, 500, 42);
+        initializer(1, dataset.getUsers(), dataset.getEvents()).seed();
+
+        jdbcTemplate.update("INSERT INTO appUsers (email, password, first_name, last_name) VALUES ('new@baselogic.com', 'x', 'New', 'User')");
+        jdbcTemplate.update("INSERT INTO events (event_date, summary, description, owner, attendee) VALUES (CURRENT_TIMESTAMP, 'New', 'New event', 0, 1)");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(id) FROM appUsers", Integer.class))
+                .isEqualTo(dataset.getLastUserId() + 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(id) FROM events", Integer.class))
+                .isEqualTo(dataset.getLastEventId() + 1);
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private JdbcDataInitializer initializer(final int version, final int users, final int events) {
+        return new JdbcDataInitializer(dataSource, properties, version, users, events, 42, 64);
+    }
+
+    private int count(final String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+} // The End...
@@ -0,0 +1,94 @@
+package io.baselogic.springsecurity.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EmailSearchIndexTests
+ *
+ * @since chapter05.00
+ */
+class EmailSearchIndexTests {
+
+    private AtomicInteger loads;
+    private EmailSearchIndex index;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        loads = new AtomicInteger();
+        index = new EmailSearchIndex(i -> {
+            loads.incrementAndGet();
+            i.add(0, "user1@baselogic.com");
+            i.add(1, "admin1@baselogic.com");
+            i.add(2, "user2@baselogic.com");
+        });
+    }
+
+
+    @Test
+    @DisplayName("EmailSearchIndex - substring search ordered by id")
+    void search_substring() {
+        assertThat(index.search("@baselogic", 10)).containsExactly(0, 1, 2);
+        assertThat(index.search("user", 10)).containsExactly(0, 2);
+        assertThat(index.search("IN1@", 10)).containsExactly(1);
+        assertThat(index.search("@baselogic.io", 10)).isEmpty();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("EmailSearchIndex - short searches are prefix searches")
+    void search_prefix() {
+        assertThat(index.search("u", 10)).containsExactly(0, 2);
+        assertThat(index.search("Ad", 10)).containsExactly(1);
+        assertThat(index.search("@b", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("EmailSearchIndex - limit")
+    void search_limit() {
+        assertThat(index.search("baselogic.com", 2)).containsExactly(0, 1);
+        assertThat(index.search("u", 1)).containsExactly(0);
+        assertThat(index.search("user", 0)).isEmpty();
+        assertThat(index.search(" ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("EmailSearchIndex - add and replace")
+    void add() {
+        index.add(3, "test@baselogic.com");
+        assertThat(index.search("test@", 10)).containsExactly(3);
+
+        index.add(3, "renamed@baselogic.com");
+        assertThat(index.search("test@", 10)).isEmpty();
+        assertThat(index.search("te", 10)).isEmpty();
+        assertThat(index.search("renamed", 10)).containsExactly(3);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("EmailSearchIndex - users saved through another node are found after a reload")
+    void refresh() {
+        Map<Integer, String> database = new LinkedHashMap<>();
+        database.put(0, "user1@baselogic.com");
+        EmailSearchIndex cached = new EmailSearchIndex(i -> database.forEach(i::add));
+        EmailSearchIndex refreshed = new EmailSearchIndex(i -> database.forEach(i::add), Duration.ZERO);
+
+        assertThat(cached.search("user", 10)).containsExactly(0);
+        assertThat(refreshed.search("user", 10)).containsExactly(0);
+
+        database.put(1, "user2@baselogic.com");
+
+        assertThat(cached.search("user", 10)).containsExactly(0);
+        assertThat(refreshed.search("user", 10)).containsExactly(0, 1);
+    }
+
+} // The End...
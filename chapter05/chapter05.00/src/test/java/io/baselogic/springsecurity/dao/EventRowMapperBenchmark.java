@@ -0,0 +1,136 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.configuration.DataSourceConfig;
+import io.baselogic.springsecurity.domain.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of mapping a 100k row events {@link java.sql.ResultSet} with the per row {@link EventRowMapper}
+ * and with {@link EventRowMapper#indexed()}. Both execute the same query, so the difference is the mapping only.
+ *
+ * Run main() from the IDE, or from the command line with the allocation rates of the GC profiler:
+ * <pre>
+ *  mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt -Dmdep.includeScope=test
+ *  java -cp target/test-classes:target/classes:$(cat target/classpath.txt) \
+ *      org.openjdk.jmh.Main EventRowMapperBenchmark -prof gc
+ * </pre>
+ * 'gc.alloc.rate.norm' is the number of bytes allocated per query.
+ *
+ * @since chapter05.00
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventRowMapperBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final DataSourceConfig SQL = new DataSourceConfig();
+
+    @Param("100000")
+    private int rows;
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private String sql;
+
+    private ResultSetExtractor<List<Event>> rowMapper;
+    private ResultSetExtractor<List<Event>> indexed;
+
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventRowMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScripts("database/h2/events-schema.sql",
+                        "database/h2/events-data.sql")
+                .build();
+        insertEvents();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(1_000);
+        sql = SQL.eventQuery() + " order by e.id";
+
+        EventRowMapper eventRowMapper = SQL.eventRowMapper();
+        rowMapper = new RowMapperResultSetExtractor<>(eventRowMapper);
+        indexed = eventRowMapper.indexed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.shutdown();
+    }
+
+
+    @Benchmark
+    public List<Event> rowMapper() {
+        return jdbcTemplate.query(sql, rowMapper);
+    }
+
+    @Benchmark
+    public List<Event> indexed() {
+        return jdbcTemplate.query(sql, indexed);
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    /**
+     * Insert {@code rows} events between the 3 users of 'events-data.sql'.
+     */
+    private void insertEvents() {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        Timestamp when = Timestamp.valueOf("2020-07-03 00:00:01");
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{when, "Event " + i, "Benchmark event " + i, i % 3, (i + 1) % 3});
+            if (batch.size() == BATCH_SIZE || i == rows - 1) {
+                template.batchUpdate("insert into events (event_date, summary, description, owner, attendee) values (?, ?, ?, ?, ?)",
+                        batch);
+                batch.clear();
+            }
+        }
+    }
+
+} // The End...
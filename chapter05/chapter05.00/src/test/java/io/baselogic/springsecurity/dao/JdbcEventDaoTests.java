@@ -2,12 +2,15 @@ package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventSummary;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,6 +34,16 @@ class JdbcEventDaoTests {
     @Autowired
     private EventDao eventDao;
 
+    @Autowired
+    private EventRowMapper eventRowMapper;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("eventQuery")
+    private String eventQuery;
+
     private AppUser owner = new AppUser();
     private AppUser attendee = new AppUser();
 
@@ -78,6 +91,31 @@ class JdbcEventDaoTests {
 //        assertThat(newEvents.get(3)).isEqualTo(3);
     }
 
+    @Test
+    void saveAll() {
+        List<Event> events = List.of(
+                TestUtils.createMockEvent(owner, attendee, "Batch Event 1"),
+                TestUtils.createMockEvent(attendee, owner, "Batch Event 2"));
+
+        List<Integer> ids = eventDao.saveAll(events);
+
+        assertThat(ids).hasSize(2);
+        assertThat(ids.get(1)).isGreaterThan(ids.get(0));
+        assertThat(eventDao.findById(ids.get(0)).getSummary()).isEqualTo("Batch Event 1");
+        assertThat(eventDao.findById(ids.get(1)).getOwner().getId()).isEqualTo(attendee.getId());
+    }
+
+    @Test
+    void saveAll_with_event_id() {
+        Event event = TestUtils.createMockEvent(owner, attendee, "Testing Event");
+        event.setId(12345);
+        List<Event> events = List.of(event);
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            eventDao.saveAll(events);
+        });
+    }
+
     @Test
     void createEvent_null_event() {
         assertThrows(ConstraintViolationException.class, () -> {
@@ -132,4 +170,77 @@ class JdbcEventDaoTests {
         assertThat(events.size()).isGreaterThanOrEqualTo(3);
     }
 
+
+    //-----------------------------------------------------------------------//
+    // @since chapter05.00 Keyset pagination
+
+    @Test
+    void findAll_keyset() {
+        List<EventSummary> first = eventDao.findAll(null, null, 2);
+        assertThat(first).extracting(EventSummary::getId).containsExactly(100, 101);
+        assertThat(first.get(0).getSummary()).isEqualTo("Birthday Party");
+        assertThat(first.get(0).getOwnerEmail()).isEqualTo("user1@baselogic.com");
+        assertThat(first.get(0).getAttendeeEmail()).isEqualTo("admin1@baselogic.com");
+
+        List<EventSummary> next = eventDao.findAll(101, null, 2);
+        assertThat(next).extracting(EventSummary::getId).startsWith(102);
+
+        List<EventSummary> previous = eventDao.findAll(null, 102, 2);
+        assertThat(previous).extracting(EventSummary::getId).containsExactly(100, 101);
+
+        assertThat(eventDao.findAll(null, 100, 2)).isEmpty();
+    }
+
+    @Test
+    void findByUser_keyset() {
+        // user1 owns event 100 and attends event 101
+        List<EventSummary> first = eventDao.findByUser(0, null, null, 1);
+        assertThat(first).extracting(EventSummary::getId).containsExactly(100);
+
+        List<EventSummary> next = eventDao.findByUser(0, 100, null, 1);
+        assertThat(next).extracting(EventSummary::getId).containsExactly(101);
+
+        List<EventSummary> previous = eventDao.findByUser(0, null, 101, 5);
+        assertThat(previous).extracting(EventSummary::getId).containsExactly(100);
+    }
+
+
+    //-----------------------------------------------------------------------//
+    // @since chapter05.00 Indexed EventRowMapper
+
+    @Test
+    void indexed_maps_like_rowMapper() {
+        String sql = eventQuery + " order by e.id";
+        List<Event> expected = jdbcTemplate.query(sql, eventRowMapper);
+        List<Event> events = jdbcTemplate.query(sql, eventRowMapper.indexed());
+
+        assertThat(events).hasSameSizeAs(expected);
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            assertThat(event.getId()).isEqualTo(expected.get(i).getId());
+            assertThat(event.getSummary()).isEqualTo(expected.get(i).getSummary());
+            assertThat(event.getDescription()).isEqualTo(expected.get(i).getDescription());
+            assertThat(event.getWhen().getTimeInMillis()).isEqualTo(expected.get(i).getWhen().getTimeInMillis());
+            assertThat(event.getOwner()).isEqualTo(expected.get(i).getOwner());
+            assertThat(event.getOwner().getEmail()).isEqualTo(expected.get(i).getOwner().getEmail());
+            assertThat(event.getAttendee()).isEqualTo(expected.get(i).getAttendee());
+        }
+    }
+
+    @Test
+    void indexed_shares_users() {
+        List<Event> events = eventDao.findAll();
+
+        // user1 owns event 100 and attends event 101
+        Event event100 = events.stream().filter(e -> e.getId() == 100).findFirst().orElseThrow();
+        Event event101 = events.stream().filter(e -> e.getId() == 101).findFirst().orElseThrow();
+        assertThat(event100.getOwner()).isSameAs(event101.getAttendee());
+    }
+
+    @Test
+    void indexed_empty() {
+        List<Event> events = jdbcTemplate.query(eventQuery + " and e.id < 0", eventRowMapper.indexed());
+        assertThat(events).isEmpty();
+    }
+
 } // The End...
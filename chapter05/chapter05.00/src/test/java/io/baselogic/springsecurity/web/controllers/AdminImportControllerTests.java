@@ -0,0 +1,139 @@
+package io.baselogic.springsecurity.web.controllers;
+
+import io.baselogic.springsecurity.annotations.WithMockEventUserDetailsAdmin1;
+import io.baselogic.springsecurity.annotations.WithMockEventUserDetailsUser1;
+import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.service.EventService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * AdminImportControllerTests
+ *
+ * @since chapter05.00
+ */
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+@SpringBootTest
+@Transactional
+@Slf4j
+class AdminImportControllerTests {
+
+    private static final String EVENTS_CSV = "when,summary,description,ownerEmail,attendeeEmail\n"
+            + "2020-08-01 10:00,Imported 1,First import,user1@baselogic.com,user2@baselogic.com\n"
+            + "2020-08-02 10:00,Imported 2,\"Second, quoted\",admin1@baselogic.com,user1@baselogic.com\n"
+            + "2020-08-03 10:00,Imported 3,Third import,user2@baselogic.com,admin1@baselogic.com\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @BeforeEach
+    void beforeEachTest(WebApplicationContext context) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+
+    @Test
+    @DisplayName("Import events in chunks with progress")
+    @WithMockEventUserDetailsAdmin1
+    void importEvents() throws Exception {
+        MvcResult result = mockMvc.perform(post("/admin/import/events")
+                .param("chunkSize", "2")
+                .contentType("text/csv")
+                .content(EVENTS_CSV))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] progress = result.getResponse().getContentAsString().split("\n");
+        log.info("progress: {}", (Object) progress);
+
+        assertThat(progress).hasSize(3);
+        assertThat(progress[0]).contains("\"chunks\":1", "\"imported\":2");
+        assertThat(progress[1]).contains("\"chunks\":2", "\"imported\":3");
+        assertThat(progress[2]).contains("\"imported\":3", "\"done\":true", "\"error\":null");
+
+        assertThat(eventService.findAllEvents())
+                .extracting(Event::getDescription)
+                .contains("First import", "Second, quoted", "Third import");
+    }
+
+    @Test
+    @DisplayName("Import events stops at an invalid record")
+    @WithMockEventUserDetailsAdmin1
+    void importEvents_unknown_user() throws Exception {
+        String csv = EVENTS_CSV.replace("user2@baselogic.com,admin1", "nobody@baselogic.com,admin1");
+
+        MvcResult result = mockMvc.perform(post("/admin/import/events")
+                .param("chunkSize", "1")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] progress = result.getResponse().getContentAsString().split("\n");
+
+        assertThat(progress).hasSize(3);
+        assertThat(progress[2]).contains("\"imported\":2", "\"line\":4", "Unknown user: nobody@baselogic.com", "\"done\":true");
+    }
+
+    @Test
+    @DisplayName("Import users")
+    @WithMockEventUserDetailsAdmin1
+    void importUsers() throws Exception {
+        String csv = "email,password,firstName,lastName\n"
+                + "import1@baselogic.com,import1,Import,One\n"
+                + "import2@baselogic.com,import2,Import,Two\n";
+
+        mockMvc.perform(post("/admin/import/users")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk());
+
+        assertThat(eventService.findUserByEmail("import1@baselogic.com")).isNotNull();
+        assertThat(eventService.findUserByEmail("import2@baselogic.com").getLastName()).isEqualTo("Two");
+    }
+
+    @Test
+    @DisplayName("Import requires ADMIN")
+    @WithMockEventUserDetailsUser1
+    void importEvents_user() throws Exception {
+        mockMvc.perform(post("/admin/import/events")
+                .contentType("text/csv")
+                .content(EVENTS_CSV))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Unknown import")
+    @WithMockEventUserDetailsAdmin1
+    void import_unknown_type() throws Exception {
+        mockMvc.perform(post("/admin/import/roles")
+                .contentType("text/csv")
+                .content("name\n"))
+                .andExpect(status().isNotFound());
+    }
+
+} // The End...
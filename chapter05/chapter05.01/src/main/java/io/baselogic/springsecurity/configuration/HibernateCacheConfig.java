@@ -0,0 +1,125 @@
+package io.baselogic.springsecurity.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Description;
+
+import javax.cache.CacheManager;
+import javax.persistence.SharedCacheMode;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate Second-Level Cache Configuration
+ *
+ * Enabled with 'events.cache.enabled=true'. The {@code @Cacheable} entities, the {@code user_role} collection and
+ * the {@code findByEmail} query are then cached in JCache regions backed by Caffeine, each with its own maximum
+ * number of entries. All the regions are READ_WRITE, so a save through JPA updates or invalidates them, but a
+ * change made to the tables outside of this application is not seen until the entry is evicted.
+ *
+ * Without it both caches stay off: application.yml sets 'hibernate.cache.use_second_level_cache' and
+ * 'hibernate.cache.use_query_cache' to false, which Hibernate would otherwise enable with hibernate-jcache
+ * on the classpath, and {@link #hibernateCacheCustomizer(CacheManager)} overrides them.
+ *
+ * Statistics are generated, and exposed per region through the actuator metrics, e.g.
+ * <pre>
+ * /actuator/metrics/hibernate.second.level.cache.requests?tag=region:appUsers
+ * /actuator/metrics/hibernate.query.cache.requests
+ * </pre>
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.01 Created
+ */
+@Configuration
+@ConditionalOnProperty(name = "events.cache.enabled", havingValue = "true")
+@Slf4j
+public class HibernateCacheConfig {
+
+    public static final String APP_USERS = "appUsers";
+    public static final String ROLES = "roles";
+    public static final String USER_ROLE = "user_role";
+    public static final String EVENTS = "events";
+    public static final String APP_USERS_BY_EMAIL = "appUsers.findByEmail";
+
+    /** The regions used by Hibernate for the query cache */
+    public static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    @Value("${events.cache.max-size.app-users:10000}")
+    private long appUsersMaxSize;
+
+    @Value("${events.cache.max-size.roles:100}")
+    private long rolesMaxSize;
+
+    @Value("${events.cache.max-size.user-role:10000}")
+    private long userRoleMaxSize;
+
+    @Value("${events.cache.max-size.events:10000}")
+    private long eventsMaxSize;
+
+    @Value("${events.cache.max-size.app-users-by-email:10000}")
+    private long appUsersByEmailMaxSize;
+
+    @Value("${events.cache.max-size.query-results:1000}")
+    private long queryResultsMaxSize;
+
+
+    /**
+     * A {@link CacheManager} of its own provider, so every application context creates and closes its own regions.
+     * The update timestamps region is not limited, an evicted timestamp could return stale query results.
+     */
+    @Bean(destroyMethod = "close")
+    @Description("JCache CacheManager of the Hibernate regions")
+    public CacheManager hibernateCacheManager() {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        createRegion(cacheManager, APP_USERS, appUsersMaxSize);
+        createRegion(cacheManager, ROLES, rolesMaxSize);
+        createRegion(cacheManager, USER_ROLE, userRoleMaxSize);
+        createRegion(cacheManager, EVENTS, eventsMaxSize);
+        createRegion(cacheManager, APP_USERS_BY_EMAIL, appUsersByEmailMaxSize);
+        createRegion(cacheManager, QUERY_RESULTS, queryResultsMaxSize);
+        createRegion(cacheManager, UPDATE_TIMESTAMPS, -1);
+
+        return cacheManager;
+    }
+
+    @Bean
+    @Description("Enables the Hibernate second-level and query cache")
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(final CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.JPA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private static void createRegion(final CacheManager cacheManager, final String region, final long maxSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize >= 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        configuration.setStatisticsEnabled(true);
+
+        cacheManager.createCache(region, configuration);
+        log.info("*** Created cache region {}, max size {}", region, maxSize >= 0 ? maxSize : "unlimited");
+    }
+
+} // The End...
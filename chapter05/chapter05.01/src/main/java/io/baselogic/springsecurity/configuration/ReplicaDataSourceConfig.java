@@ -0,0 +1,84 @@
+package io.baselogic.springsecurity.configuration;
+
+import io.baselogic.springsecurity.datasource.ReadWriteRoutingDataSource;
+import io.baselogic.springsecurity.datasource.ReplicaDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Description;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read Replica DataSource Configuration
+ *
+ * Enabled with 'events.datasource.replicas.enabled=true'. The 'spring.datasource' becomes the primary, and
+ * read-only transactions, e.g. the {@code @Transactional(readOnly = true)} DAO methods, read from the replicas in
+ * 'events.datasource.replicas.urls' instead, see {@link ReadWriteRoutingDataSource}.
+ *
+ * The replicas use the driver, username and password of 'spring.datasource', and are expected to be replicated
+ * copies of the primary: the schema and data scripts only run on the primary.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created
+ */
+@Configuration
+@ConditionalOnProperty(name = "events.datasource.replicas.enabled", havingValue = "true")
+@Slf4j
+public class ReplicaDataSourceConfig {
+
+    @Value("${events.datasource.replicas.urls}")
+    private List<String> urls;
+
+    @Value("${events.datasource.replicas.selection:ROUND_ROBIN}")
+    private ReadWriteRoutingDataSource.Selection selection;
+
+    /** Replicas lagging more than this are skipped */
+    @Value("${events.datasource.replicas.max-lag:5s}")
+    private Duration maxLag;
+
+    /** Returns the replication lag in milliseconds, no lag check when empty */
+    @Value("${events.datasource.replicas.lag-query:}")
+    private String lagQuery;
+
+    @Value("${events.datasource.replicas.lag-check-interval:1s}")
+    private Duration lagCheckInterval;
+
+
+    /**
+     * The {@link DataSource} used by the application, the transaction manager and the schema and data scripts.
+     *
+     * The {@link ReadWriteRoutingDataSource} is not a bean of its own: a second {@link DataSource} bean would be
+     * initialized while this one is in creation, and Spring Boot's DataSourceInitializerInvoker, triggered by any
+     * initialized {@link DataSource}, would then need this one. Use {@code unwrap(ReadWriteRoutingDataSource.class)}.
+     */
+    @Bean
+    @Description("Lazy connection proxy of a ReadWriteRoutingDataSource")
+    public DataSource dataSource(final DataSourceProperties properties) {
+        DataSource primary = properties.initializeDataSourceBuilder().build();
+
+        List<ReplicaDataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            DataSource dataSource = DataSourceBuilder.create()
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i))
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            replicas.add(new ReplicaDataSource("replica-" + i, dataSource,
+                    lagQuery.isEmpty() ? null : lagQuery, lagCheckInterval.toMillis()));
+        }
+        log.info("*** Routing read-only transactions to {} replicas, {}", replicas.size(), selection);
+
+        return new ReadWriteRoutingDataSource(primary, replicas, selection, maxLag.toMillis()).lazy();
+    }
+
+} // The End...
@@ -128,7 +128,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/").access(HASANYROLE_ANONYMOUS)
                 .antMatchers("/login/*").access(HASANYROLE_ANONYMOUS)
                 .antMatchers("/logout/*").access(HASANYROLE_ANONYMOUS)
-                .antMatchers("/admin/*").access(HASROLE_ADMIN)
+                .antMatchers("/admin/**").access(HASROLE_ADMIN)
                 .antMatchers("/events/").access(HASROLE_ADMIN)
                 .antMatchers("/**").access(HASROLE_USER)
 
@@ -0,0 +1,214 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * An in-memory index of the {@link AppUser#getEmail()}'s, used by {@link UserDao#findAllByEmail(String, int)}
+ * so a partial email search does not scan the users.
+ *
+ * Every email is indexed by its trigrams, each trigram holding the ids of the emails that contain it in order.
+ * A search for 3 or more characters walks the smallest of the trigram sets of the search and stops once
+ * {@code limit} emails contain the search, so the results are ordered by id. The emails are also kept in order,
+ * so a search for 1 or 2 characters is a prefix search, ordered by email.
+ *
+ * The index is loaded on the first search by the {@code loader}, and kept current with {@link #add(Integer, String)}
+ * when a user is saved. It can therefore hold the id of a user whose transaction rolled back, so the ids it returns
+ * must still be read from the database.
+ *
+ * Between loads it only knows the users saved through this node, so the results are eventually consistent across
+ * nodes: the first search after {@code refreshInterval} reloads the index, while the other searches keep using
+ * the current one. A reload adds and replaces emails, it does not remove the ids of deleted users.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+@Slf4j
+public class EmailSearchIndex {
+
+    public static final int GRAM_LENGTH = 3;
+
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(5);
+
+    private final Consumer<EmailSearchIndex> loader;
+    private final long refreshNanos;
+
+    private final Map<Integer, String> emails = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Integer> sortedEmails = new ConcurrentSkipListMap<>();
+    private final Map<String, Posting> grams = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+    private volatile long loadedAt;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+
+    /**
+     * @param loader adds every existing email to the index with {@link #add(Integer, String)}
+     */
+    public EmailSearchIndex(final @NotNull Consumer<EmailSearchIndex> loader) {
+        this(loader, DEFAULT_REFRESH_INTERVAL);
+    }
+
+    /**
+     * @param loader adds every existing email to the index with {@link #add(Integer, String)}
+     * @param refreshInterval the time after which the next search reloads the index
+     */
+    public EmailSearchIndex(final @NotNull Consumer<EmailSearchIndex> loader,
+                            final @NotNull Duration refreshInterval) {
+        this.loader = loader;
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+
+    /**
+     * Add or replace the email of a user.
+     *
+     * @param id the {@link AppUser#getId()}
+     * @param email the {@link AppUser#getEmail()}
+     */
+    public synchronized void add(final @NotNull Integer id, final @NotNull String email) {
+        String normalized = normalize(email);
+        String previous = emails.put(id, normalized);
+        if (normalized.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            sortedEmails.remove(previous, id);
+            for (String gram : grams(previous)) {
+                Posting posting = grams.get(gram);
+                if (posting != null && posting.ids.remove(id)) {
+                    posting.size--;
+                }
+            }
+        }
+        sortedEmails.put(normalized, id);
+        for (String gram : grams(normalized)) {
+            Posting posting = grams.computeIfAbsent(gram, g -> new Posting());
+            if (posting.ids.add(id)) {
+                posting.size++;
+            }
+        }
+    }
+
+    /**
+     * Find the ids of the users with an email that contains {@code partialEmail}, ignoring case.
+     * A {@code partialEmail} shorter than {@link #GRAM_LENGTH} must be the start of the email.
+     *
+     * @param partialEmail the part of the email to search for
+     * @param limit the maximum number of ids to return
+     * @return at most {@code limit} ids, never null
+     */
+    public List<Integer> search(final @NotNull String partialEmail, final int limit) {
+        String search = normalize(partialEmail);
+        if (search.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+        load();
+
+        List<Integer> result = new ArrayList<>(Math.min(limit, 16));
+
+        if (search.length() < GRAM_LENGTH) {
+            for (Integer id : sortedEmails.subMap(search, true, search + Character.MAX_VALUE, false).values()) {
+                result.add(id);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        Posting candidates = null;
+        for (String gram : grams(search)) {
+            Posting posting = grams.get(gram);
+            if (posting == null || posting.size == 0) {
+                return result;
+            }
+            if (candidates == null || posting.size < candidates.size) {
+                candidates = posting;
+            }
+        }
+
+        for (Integer id : candidates.ids) {
+            String email = emails.get(id);
+            if (email != null && email.contains(search)) {
+                result.add(id);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of indexed emails
+     */
+    public int size() {
+        return emails.size();
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private void load() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    loader.accept(this);
+                    loadedAt = System.nanoTime();
+                    loaded = true;
+                    log.info("*** Indexed {} emails", emails.size());
+                }
+            }
+            return;
+        }
+
+        // Only one search reloads, the others use the current index
+        if (System.nanoTime() - loadedAt >= refreshNanos && reloading.compareAndSet(false, true)) {
+            try {
+                loader.accept(this);
+                loadedAt = System.nanoTime();
+                log.debug("*** Reloaded {} emails", emails.size());
+            } finally {
+                reloading.set(false);
+            }
+        }
+    }
+
+    private static String normalize(final String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The ids of the emails that contain a trigram. The size is only changed while holding the index lock,
+     * as {@link ConcurrentSkipListSet#size()} walks the whole set.
+     */
+    private static final class Posting {
+        private final NavigableSet<Integer> ids = new ConcurrentSkipListSet<>();
+        private volatile int size;
+    }
+
+    private static List<String> grams(final String email) {
+        List<String> result = new ArrayList<>(Math.max(email.length() - GRAM_LENGTH + 1, 0));
+        for (int i = 0; i + GRAM_LENGTH <= email.length(); i++) {
+            result.add(email.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+} // The End...
@@ -2,6 +2,7 @@ package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventSummary;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -43,6 +44,39 @@ public interface EventDao {
      */
     List<Event> findAll();
 
+    /**
+     * Gets a keyset page of all {@link Event}'s, ordered by {@link Event#getId()}.
+     *
+     * @param afterId
+     *            only {@link Event}'s with a greater id, or null to start at the first {@link Event}.
+     * @param beforeId
+     *            only the {@link Event}'s with a smaller id, closest to it. Takes precedence over afterId.
+     * @param limit
+     *            the maximum number of {@link Event}'s to return.
+     * @return a non-null {@link List} of {@link EventSummary}'s, ascending by id
+     *
+     * @since chapter05.00 returns the {@link EventSummary} projection
+     */
+    List<EventSummary> findAll(Integer afterId, Integer beforeId, int limit);
+
+    /**
+     * Gets a keyset page of the {@link Event}'s owned by, or attended by the {@link AppUser},
+     * ordered by {@link Event#getId()}.
+     *
+     * @param userId
+     *            the {@link AppUser#getId()} to obtain {@link Event}'s for.
+     * @param afterId
+     *            only {@link Event}'s with a greater id, or null to start at the first {@link Event}.
+     * @param beforeId
+     *            only the {@link Event}'s with a smaller id, closest to it. Takes precedence over afterId.
+     * @param limit
+     *            the maximum number of {@link Event}'s to return.
+     * @return a non-null {@link List} of {@link EventSummary}'s, ascending by id
+     *
+     * @since chapter05.00 returns the {@link EventSummary} projection
+     */
+    List<EventSummary> findByUser(@NotNull Integer userId, Integer afterId, Integer beforeId, int limit);
+
     /**
      * Creates a {@link Event} and returns the new id for that {@link Event}.
      *
@@ -54,5 +88,18 @@ public interface EventDao {
      */
     Integer save(@NotNull @Valid Event event);
 
+    /**
+     * Creates the {@link Event}'s in batches and returns their new ids.
+     *
+     * @param events
+     *            the {@link Event}'s to create. Note that every {@link Event#getId()} should be null.
+     * @return the new ids, in the order of {@code events}
+     * @throws IllegalArgumentException
+     *             if an {@link Event#getId()} is non-null.
+     *
+     * @since chapter05.00
+     */
+    List<Integer> saveAll(@NotNull @Valid List<Event> events) throws IllegalArgumentException;
+
 
 } // The End...
@@ -2,21 +2,35 @@ package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventSummary;
 import io.baselogic.springsecurity.repository.EventRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityNotFoundException;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * A JPA implementation of {@link EventDao}.
  *
  * @author Mick Knutson
  *
+ * @since chapter05.01 Added keyset pagination
+ * @since chapter05.01 saveAll() sends the inserts as JDBC batches, save() flushes its insert
+ * @since chapter05.01 findById and the lists fetch the owner and attendee with the events
+ * @since chapter05.01 The keyset pages are read as {@link EventSummary} projections
  */
 @Repository
 public class JpaEventDao implements EventDao {
@@ -31,7 +45,8 @@ public class JpaEventDao implements EventDao {
     @Override
     @Transactional(readOnly = true)
     public Event findById(final @NotNull Integer eventId) {
-        return eventRepository.getOne(eventId);
+        return eventRepository.findWithOwnerAndAttendeeById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Unable to find Event with id " + eventId));
     }
 
 
@@ -52,11 +67,101 @@ public class JpaEventDao implements EventDao {
         return eventRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventSummary> findAll(final Integer afterId, final Integer beforeId, final int limit) {
+        if (beforeId != null) {
+            return reversed(eventRepository.findSummariesByIdLessThan(beforeId, seek(limit, Sort.Direction.DESC)));
+        }
+        return eventRepository.findSummariesByIdGreaterThan(after(afterId), seek(limit, Sort.Direction.ASC));
+    }
+
+    /**
+     * An OR over owner and attendee cannot seek in a single index, so the owner and attendee
+     * {@link Event}'s are seeked separately, each limited to the page size, and then merged.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventSummary> findByUser(final @NotNull Integer userId,
+                                         final Integer afterId,
+                                         final Integer beforeId,
+                                         final int limit) {
+        if (beforeId != null) {
+            Pageable pageable = seek(limit, Sort.Direction.DESC);
+            return merge(eventRepository.findSummariesByOwnerIdAndIdLessThan(userId, beforeId, pageable),
+                    eventRepository.findSummariesByAttendeeIdAndIdLessThan(userId, beforeId, pageable),
+                    limit, true);
+        }
+        Pageable pageable = seek(limit, Sort.Direction.ASC);
+        return merge(eventRepository.findSummariesByOwnerIdAndIdGreaterThan(userId, after(afterId), pageable),
+                eventRepository.findSummariesByAttendeeIdAndIdGreaterThan(userId, after(afterId), pageable),
+                limit, false);
+    }
+
+    private static Pageable seek(final int limit, final Sort.Direction direction) {
+        return PageRequest.of(0, limit, Sort.by(direction, "id"));
+    }
+
+    private static Integer after(final Integer afterId) {
+        return afterId != null ? afterId : Integer.MIN_VALUE;
+    }
 
+    private static List<EventSummary> reversed(final List<EventSummary> events) {
+        List<EventSummary> result = new ArrayList<>(events);
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * @return up to limit {@link EventSummary}'s closest to the cursor, ascending by id
+     */
+    private static List<EventSummary> merge(final List<EventSummary> owned,
+                                            final List<EventSummary> attended,
+                                            final int limit,
+                                            final boolean backward) {
+        TreeMap<Integer, EventSummary> merged = new TreeMap<>();
+        owned.forEach(e -> merged.put(e.getId(), e));
+        attended.forEach(e -> merged.put(e.getId(), e));
+
+        Map<Integer, EventSummary> closest = backward ? merged.descendingMap() : merged;
+        List<EventSummary> result = new ArrayList<>(limit);
+        for (EventSummary event : closest.values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(event);
+        }
+        return backward ? reversed(result) : result;
+    }
+
+
+    /**
+     * The ids come from a sequence, so the insert is flushed here to fail on save() like an IDENTITY insert.
+     */
     @Override
     public Integer save(final @NotNull @Valid Event event) {
-        Event newEvent = eventRepository.save(event);
+        Event newEvent = eventRepository.saveAndFlush(event);
         return newEvent.getId();
     }
 
+    /**
+     * The inserts are sent as JDBC batches of 'hibernate.jdbc.batch_size' when flushed.
+     *
+     * The IllegalArgumentException is declared, so the @Repository does not translate it.
+     */
+    @Override
+    @Transactional
+    public List<Integer> saveAll(final @NotNull @Valid List<Event> events) throws IllegalArgumentException {
+        for (Event event : events) {
+            if (event.getId() != null) {
+                throw new IllegalArgumentException("event.getId() must be null when creating a new Event");
+            }
+        }
+
+        List<Event> newEvents = eventRepository.saveAll(events);
+        eventRepository.flush();
+
+        return newEvents.stream().map(Event::getId).collect(Collectors.toList());
+    }
+
 } // The End...
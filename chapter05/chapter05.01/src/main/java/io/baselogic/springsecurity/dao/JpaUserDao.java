@@ -2,6 +2,7 @@ package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Role;
+import io.baselogic.springsecurity.domain.UserSummary;
 import io.baselogic.springsecurity.repository.AppUserRepository;
 import io.baselogic.springsecurity.repository.RoleRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +13,9 @@ import org.springframework.validation.annotation.Validated;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +26,8 @@ import java.util.Set;
  *
  * @author Mick Knutson
  * @since chapter05.01 Created Class
+ * @since chapter05.01 findAllByEmail uses the {@link EmailSearchIndex}
+ * @since chapter05.01 saveAll() sends the inserts as JDBC batches
  */
 @Repository
 @Validated
@@ -31,6 +37,8 @@ public class JpaUserDao implements UserDao {
     private final AppUserRepository appUserRepository;
     private final RoleRepository roleRepository;
 
+    private final EmailSearchIndex emailSearchIndex = new EmailSearchIndex(this::loadEmails);
+
     @Autowired
     public JpaUserDao(final @NotNull AppUserRepository appUserRepository,
                       final @NotNull RoleRepository roleRepository) {
@@ -52,11 +60,30 @@ public class JpaUserDao implements UserDao {
         return appUserRepository.findByEmail(email);
     }
 
-    // FIXME: Need to make a partial search:
     @Override
     @Transactional(readOnly = true)
-    public List<AppUser> findAllByEmail(final @NotEmpty String partialEmail) {
-        return appUserRepository.findAll();
+    public List<AppUser> findAllByEmail(final @NotEmpty String partialEmail, final int limit) {
+        List<Integer> ids = emailSearchIndex.search(partialEmail, Math.min(Math.max(limit, 1), MAX_EMAIL_RESULTS));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<AppUser> appUsers = appUserRepository.findAllById(ids);
+        appUsers.sort(Comparator.comparingInt(appUser -> ids.indexOf(appUser.getId())));
+        return appUsers;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserSummary> findSummariesByEmail(final @NotEmpty String partialEmail, final int limit) {
+        List<Integer> ids = emailSearchIndex.search(partialEmail, Math.min(Math.max(limit, 1), MAX_EMAIL_RESULTS));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<UserSummary> users = appUserRepository.findSummariesByIdIn(ids);
+        users.sort(Comparator.comparingInt(user -> ids.indexOf(user.getId())));
+        return users;
     }
 
 
@@ -73,7 +100,43 @@ public class JpaUserDao implements UserDao {
         AppUser result = appUserRepository.save(appUser);
         appUserRepository.flush();
 
+        emailSearchIndex.add(result.getId(), result.getEmail());
         return result.getId();
     }
 
+    /**
+     * The default {@link Role} is read once, and the inserts are sent as JDBC batches of
+     * 'hibernate.jdbc.batch_size' when flushed.
+     */
+    @Override
+    @Transactional
+    public List<Integer> saveAll(final @NotNull List<AppUser> appUsers) {
+        Optional<Role> role = roleRepository.findById(0);
+
+        for (AppUser appUser : appUsers) {
+            if (appUser.getId() != null) {
+                throw new IllegalArgumentException("appUser.getId() must be null when creating a " + AppUser.class.getName());
+            }
+            Set<Role> roles = new HashSet<>();
+            role.ifPresent(roles::add);
+            appUser.setRoles(roles);
+        }
+
+        List<AppUser> result = appUserRepository.saveAll(appUsers);
+        appUserRepository.flush();
+
+        List<Integer> ids = new ArrayList<>(result.size());
+        for (AppUser appUser : result) {
+            emailSearchIndex.add(appUser.getId(), appUser.getEmail());
+            ids.add(appUser.getId());
+        }
+        return ids;
+    }
+
+    private void loadEmails(final EmailSearchIndex index) {
+        for (Object[] idAndEmail : appUserRepository.findAllIdAndEmail()) {
+            index.add((Integer) idAndEmail[0], (String) idAndEmail[1]);
+        }
+    }
+
 } // The End...
@@ -1,6 +1,7 @@
 package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.UserSummary;
 import org.springframework.dao.EmptyResultDataAccessException;
 
 import javax.validation.constraints.NotEmpty;
@@ -38,17 +39,53 @@ public interface UserDao {
     AppUser findByEmail(@NotEmpty String email);
 
 
+    int DEFAULT_EMAIL_RESULTS = 10;
+    int MAX_EMAIL_RESULTS = 50;
+
     /**
-     * Finds any {@link AppUser} that has an email that starts with {@code partialEmail}.
+     * Finds up to {@link #DEFAULT_EMAIL_RESULTS} {@link AppUser}s that have an email that contains
+     * {@code partialEmail}, see {@link #findAllByEmail(String, int)}.
      *
      * @param partialEmail
      *            the email address to use to find {@link AppUser}s. Cannot be null or empty String.
-     * @return a List of {@link AppUser}s that have an email that starts with given partialEmail. The returned value
+     * @return a List of {@link AppUser}s that have an email that contains given partialEmail. The returned value
      *         will never be null. If no results are found an empty List will be returned.
      * @throws IllegalArgumentException
      *             if email is null or empty String.
      */
-    List<AppUser> findAllByEmail(@NotEmpty String partialEmail);
+    default List<AppUser> findAllByEmail(@NotEmpty String partialEmail) {
+        return findAllByEmail(partialEmail, DEFAULT_EMAIL_RESULTS);
+    }
+
+    /**
+     * Finds up to {@code limit} {@link AppUser}s that have an email that contains {@code partialEmail}, ignoring case,
+     * using the {@link EmailSearchIndex}. A {@code partialEmail} of less than 3 characters must be the start of the email.
+     * Users saved through another node are only found once the index reloads, see {@link EmailSearchIndex}.
+     *
+     * @param partialEmail
+     *            the email address to use to find {@link AppUser}s. Cannot be null or empty String.
+     * @param limit
+     *            the maximum number of {@link AppUser}s to return, at most {@link #MAX_EMAIL_RESULTS}.
+     * @return a List of {@link AppUser}s that have an email that contains given partialEmail. The returned value
+     *         will never be null. If no results are found an empty List will be returned.
+     *
+     * @since chapter05.00
+     */
+    List<AppUser> findAllByEmail(@NotEmpty String partialEmail, int limit);
+
+    /**
+     * Finds up to {@code limit} {@link UserSummary}s, like {@link #findAllByEmail(String, int)}, without reading
+     * the password and roles of the {@link AppUser}s.
+     *
+     * @param partialEmail
+     *            the email address to use to find {@link AppUser}s. Cannot be null or empty String.
+     * @param limit
+     *            the maximum number of {@link UserSummary}s to return, at most {@link #MAX_EMAIL_RESULTS}.
+     * @return a non-null List of {@link UserSummary}s, in the order of {@link #findAllByEmail(String, int)}
+     *
+     * @since chapter05.00
+     */
+    List<UserSummary> findSummariesByEmail(@NotEmpty String partialEmail, int limit);
 
     /**
      * Creates a new {@link AppUser}.
@@ -61,4 +98,17 @@ public interface UserDao {
      */
     Integer save(@NotNull AppUser appUser);
 
+    /**
+     * Creates the {@link AppUser}s in batches and returns their new ids.
+     *
+     * @param appUsers
+     *            the new {@link AppUser}s to create. Every {@link AppUser#getId()} must be null.
+     * @return the new ids, in the order of {@code appUsers}
+     * @throws IllegalArgumentException
+     *             if an {@link AppUser#getId()} is non-null.
+     *
+     * @since chapter05.00
+     */
+    List<Integer> saveAll(@NotNull List<AppUser> appUsers);
+
 } // The End...
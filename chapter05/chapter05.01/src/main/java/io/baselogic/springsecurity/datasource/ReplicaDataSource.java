@@ -0,0 +1,171 @@
+package io.baselogic.springsecurity.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import javax.validation.constraints.NotNull;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * A read replica used by {@link ReadWriteRoutingDataSource}.
+ *
+ * Counts the connections that are currently borrowed from it, for {@link ReadWriteRoutingDataSource.Selection#LEAST_LOADED},
+ * and measures its replication lag with the {@code lagQuery}, which must return the lag in milliseconds as its
+ * first column, e.g. for PostgreSQL:
+ * <pre>
+ * SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+ * </pre>
+ * The lag is measured at most once per {@code lagCheckInterval}, by the first thread that needs it. A replica whose
+ * lag query fails is treated as lagging until the next check.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+@Slf4j
+public class ReplicaDataSource extends DelegatingDataSource {
+
+    /** The lag of a replica that is not reachable */
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final String name;
+    private final String lagQuery;
+    private final long lagCheckIntervalMillis;
+    private final LongSupplier clock;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicBoolean checking = new AtomicBoolean();
+
+    private volatile long lagMillis;
+    /** False until the first lag check, 'now - lastCheck' would overflow with an initial Long.MIN_VALUE */
+    private volatile boolean checked;
+    private volatile long lastCheck;
+
+
+    /**
+     * @param name the name of the replica, used in the logs
+     * @param dataSource the pooled replica {@link DataSource}
+     * @param lagQuery the query returning the replication lag in milliseconds, or null to never check the lag
+     * @param lagCheckIntervalMillis the minimum time between two lag checks
+     */
+    public ReplicaDataSource(final @NotNull String name,
+                             final @NotNull DataSource dataSource,
+                             final String lagQuery,
+                             final long lagCheckIntervalMillis) {
+        this(name, dataSource, lagQuery, lagCheckIntervalMillis, System::currentTimeMillis);
+    }
+
+    ReplicaDataSource(final String name,
+                      final DataSource dataSource,
+                      final String lagQuery,
+                      final long lagCheckIntervalMillis,
+                      final LongSupplier clock) {
+        super(dataSource);
+        this.name = name;
+        this.lagQuery = lagQuery;
+        this.lagCheckIntervalMillis = lagCheckIntervalMillis;
+        this.clock = clock;
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of connections borrowed from this replica and not yet closed
+     */
+    public int getActiveConnections() {
+        return active.get();
+    }
+
+    /**
+     * @return the last measured replication lag in milliseconds, {@link #UNREACHABLE} if the last check failed
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * @param maxLagMillis the maximum replication lag in milliseconds
+     * @return true if this replica may serve reads, measuring the lag first if the last check is too old
+     */
+    public boolean isAvailable(final long maxLagMillis) {
+        if (lagQuery == null) {
+            return true;
+        }
+        long now = clock.getAsLong();
+        if ((!checked || now - lastCheck >= lagCheckIntervalMillis) && checking.compareAndSet(false, true)) {
+            try {
+                lagMillis = measureLag();
+                lastCheck = now;
+                checked = true;
+            } finally {
+                checking.set(false);
+            }
+        }
+        return lagMillis <= maxLagMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counted(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return counted(super.getConnection(username, password));
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicaDataSource[" + name + ", active=" + active.get() + ", lag=" + lagMillis + "ms]";
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private long measureLag() {
+        // Not counted as a borrowed connection
+        try (Connection connection = obtainTargetDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            long lag = rs.next() ? rs.getLong(1) : 0L;
+            log.debug("*** Replica {} lag: {}ms", name, lag);
+            return lag;
+        } catch (SQLException e) {
+            log.warn("*** Replica {} lag check failed: {}", name, e.getMessage());
+            return UNREACHABLE;
+        }
+    }
+
+    /**
+     * Wrap the {@link Connection} so {@link Connection#close()} releases the count exactly once.
+     */
+    private Connection counted(final Connection connection) {
+        active.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                        active.decrementAndGet();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+} // The End...
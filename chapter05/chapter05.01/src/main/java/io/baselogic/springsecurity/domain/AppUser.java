@@ -5,7 +5,11 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -20,6 +24,9 @@ import java.util.Set;
 // JPA Annotations:
 @Entity
 @Table(name = "app_users")
+// @since chapter05.01 Opt-in second-level cache, see HibernateCacheConfig
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "appUsers")
 
 // Lombok Annotations:
 @Data
@@ -30,8 +37,10 @@ public class AppUser implements Principal, Serializable {
 
 //    public AppUser() {}
 
+    // @since chapter05.01 sequence ids, so Hibernate can batch the inserts of UserDao.saveAll
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_users_seq")
+    @SequenceGenerator(name = "app_users_seq", sequenceName = "app_users_seq", allocationSize = 50)
     private Integer id;
 
     private String firstName;
@@ -39,11 +48,16 @@ public class AppUser implements Principal, Serializable {
     private String email;
     private String password;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // @since chapter05.01 lazy, the authorities of a login are read by the AuthorityLoader,
+    // and the roles are left out of equals, hashCode and toString so a detached AppUser can still use them
+    @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user_role")
     @JoinTable(name = "user_role",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
     @JsonManagedReference
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Set<Role> roles;
 
     private static final long serialVersionUID = 8433999509932007961L;
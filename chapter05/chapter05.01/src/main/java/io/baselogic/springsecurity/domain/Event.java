@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotEmpty;
@@ -22,6 +24,16 @@ import java.util.Calendar;
 // JPA Annotations:
 @Entity
 @Table(name = "events")
+// @since chapter05.01 Validated on save(), see PrePersistValidationListener
+@EntityListeners(PrePersistValidationListener.class)
+// @since chapter05.01 Opt-in second-level cache, see HibernateCacheConfig
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "events")
+// @since chapter05.01 Fetch the owner and attendee with the event, they are shown with every event
+@NamedEntityGraph(name = Event.OWNER_AND_ATTENDEE, attributeNodes = {
+        @NamedAttributeNode("owner"),
+        @NamedAttributeNode("attendee")
+})
 
 // Lombok Annotations:
 @Data
@@ -32,8 +44,12 @@ public class Event implements Serializable {
 
 //    public Event() {}
 
+    public static final String OWNER_AND_ATTENDEE = "Event.ownerAndAttendee";
+
+    // @since chapter05.01 sequence ids, so Hibernate can batch the inserts of EventDao.saveAll
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     private Integer id;
 
     @NotEmpty(message = "Summary is required")
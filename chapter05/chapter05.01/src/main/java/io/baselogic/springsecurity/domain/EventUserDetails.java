@@ -5,6 +5,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * There are advantages to creating a class that extends
@@ -21,22 +22,41 @@ import java.util.Collection;
  *
  * @author mickknutson
  * @since chapter03.04
+ * @since chapter05.01 authorities loaded from the roles of the {@link AppUser}
  *
  */
 public class EventUserDetails
         extends AppUser
         implements UserDetails {
 
+    private final List<GrantedAuthority> authorities;
+
+    /**
+     * The authorities are created by {@link UserAuthorityUtils#createAuthorities(AppUser)}.
+     */
     public EventUserDetails(AppUser appUser) {
+        this(appUser, null);
+    }
+
+    /**
+     * @param authorities the authorities of the {@link AppUser}, e.g. read by the
+     *                    {@link io.baselogic.springsecurity.userdetails.AuthorityLoader}
+     * @since chapter05.01
+     */
+    public EventUserDetails(AppUser appUser, Collection<? extends GrantedAuthority> authorities) {
         setId(appUser.getId());
         setEmail(appUser.getEmail());
         setFirstName(appUser.getFirstName());
         setLastName(appUser.getLastName());
         setPassword(appUser.getPassword());
+        this.authorities = authorities == null ? null : List.copyOf(authorities);
     }
 
     @Override
     public Collection<GrantedAuthority> getAuthorities() {
+        if (authorities != null) {
+            return authorities;
+        }
         return UserAuthorityUtils.createAuthorities(this);
     }
 
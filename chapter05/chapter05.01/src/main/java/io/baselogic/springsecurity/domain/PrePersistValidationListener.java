@@ -0,0 +1,39 @@
+package io.baselogic.springsecurity.domain;
+
+import javax.persistence.PrePersist;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+import java.util.Set;
+
+/**
+ * Validates an entity when it is persisted, instead of when it is inserted.
+ *
+ * Hibernate validates on insert, which for sequence ids only happens on flush. This keeps an invalid
+ * {@link Event} failing on save() with a {@link ConstraintViolationException}, as it did with IDENTITY ids.
+ * Hibernate still validates again on flush.
+ *
+ * Created by Hibernate through the Spring bean container, so the {@link Validator} is the application one.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.01 Created Class
+ */
+public class PrePersistValidationListener {
+
+    private final Validator validator;
+
+    public PrePersistValidationListener(final @NotNull Validator validator) {
+        this.validator = validator;
+    }
+
+    @PrePersist
+    public void validate(final Object entity) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+} // The End...
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -18,6 +20,9 @@ import java.util.Set;
 // JPA Annotations:
 @Entity
 @Table(name = "roles")
+// @since chapter05.01 Opt-in second-level cache, see HibernateCacheConfig
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 
 // Lombok Annotations:
 //@Data // Throws StackOverflowError
@@ -34,7 +39,8 @@ public class Role implements Serializable {
     private Integer id;
     private String name;
 
-    @ManyToMany(fetch = FetchType.EAGER, mappedBy = "roles")
+    // @since chapter05.01 lazy, a Role is shared by most users and loading it must not load all of them
+    @ManyToMany(mappedBy = "roles")
     @JsonBackReference
     private Set<AppUser> users;
 
@@ -0,0 +1,24 @@
+package io.baselogic.springsecurity.domain;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * A read-only projection of an {@link AppUser} for the user search, without the password and roles.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+@Value
+public class UserSummary implements Serializable {
+
+    Integer id;
+    String email;
+    String firstName;
+    String lastName;
+
+    private static final long serialVersionUID = -4521867306178592340L;
+
+} // The End...
@@ -1,14 +1,51 @@
 package io.baselogic.springsecurity.repository;
 
 import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.UserSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
 public interface AppUserRepository extends JpaRepository<AppUser, Integer> {
 
+    /**
+     * Cached in the 'appUsers.findByEmail' query region when the second-level cache is enabled,
+     * see {@link io.baselogic.springsecurity.configuration.HibernateCacheConfig}.
+     * @since chapter05.01
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "appUsers.findByEmail")
+    })
     AppUser findByEmail(String email);
 
     List<AppUser> findAllByEmailContaining(String partialEmail);
 
+    /**
+     * @return the id and email of every {@link AppUser}, to load the email search index
+     * @since chapter05.01
+     */
+    @Query("select u.id, u.email from AppUser u")
+    List<Object[]> findAllIdAndEmail();
+
+    /**
+     * @return the {@link UserSummary} of each of the given users, in no particular order
+     * @since chapter05.01
+     */
+    @Query("select new io.baselogic.springsecurity.domain.UserSummary(u.id, u.email, u.firstName, u.lastName)"
+            + " from AppUser u where u.id in :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * @return the id of the {@link AppUser} and the name of one of its roles, for each of the given users
+     * @since chapter05.01
+     */
+    @Query("select u.id, r.name from AppUser u join u.roles r where u.id in :ids")
+    List<Object[]> findRoleNamesByIdIn(@Param("ids") Collection<Integer> ids);
+
 } // The End...
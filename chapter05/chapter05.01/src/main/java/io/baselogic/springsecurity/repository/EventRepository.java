@@ -2,13 +2,62 @@ package io.baselogic.springsecurity.repository;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventSummary;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * @since chapter05.01 The list and detail queries fetch the owner and attendee with the {@link Event},
+ * with the {@link Event#OWNER_AND_ATTENDEE} entity graph, instead of one select per lazy owner and attendee.
+ * @since chapter05.01 The keyset pages select {@link EventSummary} projections, not managed entities.
+ */
 public interface EventRepository extends JpaRepository<Event, Integer> {
 
+    @EntityGraph(Event.OWNER_AND_ATTENDEE)
     List<Event> findByOwner(AppUser appUser);
 
+    @Override
+    @EntityGraph(Event.OWNER_AND_ATTENDEE)
+    List<Event> findAll();
+
+    @Override
+    @EntityGraph(Event.OWNER_AND_ATTENDEE)
+    <S extends Event> List<S> findAll(Example<S> example);
+
+    @EntityGraph(Event.OWNER_AND_ATTENDEE)
+    Optional<Event> findWithOwnerAndAttendeeById(Integer id);
+
+
+    //-----------------------------------------------------------------------//
+    // @since chapter05.01 Keyset pagination.
+    // The Pageable only carries the limit and sort, no count query is executed for a List.
+
+    String SUMMARY = "select new io.baselogic.springsecurity.domain.EventSummary(e.id, e.summary, e.when, o.email, a.email)"
+            + " from Event e join e.owner o join e.attendee a";
+
+    @Query(SUMMARY + " where e.id > :id")
+    List<EventSummary> findSummariesByIdGreaterThan(@Param("id") Integer id, Pageable pageable);
+
+    @Query(SUMMARY + " where e.id < :id")
+    List<EventSummary> findSummariesByIdLessThan(@Param("id") Integer id, Pageable pageable);
+
+    @Query(SUMMARY + " where o.id = :userId and e.id > :id")
+    List<EventSummary> findSummariesByOwnerIdAndIdGreaterThan(@Param("userId") Integer ownerId, @Param("id") Integer id, Pageable pageable);
+
+    @Query(SUMMARY + " where o.id = :userId and e.id < :id")
+    List<EventSummary> findSummariesByOwnerIdAndIdLessThan(@Param("userId") Integer ownerId, @Param("id") Integer id, Pageable pageable);
+
+    @Query(SUMMARY + " where a.id = :userId and e.id > :id")
+    List<EventSummary> findSummariesByAttendeeIdAndIdGreaterThan(@Param("userId") Integer attendeeId, @Param("id") Integer id, Pageable pageable);
+
+    @Query(SUMMARY + " where a.id = :userId and e.id < :id")
+    List<EventSummary> findSummariesByAttendeeIdAndIdLessThan(@Param("userId") Integer attendeeId, @Param("id") Integer id, Pageable pageable);
 
 } // The End...
@@ -0,0 +1,200 @@
+package io.baselogic.springsecurity.service;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.Reader;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Imports {@link Event}'s and {@link AppUser}s from CSV, read one record at a time and saved with
+ * {@link EventService#createEvents(List)} and {@link EventService#createUsers(List)}.
+ *
+ * Every chunk of records is committed in its own transaction, and the {@link ImportProgress} is reported
+ * after each chunk. The import stops at the first invalid record or failed chunk, the chunks before it stay committed.
+ *
+ * <pre>
+ * events: when,summary,description,ownerEmail,attendeeEmail   (when as yyyy-MM-dd HH:mm)
+ * users:  email,password,firstName,lastName
+ * </pre>
+ * A first record starting with 'when' or 'email' is a header and skipped.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+@Service
+@Slf4j
+public class BulkImportService {
+
+    public static final String EVENTS = "events";
+    public static final String USERS = "users";
+
+    public static final int MAX_CHUNK_SIZE = 10_000;
+
+    private static final String WHEN_PATTERN = "yyyy-MM-dd HH:mm";
+
+    private final EventService eventService;
+    private final TransactionTemplate transactionTemplate;
+    private final int defaultChunkSize;
+
+
+    @Autowired
+    public BulkImportService(final @NotNull EventService eventService,
+                             final @NotNull PlatformTransactionManager transactionManager,
+                             final @Value("${events.import.chunk-size:1000}") int defaultChunkSize) {
+        this.eventService = eventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultChunkSize = defaultChunkSize;
+    }
+
+
+    /**
+     * @param csv the CSV records, see the class documentation
+     * @param chunkSize the records per transaction, or null for 'events.import.chunk-size'
+     * @param listener receives the {@link ImportProgress} after every chunk
+     * @return the final {@link ImportProgress}
+     */
+    public ImportProgress importEvents(final @NotNull Reader csv,
+                                       final Integer chunkSize,
+                                       final @NotNull Consumer<ImportProgress> listener) throws IOException {
+        Map<String, AppUser> users = new HashMap<>();
+        SimpleDateFormat format = new SimpleDateFormat(WHEN_PATTERN);
+        format.setLenient(false);
+
+        return importRecords(EVENTS, csv, chunkSize, listener, fields -> {
+            require(fields, 5);
+            Calendar when = Calendar.getInstance();
+            try {
+                when.setTime(format.parse(fields.get(0)));
+            } catch (ParseException e) {
+                throw new IllegalArgumentException("'when' must be " + WHEN_PATTERN + ": " + fields.get(0));
+            }
+            return Event.builder()
+                    .when(when)
+                    .summary(fields.get(1))
+                    .description(fields.get(2))
+                    .owner(user(users, fields.get(3)))
+                    .attendee(user(users, fields.get(4)))
+                    .build();
+        }, eventService::createEvents);
+    }
+
+    /**
+     * @param csv the CSV records, see the class documentation
+     * @param chunkSize the records per transaction, or null for 'events.import.chunk-size'
+     * @param listener receives the {@link ImportProgress} after every chunk
+     * @return the final {@link ImportProgress}
+     */
+    public ImportProgress importUsers(final @NotNull Reader csv,
+                                      final Integer chunkSize,
+                                      final @NotNull Consumer<ImportProgress> listener) throws IOException {
+        return importRecords(USERS, csv, chunkSize, listener, fields -> {
+            require(fields, 4);
+            AppUser appUser = new AppUser();
+            appUser.setEmail(fields.get(0));
+            appUser.setPassword(fields.get(1));
+            appUser.setFirstName(fields.get(2));
+            appUser.setLastName(fields.get(3));
+            return appUser;
+        }, eventService::createUsers);
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private <T> ImportProgress importRecords(final String type,
+                                             final Reader csv,
+                                             final Integer chunkSize,
+                                             final Consumer<ImportProgress> listener,
+                                             final Function<List<String>, T> mapper,
+                                             final Consumer<List<T>> saver) throws IOException {
+        int size = Math.min(Math.max(chunkSize != null ? chunkSize : defaultChunkSize, 1), MAX_CHUNK_SIZE);
+        ImportProgress progress = new ImportProgress(type);
+        CsvRecordReader reader = new CsvRecordReader(csv);
+
+        List<T> chunk = new ArrayList<>(size);
+        List<String> fields;
+        while ((fields = reader.read()) != null) {
+            if (isBlank(fields) || (reader.getLine() == 1 && isHeader(fields))) {
+                continue;
+            }
+            try {
+                chunk.add(mapper.apply(fields));
+            } catch (RuntimeException e) {
+                progress.failed(reader.getLine(), e.getMessage());
+                listener.accept(progress);
+                return progress;
+            }
+            if (chunk.size() == size && !commit(progress, chunk, reader.getLine(), saver, listener)) {
+                return progress;
+            }
+        }
+        if (!chunk.isEmpty() && !commit(progress, chunk, reader.getLine(), saver, listener)) {
+            return progress;
+        }
+
+        progress.completed();
+        listener.accept(progress);
+        log.info("*** Imported {}", progress);
+        return progress;
+    }
+
+    private <T> boolean commit(final ImportProgress progress,
+                               final List<T> chunk,
+                               final int line,
+                               final Consumer<List<T>> saver,
+                               final Consumer<ImportProgress> listener) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> saver.accept(chunk));
+        } catch (RuntimeException e) {
+            log.warn("*** Import of {} failed before line {}", progress.getType(), line, e);
+            progress.failed(line, e.getMessage());
+            listener.accept(progress);
+            return false;
+        }
+        progress.committed(chunk.size(), line);
+        chunk.clear();
+        listener.accept(progress);
+        return true;
+    }
+
+    private AppUser user(final Map<String, AppUser> users, final String email) {
+        AppUser appUser = users.computeIfAbsent(email, eventService::findUserByEmail);
+        if (appUser == null) {
+            throw new IllegalArgumentException("Unknown user: " + email);
+        }
+        return appUser;
+    }
+
+    private static void require(final List<String> fields, final int count) {
+        if (fields.size() != count) {
+            throw new IllegalArgumentException("Expected " + count + " fields but found " + fields.size());
+        }
+    }
+
+    private static boolean isBlank(final List<String> fields) {
+        return fields.size() == 1 && fields.get(0).trim().isEmpty();
+    }
+
+    private static boolean isHeader(final List<String> fields) {
+        return "when".equalsIgnoreCase(fields.get(0)) || "email".equalsIgnoreCase(fields.get(0));
+    }
+
+} // The End...
@@ -0,0 +1,74 @@
+package io.baselogic.springsecurity.userdetails;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Role;
+import io.baselogic.springsecurity.repository.AppUserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the {@link GrantedAuthority}'s of {@link AppUser}'s from their {@link Role} names, without loading the
+ * {@link AppUser#getRoles()} collections or the {@link Role} entities.
+ *
+ * A single user is one query. A list of users is one query per {@link #BATCH_SIZE} users, each with an
+ * {@code IN} list of their ids, instead of one query per user.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.01
+ */
+@Component
+@Slf4j
+public class AuthorityLoader {
+
+    /** The maximum number of ids in the {@code IN} list of one query */
+    public static final int BATCH_SIZE = 500;
+
+    private final AppUserRepository appUserRepository;
+
+    @Autowired
+    public AuthorityLoader(final @NotNull AppUserRepository appUserRepository) {
+        this.appUserRepository = appUserRepository;
+    }
+
+
+    /**
+     * @return the authorities of the {@link AppUser} with the given id, empty if it has no roles
+     */
+    @Transactional(readOnly = true)
+    public List<GrantedAuthority> load(final @NotNull Integer userId) {
+        return loadAll(List.of(userId)).get(userId);
+    }
+
+    /**
+     * @return the authorities of each of the given {@link AppUser} ids, in the order of the ids.
+     * An id without roles is mapped to an empty list.
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, List<GrantedAuthority>> loadAll(final @NotNull Collection<Integer> userIds) {
+        Map<Integer, List<GrantedAuthority>> result = new LinkedHashMap<>();
+        userIds.forEach(id -> result.put(id, new ArrayList<>()));
+
+        List<Integer> ids = new ArrayList<>(result.keySet());
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            for (Object[] row : appUserRepository.findRoleNamesByIdIn(batch)) {
+                result.get((Integer) row[0]).add(new SimpleGrantedAuthority((String) row[1]));
+            }
+        }
+        log.debug("*** Loaded the authorities of {} users", ids.size());
+        return result;
+    }
+
+} // The End...
@@ -30,6 +30,7 @@ import javax.validation.constraints.NotNull;
  * @since chapter03.05 Removed Class
  * @since chapter05.01 Re-Created Class from chapter03.04
  * @since chapter05.01 Added custom Service name @Service("userDetailsService")
+ * @since chapter05.01 Authorities read from the roles by the {@link AuthorityLoader}
  *
  */
 @Service("userDetailsService")
@@ -37,10 +38,13 @@ import javax.validation.constraints.NotNull;
 public class EventUserDetailsService implements UserDetailsService {
 
     private final UserDao userDao;
+    private final AuthorityLoader authorityLoader;
 
     @Autowired
-    public EventUserDetailsService(final @NotNull UserDao userDao) {
+    public EventUserDetailsService(final @NotNull UserDao userDao,
+                                   final @NotNull AuthorityLoader authorityLoader) {
         this.userDao = userDao;
+        this.authorityLoader = authorityLoader;
     }
 
 
@@ -48,6 +52,8 @@ public class EventUserDetailsService implements UserDetailsService {
      * Lookup a {@link AppUser} by the username representing
      * the email address. Then, convert the {@link AppUser}
      * into a {@link EventUserDetails} to conform to the {@link UserDetails} interface.
+     *
+     * The roles are not loaded with the {@link AppUser}, but as role names in a single query.
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -56,7 +62,7 @@ public class EventUserDetailsService implements UserDetailsService {
         if (appUser == null) {
             throw new UsernameNotFoundException("Invalid username/password.");
         }
-        return new EventUserDetails(appUser);
+        return new EventUserDetails(appUser, authorityLoader.load(appUser.getId()));
     }
 
 } // The End...
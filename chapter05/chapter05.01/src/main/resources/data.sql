@@ -19,6 +19,9 @@ INSERT INTO user_role (user_id,role_id) values (0, 0);
 INSERT INTO user_role (user_id,role_id) values (1, 0);
 INSERT INTO user_role (user_id,role_id) values (1, 1);
 
+-- user2 has one role
+INSERT INTO user_role (user_id,role_id) values (2, 0);
+
 
 -- Event Data
 INSERT INTO events (id,event_date,summary,description,owner,attendee) VALUES (100,'2020-07-03 00:00:01','Birthday Party','Time to have my yearly party!',0,1);
@@ -27,6 +27,15 @@ CREATE TABLE events (
                         FOREIGN KEY(attendee) REFERENCES app_users(id)
 );
 
+-- chapter05.01 keyset pagination of the events of a user
+CREATE INDEX events_owner_id ON events(owner, id);
+CREATE INDEX events_attendee_id ON events(attendee, id);
+
+-- chapter05.01 Hibernate cannot batch IDENTITY inserts, so AppUser and Event ids come from sequences.
+-- The increment is the allocationSize of the @SequenceGenerator, and the start is above the ids of data.sql
+CREATE SEQUENCE app_users_seq START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE events_seq START WITH 1000 INCREMENT BY 50;
+
 CREATE TABLE roles (
                     id   INTEGER GENERATED BY DEFAULT AS IDENTITY,
                     name VARCHAR(55),
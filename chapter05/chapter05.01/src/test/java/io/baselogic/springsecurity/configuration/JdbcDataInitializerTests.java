@@ -0,0 +1,93 @@
+package io.baselogic.springsecurity.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JdbcDataInitializerTests, on a separate in-memory H2 database so the seeded rows do not change the
+ * database of the other tests.
+ *
+ * @since chapter05.00
+ */
+class JdbcDataInitializerTests {
+
+    private DriverManagerDataSource dataSource;
+    private DataSourceProperties properties;
+    private JdbcTemplate jdbcTemplate;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:seedTests;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+
+        properties = new DataSourceProperties();
+        properties.setSchema(List.of("classpath:/schema.sql"));
+        properties.setData(List.of("classpath:/data.sql"));
+    }
+
+
+    @Test
+    @DisplayName("JdbcDataInitializer - seeds once, then skips while the version is current")
+    void seed_skips_current_version() {
+        assertThat(initializer(1, 0, 0).seed()).isTrue();
+        assertThat(count("app_users")).isEqualTo(3);
+        assertThat(count("events")).isEqualTo(3);
+
+        jdbcTemplate.update("DELETE FROM events WHERE id = 100");
+
+        assertThat(initializer(1, 0, 0).seed()).isFalse();
+        assertThat(count("events")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("JdbcDataInitializer - a new version clears and seeds the synthetic dataset")
+    void seed_synthetic() {
+        initializer(1, 0, 0).seed();
+
+        assertThat(initializer(1, 100, 500).seed()).isTrue();
+        assertThat(count("app_users")).isEqualTo(103);
+        assertThat(count("user_role")).isEqualTo(104);
+        assertThat(count("events")).isEqualTo(503);
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM seed_version", String.class))
+                .isEqualTo("1:100:500:42");
+
+        assertThat(initializer(2, 0, 0).seed()).isTrue();
+        assertThat(count("app_users")).isEqualTo(3);
+        assertThat(count("events")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("JdbcDataInitializer - the id sequences restart above the synthetic ids")
+    void seed_synthetic_restarts_sequences() {
+        SyntheticDataset dataset = new SyntheticDataset(1_000, 5_000, 42);
+        initializer(1, dataset.getUsers(), dataset.getEvents()).seed();
+
+        // the first block Hibernate allocates from a sequence value ends at that value
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR app_users_seq", Long.class) - 49)
+                .isGreaterThan(dataset.getLastUserId());
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR events_seq", Long.class) - 49)
+                .isGreaterThan(dataset.getLastEventId());
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private JdbcDataInitializer initializer(final int version, final int users, final int events) {
+        return new JdbcDataInitializer(dataSource, properties, version, users, events, 42, 64);
+    }
+
+    private int count(final String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+} // The End...
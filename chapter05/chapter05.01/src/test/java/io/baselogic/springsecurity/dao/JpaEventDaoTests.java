@@ -2,6 +2,7 @@ package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventSummary;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,6 +80,31 @@ class JpaEventDaoTests {
 //        assertThat(newEvents.get(3)).isEqualTo(3);
     }
 
+    @Test
+    void saveAll() {
+        List<Event> events = List.of(
+                TestUtils.createMockEvent(owner, attendee, "Batch Event 1"),
+                TestUtils.createMockEvent(attendee, owner, "Batch Event 2"));
+
+        List<Integer> ids = eventDao.saveAll(events);
+
+        assertThat(ids).hasSize(2);
+        assertThat(ids.get(1)).isGreaterThan(ids.get(0));
+        assertThat(eventDao.findById(ids.get(0)).getSummary()).isEqualTo("Batch Event 1");
+        assertThat(eventDao.findById(ids.get(1)).getOwner().getId()).isEqualTo(attendee.getId());
+    }
+
+    @Test
+    void saveAll_with_event_id() {
+        Event event = TestUtils.createMockEvent(owner, attendee, "Testing Event");
+        event.setId(12345);
+        List<Event> events = List.of(event);
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            eventDao.saveAll(events);
+        });
+    }
+
     @Test
     void createEvent_null_event() {
         assertThrows(InvalidDataAccessApiUsageException.class, () -> {
@@ -133,4 +159,38 @@ class JpaEventDaoTests {
         assertThat(events.size()).isGreaterThanOrEqualTo(3);
     }
 
+
+    //-----------------------------------------------------------------------//
+    // @since chapter05.01 Keyset pagination
+
+    @Test
+    void findAll_keyset() {
+        List<EventSummary> first = eventDao.findAll(null, null, 2);
+        assertThat(first).extracting(EventSummary::getId).containsExactly(100, 101);
+        assertThat(first.get(0).getSummary()).isEqualTo("Birthday Party");
+        assertThat(first.get(0).getOwnerEmail()).isEqualTo("user1@baselogic.com");
+        assertThat(first.get(0).getAttendeeEmail()).isEqualTo("admin1@baselogic.com");
+
+        List<EventSummary> next = eventDao.findAll(101, null, 2);
+        assertThat(next).extracting(EventSummary::getId).startsWith(102);
+
+        List<EventSummary> previous = eventDao.findAll(null, 102, 2);
+        assertThat(previous).extracting(EventSummary::getId).containsExactly(100, 101);
+
+        assertThat(eventDao.findAll(null, 100, 2)).isEmpty();
+    }
+
+    @Test
+    void findByUser_keyset() {
+        // user1 owns event 100 and attends event 101
+        List<EventSummary> first = eventDao.findByUser(0, null, null, 1);
+        assertThat(first).extracting(EventSummary::getId).containsExactly(100);
+
+        List<EventSummary> next = eventDao.findByUser(0, 100, null, 1);
+        assertThat(next).extracting(EventSummary::getId).containsExactly(101);
+
+        List<EventSummary> previous = eventDao.findByUser(0, null, 101, 5);
+        assertThat(previous).extracting(EventSummary::getId).containsExactly(100);
+    }
+
 } // The End...
@@ -0,0 +1,151 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.configuration.HibernateCacheConfig;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.repository.AppUserRepository;
+import io.baselogic.springsecurity.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JpaUserDaoCacheTests
+ *
+ * Not transactional, so every DAO call has its own persistence context and can only be served
+ * by the second-level cache or the database.
+ *
+ * @since chapter05.01
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "events.cache.enabled=true")
+@DirtiesContext
+@Slf4j
+class JpaUserDaoCacheTests {
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEachTest() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+
+    @Test
+    @DisplayName("findById is served from the appUsers region")
+    void findById_cached() {
+        userDao.findById(0);
+        CacheRegionStatistics appUsers = statistics.getDomainDataRegionStatistics(HibernateCacheConfig.APP_USERS);
+        assertThat(appUsers.getPutCount()).isGreaterThanOrEqualTo(1);
+        assertThat(appUsers.getHitCount()).isZero();
+
+        AppUser appUser = userDao.findById(0);
+
+        assertThat(appUser.getEmail()).isEqualTo("user1@baselogic.com");
+        assertThat(appUsers.getHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("The lazy roles of a user are served from the user_role region")
+    void roles_cached() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        for (int i = 0; i < 2; i++) {
+            int roles = transactionTemplate.execute(status -> appUserRepository.findById(1).get().getRoles().size());
+            assertThat(roles).isEqualTo(2);
+        }
+
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.USER_ROLE).getHitCount())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByEmail is served from the query cache")
+    void findByEmail_cached() {
+        userDao.findByEmail("user1@baselogic.com");
+        long queries = statistics.getQueryExecutionCount();
+
+        AppUser appUser = userDao.findByEmail("user1@baselogic.com");
+
+        assertThat(appUser.getId()).isEqualTo(0);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(queries);
+        assertThat(statistics.getQueryRegionStatistics(HibernateCacheConfig.APP_USERS_BY_EMAIL).getHitCount())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("The default Role is served from the roles region")
+    void role_cached() {
+        roleRepository.findById(0);
+        roleRepository.findById(0);
+
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.ROLES).getHitCount())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A cached empty findByEmail is invalidated when the user is saved")
+    void findByEmail_invalidated_on_insert() {
+        assertThat(userDao.findByEmail("cache1@baselogic.com")).isNull();
+        assertThat(userDao.findByEmail("cache1@baselogic.com")).isNull();
+        assertThat(statistics.getQueryRegionStatistics(HibernateCacheConfig.APP_USERS_BY_EMAIL).getHitCount())
+                .isEqualTo(1);
+
+        int id = userDao.save(TestUtils.createMockUser("cache1@baselogic.com", "cache", "one"));
+
+        AppUser appUser = userDao.findByEmail("cache1@baselogic.com");
+        assertThat(appUser).isNotNull();
+        assertThat(appUser.getId()).isEqualTo(id);
+    }
+
+    @Test
+    @DisplayName("A cached user is updated when the user is saved")
+    void findById_updated_on_save() {
+        int id = userDao.save(TestUtils.createMockUser("cache2@baselogic.com", "cache", "two"));
+        assertThat(userDao.findByEmail("cache2@baselogic.com").getLastName()).isEqualTo("two");
+
+        AppUser appUser = userDao.findById(id);
+        appUser.setLastName("updated");
+        userDao.save(appUser);
+
+        assertThat(userDao.findById(id).getLastName()).isEqualTo("updated");
+        assertThat(userDao.findByEmail("cache2@baselogic.com").getLastName()).isEqualTo("updated");
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.APP_USERS).getHitCount())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+} // The End...
@@ -0,0 +1,50 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JpaUserDaoNoCacheTests
+ *
+ * Without 'events.cache.enabled' there is no second-level or query cache.
+ *
+ * @since chapter05.01
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Slf4j
+class JpaUserDaoNoCacheTests {
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+
+    @Test
+    @DisplayName("No second-level or query cache by default")
+    void cache_disabled() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        SessionFactoryOptions options = sessionFactory.getSessionFactoryOptions();
+
+        assertThat(options.isSecondLevelCacheEnabled()).isFalse();
+        assertThat(options.isQueryCacheEnabled()).isFalse();
+
+        userDao.findById(0);
+        assertThat(sessionFactory.getCache().containsEntity(AppUser.class, 0)).isFalse();
+    }
+
+} // The End...
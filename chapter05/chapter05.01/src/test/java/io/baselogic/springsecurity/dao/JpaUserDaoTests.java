@@ -1,6 +1,7 @@
 package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.UserSummary;
 import io.baselogic.springsecurity.repository.AppUserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -100,7 +101,24 @@ class JpaUserDaoTests {
     @Test
     void findAllByEmail_no_results() {
         List<AppUser> appUsers = userDao.findAllByEmail("@baselogic.io");
-        assertThat(appUsers.size()).isGreaterThanOrEqualTo(3);
+        assertThat(appUsers.size()).isEqualTo(0);
+    }
+
+    @Test
+    void findAllByEmail_limit() {
+        List<AppUser> appUsers = userDao.findAllByEmail("@BASELOGIC.com", 2);
+        assertThat(appUsers).extracting(AppUser::getId).containsExactly(0, 1);
+        assertThat(appUsers.get(1).getEmail()).isEqualTo("admin1@baselogic.com");
+    }
+
+    @Test
+    void findSummariesByEmail() {
+        List<UserSummary> users = userDao.findSummariesByEmail("@BASELOGIC.com", 2);
+        assertThat(users).extracting(UserSummary::getId).containsExactly(0, 1);
+        assertThat(users.get(1).getEmail()).isEqualTo("admin1@baselogic.com");
+        assertThat(users.get(1).getFirstName()).isEqualTo("Admin");
+
+        assertThat(userDao.findSummariesByEmail("@baselogic.io", 2)).isEmpty();
     }
 
     //-----------------------------------------------------------------------//
@@ -119,5 +137,18 @@ class JpaUserDaoTests {
         assertThat(appUsers.size()).isGreaterThanOrEqualTo(4);
     }
 
+    @Test
+    void saveAll() {
+        List<AppUser> appUsers = List.of(
+                TestUtils.createMockUser("batch1@baselogic.com", "batch", "one"),
+                TestUtils.createMockUser("batch2@baselogic.com", "batch", "two"));
+
+        List<Integer> ids = userDao.saveAll(appUsers);
+
+        assertThat(ids).hasSize(2);
+        assertThat(userDao.findById(ids.get(1)).getEmail()).isEqualTo("batch2@baselogic.com");
+        assertThat(userDao.findAllByEmail("batch")).extracting(AppUser::getId).containsExactlyElementsOf(ids);
+    }
+
 
 } // The End...
@@ -0,0 +1,67 @@
+package io.baselogic.springsecurity.dao;
+
+import lombok.Value;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Counts the JDBC statements and entity loads of an action with the Hibernate {@link Statistics}, so a test can
+ * assert the exact number of statements of a controller endpoint or DAO method.
+ *
+ * The {@link Statistics} are global to the {@link SessionFactory}, so the tests must not run concurrently.
+ *
+ * @since chapter05.01
+ */
+public class StatementCounter {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * The counts of one {@link #count(Action)}.
+     */
+    @Value
+    public static class Counts {
+        /** JDBC statements prepared */
+        long statements;
+        /** Entities read from a {@link java.sql.ResultSet}, including fetch joined entities */
+        long entityLoads;
+        /** Separate selects of a single entity, e.g. of a lazy proxy: each one is a potential N+1 */
+        long entityFetches;
+        /** Separate selects of a collection */
+        long collectionFetches;
+    }
+
+    private final Statistics statistics;
+
+
+    public StatementCounter(final EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+
+    /**
+     * @return the counts of the statements executed by the {@code action}
+     */
+    public Counts count(final Action action) throws Exception {
+        statistics.clear();
+        action.run();
+        return new Counts(statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                statistics.getCollectionFetchCount());
+    }
+
+    /**
+     * @return the separate selects of the given entity by the last {@link #count(Action)}
+     */
+    public long entityFetches(final Class<?> entity) {
+        return statistics.getEntityStatistics(entity.getName()).getFetchCount();
+    }
+
+} // The End...
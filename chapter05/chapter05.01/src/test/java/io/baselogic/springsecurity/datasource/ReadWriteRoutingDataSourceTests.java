@@ -0,0 +1,190 @@
+package io.baselogic.springsecurity.datasource;
+
+import io.baselogic.springsecurity.dao.EventDao;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReadWriteRoutingDataSourceTests
+ *
+ * The primary and two replicas are separate in-memory H2 databases. Each replica has its own summary for
+ * event 100 and a 'replica_lag' table that its lag query reads, so the tests can see where a read went.
+ *
+ * @since chapter05.00
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+        "events.datasource.replicas.enabled=true",
+        "events.datasource.replicas.urls=" + ReadWriteRoutingDataSourceTests.REPLICA_0 + "," + ReadWriteRoutingDataSourceTests.REPLICA_1,
+        "events.datasource.replicas.selection=ROUND_ROBIN",
+        "events.datasource.replicas.max-lag=5s",
+        "events.datasource.replicas.lag-query=SELECT lag_millis FROM replica_lag",
+        "events.datasource.replicas.lag-check-interval=0s"
+})
+@DirtiesContext
+@Slf4j
+class ReadWriteRoutingDataSourceTests {
+
+    static final String REPLICA_0 = "jdbc:h2:mem:replica0;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_1 = "jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ReadWriteRoutingDataSource readWriteRoutingDataSource;
+
+
+    @BeforeAll
+    static void beforeAll() {
+        createReplica(REPLICA_0, "Replica 0");
+        createReplica(REPLICA_1, "Replica 1");
+    }
+
+    @BeforeEach
+    void beforeEachTest() throws SQLException {
+        readWriteRoutingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+    }
+
+    @AfterEach
+    void afterEachTest() {
+        setLag(REPLICA_0, 0);
+        setLag(REPLICA_1, 0);
+    }
+
+
+    @Test
+    @DisplayName("Read-only transactions read from the replicas in turn")
+    void readOnly_round_robin() {
+        Set<String> summaries = new HashSet<>();
+        summaries.add(summary100());
+        summaries.add(summary100());
+
+        assertThat(summaries).containsExactlyInAnyOrder("Replica 0", "Replica 1");
+    }
+
+    @Test
+    @DisplayName("Writes go to the primary")
+    void write_primary() {
+        AppUser owner = new AppUser();
+        owner.setId(0);
+        AppUser attendee = new AppUser();
+        attendee.setId(1);
+
+        Event event = Event.builder()
+                .summary("Routed Event")
+                .description("Written to the primary")
+                .when(Calendar.getInstance())
+                .owner(owner)
+                .attendee(attendee)
+                .build();
+        int id = eventDao.save(event);
+
+        JdbcTemplate primary = new JdbcTemplate(readWriteRoutingDataSource.getPrimary());
+        assertThat(primary.queryForObject("SELECT summary FROM events WHERE id = ?", String.class, id))
+                .isEqualTo("Routed Event");
+
+        for (String url : new String[]{REPLICA_0, REPLICA_1}) {
+            assertThat(replica(url).queryForObject("SELECT count(*) FROM events WHERE summary = 'Routed Event'", Integer.class))
+                    .isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("A lagging replica is skipped")
+    void readOnly_lagging_replica() {
+        setLag(REPLICA_0, 60_000);
+
+        assertThat(summary100()).isEqualTo("Replica 1");
+        assertThat(summary100()).isEqualTo("Replica 1");
+    }
+
+    @Test
+    @DisplayName("The primary is read when every replica lags")
+    void readOnly_all_lagging() {
+        setLag(REPLICA_0, 60_000);
+        setLag(REPLICA_1, 60_000);
+
+        assertThat(summary100()).isEqualTo("Birthday Party");
+    }
+
+    @Test
+    @DisplayName("Least loaded selects the replica with the fewest borrowed connections")
+    void least_loaded() throws Exception {
+        ReadWriteRoutingDataSource leastLoaded = new ReadWriteRoutingDataSource(readWriteRoutingDataSource.getPrimary(),
+                readWriteRoutingDataSource.getReplicas(), ReadWriteRoutingDataSource.Selection.LEAST_LOADED, 5_000);
+        ReplicaDataSource replica0 = readWriteRoutingDataSource.getReplicas().get(0);
+        ReplicaDataSource replica1 = readWriteRoutingDataSource.getReplicas().get(1);
+
+        try (Connection connection = replica0.getConnection()) {
+            assertThat(replica0.getActiveConnections()).isEqualTo(1);
+            assertThat(leastLoaded.selectReplica()).isSameAs(replica1);
+            assertThat(leastLoaded.selectReplica()).isSameAs(replica1);
+        }
+        assertThat(replica0.getActiveConnections()).isZero();
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    /**
+     * Read with the read-only {@link EventDao#findAll()}, the lazy reference of {@link EventDao#findById(Integer)}
+     * is not initialized within its transaction.
+     */
+    private String summary100() {
+        return eventDao.findAll().stream()
+                .filter(event -> event.getId() == 100)
+                .map(Event::getSummary)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static void createReplica(final String url, final String summary) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("schema.sql"),
+                new ClassPathResource("data.sql"));
+        populator.setContinueOnError(true);
+        populator.execute(new DriverManagerDataSource(url, "sa", ""));
+
+        JdbcTemplate replica = replica(url);
+        replica.update("UPDATE events SET summary = ? WHERE id = 100", summary);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_millis BIGINT NOT NULL)");
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag (lag_millis) VALUES (0)");
+    }
+
+    private static void setLag(final String url, final long lagMillis) {
+        replica(url).update("UPDATE replica_lag SET lag_millis = ?", lagMillis);
+    }
+
+    private static JdbcTemplate replica(final String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+
+} // The End...
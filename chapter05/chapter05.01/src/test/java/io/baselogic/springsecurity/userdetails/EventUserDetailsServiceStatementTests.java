@@ -0,0 +1,118 @@
+package io.baselogic.springsecurity.userdetails;
+
+import io.baselogic.springsecurity.dao.StatementCounter;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements and entities loaded by a login, and by the {@link AuthorityLoader} for a list of users.
+ *
+ * A login loads the {@link AppUser} and the names of its roles, never a {@link Role} entity or the other
+ * users of a {@link Role}.
+ *
+ * Not transactional: a test transaction would share one persistence context between the calls.
+ *
+ * @since chapter05.01
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext
+@Slf4j
+class EventUserDetailsServiceStatementTests {
+
+    @Autowired
+    private EventUserDetailsService eventUserDetailsService;
+
+    @Autowired
+    private AuthorityLoader authorityLoader;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter counter;
+
+    @BeforeEach
+    void beforeEachTest() {
+        counter = new StatementCounter(entityManagerFactory);
+    }
+
+
+    @Test
+    @DisplayName("loadUserByUsername - one AppUser and one query for its authorities")
+    void loadUserByUsername_bounded() throws Exception {
+        AtomicReference<UserDetails> result = new AtomicReference<>();
+
+        StatementCounter.Counts counts = counter.count(() ->
+                result.set(eventUserDetailsService.loadUserByUsername("admin1@baselogic.com")));
+        log.info("loadUserByUsername: {}", counts);
+
+        assertThat(AuthorityUtils.authorityListToSet(result.get().getAuthorities()))
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(counts.getStatements()).isEqualTo(2);
+        assertThat(counts.getEntityLoads()).isEqualTo(1);
+        assertThat(counts.getEntityFetches()).isZero();
+        assertThat(counts.getCollectionFetches()).isZero();
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername - user1 only has ROLE_USER")
+    void loadUserByUsername_user1() {
+        UserDetails result = eventUserDetailsService.loadUserByUsername("user1@baselogic.com");
+
+        assertThat(AuthorityUtils.authorityListToSet(result.getAuthorities()))
+                .containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("loadAll - one query for a list of users, without loading entities")
+    void loadAll_one_query() throws Exception {
+        AtomicReference<Map<Integer, List<GrantedAuthority>>> result = new AtomicReference<>();
+
+        StatementCounter.Counts counts = counter.count(() ->
+                result.set(authorityLoader.loadAll(List.of(0, 1, 2, 99))));
+
+        assertThat(result.get()).containsOnlyKeys(0, 1, 2, 99);
+        assertThat(AuthorityUtils.authorityListToSet(result.get().get(1)))
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(result.get().get(99)).isEmpty();
+        assertThat(counts.getStatements()).isEqualTo(1);
+        assertThat(counts.getEntityLoads()).isZero();
+    }
+
+    @Test
+    @DisplayName("loadAll - the ids are split in batches of BATCH_SIZE")
+    void loadAll_batched() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i <= AuthorityLoader.BATCH_SIZE; i++) {
+            ids.add(i);
+        }
+        AtomicReference<Map<Integer, List<GrantedAuthority>>> result = new AtomicReference<>();
+
+        StatementCounter.Counts counts = counter.count(() -> result.set(authorityLoader.loadAll(ids)));
+
+        assertThat(result.get()).hasSize(ids.size());
+        assertThat(AuthorityUtils.authorityListToSet(result.get().get(0))).containsExactly("ROLE_USER");
+        assertThat(counts.getStatements()).isEqualTo(2);
+    }
+
+} // The End...
@@ -0,0 +1,153 @@
+package io.baselogic.springsecurity.web.controllers;
+
+import io.baselogic.springsecurity.annotations.WithMockEventUserDetailsAdmin1;
+import io.baselogic.springsecurity.annotations.WithMockEventUserDetailsUser1;
+import io.baselogic.springsecurity.dao.EventDao;
+import io.baselogic.springsecurity.dao.StatementCounter;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts of the event pages, including the rendering of the owner and attendee of every event.
+ *
+ * An N+1 shows up as a separate fetch of an {@link Event} or {@link AppUser}, which must be exactly 0, and as
+ * statements that grow with the number of listed events, which must stay exactly the same. With data.sql the
+ * statements of every page are deterministic, so they are pinned too.
+ *
+ * Not transactional: a test transaction would share one persistence context between the requests.
+ *
+ * @since chapter05.01
+ */
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext
+@Slf4j
+class EventsControllerStatementTests {
+
+    private static final String ALL_EVENTS = "/events/?size=100";
+    private static final String MY_EVENTS = "/events/my?size=100";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventDao eventDao;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter counter;
+
+    @BeforeEach
+    void beforeEachTest(WebApplicationContext context) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        counter = new StatementCounter(entityManagerFactory);
+    }
+
+
+    @Test
+    @DisplayName("All Events: owner and attendee fetched with the events")
+    @WithMockEventUserDetailsAdmin1
+    void allEvents() throws Exception {
+        StatementCounter.Counts counts = counter.count(() -> render(ALL_EVENTS));
+        log.info("{}: {}", ALL_EVENTS, counts);
+
+        // One page of summaries, with the owner and attendee emails joined
+        assertThat(counts.getStatements()).isEqualTo(1);
+        assertThat(counts.getEntityLoads()).isZero();
+        assertThat(counter.entityFetches(Event.class)).isZero();
+        assertThat(counter.entityFetches(AppUser.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("My Events: owner and attendee fetched with the events")
+    @WithMockEventUserDetailsUser1
+    void myEvents() throws Exception {
+        StatementCounter.Counts counts = counter.count(() -> render(MY_EVENTS));
+        log.info("{}: {}", MY_EVENTS, counts);
+
+        // The current user by email, without its lazy roles, then one page as owner and one page as attendee
+        assertThat(counts.getStatements()).isEqualTo(3);
+        assertThat(counts.getEntityLoads()).isEqualTo(1);
+        assertThat(counter.entityFetches(Event.class)).isZero();
+        assertThat(counter.entityFetches(AppUser.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Show Event: the event with its owner and attendee, not a proxy")
+    @WithMockEventUserDetailsUser1
+    void showEvent() throws Exception {
+        StatementCounter.Counts counts = counter.count(() -> render("/events/100"));
+        log.info("/events/100: {}", counts);
+
+        // The event, its owner and its attendee in one join
+        assertThat(counts.getStatements()).isEqualTo(1);
+        assertThat(counts.getEntityLoads()).isEqualTo(3);
+        assertThat(counter.entityFetches(Event.class)).isZero();
+        assertThat(counter.entityFetches(AppUser.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Event lists: the statements do not grow with the events")
+    @WithMockEventUserDetailsAdmin1
+    void statements_independent_of_events() throws Exception {
+        long all = counter.count(() -> render(ALL_EVENTS)).getStatements();
+        long my = counter.count(() -> render(MY_EVENTS)).getStatements();
+        assertThat(all).isEqualTo(1);
+        assertThat(my).isEqualTo(3);
+
+        // user1 is the owner and admin1 the attendee of event 100, so both are already shown in both lists
+        AppUser user1 = eventDao.findById(100).getOwner();
+        AppUser admin1 = eventDao.findById(100).getAttendee();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            events.add(Event.builder()
+                    .summary("Statement Event " + i)
+                    .description("Statement count")
+                    .when(Calendar.getInstance())
+                    .owner(i % 2 == 0 ? user1 : admin1)
+                    .attendee(i % 2 == 0 ? admin1 : user1)
+                    .build());
+        }
+        eventDao.saveAll(events);
+
+        assertThat(counter.count(() -> render(ALL_EVENTS)).getStatements()).isEqualTo(all);
+        assertThat(counter.count(() -> render(MY_EVENTS)).getStatements()).isEqualTo(my);
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private void render(final String uri) throws Exception {
+        mockMvc.perform(get(uri))
+                .andExpect(status().isOk());
+    }
+
+} // The End...
@@ -3,6 +3,7 @@ package io.baselogic.springsecurity.configuration;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
 
 /**
  * Database Configuration
@@ -13,9 +14,11 @@ import org.springframework.data.mongodb.repository.config.EnableMongoRepositorie
  * @since chapter04.02 Added customGroupAuthoritiesByUsernameQuery() for GBAC support
  * @since chapter04.03 Added Support for JdbcUserDetailsManager SQL
  * @since chapter05.01 REMOVED DataSource config to manually add additional SQL files to the init.
+ * @since chapter05.02 Added the Reactive Mongo repositories
  */
 @Configuration
 @EnableMongoRepositories(basePackages="io.baselogic.springsecurity.repository")
+@EnableReactiveMongoRepositories(basePackages="io.baselogic.springsecurity.repository")
 @Slf4j
 public class DataSourceConfig {
 
@@ -1,48 +1,99 @@
 package io.baselogic.springsecurity.configuration;
 
+import io.baselogic.springsecurity.dao.BlockIdGenerator;
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
 import io.baselogic.springsecurity.domain.Role;
-import io.baselogic.springsecurity.repository.AppUserRepository;
-import io.baselogic.springsecurity.repository.EventRepository;
-import io.baselogic.springsecurity.repository.RoleRepository;
+import io.baselogic.springsecurity.domain.UserSummary;
+import io.baselogic.springsecurity.configuration.SyntheticDataset.EventRow;
+import io.baselogic.springsecurity.configuration.SyntheticDataset.UserRow;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Initialize the initial data in the MongoDb
  * This replaces data.sql and schema.sql
  *
+ * The seeding only runs when the seed version in the {@value #SEED_VERSIONS} collection is not current: it drops
+ * the collections, writes the seed data and the optional {@link SyntheticDataset} with insertMany batches of
+ * 'events.seed.batch-size' documents, and then creates the indexes. The seed version is 'events.seed.version',
+ * to be raised when the seed data changes, with the parameters of the synthetic dataset,
+ * see {@link SyntheticDataset#version(int)}.
+ *
  * @author mickknutson
  * @since chapter05.02
+ * @since chapter05.02 Skips a current seed version, bulk inserts and the synthetic dataset
  *
  */
 @Configuration
 @Slf4j
 public class MongoDataInitializer {
 
-    @Autowired
-    private RoleRepository roleRepository;
+    public static final String SEED_VERSIONS = "seed_versions";
 
-    @Autowired
-    private AppUserRepository appUserRepository;
+    private static final String SEED_NAME = "events";
 
     @Autowired
-    private EventRepository eventRepository;
+    private MongoTemplate mongoTemplate;
+
+    @Value("${events.seed.version:1}")
+    private int seedVersion;
+
+    @Value("${events.seed.synthetic.users:0}")
+    private int syntheticUsers;
+
+    @Value("${events.seed.synthetic.events:0}")
+    private int syntheticEvents;
+
+    @Value("${events.seed.synthetic.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${events.seed.batch-size:10000}")
+    private int batchSize;
 
     @PostConstruct
     public void setUp() {
+        seed();
+    }
+
+    /**
+     * @return true if the database was seeded, false if the seed version was current
+     */
+    public boolean seed() {
+        SyntheticDataset dataset = new SyntheticDataset(syntheticUsers, syntheticEvents, randomSeed);
+        String version = dataset.version(seedVersion);
+        Document current = mongoTemplate.findById(SEED_NAME, Document.class, SEED_VERSIONS);
+        if (current != null && version.equals(current.getString("version"))) {
+            log.info("*** Seed version {} is current, skipping the seeding", version);
+            return false;
+        }
+
+        long start = System.nanoTime();
         log.info("*******************************************************");
         log.info("* Clean the database");
         log.info("*******************************************************");
-        appUserRepository.deleteAll();
-        roleRepository.deleteAll();
-        eventRepository.deleteAll();
+        // Dropping is a single command, deleteAll() removes every document
+        mongoTemplate.dropCollection(AppUser.class);
+        mongoTemplate.dropCollection(Role.class);
+        mongoTemplate.dropCollection(Event.class);
 
         log.info("seedRoles");
         seedRoles();
@@ -52,9 +103,26 @@ public class MongoDataInitializer {
         log.info("seedEvents");
         seedEvents();
 
+        if (!dataset.isEmpty()) {
+            log.info("seedSynthetic");
+            seedSynthetic(dataset);
+        }
+
+        // After the inserts, building an index once is faster than updating it per document
+        log.info("createIndexes");
+        createIndexes();
+
+        log.info("seedCounters");
+        seedCounters(dataset);
+
+        mongoTemplate.save(new Document("_id", SEED_NAME)
+                .append("version", version)
+                .append("seededAt", new Date()), SEED_VERSIONS);
+
         log.info("*******************************************************");
-        log.info("* The End...");
+        log.info("* Seeded version {} in {} ms", version, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         log.info("*******************************************************");
+        return true;
     }
 
     private AppUser user1;
@@ -79,10 +147,9 @@ public class MongoDataInitializer {
      */
     private void seedRoles(){
         user_role = new Role(0, "ROLE_USER");
-        user_role = roleRepository.save(user_role);
-
         admin_role = new Role(1, "ROLE_ADMIN");
-        admin_role = roleRepository.save(admin_role);
+
+        mongoTemplate.insert(List.of(user_role, admin_role), Role.class);
     }
 
 
@@ -97,8 +164,8 @@ public class MongoDataInitializer {
                 "Birthday Party",
                 "Time to have my yearly party!",
                 new GregorianCalendar(2020,6,3,6,36,00),
-                user1,
-                admin1
+                UserSummary.of(user1),
+                UserSummary.of(admin1)
                 );
 
         // Event 2
@@ -107,8 +174,8 @@ public class MongoDataInitializer {
                 "Mountain Bike Race",
                 "Deer Valley mountain bike race",
                 new GregorianCalendar(2020,11,23,13,00,00),
-                user2,
-                user1
+                UserSummary.of(user2),
+                UserSummary.of(user1)
                 );
 
         // Event 3
@@ -117,18 +184,95 @@ public class MongoDataInitializer {
                 "Lunch",
                 "Eating lunch together",
                 new GregorianCalendar(2020,8,14,11,30,00),
-                admin1,
-                user2
+                UserSummary.of(admin1),
+                UserSummary.of(user2)
                 );
 
         // save Event
-        eventRepository.save(event1);
-        eventRepository.save(event2);
-        eventRepository.save(event3);
+        mongoTemplate.insert(List.of(event1, event2, event3), Event.class);
 
-        List<Event> events = eventRepository.findAll();
+        log.info("Events [3]: {}", List.of(event1, event2, event3));
+    }
 
-        log.info("Events [{}]: {}", events.size(), events);
+
+    /**
+     * Insert the users, with the ROLE_USER, and the events of a {@link SyntheticDataset}, with insertMany batches.
+     * The owner and attendee of an event are regenerated from their id, not read back.
+     *
+     * @since chapter05.02
+     */
+    private void seedSynthetic(final SyntheticDataset dataset) {
+        long start = System.nanoTime();
+
+        insertAll(dataset.users(), AppUser.class, (UserRow u) -> {
+            AppUser appUser = new AppUser(u.getId(), u.getEmail(), u.getPassword(), u.getFirstName(), u.getLastName());
+            appUser.addRole(user_role);
+            return appUser;
+        });
+        insertAll(dataset.events(), Event.class, (EventRow e) -> {
+            Calendar when = Calendar.getInstance();
+            when.setTimeInMillis(e.getWhen());
+            return new Event(e.getId(), e.getSummary(), e.getDescription(), when,
+                    summary(dataset.user(e.getOwner())), summary(dataset.user(e.getAttendee())));
+        });
+
+        log.info("Seeded {} synthetic users and {} events in {} ms", dataset.getUsers(), dataset.getEvents(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private <R, T> void insertAll(final Stream<R> rows, final Class<T> entityClass, final Function<R, T> document) {
+        List<T> batch = new ArrayList<>(batchSize);
+        Iterator<R> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            batch.add(document.apply(iterator.next()));
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                mongoTemplate.insert(batch, entityClass);
+                batch.clear();
+            }
+        }
+    }
+
+    private static UserSummary summary(final UserRow user) {
+        return new UserSummary(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName());
+    }
+
+
+    /**
+     * Indexes on the embedded owner and attendee ids of the events:
+     * <ul>
+     *     <li>'events_owner_id' and 'events_attendee_id' for the keyset pagination of the events of a user</li>
+     *     <li>'events_owner_when' and 'events_attendee_when' for the events of a user by date, and for
+     *     updating the embedded users when an {@link AppUser} changes</li>
+     * </ul>
+     * The id of an embedded {@link UserSummary} is stored as '_id', like the id of a document.
+     * See {@link io.baselogic.springsecurity.dao.MongoEventDao} and
+     * {@link io.baselogic.springsecurity.dao.MongoAppUserDao}.
+     *
+     * @since chapter05.02
+     */
+    private void createIndexes() {
+        IndexOperations eventIndexes = mongoTemplate.indexOps(Event.class);
+        for (String user : new String[]{"owner", "attendee"}) {
+            eventIndexes.ensureIndex(new Index()
+                    .on(user + "._id", Sort.Direction.ASC).on("_id", Sort.Direction.ASC)
+                    .named("events_" + user + "_id"));
+            eventIndexes.ensureIndex(new Index()
+                    .on(user + "._id", Sort.Direction.ASC).on("when", Sort.Direction.ASC)
+                    .named("events_" + user + "_when"));
+        }
+        log.info("Event indexes: {}", eventIndexes.getIndexInfo());
+    }
+
+
+    /**
+     * The {@link BlockIdGenerator} counters start after the ids of the seeded and synthetic users and events.
+     * A counter is never lowered, so a restart does not reuse an id.
+     *
+     * @since chapter05.02
+     */
+    private void seedCounters(final SyntheticDataset dataset) {
+        BlockIdGenerator.seed(mongoTemplate, "app_users", Math.max(10, dataset.getLastUserId()));
+        BlockIdGenerator.seed(mongoTemplate, "events", Math.max(102, dataset.getLastEventId()));
     }
 
 
@@ -145,13 +289,9 @@ public class MongoDataInitializer {
         user2.addRole(user_role);
 
         // AppUser
-        appUserRepository.save(user1);
-        appUserRepository.save(admin1);
-        appUserRepository.save(user2);
-
-        List<AppUser> users = appUserRepository.findAll();
+        mongoTemplate.insert(List.of(user1, admin1, user2), AppUser.class);
 
-        log.info("AppUsers [{}]: {}", users.size(), users);
+        log.info("AppUsers [3]: {}", List.of(user1, admin1, user2));
     }
 
 } // The End...
@@ -0,0 +1,191 @@
+package io.baselogic.springsecurity.configuration;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A synthetic dataset of {@code users} users and {@code events} events, for load tests and benchmarks.
+ *
+ * The dataset only depends on its parameters: the same users, events and random seed always generate the same
+ * rows, so a seeded database can be compared with a previous run, and {@link #version(int)} identifies it.
+ *
+ * The owners and attendees are skewed like real usage: the owner index is {@code users * r^OWNER_SKEW} for a
+ * uniform {@code r}, so a few users own most of the events, and the attendees are spread more evenly with
+ * {@link #ATTENDEE_SKEW}. The attendee of an event is never its owner.
+ *
+ * The rows are streamed, not held in memory, so a consumer can write millions of them in chunks.
+ * {@link #events()} must be consumed sequentially, and {@link #user(int)} regenerates any user, e.g. to embed
+ * the owner of an event.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+@Getter
+public class SyntheticDataset {
+
+    /** The synthetic ids start above the ids of the seed data */
+    public static final int FIRST_USER_ID = 1_000;
+    public static final int FIRST_EVENT_ID = 1_000;
+
+    public static final double OWNER_SKEW = 3.0;
+    public static final double ATTENDEE_SKEW = 1.5;
+
+    /** Every synthetic user shares one precomputed hash, encoding a million passwords would take hours */
+    public static final String PASSWORD = "{bcrypt}$2a$04$gBdMIzQ5P2Ffb4L/epcKSOiYRlwPcUKx1jlfENvOUMpSAm4PsRdK2";
+
+    public static final String EMAIL_DOMAIN = "@synthetic.baselogic.com";
+
+    /** The events are spread over 2 years from 2020-01-01 */
+    private static final long START_MILLIS = LocalDateTime.of(2020, 1, 1, 0, 0)
+            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private static final long SPAN_MINUTES = TimeUnit.DAYS.toMinutes(730);
+
+    private static final String[] FIRST_NAMES = {"Ada", "Alan", "Barbara", "Dennis", "Edsger", "Frances", "Grace",
+            "James", "John", "Ken", "Linus", "Margaret", "Niklaus", "Radia", "Tim", "Whitfield"};
+    private static final String[] LAST_NAMES = {"Allen", "Dijkstra", "Diffie", "Hopper", "Kernighan", "Lovelace",
+            "Liskov", "McCarthy", "Hamilton", "Perlman", "Ritchie", "Thompson", "Torvalds", "Turing", "Wirth"};
+    private static final String[] SUMMARIES = {"Lunch", "Birthday Party", "Mountain Bike Race", "Code Review",
+            "Standup", "Planning", "Retrospective", "Coffee", "Dinner", "Workshop"};
+
+    private final int users;
+    private final int events;
+    private final long randomSeed;
+
+
+    /**
+     * @param users the number of users, at least 2 if there are events
+     * @param events the number of events
+     * @param randomSeed the seed of the owners, attendees, names and dates
+     */
+    public SyntheticDataset(final int users, final int events, final long randomSeed) {
+        if (users < 0 || events < 0) {
+            throw new IllegalArgumentException("Expected users >= 0 and events >= 0 but was "
+                    + users + ", " + events);
+        }
+        if (events > 0 && users < 2) {
+            throw new IllegalArgumentException("Expected at least 2 users for " + events + " events but was " + users);
+        }
+        this.users = users;
+        this.events = events;
+        this.randomSeed = randomSeed;
+    }
+
+
+    /**
+     * @return true if there is nothing to generate
+     */
+    public boolean isEmpty() {
+        return users == 0;
+    }
+
+    /**
+     * @return the seed version of the seed data {@code baselineVersion} with this dataset, e.g. '1:1000000:5000000:42'
+     */
+    public String version(final int baselineVersion) {
+        return baselineVersion + ":" + users + ":" + events + ":" + randomSeed;
+    }
+
+    /**
+     * @return the id of the last synthetic user, or {@link #FIRST_USER_ID} - 1 without users
+     */
+    public int getLastUserId() {
+        return FIRST_USER_ID + users - 1;
+    }
+
+    /**
+     * @return the id of the last synthetic event, or {@link #FIRST_EVENT_ID} - 1 without events
+     */
+    public int getLastEventId() {
+        return FIRST_EVENT_ID + events - 1;
+    }
+
+    /**
+     * @return the users, ordered by id
+     */
+    public Stream<UserRow> users() {
+        return IntStream.range(0, users).mapToObj(i -> user(FIRST_USER_ID + i));
+    }
+
+    /**
+     * @return the user with the given synthetic id
+     */
+    public UserRow user(final int id) {
+        if (id < FIRST_USER_ID || id > getLastUserId()) {
+            throw new IllegalArgumentException("Expected a synthetic user id in [" + FIRST_USER_ID + ", "
+                    + getLastUserId() + "] but was " + id);
+        }
+        // Only depends on the seed and the id
+        SplittableRandom random = new SplittableRandom(randomSeed * 31 + id);
+        return new UserRow(id,
+                "user" + id + EMAIL_DOMAIN,
+                PASSWORD,
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+    }
+
+    /**
+     * @return the events, ordered by id
+     */
+    public Stream<EventRow> events() {
+        // A different stream than the users, so adding users does not change the events
+        SplittableRandom random = new SplittableRandom(~randomSeed);
+        return IntStream.range(0, events).mapToObj(i -> {
+            int owner = skewed(random, OWNER_SKEW);
+            int attendee = skewed(random, ATTENDEE_SKEW);
+            if (attendee == owner) {
+                attendee = (attendee + 1) % users;
+            }
+            int id = FIRST_EVENT_ID + i;
+            return new EventRow(id,
+                    START_MILLIS + TimeUnit.MINUTES.toMillis(random.nextLong(SPAN_MINUTES)),
+                    SUMMARIES[random.nextInt(SUMMARIES.length)] + " " + id,
+                    "Synthetic event " + id,
+                    FIRST_USER_ID + owner,
+                    FIRST_USER_ID + attendee);
+        });
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    /**
+     * @return a user index in [0, users), the lower indexes the more likely for a skew above 1
+     */
+    private int skewed(final SplittableRandom random, final double skew) {
+        return Math.min((int) (users * Math.pow(random.nextDouble(), skew)), users - 1);
+    }
+
+    /**
+     * A synthetic user row.
+     */
+    @Value
+    public static class UserRow {
+        int id;
+        String email;
+        String password;
+        String firstName;
+        String lastName;
+    }
+
+    /**
+     * A synthetic event row, {@code when} in epoch milliseconds.
+     */
+    @Value
+    public static class EventRow {
+        int id;
+        long when;
+        String summary;
+        String description;
+        int owner;
+        int attendee;
+    }
+
+} // The End...
@@ -0,0 +1,213 @@
+package io.baselogic.springsecurity.dao;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A hi/lo primary key generator for one sequence of the {@value #COUNTERS} collection, unique across nodes
+ * and restarts.
+ *
+ * Each node reserves a block of ids with a single findAndModify {@code $inc} of the counter of the sequence,
+ * and serves them from memory with an {@link AtomicLong}, so {@link #nextId()} only waits when a block is used up.
+ * The ids of a block that is not used up when a node stops are never used.
+ *
+ * The block size adapts to the insert rate: a block used up within {@link #TARGET_BLOCK_NANOS} doubles the next
+ * block, up to {@code maxBlockSize}, and a block that lasted 10 times longer halves it, down to
+ * {@code minBlockSize}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.02
+ * @since chapter05.02 Added {@link #reactiveNextId()} for the Reactive DAOs
+ */
+@Slf4j
+public class BlockIdGenerator {
+
+    public static final String COUNTERS = "counters";
+    public static final String SEQUENCE = "seq";
+
+    public static final int DEFAULT_MIN_BLOCK_SIZE = 10;
+    public static final int DEFAULT_MAX_BLOCK_SIZE = 10_000;
+
+    /** The time a block should last at the current insert rate */
+    public static final long TARGET_BLOCK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Reserves the next {@code size} ids of a sequence.
+     */
+    @FunctionalInterface
+    public interface Counter {
+        /**
+         * @return the last id of the reserved block, the counter of the sequence after adding {@code size}
+         */
+        long increment(String sequence, int size);
+    }
+
+    private final String sequence;
+    private final Counter counter;
+    private final int minBlockSize;
+    private final int maxBlockSize;
+    private final LongSupplier nanoTime;
+
+    // An empty block, the first id reserves the first block
+    private volatile Block block = new Block(1, 0);
+
+    // Only changed while holding the lock of this generator
+    private int blockSize;
+    private long reserved;
+    private boolean adapt;
+
+
+    /**
+     * @param mongoTemplate the {@link MongoTemplate} of the {@value #COUNTERS} collection
+     * @param sequence the id of the counter document, e.g. the collection name
+     */
+    public BlockIdGenerator(final @NotNull MongoTemplate mongoTemplate, final @NotNull String sequence) {
+        this(sequence, mongoCounter(mongoTemplate), DEFAULT_MIN_BLOCK_SIZE, DEFAULT_MAX_BLOCK_SIZE, System::nanoTime);
+    }
+
+    BlockIdGenerator(final String sequence,
+                     final Counter counter,
+                     final int minBlockSize,
+                     final int maxBlockSize,
+                     final LongSupplier nanoTime) {
+        if (minBlockSize < 1 || maxBlockSize < minBlockSize) {
+            throw new IllegalArgumentException("Expected 1 <= minBlockSize <= maxBlockSize but was "
+                    + minBlockSize + ", " + maxBlockSize);
+        }
+        this.sequence = sequence;
+        this.counter = counter;
+        this.minBlockSize = minBlockSize;
+        this.maxBlockSize = maxBlockSize;
+        this.nanoTime = nanoTime;
+        this.blockSize = minBlockSize;
+    }
+
+
+    /**
+     * @return the next id of this node
+     */
+    public Integer nextId() {
+        while (true) {
+            Block current = block;
+            long id = current.next.getAndIncrement();
+            if (id <= current.last) {
+                return (int) id;
+            }
+            reserve(current);
+        }
+    }
+
+    /**
+     * @return the next id of the current block, or null if it is used up and {@link #nextId()} would
+     * reserve a new block. Never waits, so a non-blocking caller only calls {@link #nextId()} on another thread
+     * once per block.
+     */
+    public Integer tryNextId() {
+        Block current = block;
+        long id = current.next.getAndIncrement();
+        return id <= current.last ? (int) id : null;
+    }
+
+    /**
+     * @return the next id for a non-blocking caller: from the current block on the subscribing thread, or
+     * reserving a new block on the {@link Schedulers#boundedElastic()} scheduler
+     */
+    public Mono<Integer> reactiveNextId() {
+        return Mono.defer(() -> {
+            Integer id = tryNextId();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            return Mono.fromCallable(this::nextId).subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    /**
+     * @return the size of the next block
+     */
+    public synchronized int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Raise the counter of a sequence to at least {@code lastId}, e.g. above the ids of seeded documents.
+     * The counter is created if it does not exist, and never lowered.
+     */
+    public static void seed(final @NotNull MongoTemplate mongoTemplate,
+                            final @NotNull String sequence,
+                            final long lastId) {
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(sequence)),
+                new Update().max(SEQUENCE, lastId), COUNTERS);
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    /**
+     * Reserve a new block, unless another thread already replaced the used up {@code current} block.
+     */
+    private synchronized void reserve(final Block current) {
+        if (block != current) {
+            return;
+        }
+
+        long now = nanoTime.getAsLong();
+        if (adapt) {
+            long elapsed = now - reserved;
+            if (elapsed < TARGET_BLOCK_NANOS) {
+                blockSize = Math.min(blockSize * 2, maxBlockSize);
+            } else if (elapsed > TARGET_BLOCK_NANOS * 10) {
+                blockSize = Math.max(blockSize / 2, minBlockSize);
+            }
+        }
+        reserved = now;
+        adapt = true;
+
+        long last = counter.increment(sequence, blockSize);
+        if (last > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The ids of '" + sequence + "' exceed " + Integer.MAX_VALUE);
+        }
+        block = new Block(last - blockSize + 1, last);
+        log.debug("*** Reserved the ids {} to {} of '{}'", last - blockSize + 1, last, sequence);
+    }
+
+    private static Counter mongoCounter(final MongoTemplate mongoTemplate) {
+        return (sequence, size) -> {
+            Document result = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(sequence)),
+                    new Update().inc(SEQUENCE, (long) size),
+                    FindAndModifyOptions.options().returnNew(true).upsert(true),
+                    Document.class,
+                    COUNTERS);
+            return ((Number) result.get(SEQUENCE)).longValue();
+        };
+    }
+
+    /**
+     * The ids {@code next} to {@code last} of a reserved block. {@code next} keeps growing past {@code last}
+     * once the block is used up.
+     */
+    private static final class Block {
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(final long first, final long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+
+} // The End...
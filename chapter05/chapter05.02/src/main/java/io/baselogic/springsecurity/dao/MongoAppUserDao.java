@@ -1,28 +1,39 @@
 package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
 import io.baselogic.springsecurity.domain.Role;
+import io.baselogic.springsecurity.domain.UserSummary;
 import io.baselogic.springsecurity.repository.AppUserRepository;
 import io.baselogic.springsecurity.repository.RoleRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Example;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * A MongoDb Document implementation of {@link UserDao}.
  *
  * @author Mick Knutson
  * @since chapter05.02 Created Class
+ * @since chapter05.02 findAllByEmail uses the {@link EmailSearchIndex}, added saveAll()
+ * @since chapter05.02 Keeps the {@link UserSummary}'s embedded in the {@link Event}'s current
  */
 @Repository
 @Validated
@@ -31,16 +42,24 @@ public class MongoAppUserDao implements UserDao {
 
     private final AppUserRepository appUserRepository;
     private final RoleRepository roleRepository;
+    private final MongoTemplate mongoTemplate;
 
-    // Simple Primary Key Generator
-    private final AtomicInteger userPK = new AtomicInteger(10);
+    private static final String APP_USERS = "app_users";
+
+    // Primary Key Generator, unique across nodes
+    private final BlockIdGenerator userIds;
+
+    private final EmailSearchIndex emailSearchIndex = new EmailSearchIndex(this::loadEmails);
 
 
     @Autowired
     public MongoAppUserDao(final @NotNull AppUserRepository appUserRepository,
-                           final @NotNull RoleRepository roleRepository) {
+                           final @NotNull RoleRepository roleRepository,
+                           final @NotNull MongoTemplate mongoTemplate) {
         this.appUserRepository = appUserRepository;
         this.roleRepository = roleRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.userIds = new BlockIdGenerator(mongoTemplate, APP_USERS);
     }
 
 
@@ -55,10 +74,38 @@ public class MongoAppUserDao implements UserDao {
     }
 
     @Override
-    public List<AppUser> findAllByEmail(@NotEmpty String partialEmail) {
-        return appUserRepository.findAll();
+    public List<AppUser> findAllByEmail(final @NotEmpty String partialEmail, final int limit) {
+        List<Integer> ids = emailSearchIndex.search(partialEmail, Math.min(Math.max(limit, 1), MAX_EMAIL_RESULTS));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<AppUser> appUsers = new ArrayList<>(ids.size());
+        appUserRepository.findAllById(ids).forEach(appUsers::add);
+        appUsers.sort(Comparator.comparingInt(appUser -> ids.indexOf(appUser.getId())));
+        return appUsers;
+    }
+
+    /**
+     * Only the fields of a {@link UserSummary} are read, so the roles are not resolved.
+     */
+    @Override
+    public List<UserSummary> findSummariesByEmail(final @NotEmpty String partialEmail, final int limit) {
+        List<Integer> ids = emailSearchIndex.search(partialEmail, Math.min(Math.max(limit, 1), MAX_EMAIL_RESULTS));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return appUserRepository.findSummariesByIdIn(ids).stream()
+                .map(appUser -> new UserSummary(appUser.getId(), appUser.getEmail(),
+                        appUser.getFirstName(), appUser.getLastName()))
+                .sorted(Comparator.comparingInt(user -> ids.indexOf(user.getId())))
+                .collect(Collectors.toList());
     }
 
+    /**
+     * Saving an existing {@link AppUser} also updates the owner and attendee of its {@link Event}'s.
+     */
     @Override
     public Integer save(final @NotNull AppUser appUser) {
 
@@ -74,15 +121,75 @@ public class MongoAppUserDao implements UserDao {
 
         appUser.setRoles(roles);
 
-        if(appUser.getId() == null) {
+        boolean existing = appUser.getId() != null;
+        if(!existing) {
             // Get the next PK instance
-            appUser.setId(userPK.incrementAndGet());
+            appUser.setId(userIds.nextId());
         }
+        // An existing AppUser is replaced, not inserted again, see AppUser#isNew()
+        appUser.setPersisted(existing);
 
 
         AppUser result = appUserRepository.save(appUser);
+        if (existing) {
+            updateEvents(UserSummary.of(result));
+        }
 
+        emailSearchIndex.add(result.getId(), result.getEmail());
         return result.getId();
     }
 
+    /**
+     * Replaces the embedded owner and attendee {@link UserSummary}'s with one updateMany each,
+     * on the 'events_owner_when' and 'events_attendee_when' indexes.
+     */
+    private void updateEvents(final UserSummary user) {
+        for (String field : new String[]{"owner", "attendee"}) {
+            long updated = mongoTemplate.updateMulti(
+                    new Query(Criteria.where(field + ".id").is(user.getId())),
+                    new Update().set(field, user),
+                    Event.class).getModifiedCount();
+            log.debug("*** Updated the {} of {} events", field, updated);
+        }
+    }
+
+    /**
+     * The default {@link Role} is read once, and the {@link AppUser}s are written with a single insertMany.
+     */
+    @Override
+    public List<Integer> saveAll(final @NotNull List<AppUser> appUsers) {
+        for (AppUser appUser : appUsers) {
+            if (appUser.getId() != null) {
+                throw new IllegalArgumentException("appUser.getId() must be null when creating a " + AppUser.class.getName());
+            }
+        }
+
+        Role example = new Role();
+        example.setId(0);
+        Role role = roleRepository.findOne(Example.of(example))
+                .orElseThrow(()-> new EmptyResultDataAccessException(1));
+
+        for (AppUser appUser : appUsers) {
+            Set<Role> roles = new HashSet<>();
+            roles.add(role);
+            appUser.setRoles(roles);
+            appUser.setId(userIds.nextId());
+        }
+
+        List<AppUser> result = appUserRepository.insert(appUsers);
+
+        List<Integer> ids = new ArrayList<>(result.size());
+        for (AppUser appUser : result) {
+            emailSearchIndex.add(appUser.getId(), appUser.getEmail());
+            ids.add(appUser.getId());
+        }
+        return ids;
+    }
+
+    private void loadEmails(final EmailSearchIndex index) {
+        for (AppUser appUser : appUserRepository.findAllIdAndEmail()) {
+            index.add(appUser.getId(), appUser.getEmail());
+        }
+    }
+
 } // The End...
@@ -1,39 +1,56 @@
 package io.baselogic.springsecurity.dao;
 
-import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventSummary;
+import io.baselogic.springsecurity.domain.UserSummary;
 import io.baselogic.springsecurity.repository.EventRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Example;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * A MongoDb Document implementation of {@link EventDao}.
  *
  * @author Mick Knutson
  * @since chapter05.02 Created Class
+ * @since chapter05.02 Added keyset pagination and saveAll()
+ * @since chapter05.02 Embedded the owner and attendee {@link UserSummary}'s instead of DBRef's
  */
 @Repository
 @Validated
 @Slf4j
 public class MongoEventDao implements EventDao {
 
+    private static final String EVENTS = "events";
+
     private final EventRepository eventRepository;
 
-    // Simple Primary Key Generator
-    private final AtomicInteger eventPK = new AtomicInteger(102);
+    private final MongoTemplate mongoTemplate;
+
+    // Primary Key Generator, unique across nodes
+    private final BlockIdGenerator eventIds;
 
 
     @Autowired
-    public MongoEventDao(final @NotNull EventRepository eventRepository) {
+    public MongoEventDao(final @NotNull EventRepository eventRepository,
+                         final @NotNull MongoTemplate mongoTemplate) {
         this.eventRepository = eventRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.eventIds = new BlockIdGenerator(mongoTemplate, EVENTS);
     }
 
 
@@ -43,14 +60,14 @@ public class MongoEventDao implements EventDao {
     }
 
 
+    /**
+     * Uses the 'events_owner_when' index, see MongoDataInitializer.
+     */
     @Override
     public List<Event> findByUser(final @NotNull Integer userId) {
-        Event example = new Event();
-        AppUser user = new AppUser();
-        user.setId(userId);
-        example.setOwner(user);
-
-        return eventRepository.findAll(Example.of(example));
+        Query query = new Query(Criteria.where("owner.id").is(userId))
+                .with(Sort.by(Sort.Direction.ASC, "when"));
+        return mongoTemplate.find(query, Event.class, EVENTS);
     }
 
 
@@ -59,16 +76,90 @@ public class MongoEventDao implements EventDao {
         return eventRepository.findAll();
     }
 
+    @Override
+    public List<EventSummary> findAll(final Integer afterId, final Integer beforeId, final int limit) {
+        if (beforeId != null) {
+            return reversed(summaries(Criteria.where("id").lt(beforeId), seek(limit, Sort.Direction.DESC)));
+        }
+        return summaries(Criteria.where("id").gt(after(afterId)), seek(limit, Sort.Direction.ASC));
+    }
+
+
+    /**
+     * The $or branches use the 'events_owner_id' and 'events_attendee_id' indexes,
+     * merged in _id order, see MongoDataInitializer.
+     */
+    @Override
+    public List<EventSummary> findByUser(final @NotNull Integer userId,
+                                         final Integer afterId,
+                                         final Integer beforeId,
+                                         final int limit) {
+        Criteria user = new Criteria().orOperator(
+                Criteria.where("owner.id").is(userId),
+                Criteria.where("attendee.id").is(userId));
+        if (beforeId != null) {
+            return reversed(summaries(user.and("id").lt(beforeId), seek(limit, Sort.Direction.DESC)));
+        }
+        return summaries(user.and("id").gt(after(afterId)), seek(limit, Sort.Direction.ASC));
+    }
+
+    private static Pageable seek(final int limit, final Sort.Direction direction) {
+        return PageRequest.of(0, limit, Sort.by(direction, "id"));
+    }
+
+    private static Integer after(final Integer afterId) {
+        return afterId != null ? afterId : Integer.MIN_VALUE;
+    }
+
+    private static List<EventSummary> reversed(final List<EventSummary> events) {
+        List<EventSummary> result = new ArrayList<>(events);
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Reads only the fields of an {@link EventSummary}, the owner and attendee emails are embedded in the
+     * {@link Event} documents.
+     */
+    private List<EventSummary> summaries(final Criteria criteria, final Pageable pageable) {
+        Query query = new Query(criteria).with(pageable);
+        query.fields().include("summary").include("when").include("owner.email").include("attendee.email");
+
+        return mongoTemplate.find(query, Event.class, EVENTS).stream()
+                .map(e -> new EventSummary(e.getId(), e.getSummary(), e.getWhen(),
+                        email(e.getOwner()), email(e.getAttendee())))
+                .collect(Collectors.toList());
+    }
+
+    private static String email(final UserSummary user) {
+        return user != null ? user.getEmail() : null;
+    }
+
     @Override
     public Integer save(final @NotNull @Valid Event event) {
 
         if(event.getId() == null) {
             // Get the next PK instance
-            event.setId(eventPK.incrementAndGet());
+            event.setId(eventIds.nextId());
         }
 
         Event newEvent = eventRepository.save(event);
         return newEvent.getId();
     }
 
+    /**
+     * The {@link Event}'s are written with a single insertMany.
+     */
+    @Override
+    public List<Integer> saveAll(final @NotNull @Valid List<Event> events) {
+        for (Event event : events) {
+            if (event.getId() != null) {
+                throw new IllegalArgumentException("event.getId() must be null when creating a new Event");
+            }
+        }
+        events.forEach(event -> event.setId(eventIds.nextId()));
+
+        return eventRepository.insert(events).stream().map(Event::getId).collect(Collectors.toList());
+    }
+
 } // The End...
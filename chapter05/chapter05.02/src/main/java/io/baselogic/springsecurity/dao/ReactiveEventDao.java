@@ -0,0 +1,65 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * A non-blocking interface for managing {@link Event}'s, see {@link EventDao}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.02
+ */
+public interface ReactiveEventDao {
+
+    /**
+     * Given an id gets an {@link Event}.
+     *
+     * @param eventId
+     *            the {@link Event#getId()}
+     * @return the {@link Event}, or an empty {@link Mono} if the {@link Event} cannot be found.
+     */
+    Mono<Event> findById(@NotNull Integer eventId);
+
+    /**
+     * Finds the {@link Event}'s that are owned by the {@link AppUser}, ordered by {@link Event#getWhen()}.
+     *
+     * @param userId
+     *            the {@link AppUser#getId()} to obtain {@link Event}'s for.
+     * @return the {@link Event}'s of the specified {@link AppUser}, empty if the {@link AppUser} does not exist.
+     */
+    Flux<Event> findByUser(@NotNull Integer userId);
+
+    /**
+     * Gets all the available {@link Event}'s.
+     *
+     * @return the {@link Event}'s
+     */
+    Flux<Event> findAll();
+
+    /**
+     * Creates a {@link Event} and returns the new id for that {@link Event}.
+     *
+     * @param event
+     *            the {@link Event} to create. Note that the {@link Event#getId()} should be null.
+     * @return the new id for the {@link Event}
+     */
+    Mono<Integer> save(@NotNull @Valid Event event);
+
+    /**
+     * Creates the {@link Event}'s with a single insertMany.
+     *
+     * @param events
+     *            the {@link Event}'s to create. Every {@link Event#getId()} must be null.
+     * @return the new ids, in the order of {@code events}, or an {@link IllegalArgumentException}
+     *         if an {@link Event#getId()} is non-null.
+     */
+    Flux<Integer> saveAll(@NotNull @Valid List<Event> events);
+
+} // The End...
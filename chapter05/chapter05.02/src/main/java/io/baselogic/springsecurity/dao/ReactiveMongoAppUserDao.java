@@ -0,0 +1,154 @@
+package io.baselogic.springsecurity.dao;
+
+import com.mongodb.DBRef;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.Role;
+import io.baselogic.springsecurity.domain.UserSummary;
+import io.baselogic.springsecurity.repository.ReactiveAppUserRepository;
+import io.baselogic.springsecurity.repository.ReactiveRoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A non-blocking MongoDb Document implementation of {@link ReactiveUserDao}.
+ *
+ * The reactive driver cannot resolve or write the {@link AppUser#getRoles()} DBRef's through the mapping, so the
+ * {@link AppUser}'s are read without their roles, and saved with an upsert that only sets the default {@link Role}
+ * of a new {@link AppUser}. An existing {@link AppUser} keeps its roles.
+ *
+ * The ids are reserved from the same 'app_users' counter as {@link MongoAppUserDao}, see {@link BlockIdGenerator}.
+ * The partial email search is a case insensitive regex, the {@link EmailSearchIndex} of {@link MongoAppUserDao}
+ * is loaded with blocking queries.
+ *
+ * @author Mick Knutson
+ * @since chapter05.02 Created Class
+ */
+@Repository
+@Validated
+@Slf4j
+public class ReactiveMongoAppUserDao implements ReactiveUserDao {
+
+    private static final String APP_USERS = "app_users";
+
+    /** The {@link Role#getId()} of a new {@link AppUser} */
+    private static final Integer DEFAULT_ROLE = 0;
+
+    private final ReactiveAppUserRepository appUserRepository;
+    private final ReactiveRoleRepository roleRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    // Primary Key Generator, unique across nodes
+    private final BlockIdGenerator userIds;
+
+
+    @Autowired
+    public ReactiveMongoAppUserDao(final @NotNull ReactiveAppUserRepository appUserRepository,
+                                   final @NotNull ReactiveRoleRepository roleRepository,
+                                   final @NotNull ReactiveMongoTemplate reactiveMongoTemplate,
+                                   final @NotNull MongoTemplate mongoTemplate) {
+        this.appUserRepository = appUserRepository;
+        this.roleRepository = roleRepository;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.userIds = new BlockIdGenerator(mongoTemplate, APP_USERS);
+    }
+
+
+    @Override
+    public Mono<AppUser> findById(final @NotNull Integer id) {
+        return appUserRepository.findWithoutRolesById(id);
+    }
+
+    @Override
+    public Mono<AppUser> findByEmail(final @NotEmpty String email) {
+        return appUserRepository.findByEmail(email);
+    }
+
+    @Override
+    public Flux<AppUser> findAllByEmail(final @NotEmpty String partialEmail, final int limit) {
+        Query query = new Query(Criteria.where("email")
+                .regex(Pattern.compile(Pattern.quote(partialEmail), Pattern.CASE_INSENSITIVE)))
+                .with(Sort.by("id"))
+                .limit(Math.min(Math.max(limit, 1), UserDao.MAX_EMAIL_RESULTS));
+        query.fields().exclude("roles");
+
+        return reactiveMongoTemplate.find(query, AppUser.class);
+    }
+
+    /**
+     * Saving an existing {@link AppUser} also updates the owner and attendee of its {@link Event}'s,
+     * like {@link MongoAppUserDao#save(AppUser)}.
+     */
+    @Override
+    public Mono<Integer> save(final @NotNull AppUser appUser) {
+        boolean existing = appUser.getId() != null;
+
+        return roleRepository.findById(DEFAULT_ROLE)
+                .switchIfEmpty(Mono.error(() -> new EmptyResultDataAccessException(1)))
+                .flatMap(role -> {
+                    Mono<Integer> id = existing ? Mono.just(appUser.getId()) : userIds.reactiveNextId();
+                    return id.flatMap(userId -> upsert(appUser, userId, role));
+                })
+                .flatMap(userId -> existing
+                        ? updateEvents(UserSummary.of(appUser)).thenReturn(userId)
+                        : Mono.just(userId));
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private Mono<Integer> upsert(final AppUser appUser, final Integer userId, final Role role) {
+        appUser.setId(userId);
+        appUser.setPersisted(true);
+
+        Update update = new Update()
+                .set("email", appUser.getEmail())
+                .set("password", appUser.getPassword())
+                .set("firstName", appUser.getFirstName())
+                .set("lastName", appUser.getLastName())
+                .set("persisted", true)
+                .setOnInsert("roles",
+                        List.of(new DBRef(reactiveMongoTemplate.getCollectionName(Role.class), role.getId())));
+
+        return reactiveMongoTemplate.upsert(new Query(Criteria.where("id").is(userId)), update, AppUser.class)
+                .map(result -> {
+                    if (result.getUpsertedId() != null) {
+                        Set<Role> roles = new HashSet<>();
+                        roles.add(role);
+                        appUser.setRoles(roles);
+                    }
+                    return userId;
+                });
+    }
+
+    /**
+     * Replaces the embedded owner and attendee {@link UserSummary}'s with one updateMany each.
+     */
+    private Mono<Void> updateEvents(final UserSummary user) {
+        return Flux.just("owner", "attendee")
+                .concatMap(field -> reactiveMongoTemplate.updateMulti(
+                        new Query(Criteria.where(field + ".id").is(user.getId())),
+                        new Update().set(field, user),
+                        Event.class))
+                .then();
+    }
+
+} // The End...
@@ -0,0 +1,91 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.repository.ReactiveEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * A non-blocking MongoDb Document implementation of {@link ReactiveEventDao}.
+ *
+ * The ids are reserved from the same 'events' counter as {@link MongoEventDao}, see {@link BlockIdGenerator}.
+ *
+ * @author Mick Knutson
+ * @since chapter05.02 Created Class
+ */
+@Repository
+@Validated
+@Slf4j
+public class ReactiveMongoEventDao implements ReactiveEventDao {
+
+    private static final String EVENTS = "events";
+
+    private final ReactiveEventRepository eventRepository;
+
+    // Primary Key Generator, unique across nodes
+    private final BlockIdGenerator eventIds;
+
+
+    @Autowired
+    public ReactiveMongoEventDao(final @NotNull ReactiveEventRepository eventRepository,
+                                 final @NotNull MongoTemplate mongoTemplate) {
+        this.eventRepository = eventRepository;
+        this.eventIds = new BlockIdGenerator(mongoTemplate, EVENTS);
+    }
+
+
+    @Override
+    public Mono<Event> findById(final @NotNull Integer eventId) {
+        return eventRepository.findById(eventId);
+    }
+
+    /**
+     * Uses the 'events_owner_when' index, see MongoDataInitializer.
+     */
+    @Override
+    public Flux<Event> findByUser(final @NotNull Integer userId) {
+        return eventRepository.findByUser(userId);
+    }
+
+    @Override
+    public Flux<Event> findAll() {
+        return eventRepository.findAll();
+    }
+
+    @Override
+    public Mono<Integer> save(final @NotNull @Valid Event event) {
+        Mono<Integer> id = event.getId() != null ? Mono.just(event.getId()) : eventIds.reactiveNextId();
+
+        return id.flatMap(eventId -> {
+            event.setId(eventId);
+            return eventRepository.save(event);
+        }).map(Event::getId);
+    }
+
+    /**
+     * The {@link Event}'s are written with a single insertMany.
+     */
+    @Override
+    public Flux<Integer> saveAll(final @NotNull @Valid List<Event> events) {
+        for (Event event : events) {
+            if (event.getId() != null) {
+                return Flux.error(new IllegalArgumentException("event.getId() must be null when creating a new Event"));
+            }
+        }
+
+        return Flux.fromIterable(events)
+                .concatMap(event -> eventIds.reactiveNextId().doOnNext(event::setId))
+                .thenMany(Flux.defer(() -> eventRepository.insert(events)))
+                .map(Event::getId);
+    }
+
+} // The End...
@@ -0,0 +1,62 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import org.springframework.dao.EmptyResultDataAccessException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A non-blocking interface for managing {@link AppUser} instances, see {@link UserDao}.
+ *
+ * The {@link AppUser}'s are read without their {@link AppUser#getRoles()}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.02
+ */
+public interface ReactiveUserDao {
+
+    /**
+     * Gets a {@link AppUser} for a specific {@link AppUser#getId()}.
+     *
+     * @param id
+     *            the {@link AppUser#getId()} of the {@link AppUser} to find.
+     * @return the {@link AppUser} for the given id, or an empty {@link Mono} if it cannot be found.
+     */
+    Mono<AppUser> findById(@NotNull Integer id);
+
+    /**
+     * Finds a given {@link AppUser} by email address.
+     *
+     * @param email
+     *            the email address to use to find a {@link AppUser}. Cannot be null.
+     * @return the {@link AppUser} for the given email, or an empty {@link Mono} if one could not be found.
+     */
+    Mono<AppUser> findByEmail(@NotEmpty String email);
+
+    /**
+     * Finds up to {@code limit} {@link AppUser}s that have an email that contains {@code partialEmail},
+     * ignoring case.
+     *
+     * @param partialEmail
+     *            the email address to use to find {@link AppUser}s. Cannot be null or empty String.
+     * @param limit
+     *            the maximum number of {@link AppUser}s to return, at most {@link UserDao#MAX_EMAIL_RESULTS}.
+     * @return the {@link AppUser}s that have an email that contains given partialEmail, ordered by id.
+     */
+    Flux<AppUser> findAllByEmail(@NotEmpty String partialEmail, int limit);
+
+    /**
+     * Creates a new {@link AppUser}, or replaces an existing one.
+     *
+     * @param appUser
+     *            the {@link AppUser} to save. A new {@link AppUser} has a null {@link AppUser#getId()}.
+     * @return the {@link AppUser#getId()}, or an {@link EmptyResultDataAccessException} if the default role
+     *         does not exist.
+     */
+    Mono<Integer> save(@NotNull AppUser appUser);
+
+} // The End...
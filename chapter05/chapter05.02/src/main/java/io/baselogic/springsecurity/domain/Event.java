@@ -7,7 +7,6 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.PersistenceConstructor;
 import org.springframework.data.domain.Persistable;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import javax.validation.constraints.NotEmpty;
@@ -20,8 +19,13 @@ import java.util.Calendar;
  * (someone who was invited to the event), when the event will occur, a summary, and a description. For simplicity, all
  * fields are required.
  *
+ * The owner and attendee are embedded as {@link UserSummary}'s, so an {@link Event} is read without any further
+ * query for its users. {@link io.baselogic.springsecurity.dao.MongoAppUserDao} keeps them in sync with the
+ * {@link AppUser}'s.
+ *
  * @author mickknutson
  *
+ * @since chapter05.02 The owner and attendee are embedded {@link UserSummary}'s instead of {@link AppUser} DBRef's
  */
 // Document Annotations:
 @Document(collection="events")
@@ -47,10 +51,8 @@ public class Event implements Persistable<Integer>, Serializable {
 
 
     @NotNull(message = "Owner is required")
-    @DBRef
-    private AppUser owner;
-    @DBRef
-    private AppUser attendee;
+    private UserSummary owner;
+    private UserSummary attendee;
 
     private boolean persisted = false;
 
@@ -60,8 +62,8 @@ public class Event implements Persistable<Integer>, Serializable {
                  String summary,
                  String description,
                  Calendar when,
-                 AppUser owner,
-                 AppUser attendee) {
+                 UserSummary owner,
+                 UserSummary attendee) {
         this.id = id;
         this.summary = summary;
         this.description = description;
@@ -0,0 +1,99 @@
+package io.baselogic.springsecurity.domain;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A keyset (seek) page of {@link EventSummary}'s, ordered by {@link Event#getId()}.
+ *
+ * Instead of an offset, the next page starts after {@link #getNextCursor()} and the previous page
+ * ends before {@link #getPreviousCursor()}, so a page costs the same however deep the user goes.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+public final class EventPage implements Serializable {
+
+    private final List<EventSummary> events;
+    private final int size;
+    private final Integer previousCursor;
+    private final Integer nextCursor;
+
+
+    private EventPage(final List<EventSummary> events,
+                      final int size,
+                      final Integer previousCursor,
+                      final Integer nextCursor) {
+        this.events = Collections.unmodifiableList(events);
+        this.size = size;
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Create a page from the result of a keyset query for {@code size + 1} {@link EventSummary}'s.
+     * The extra {@link EventSummary} only tells if there is another page in the direction of the query.
+     *
+     * @param fetched  up to {@code size + 1} {@link EventSummary}'s, ascending by id
+     * @param size     the page size
+     * @param afterId  the cursor the page was requested after, or null
+     * @param beforeId the cursor the page was requested before, or null
+     * @return the {@link EventPage}
+     */
+    public static EventPage of(final List<EventSummary> fetched,
+                               final int size,
+                               final Integer afterId,
+                               final Integer beforeId) {
+        boolean more = fetched.size() > size;
+        boolean backward = beforeId != null;
+
+        List<EventSummary> events = !more ? fetched
+                : backward ? fetched.subList(fetched.size() - size, fetched.size())
+                : fetched.subList(0, size);
+
+        boolean hasPrevious = backward ? more : afterId != null;
+        boolean hasNext = backward || more;
+
+        if (events.isEmpty()) {
+            return new EventPage(events, size, null, null);
+        }
+        return new EventPage(events, size,
+                hasPrevious ? events.get(0).getId() : null,
+                hasNext ? events.get(events.size() - 1).getId() : null);
+    }
+
+    public List<EventSummary> getEvents() {
+        return events;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the id to request the previous page before, or null on the first page
+     */
+    public Integer getPreviousCursor() {
+        return previousCursor;
+    }
+
+    /**
+     * @return the id to request the next page after, or null on the last page
+     */
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    private static final long serialVersionUID = 2794519187334508313L;
+
+} // The End...
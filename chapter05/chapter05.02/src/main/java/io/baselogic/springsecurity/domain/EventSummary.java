@@ -0,0 +1,28 @@
+package io.baselogic.springsecurity.domain;
+
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.Calendar;
+
+/**
+ * A read-only projection of an {@link Event} for the event lists. It only has the columns the lists show,
+ * without the {@link Event#getDescription()} and with only the email of the owner and attendee
+ * instead of their {@link AppUser}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ */
+@Value
+public class EventSummary implements Serializable {
+
+    Integer id;
+    String summary;
+    Calendar when;
+    String ownerEmail;
+    String attendeeEmail;
+
+    private static final long serialVersionUID = 3067294810125634971L;
+
+} // The End...
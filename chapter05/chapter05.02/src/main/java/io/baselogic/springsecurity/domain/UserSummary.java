@@ -0,0 +1,47 @@
+package io.baselogic.springsecurity.domain;
+
+import lombok.Value;
+import org.springframework.data.annotation.Transient;
+
+import java.io.Serializable;
+
+/**
+ * A read-only projection of an {@link AppUser} for the user search, without the password and roles.
+ *
+ * It is also the owner and attendee embedded in an {@link Event} document.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.00 Created Class
+ * @since chapter05.02 Embedded in the {@link Event} documents
+ */
+@Value
+public class UserSummary implements Serializable {
+
+    Integer id;
+    String email;
+    String firstName;
+    String lastName;
+
+
+    /**
+     * @return the {@link UserSummary} of the given {@link AppUser}, or null for a null user
+     */
+    public static UserSummary of(final AppUser appUser) {
+        if (appUser == null) {
+            return null;
+        }
+        return new UserSummary(appUser.getId(), appUser.getEmail(), appUser.getFirstName(), appUser.getLastName());
+    }
+
+    /**
+     * @return the email as the name, like {@link AppUser#getName()}
+     */
+    @Transient
+    public String getName() {
+        return email;
+    }
+
+    private static final long serialVersionUID = -4521867306178592340L;
+
+} // The End...
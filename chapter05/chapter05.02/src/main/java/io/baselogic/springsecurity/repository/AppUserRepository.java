@@ -2,7 +2,9 @@ package io.baselogic.springsecurity.repository;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AppUserRepository extends MongoRepository<AppUser, Integer> {
@@ -11,4 +13,19 @@ public interface AppUserRepository extends MongoRepository<AppUser, Integer> {
 
     List<AppUser> findAllByEmailContaining(String partialEmail);
 
+    /**
+     * @return every {@link AppUser} with only the id and email, to load the email search index
+     * @since chapter05.02
+     */
+    @Query(value = "{}", fields = "{ 'email' : 1 }")
+    List<AppUser> findAllIdAndEmail();
+
+    /**
+     * @return the given {@link AppUser}s with only the fields of a
+     * {@link io.baselogic.springsecurity.domain.UserSummary}, in no particular order
+     * @since chapter05.02
+     */
+    @Query(value = "{ '_id' : { '$in' : ?0 } }", fields = "{ 'email' : 1, 'firstName' : 1, 'lastName' : 1 }")
+    List<AppUser> findSummariesByIdIn(Collection<Integer> ids);
+
 } // The End...
@@ -1,7 +1,7 @@
 package io.baselogic.springsecurity.repository;
 
-import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.UserSummary;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
@@ -9,7 +9,7 @@ import java.util.List;
 
 public interface EventRepository extends MongoRepository<Event, Integer> {
 
-    List<Event> findByOwner(AppUser appUser);
+    List<Event> findByOwner(UserSummary owner);
 
 
 
@@ -18,5 +18,4 @@ public interface EventRepository extends MongoRepository<Event, Integer> {
     @Query("{'owner.id' : ?0}")
     List<Event> findByUser(Integer id);
 
-
 } // The End...
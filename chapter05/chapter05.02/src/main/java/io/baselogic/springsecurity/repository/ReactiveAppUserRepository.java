@@ -0,0 +1,24 @@
+package io.baselogic.springsecurity.repository;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking {@link AppUserRepository}.
+ *
+ * The reactive driver cannot resolve the {@link AppUser#getRoles()} DBRef's, so the queries do not read them.
+ * Use the methods declared here instead of the inherited find methods.
+ *
+ * @since chapter05.02
+ */
+public interface ReactiveAppUserRepository extends ReactiveMongoRepository<AppUser, Integer> {
+
+    @Query(value = "{ '_id' : ?0 }", fields = "{ 'roles' : 0 }")
+    Mono<AppUser> findWithoutRolesById(Integer id);
+
+    @Query(value = "{ 'email' : ?0 }", fields = "{ 'roles' : 0 }")
+    Mono<AppUser> findByEmail(String email);
+
+} // The End...
@@ -0,0 +1,18 @@
+package io.baselogic.springsecurity.repository;
+
+import io.baselogic.springsecurity.domain.Event;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * The non-blocking {@link EventRepository}.
+ *
+ * @since chapter05.02
+ */
+public interface ReactiveEventRepository extends ReactiveMongoRepository<Event, Integer> {
+
+    @Query(value = "{ 'owner.id' : ?0 }", sort = "{ 'when' : 1 }")
+    Flux<Event> findByUser(Integer id);
+
+} // The End...
@@ -0,0 +1,13 @@
+package io.baselogic.springsecurity.repository;
+
+import io.baselogic.springsecurity.domain.Role;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * The non-blocking {@link RoleRepository}.
+ *
+ * @since chapter05.02
+ */
+public interface ReactiveRoleRepository extends ReactiveMongoRepository<Role, Integer> {
+
+} // The End...
@@ -4,6 +4,8 @@ import io.baselogic.springsecurity.dao.EventDao;
 import io.baselogic.springsecurity.dao.UserDao;
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventPage;
+import io.baselogic.springsecurity.domain.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
@@ -60,11 +62,32 @@ public class DefaultEventService implements EventService {
         return eventDao.findAll();
     }
 
+    @Override
+    public EventPage findAllEvents(Integer afterId, Integer beforeId, int size) {
+        int pageSize = pageSize(size);
+        return EventPage.of(eventDao.findAll(afterId, beforeId, pageSize + 1), pageSize, afterId, beforeId);
+    }
+
+    @Override
+    public EventPage findEventByUser(Integer userId, Integer afterId, Integer beforeId, int size) {
+        int pageSize = pageSize(size);
+        return EventPage.of(eventDao.findByUser(userId, afterId, beforeId, pageSize + 1), pageSize, afterId, beforeId);
+    }
+
+    private static int pageSize(final int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
     @Override
     public Integer createEvent(Event event) {
         return eventDao.save(event);
     }
 
+    @Override
+    public List<Integer> createEvents(final List<Event> events) {
+        return eventDao.saveAll(events);
+    }
+
     @Override
     public AppUser findUserById(Integer id) {
         return userDao.findById(id);
@@ -80,6 +103,11 @@ public class DefaultEventService implements EventService {
         return userDao.findAllByEmail(partialEmail);
     }
 
+    @Override
+    public List<UserSummary> findUsersByEmail(final String partialEmail, final int limit) {
+        return userDao.findSummariesByEmail(partialEmail, limit);
+    }
+
     @Override
     public Integer createUser(final AppUser appUser) {
         String encodedPassword = passwordEncoder.encode(appUser.getPassword());
@@ -88,4 +116,11 @@ public class DefaultEventService implements EventService {
         return userDao.save(appUser);
     }
 
+    @Override
+    public List<Integer> createUsers(final List<AppUser> appUsers) {
+        appUsers.forEach(appUser -> appUser.setPassword(passwordEncoder.encode(appUser.getPassword())));
+
+        return userDao.saveAll(appUsers);
+    }
+
 } // The End...
\ No newline at end of file
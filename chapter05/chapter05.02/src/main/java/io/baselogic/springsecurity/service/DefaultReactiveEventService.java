@@ -0,0 +1,102 @@
+package io.baselogic.springsecurity.service;
+
+import io.baselogic.springsecurity.dao.ReactiveEventDao;
+import io.baselogic.springsecurity.dao.ReactiveUserDao;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * A default implementation of {@link ReactiveEventService}, delegating to {@link ReactiveEventDao} and
+ * {@link ReactiveUserDao}.
+ *
+ * The password of a new {@link AppUser} is encoded on the {@link Schedulers#boundedElastic()} scheduler,
+ * so the slow hash never runs on a non-blocking thread.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.02
+ */
+@Service
+@Validated
+public class DefaultReactiveEventService implements ReactiveEventService {
+
+    private final ReactiveEventDao eventDao;
+    private final ReactiveUserDao userDao;
+
+    private final PasswordEncoder passwordEncoder;
+
+
+    @Autowired
+    public DefaultReactiveEventService(final @NotNull ReactiveEventDao eventDao,
+                                       final @NotNull ReactiveUserDao userDao,
+                                       final @NotNull PasswordEncoder passwordEncoder) {
+        this.eventDao = eventDao;
+        this.userDao = userDao;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public Mono<Event> findEventById(final Integer eventId) {
+        return eventDao.findById(eventId);
+    }
+
+    @Override
+    public Mono<Integer> createEvent(final Event event) {
+        return eventDao.save(event);
+    }
+
+    @Override
+    public Flux<Integer> createEvents(final List<Event> events) {
+        return eventDao.saveAll(events);
+    }
+
+    @Override
+    public Flux<Event> findEventByUser(final Integer userId) {
+        return eventDao.findByUser(userId);
+    }
+
+    @Override
+    public Flux<Event> findAllEvents() {
+        return eventDao.findAll();
+    }
+
+    @Override
+    public Mono<AppUser> findUserById(final Integer id) {
+        return userDao.findById(id);
+    }
+
+    @Override
+    public Mono<AppUser> findUserByEmail(final String email) {
+        return userDao.findByEmail(email);
+    }
+
+    @Override
+    public Flux<AppUser> findUsersByEmail(final String partialEmail, final int limit) {
+        return userDao.findAllByEmail(partialEmail, limit);
+    }
+
+    @Override
+    public Mono<Integer> createUser(final AppUser appUser) {
+        if (appUser.getId() != null) {
+            return Mono.error(new IllegalArgumentException("appUser.getId() must be null when creating a new AppUser"));
+        }
+
+        return Mono.fromCallable(() -> passwordEncoder.encode(appUser.getPassword()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(encodedPassword -> {
+                    appUser.setPassword(encodedPassword);
+                    return userDao.save(appUser);
+                });
+    }
+
+} // The End...
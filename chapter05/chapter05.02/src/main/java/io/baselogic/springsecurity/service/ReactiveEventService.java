@@ -0,0 +1,102 @@
+package io.baselogic.springsecurity.service;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * A non-blocking service for managing {@link Event}'s, see {@link EventService}.
+ *
+ * @since chapter05.02
+ * @author mickknutson
+ *
+ */
+public interface ReactiveEventService {
+
+    /**
+     * Given an id gets an {@link Event}.
+     *
+     * @param eventId
+     *            the {@link Event#getId()}
+     * @return the {@link Event}, or an empty {@link Mono} if the {@link Event} cannot be found.
+     */
+    Mono<Event> findEventById(Integer eventId);
+
+    /**
+     * Creates a {@link Event} and returns the new id for that {@link Event}.
+     *
+     * @param event
+     *            the {@link Event} to create. Note that the {@link Event#getId()} should be null.
+     * @return the new id for the {@link Event}
+     */
+    Mono<Integer> createEvent(Event event);
+
+    /**
+     * Creates the {@link Event}'s with a single insertMany.
+     *
+     * @param events
+     *            the {@link Event}'s to create. Note that every {@link Event#getId()} should be null.
+     * @return the new ids, in the order of {@code events}
+     */
+    Flux<Integer> createEvents(List<Event> events);
+
+    /**
+     * Finds the {@link Event}'s that are intended for the {@link AppUser}.
+     *
+     * @param userId
+     *            the {@link AppUser#getId()} to obtain {@link Event}'s for.
+     * @return the {@link Event}'s intended for the specified {@link AppUser}, empty if the
+     *         {@link AppUser} does not exist.
+     */
+    Flux<Event> findEventByUser(Integer userId);
+
+    /**
+     * Gets all the available {@link Event}'s.
+     *
+     * @return the {@link Event}'s
+     */
+    Flux<Event> findAllEvents();
+
+    /**
+     * Gets a {@link AppUser} for a specific {@link AppUser#getId()}.
+     *
+     * @param id
+     *            the {@link AppUser#getId()} of the {@link AppUser} to find.
+     * @return the {@link AppUser} for the given id, or an empty {@link Mono} if it cannot be found.
+     */
+    Mono<AppUser> findUserById(Integer id);
+
+    /**
+     * Finds a given {@link AppUser} by email address.
+     *
+     * @param email
+     *            the email address to use to find a {@link AppUser}. Cannot be null.
+     * @return the {@link AppUser} for the given email, or an empty {@link Mono} if one could not be found.
+     */
+    Mono<AppUser> findUserByEmail(String email);
+
+    /**
+     * Finds up to {@code limit} {@link AppUser}s that have an email that contains {@code partialEmail}.
+     *
+     * @param partialEmail
+     *            the email address to use to find {@link AppUser}s. Cannot be null or empty String.
+     * @param limit
+     *            the maximum number of {@link AppUser}s to return.
+     * @return the {@link AppUser}s that have an email that contains given partialEmail.
+     */
+    Flux<AppUser> findUsersByEmail(String partialEmail, int limit);
+
+    /**
+     * Creates a new {@link AppUser}, with an encoded password.
+     *
+     * @param appUser
+     *            the new {@link AppUser} to create. The {@link AppUser#getId()} must be null.
+     * @return the new {@link AppUser#getId()}, or an {@link IllegalArgumentException}
+     *         if {@link AppUser#getId()} is non-null.
+     */
+    Mono<Integer> createUser(AppUser appUser);
+
+} // The End...
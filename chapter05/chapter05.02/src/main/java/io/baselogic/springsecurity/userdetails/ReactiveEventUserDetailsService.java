@@ -0,0 +1,45 @@
+package io.baselogic.springsecurity.userdetails;
+
+import io.baselogic.springsecurity.dao.ReactiveUserDao;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.EventUserDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * The non-blocking {@link EventUserDetailsService}: looks up an {@link AppUser} with the {@link ReactiveUserDao}
+ * and converts it into a {@link EventUserDetails}, for a WebFlux security configuration.
+ *
+ * An unknown username is an empty {@link Mono}, which the reactive authentication manager reports as bad
+ * credentials.
+ *
+ * @author mickknutson
+ *
+ * @since chapter05.02 Created Class
+ */
+@Service
+@Slf4j
+public class ReactiveEventUserDetailsService implements ReactiveUserDetailsService {
+
+    private final ReactiveUserDao userDao;
+
+    @Autowired
+    public ReactiveEventUserDetailsService(final @NotNull ReactiveUserDao userDao) {
+        this.userDao = userDao;
+    }
+
+
+    @Override
+    public Mono<UserDetails> findByUsername(final String username) {
+        log.info("*** Executing reactiveEventUserDetailsService.findByUsername('{}')", username);
+        return userDao.findByEmail(username)
+                .<UserDetails>map(EventUserDetails::new);
+    }
+
+} // The End...
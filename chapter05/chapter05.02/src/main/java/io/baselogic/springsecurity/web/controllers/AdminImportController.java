@@ -0,0 +1,97 @@
+package io.baselogic.springsecurity.web.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.baselogic.springsecurity.service.BulkImportService;
+import io.baselogic.springsecurity.service.ImportProgress;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Admin bulk import of {@link io.baselogic.springsecurity.domain.Event}'s and
+ * {@link io.baselogic.springsecurity.domain.AppUser}s.
+ *
+ * The CSV request body is read as it arrives, and an {@link ImportProgress} line is written and flushed to the
+ * response after every committed chunk, e.g. with the session cookie of an admin:
+ * <pre>
+ * curl -b 'JSESSIONID=...' -H 'Content-Type: text/csv' --data-binary @events.csv \
+ *      'http://localhost:8080/admin/import/events?chunkSize=5000'
+ * </pre>
+ *
+ * @see BulkImportService
+ * @since chapter05.00
+ */
+@Controller
+@RequestMapping("/admin/import")
+@Slf4j
+public class AdminImportController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final BulkImportService bulkImportService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public AdminImportController(final BulkImportService bulkImportService,
+                                 final ObjectMapper objectMapper) {
+        this.bulkImportService = bulkImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(value = "/{type}", consumes = "text/csv")
+    public void importCsv(final @PathVariable String type,
+                          final @RequestParam(required = false) Integer chunkSize,
+                          final HttpServletRequest request,
+                          final HttpServletResponse response) throws IOException {
+        if (!BulkImportService.EVENTS.equals(type) && !BulkImportService.USERS.equals(type)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown import: " + type);
+        }
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+
+        Consumer<ImportProgress> listener = progress -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(progress));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try (Reader csv = reader(request)) {
+            if (BulkImportService.EVENTS.equals(type)) {
+                bulkImportService.importEvents(csv, chunkSize, listener);
+            } else {
+                bulkImportService.importUsers(csv, chunkSize, listener);
+            }
+        }
+    }
+
+    private static Reader reader(final HttpServletRequest request) throws IOException {
+        if (request.getCharacterEncoding() != null) {
+            return request.getReader();
+        }
+        return new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+} // The End...
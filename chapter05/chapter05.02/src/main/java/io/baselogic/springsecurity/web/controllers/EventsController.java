@@ -1,14 +1,19 @@
 package io.baselogic.springsecurity.web.controllers;
 
+import io.baselogic.springsecurity.dao.UserDao;
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventPage;
+import io.baselogic.springsecurity.domain.UserSummary;
 import io.baselogic.springsecurity.service.EventService;
 import io.baselogic.springsecurity.service.UserContext;
+import io.baselogic.springsecurity.web.model.AttendeeDto;
 import io.baselogic.springsecurity.web.model.EventDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +22,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
 import java.util.Calendar;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Event Controller
@@ -39,6 +46,9 @@ public class EventsController {
     private static final String EVENT_MY_VIEW = "events/my";
     private static final String EVENT_SHOW_VIEW = "events/show";
 
+    private static final String PAGE_SIZE = "" + EventService.DEFAULT_PAGE_SIZE;
+    private static final String ATTENDEE_LIMIT = "" + UserDao.DEFAULT_EMAIL_RESULTS;
+
     @Autowired
     public EventsController(final EventService eventService,
                             final UserContext userContext,
@@ -48,17 +58,34 @@ public class EventsController {
         this.messageSource = messageSource;
     }
 
+    /**
+     * @since chapter05.00 keyset paginated with the 'after' and 'before' cursors
+     */
     @GetMapping("/")
-    public ModelAndView allEvents() {
-        return new ModelAndView(EVENT_LIST_VIEW, "events", eventService.findAllEvents());
+    public ModelAndView allEvents(final @RequestParam(required = false) Integer after,
+                                  final @RequestParam(required = false) Integer before,
+                                  final @RequestParam(defaultValue = PAGE_SIZE) int size) {
+        EventPage page = eventService.findAllEvents(after, before, size);
+
+        ModelAndView result = new ModelAndView(EVENT_LIST_VIEW, "events", page.getEvents());
+        result.addObject("page", page);
+        return result;
     }
 
+    /**
+     * @since chapter05.00 keyset paginated with the 'after' and 'before' cursors
+     */
     @GetMapping("/my")
-    public ModelAndView userEvents() {
+    public ModelAndView userEvents(final @RequestParam(required = false) Integer after,
+                                   final @RequestParam(required = false) Integer before,
+                                   final @RequestParam(defaultValue = PAGE_SIZE) int size) {
         AppUser currentAppUser = userContext.getCurrentUser();
         Integer currentUserId = currentAppUser.getId();
 
-        ModelAndView result = new ModelAndView(EVENT_MY_VIEW, "events", eventService.findEventByUser(currentUserId));
+        EventPage page = eventService.findEventByUser(currentUserId, after, before, size);
+
+        ModelAndView result = new ModelAndView(EVENT_MY_VIEW, "events", page.getEvents());
+        result.addObject("page", page);
         result.addObject("currentAppUser", currentAppUser);
         return result;
     }
@@ -69,6 +96,27 @@ public class EventsController {
         return new ModelAndView(EVENT_SHOW_VIEW, "event", event);
     }
 
+    /**
+     * The 'attendeeEmail' typeahead of the create event form.
+     *
+     * @param email the part of the attendee email typed so far
+     * @param limit the maximum number of suggestions
+     * @return the matching attendees as JSON
+     *
+     * @since chapter05.00
+     */
+    @GetMapping(value = "/attendees", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<AttendeeDto> attendees(final @RequestParam String email,
+                                       final @RequestParam(defaultValue = ATTENDEE_LIMIT) int limit) {
+        if (email.trim().isEmpty()) {
+            return List.of();
+        }
+        return eventService.findUsersByEmail(email, limit).stream()
+                .map(AttendeeDto::of)
+                .collect(Collectors.toList());
+    }
+
     @GetMapping("/form")
     public String showEventForm(final @ModelAttribute EventDto eventDto) {
         return EVENT_CREATE_VIEW;
@@ -126,8 +174,8 @@ public class EventsController {
         event.setSummary(eventDto.getSummary());
         event.setDescription(eventDto.getDescription());
         event.setWhen(eventDto.getWhen());
-        event.setAttendee(attendee);
-        event.setOwner(userContext.getCurrentUser());
+        event.setAttendee(UserSummary.of(attendee));
+        event.setOwner(UserSummary.of(userContext.getCurrentUser()));
 
         eventService.createEvent(event);
 
@@ -0,0 +1,84 @@
+package io.baselogic.springsecurity.configuration;
+
+import io.baselogic.springsecurity.dao.BlockIdGenerator;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MongoDataInitializerTests, with a small synthetic dataset in its own context.
+ *
+ * @since chapter05.02
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "events.seed.synthetic.users=100",
+        "events.seed.synthetic.events=500",
+        "events.seed.batch-size=64"
+})
+@DirtiesContext
+@Slf4j
+class MongoDataInitializerTests {
+
+    @Autowired
+    private MongoDataInitializer mongoDataInitializer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+
+    @Test
+    @DisplayName("MongoDataInitializer - seeds the seed data and the synthetic dataset")
+    void seed_synthetic() {
+        assertThat(mongoTemplate.count(new Query(), AppUser.class)).isEqualTo(103);
+        assertThat(mongoTemplate.count(new Query(), Event.class)).isEqualTo(503);
+
+        SyntheticDataset dataset = new SyntheticDataset(100, 500, 42);
+        Event event = mongoTemplate.findById(SyntheticDataset.FIRST_EVENT_ID, Event.class);
+        SyntheticDataset.EventRow row = dataset.events().findFirst().orElseThrow();
+        assertThat(event.getOwner().getId()).isEqualTo(row.getOwner());
+        assertThat(event.getOwner().getEmail()).isEqualTo(dataset.user(row.getOwner()).getEmail());
+
+        AppUser appUser = mongoTemplate.findById(SyntheticDataset.FIRST_USER_ID, AppUser.class);
+        assertThat(appUser.getRoles()).extracting("name").containsExactly("ROLE_USER");
+
+        Document version = mongoTemplate.findById("events", Document.class, MongoDataInitializer.SEED_VERSIONS);
+        assertThat(version.getString("version")).isEqualTo("1:100:500:42");
+    }
+
+    @Test
+    @DisplayName("MongoDataInitializer - the counters start after the synthetic ids")
+    void seed_synthetic_counters() {
+        Document events = mongoTemplate.findById("events", Document.class, BlockIdGenerator.COUNTERS);
+        Document appUsers = mongoTemplate.findById("app_users", Document.class, BlockIdGenerator.COUNTERS);
+
+        assertThat(((Number) events.get(BlockIdGenerator.SEQUENCE)).intValue()).isGreaterThanOrEqualTo(1_499);
+        assertThat(((Number) appUsers.get(BlockIdGenerator.SEQUENCE)).intValue()).isGreaterThanOrEqualTo(1_099);
+    }
+
+    @Test
+    @DisplayName("MongoDataInitializer - skips a current seed version")
+    void seed_skips_current_version() {
+        Event event = mongoTemplate.findById(100, Event.class);
+        mongoTemplate.remove(event);
+        try {
+            assertThat(mongoDataInitializer.seed()).isFalse();
+            assertThat(mongoTemplate.findById(100, Event.class)).isNull();
+        } finally {
+            mongoTemplate.insert(event);
+        }
+    }
+
+} // The End...
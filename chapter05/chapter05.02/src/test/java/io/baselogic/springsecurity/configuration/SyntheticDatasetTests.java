@@ -0,0 +1,98 @@
+package io.baselogic.springsecurity.configuration;
+
+import io.baselogic.springsecurity.configuration.SyntheticDataset.EventRow;
+import io.baselogic.springsecurity.configuration.SyntheticDataset.UserRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * SyntheticDatasetTests
+ *
+ * @since chapter05.00
+ */
+class SyntheticDatasetTests {
+
+    @Test
+    @DisplayName("SyntheticDataset - the same parameters generate the same rows")
+    void deterministic() {
+        SyntheticDataset dataset = new SyntheticDataset(100, 1_000, 42);
+
+        assertThat(dataset.users().collect(Collectors.toList()))
+                .isEqualTo(new SyntheticDataset(100, 1_000, 42).users().collect(Collectors.toList()));
+        assertThat(dataset.events().collect(Collectors.toList()))
+                .isEqualTo(new SyntheticDataset(100, 1_000, 42).events().collect(Collectors.toList()))
+                .isNotEqualTo(new SyntheticDataset(100, 1_000, 43).events().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("SyntheticDataset - ids, emails, owners and attendees")
+    void rows() {
+        SyntheticDataset dataset = new SyntheticDataset(100, 1_000, 42);
+
+        List<UserRow> users = dataset.users().collect(Collectors.toList());
+        assertThat(users).hasSize(100);
+        assertThat(users.get(0).getId()).isEqualTo(SyntheticDataset.FIRST_USER_ID);
+        assertThat(users.get(99).getId()).isEqualTo(dataset.getLastUserId());
+        assertThat(users.get(0).getEmail()).isEqualTo("user1000@synthetic.baselogic.com");
+        assertThat(users).extracting(UserRow::getEmail).doesNotHaveDuplicates();
+        assertThat(dataset.user(1_050)).isEqualTo(users.get(50));
+
+        List<EventRow> events = dataset.events().collect(Collectors.toList());
+        assertThat(events).hasSize(1_000);
+        assertThat(events.get(999).getId()).isEqualTo(dataset.getLastEventId());
+        assertThat(events).allMatch(e -> e.getOwner() != e.getAttendee()
+                && e.getOwner() >= SyntheticDataset.FIRST_USER_ID && e.getOwner() <= dataset.getLastUserId()
+                && e.getAttendee() >= SyntheticDataset.FIRST_USER_ID && e.getAttendee() <= dataset.getLastUserId()
+                && e.getSummary().length() <= 50);
+    }
+
+    @Test
+    @DisplayName("SyntheticDataset - a few users own most of the events")
+    void owner_skew() {
+        SyntheticDataset dataset = new SyntheticDataset(1_000, 100_000, 42);
+
+        Map<Integer, Long> owned = dataset.events()
+                .collect(Collectors.groupingBy(EventRow::getOwner, Collectors.counting()));
+        Map<Integer, Long> attended = dataset.events()
+                .collect(Collectors.groupingBy(EventRow::getAttendee, Collectors.counting()));
+
+        // the first 10% of the users own more than 40% of the events, and attend less than that
+        assertThat(firstTenPercent(owned, dataset)).isGreaterThan(40_000);
+        assertThat(firstTenPercent(attended, dataset)).isLessThan(firstTenPercent(owned, dataset));
+    }
+
+    @Test
+    @DisplayName("SyntheticDataset - the version identifies the dataset")
+    void version() {
+        assertThat(new SyntheticDataset(100, 1_000, 42).version(1)).isEqualTo("1:100:1000:42");
+        assertThat(new SyntheticDataset(0, 0, 42).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("SyntheticDataset - invalid sizes")
+    void invalid_sizes() {
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataset(-1, 0, 42));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataset(1, 10, 42));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticDataset(10, 10, 42).user(1_010));
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private static long firstTenPercent(final Map<Integer, Long> counts, final SyntheticDataset dataset) {
+        int last = SyntheticDataset.FIRST_USER_ID + dataset.getUsers() / 10;
+        return counts.entrySet().stream()
+                .filter(e -> e.getKey() < last)
+                .map(Map.Entry::getValue)
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+} // The End...
@@ -0,0 +1,153 @@
+package io.baselogic.springsecurity.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * BlockIdGeneratorTests, with an in-memory counter shared by several generators as the nodes of a cluster.
+ *
+ * @since chapter05.02
+ */
+class BlockIdGeneratorTests {
+
+    private AtomicLong sequence;
+    private AtomicInteger increments;
+    private AtomicLong now;
+    private BlockIdGenerator.Counter counter;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        sequence = new AtomicLong(102);
+        increments = new AtomicInteger();
+        now = new AtomicLong();
+        counter = (name, size) -> {
+            increments.incrementAndGet();
+            return sequence.addAndGet(size);
+        };
+    }
+
+
+    @Test
+    @DisplayName("BlockIdGenerator - ids after the counter, one increment per block")
+    void nextId() {
+        BlockIdGenerator generator = generator(10, 10);
+
+        for (int i = 103; i <= 122; i++) {
+            assertThat(generator.nextId()).isEqualTo(i);
+        }
+        assertThat(increments.get()).isEqualTo(2);
+        assertThat(sequence.get()).isEqualTo(122);
+    }
+
+    @Test
+    @DisplayName("BlockIdGenerator - nodes reserve separate blocks")
+    void nextId_nodes() {
+        BlockIdGenerator node1 = generator(10, 10);
+        BlockIdGenerator node2 = generator(10, 10);
+
+        assertThat(node1.nextId()).isEqualTo(103);
+        assertThat(node2.nextId()).isEqualTo(113);
+        assertThat(node1.nextId()).isEqualTo(104);
+    }
+
+    @Test
+    @DisplayName("BlockIdGenerator - unique ids across threads and nodes")
+    void nextId_concurrent() throws Exception {
+        List<BlockIdGenerator> nodes = List.of(
+                new BlockIdGenerator("events", counter, 10, 1_000, System::nanoTime),
+                new BlockIdGenerator("events", counter, 10, 1_000, System::nanoTime));
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 10_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                BlockIdGenerator node = nodes.get(t % nodes.size());
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(node.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(threads * perThread);
+        assertThat(ids).allMatch(id -> id > 102 && id <= sequence.get());
+        assertThat(increments.get()).isLessThan(threads * perThread / 10);
+    }
+
+    @Test
+    @DisplayName("BlockIdGenerator - the block size doubles at a high insert rate and halves at a low one")
+    void blockSize_adapts() {
+        BlockIdGenerator generator = generator(10, 40);
+
+        take(generator, 10);
+        assertThat(generator.getBlockSize()).isEqualTo(10);
+
+        // the first block lasted less than the target
+        take(generator, 1);
+        assertThat(generator.getBlockSize()).isEqualTo(20);
+        take(generator, 20);
+        assertThat(generator.getBlockSize()).isEqualTo(40);
+        take(generator, 40);
+        assertThat(generator.getBlockSize()).isEqualTo(40);
+
+        // the last block lasted more than 10 times the target
+        now.addAndGet(BlockIdGenerator.TARGET_BLOCK_NANOS * 11);
+        take(generator, 40);
+        assertThat(generator.getBlockSize()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("BlockIdGenerator - ids beyond Integer.MAX_VALUE")
+    void nextId_overflow() {
+        sequence.set(Integer.MAX_VALUE - 5);
+        BlockIdGenerator generator = generator(10, 10);
+
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    @DisplayName("BlockIdGenerator - invalid block sizes")
+    void invalid_block_sizes() {
+        assertThrows(IllegalArgumentException.class, () -> generator(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> generator(10, 5));
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private BlockIdGenerator generator(final int minBlockSize, final int maxBlockSize) {
+        return new BlockIdGenerator("events", counter, minBlockSize, maxBlockSize, now::get);
+    }
+
+    private static void take(final BlockIdGenerator generator, final int count) {
+        for (int i = 0; i < count; i++) {
+            generator.nextId();
+        }
+    }
+
+} // The End...
@@ -0,0 +1,203 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.Application;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.UserSummary;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the time and the allocated bytes of reading the events of a user, with their owner and attendee
+ * emails, from the embedded {@link UserSummary} {@link Event} documents and from the previous {@link DBRef}
+ * model, where every owner and attendee is resolved with a separate query.
+ *
+ * Both models are written to their own collection with the same events and an equivalent
+ * (owner id, when) index, and are dropped at the end.
+ *
+ * Runs the Application on the embedded Mongo. Run from the IDE, optionally with the number of events as args[0]
+ * and the number of iterations as args[1].
+ *
+ * @since chapter05.02
+ */
+@Slf4j
+public final class EventDocumentBenchmark {
+
+    public static final String EMBEDDED = "embedded UserSummary";
+    public static final String DBREF = "@DBRef AppUser";
+
+    private static final String EMBEDDED_EVENTS = "benchmark_events_embedded";
+    private static final String DBREF_EVENTS = "benchmark_events_dbref";
+
+    private static final int DEFAULT_EVENTS = 30_000;
+    private static final int DEFAULT_ITERATIONS = 10;
+
+    private static final int BATCH_SIZE = 1_000;
+
+
+    public static void main(final String[] args) {
+        int events = args != null && args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EVENTS;
+        int iterations = args != null && args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+
+        try (ConfigurableApplicationContext context =
+                     SpringApplication.run(Application.class, "--server.port=0")) {
+            MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+            try {
+                insertEvents(mongoTemplate, events);
+                run(mongoTemplate, iterations);
+            } finally {
+                mongoTemplate.dropCollection(EMBEDDED_EVENTS);
+                mongoTemplate.dropCollection(DBREF_EVENTS);
+            }
+        }
+    }
+
+    /**
+     * @return average milliseconds and allocated megabytes per query for each model
+     */
+    public static Map<String, double[]> run(final MongoTemplate mongoTemplate, final int iterations) {
+        Map<String, EmailQuery> models = new LinkedHashMap<>();
+        models.put(EMBEDDED, userId -> {
+            List<String> emails = new ArrayList<>();
+            mongoTemplate.find(byOwner("owner.id", userId), Event.class, EMBEDDED_EVENTS).forEach(e -> {
+                emails.add(e.getOwner().getEmail());
+                emails.add(e.getAttendee().getEmail());
+            });
+            return emails;
+        });
+        models.put(DBREF, userId -> {
+            List<String> emails = new ArrayList<>();
+            mongoTemplate.find(byOwner("owner.$id", userId), DbRefEvent.class, DBREF_EVENTS).forEach(e -> {
+                emails.add(e.getOwner().getEmail());
+                emails.add(e.getAttendee().getEmail());
+            });
+            return emails;
+        });
+
+        StringBuilder report = new StringBuilder(500);
+        report.append("\n------------------------------------------------");
+        report.append("\nevents of user1 with emails x ").append(iterations);
+        report.append("\n------------------------------------------------");
+
+        Map<String, double[]> result = new LinkedHashMap<>();
+        for (Map.Entry<String, EmailQuery> model : models.entrySet()) {
+            // warm up
+            int size = query(model.getValue(), iterations / 2 + 1);
+
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            query(model.getValue(), iterations);
+            double millis = (System.nanoTime() - start) / 1_000_000.0 / iterations;
+            double megabytes = (allocatedBytes() - allocated) / 1_048_576.0 / iterations;
+
+            result.put(model.getKey(), new double[]{millis, megabytes});
+            report.append(String.format("%n  %-22s %8d emails %10.2f ms %10.2f MB",
+                    model.getKey(), size, millis, megabytes));
+        }
+        report.append("\n------------------------------------------------\n");
+
+        log.info(report.toString());
+        return result;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    /**
+     * An {@link Event} document of the {@link DBRef} model.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class DbRefEvent {
+        @Id
+        private Integer id;
+        private String summary;
+        private String description;
+        private Calendar when;
+        @DBRef
+        private AppUser owner;
+        @DBRef
+        private AppUser attendee;
+    }
+
+    @FunctionalInterface
+    private interface EmailQuery {
+        List<String> emails(Integer userId);
+    }
+
+    /**
+     * Insert {@code count} events between the 3 users of the MongoDataInitializer, in both models.
+     */
+    static void insertEvents(final MongoTemplate mongoTemplate, final int count) {
+        List<AppUser> users = mongoTemplate.find(
+                new Query().with(Sort.by("id")).limit(3), AppUser.class);
+
+        mongoTemplate.indexOps(EMBEDDED_EVENTS).ensureIndex(new Index()
+                .on("owner._id", Sort.Direction.ASC).on("when", Sort.Direction.ASC));
+        mongoTemplate.indexOps(DBREF_EVENTS).ensureIndex(new Index()
+                .on("owner.$id", Sort.Direction.ASC).on("when", Sort.Direction.ASC));
+
+        List<Event> embedded = new ArrayList<>(BATCH_SIZE);
+        List<DbRefEvent> dbRef = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            AppUser owner = users.get(i % users.size());
+            AppUser attendee = users.get((i + 1) % users.size());
+            Calendar when = new GregorianCalendar(2020, 6, 3);
+            when.add(Calendar.MINUTE, i);
+
+            embedded.add(new Event(i, "Event " + i, "Benchmark event " + i, when,
+                    UserSummary.of(owner), UserSummary.of(attendee)));
+            dbRef.add(new DbRefEvent(i, "Event " + i, "Benchmark event " + i, when, owner, attendee));
+            if (embedded.size() == BATCH_SIZE || i == count - 1) {
+                mongoTemplate.insert(embedded, EMBEDDED_EVENTS);
+                mongoTemplate.insert(dbRef, DBREF_EVENTS);
+                embedded.clear();
+                dbRef.clear();
+            }
+        }
+    }
+
+    private static Query byOwner(final String field, final Integer userId) {
+        return new Query(Criteria.where(field).is(userId)).with(Sort.by(Sort.Direction.ASC, "when"));
+    }
+
+    private static int query(final EmailQuery query, final int iterations) {
+        int size = 0;
+        for (int i = 0; i < iterations; i++) {
+            size = query.emails(0).size();
+        }
+        return size;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or 0 if the JVM does not support it
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0L;
+    }
+
+} // The End...
@@ -1,6 +1,8 @@
 package io.baselogic.springsecurity.dao;
 
 import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.UserSummary;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +29,9 @@ class JpaUserDaoTests {
     @Autowired
     private UserDao userDao;
 
+    @Autowired
+    private EventDao eventDao;
+
     private AppUser owner = new AppUser();
     private AppUser attendee = new AppUser();
 
@@ -93,7 +98,24 @@ class JpaUserDaoTests {
     @Test
     void findAllByEmail_no_results() {
         List<AppUser> appUsers = userDao.findAllByEmail("@baselogic.io");
-        assertThat(appUsers.size()).isGreaterThanOrEqualTo(3);
+        assertThat(appUsers.size()).isEqualTo(0);
+    }
+
+    @Test
+    void findAllByEmail_limit() {
+        List<AppUser> appUsers = userDao.findAllByEmail("@BASELOGIC.com", 2);
+        assertThat(appUsers).extracting(AppUser::getId).containsExactly(0, 1);
+        assertThat(appUsers.get(1).getEmail()).isEqualTo("admin1@baselogic.com");
+    }
+
+    @Test
+    void findSummariesByEmail() {
+        List<UserSummary> users = userDao.findSummariesByEmail("@BASELOGIC.com", 2);
+        assertThat(users).extracting(UserSummary::getId).containsExactly(0, 1);
+        assertThat(users.get(1).getEmail()).isEqualTo("admin1@baselogic.com");
+        assertThat(users.get(1).getFirstName()).isEqualTo("Admin");
+
+        assertThat(userDao.findSummariesByEmail("@baselogic.io", 2)).isEmpty();
     }
 
     //-----------------------------------------------------------------------//
@@ -112,5 +134,38 @@ class JpaUserDaoTests {
         assertThat(appUsers.size()).isGreaterThanOrEqualTo(4);
     }
 
+    @Test
+    void saveAll() {
+        List<AppUser> appUsers = List.of(
+                TestUtils.createMockUser("batch1@baselogic.com", "batch", "one"),
+                TestUtils.createMockUser("batch2@baselogic.com", "batch", "two"));
+
+        List<Integer> ids = userDao.saveAll(appUsers);
+
+        assertThat(ids).hasSize(2);
+        assertThat(userDao.findById(ids.get(1)).getEmail()).isEqualTo("batch2@baselogic.com");
+        assertThat(userDao.findAllByEmail("batch")).extracting(AppUser::getId).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void save_updates_embedded_event_users() {
+        AppUser appUser = TestUtils.createMockUser("embedded@baselogic.com", "embedded", "before");
+        int userId = userDao.save(appUser);
+        AppUser user1 = userDao.findById(0);
+        int ownedId = eventDao.save(TestUtils.createMockEvent(appUser, user1, "Owned Event"));
+        int attendedId = eventDao.save(TestUtils.createMockEvent(user1, appUser, "Attended Event"));
+
+        appUser.setEmail("embedded.after@baselogic.com");
+        appUser.setLastName("after");
+        userDao.save(appUser);
+
+        Event owned = eventDao.findById(ownedId);
+        assertThat(owned.getOwner().getId()).isEqualTo(userId);
+        assertThat(owned.getOwner().getEmail()).isEqualTo("embedded.after@baselogic.com");
+        assertThat(owned.getOwner().getLastName()).isEqualTo("after");
+        assertThat(owned.getAttendee().getEmail()).isEqualTo("user1@baselogic.com");
+        assertThat(eventDao.findById(attendedId).getAttendee().getEmail()).isEqualTo("embedded.after@baselogic.com");
+    }
+
 
 } // The End...
@@ -0,0 +1,102 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReactiveMongoAppUserDaoTests, against the embedded Mongo.
+ *
+ * @since chapter05.02
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Slf4j
+class ReactiveMongoAppUserDaoTests {
+
+    @Autowired
+    private ReactiveUserDao userDao;
+
+    @Autowired
+    private UserDao blockingUserDao;
+
+    @Autowired
+    private EventDao eventDao;
+
+
+    @Test
+    void findById() {
+        StepVerifier.create(userDao.findById(1))
+                .assertNext(appUser -> {
+                    assertThat(appUser.getEmail()).isEqualTo("admin1@baselogic.com");
+                    assertThat(appUser.getRoles()).isEmpty();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findByEmail() {
+        StepVerifier.create(userDao.findByEmail("user1@baselogic.com"))
+                .assertNext(appUser -> assertThat(appUser.getId()).isEqualTo(0))
+                .verifyComplete();
+    }
+
+    @Test
+    void findByEmail_no_results() {
+        StepVerifier.create(userDao.findByEmail("notFound@baselogic.com"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllByEmail() {
+        StepVerifier.create(userDao.findAllByEmail("USER", 10).map(AppUser::getId).collectList())
+                .assertNext(ids -> assertThat(ids).startsWith(0, 2))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllByEmail_limit() {
+        StepVerifier.create(userDao.findAllByEmail("@baselogic.com", 2).map(AppUser::getId))
+                .expectNext(0, 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void save_new_user() {
+        AppUser appUser = TestUtils.createMockUser("reactive@baselogic.com", "reactive", "user");
+
+        Integer id = userDao.save(appUser).block();
+
+        assertThat(id).isGreaterThan(10);
+        // the blocking DAO resolves the default role
+        AppUser saved = blockingUserDao.findById(id);
+        assertThat(saved.getEmail()).isEqualTo("reactive@baselogic.com");
+        assertThat(saved.getRoles()).extracting("name").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void save_existing_user_updates_events() {
+        AppUser appUser = TestUtils.createMockUser("reactive.embedded@baselogic.com", "reactive", "before");
+        Integer userId = userDao.save(appUser).block();
+        AppUser user1 = blockingUserDao.findById(0);
+        int eventId = eventDao.save(TestUtils.createMockEvent(appUser, user1, "Reactive Owned Event"));
+
+        appUser.setLastName("after");
+        StepVerifier.create(userDao.save(appUser))
+                .expectNext(userId)
+                .verifyComplete();
+
+        Event event = eventDao.findById(eventId);
+        assertThat(event.getOwner().getLastName()).isEqualTo("after");
+        assertThat(blockingUserDao.findById(userId).getRoles()).extracting("name").containsExactly("ROLE_USER");
+    }
+
+} // The End...
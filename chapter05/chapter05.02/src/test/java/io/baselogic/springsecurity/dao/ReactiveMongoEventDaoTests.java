@@ -0,0 +1,112 @@
+package io.baselogic.springsecurity.dao;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReactiveMongoEventDaoTests, against the embedded Mongo.
+ *
+ * @since chapter05.02
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Slf4j
+class ReactiveMongoEventDaoTests {
+
+    @Autowired
+    private ReactiveEventDao eventDao;
+
+    @Autowired
+    private EventDao blockingEventDao;
+
+    private AppUser owner = new AppUser();
+    private AppUser attendee = new AppUser();
+
+    @BeforeEach
+    void beforeEachTest() {
+        owner.setId(1);
+        owner.setEmail("admin1@baselogic.com");
+        attendee.setId(0);
+        attendee.setEmail("user1@baselogic.com");
+    }
+
+
+    @Test
+    void findById() {
+        StepVerifier.create(eventDao.findById(100))
+                .assertNext(event -> {
+                    assertThat(event.getSummary()).isEqualTo("Birthday Party");
+                    assertThat(event.getOwner().getEmail()).isEqualTo("user1@baselogic.com");
+                    assertThat(event.getAttendee().getEmail()).isEqualTo("admin1@baselogic.com");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_not_found() {
+        StepVerifier.create(eventDao.findById(-1))
+                .verifyComplete();
+    }
+
+    @Test
+    void findByUser() {
+        // admin1 owns event 102
+        StepVerifier.create(eventDao.findByUser(1).map(Event::getId).collectList())
+                .assertNext(ids -> assertThat(ids).contains(102).doesNotContain(100, 101))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll() {
+        StepVerifier.create(eventDao.findAll().count())
+                .assertNext(count -> assertThat(count).isGreaterThanOrEqualTo(3))
+                .verifyComplete();
+    }
+
+    @Test
+    void save() {
+        Event event = TestUtils.createMockEvent(owner, attendee, "Reactive Event");
+
+        Integer id = eventDao.save(event).block();
+
+        assertThat(id).isGreaterThan(102);
+        assertThat(blockingEventDao.findById(id).getSummary()).isEqualTo("Reactive Event");
+    }
+
+    @Test
+    void saveAll() {
+        List<Event> events = List.of(
+                TestUtils.createMockEvent(owner, attendee, "Reactive Batch Event 1"),
+                TestUtils.createMockEvent(attendee, owner, "Reactive Batch Event 2"));
+
+        List<Integer> ids = eventDao.saveAll(events).collectList().block();
+
+        assertThat(ids).hasSize(2);
+        assertThat(ids.get(1)).isGreaterThan(ids.get(0));
+        StepVerifier.create(eventDao.findById(ids.get(1)))
+                .assertNext(event -> assertThat(event.getOwner().getId()).isEqualTo(attendee.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void saveAll_with_event_id() {
+        Event event = TestUtils.createMockEvent(owner, attendee, "Testing Event");
+        event.setId(12345);
+
+        StepVerifier.create(eventDao.saveAll(List.of(event)))
+                .verifyError(IllegalArgumentException.class);
+    }
+
+} // The End...
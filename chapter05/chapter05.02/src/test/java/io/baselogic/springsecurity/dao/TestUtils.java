@@ -3,6 +3,7 @@ package io.baselogic.springsecurity.dao;
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
 import io.baselogic.springsecurity.domain.EventUserDetails;
+import io.baselogic.springsecurity.domain.UserSummary;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
@@ -64,15 +65,15 @@ public interface TestUtils {
 
     public static final Event testEvent = Event.builder()
             .id(42)
-            .attendee(attendee)
-            .owner(owner)
+            .attendee(UserSummary.of(attendee))
+            .owner(UserSummary.of(owner))
             .build();
 
 
     public static final Event testEvent2 = Event.builder()
             .id(24)
-            .attendee(attendee)
-            .owner(owner)
+            .attendee(UserSummary.of(attendee))
+            .owner(UserSummary.of(owner))
             .build();
 
     List<Event> TEST_EVENTS = Arrays.asList(testEvent, testEvent2);
@@ -90,8 +91,8 @@ public interface TestUtils {
                 .summary(summary)
                 .description("testing + " + summary)
                 .when(Calendar.getInstance())
-                .attendee(attendee)
-                .owner(owner)
+                .attendee(UserSummary.of(attendee))
+                .owner(UserSummary.of(owner))
                 .build();
 
     }
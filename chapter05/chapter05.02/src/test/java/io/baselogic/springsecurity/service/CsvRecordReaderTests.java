@@ -0,0 +1,43 @@
+package io.baselogic.springsecurity.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * CsvRecordReaderTests
+ *
+ * @since chapter05.00
+ */
+class CsvRecordReaderTests {
+
+    @Test
+    @DisplayName("CsvRecordReader - plain and quoted fields")
+    void read() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\nlast,,"));
+
+        assertThat(reader.read()).containsExactly("a", "b", "c");
+        assertThat(reader.getLine()).isEqualTo(1);
+
+        assertThat(reader.read()).containsExactly("x, y", "say \"hi\"", "two\nlines");
+        assertThat(reader.read()).containsExactly("last", "", "");
+        assertThat(reader.getLine()).isEqualTo(3);
+
+        assertThat(reader.read()).isNull();
+    }
+
+    @Test
+    @DisplayName("CsvRecordReader - unclosed quote")
+    void read_unclosed_quote() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"open,field"));
+
+        assertThrows(IOException.class, reader::read);
+    }
+
+} // The End...
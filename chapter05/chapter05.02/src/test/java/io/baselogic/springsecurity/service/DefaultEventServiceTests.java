@@ -5,6 +5,9 @@ import io.baselogic.springsecurity.dao.TestUtils;
 import io.baselogic.springsecurity.dao.UserDao;
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.domain.EventPage;
+import io.baselogic.springsecurity.domain.EventSummary;
+import io.baselogic.springsecurity.domain.UserSummary;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,10 +16,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.when;
 import static org.mockito.Mockito.verify;
@@ -110,6 +116,19 @@ class DefaultEventServiceTests {
         verify(eventDao).save(any(Event.class));
     }
 
+    @Test
+    void createEvents() {
+
+        given(eventDao.saveAll(any()))
+                .willReturn(Arrays.asList(42, 43));
+
+        List<Integer> ids = eventService.createEvents(Arrays.asList(Event.builder().build(), Event.builder().build()));
+
+        assertThat(ids).containsExactly(42, 43);
+
+        verify(eventDao).saveAll(any());
+    }
+
     /*@Test
     void createEvent_throws_Exception() {
 
@@ -167,6 +186,20 @@ class DefaultEventServiceTests {
         verify(userDao).findAllByEmail("@baselogic.com");
     }
 
+    @Test
+    void findUsersByEmail_limit() {
+
+        when(userDao.findSummariesByEmail("@baselogic.com", 2))
+                .thenReturn(List.of(new UserSummary(0, "user1@baselogic.com", "User", "One"),
+                        new UserSummary(1, "admin1@baselogic.com", "Admin", "One")));
+
+        List<UserSummary> users = eventService.findUsersByEmail("@baselogic.com", 2);
+
+        assertThat(users).hasSize(2);
+
+        verify(userDao).findSummariesByEmail("@baselogic.com", 2);
+    }
+
     @Test
     void createUser() {
 
@@ -193,4 +226,63 @@ class DefaultEventServiceTests {
     }*/
 
 
+
+    //-----------------------------------------------------------------------//
+    // @since chapter05.00 Keyset pagination
+
+    @Test
+    void findAllEvents_first_page() {
+        given(eventDao.findAll(isNull(), isNull(), any(Integer.class)))
+                .willReturn(events(100, 101, 102));
+
+        EventPage page = eventService.findAllEvents(null, null, 2);
+
+        assertThat(page.getEvents()).extracting(EventSummary::getId).containsExactly(100, 101);
+        assertThat(page.hasPrevious()).isFalse();
+        assertThat(page.getNextCursor()).isEqualTo(101);
+        verify(eventDao).findAll(null, null, 3);
+    }
+
+    @Test
+    void findAllEvents_last_page() {
+        given(eventDao.findAll(any(Integer.class), isNull(), any(Integer.class)))
+                .willReturn(events(102));
+
+        EventPage page = eventService.findAllEvents(101, null, 2);
+
+        assertThat(page.getEvents()).extracting(EventSummary::getId).containsExactly(102);
+        assertThat(page.getPreviousCursor()).isEqualTo(102);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void findEventByUser_previous_page() {
+        given(eventDao.findByUser(any(Integer.class), isNull(), any(Integer.class), any(Integer.class)))
+                .willReturn(events(100, 101, 102));
+
+        EventPage page = eventService.findEventByUser(1, null, 103, 2);
+
+        assertThat(page.getEvents()).extracting(EventSummary::getId).containsExactly(101, 102);
+        assertThat(page.getPreviousCursor()).isEqualTo(101);
+        assertThat(page.getNextCursor()).isEqualTo(102);
+    }
+
+    @Test
+    void findAllEvents_page_size_limited() {
+        given(eventDao.findAll(isNull(), isNull(), any(Integer.class)))
+                .willReturn(events());
+
+        EventPage page = eventService.findAllEvents(null, null, 10_000);
+
+        assertThat(page.getSize()).isEqualTo(EventService.MAX_PAGE_SIZE);
+        assertThat(page.getEvents()).isEmpty();
+        verify(eventDao).findAll(null, null, EventService.MAX_PAGE_SIZE + 1);
+    }
+
+    private static List<EventSummary> events(final Integer... ids) {
+        return Arrays.stream(ids)
+                .map(id -> new EventSummary(id, "Event " + id, null, null, null))
+                .collect(Collectors.toList());
+    }
+
 } // The End...
@@ -0,0 +1,61 @@
+package io.baselogic.springsecurity.service;
+
+import io.baselogic.springsecurity.dao.TestUtils;
+import io.baselogic.springsecurity.domain.AppUser;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DefaultReactiveEventServiceTests, against the embedded Mongo.
+ *
+ * @since chapter05.02
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Slf4j
+class DefaultReactiveEventServiceTests {
+
+    @Autowired
+    private ReactiveEventService eventService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+
+    @Test
+    void createUser() {
+        AppUser appUser = TestUtils.createMockUser("reactive.service@baselogic.com", "reactive", "service");
+        appUser.setPassword("reactive");
+
+        Integer id = eventService.createUser(appUser).block();
+
+        StepVerifier.create(eventService.findUserById(id))
+                .assertNext(saved -> assertThat(passwordEncoder.matches("reactive", saved.getPassword())).isTrue())
+                .verifyComplete();
+    }
+
+    @Test
+    void createUser_with_id() {
+        AppUser appUser = TestUtils.createMockUser("reactive.id@baselogic.com", "reactive", "id");
+        appUser.setId(12345);
+
+        StepVerifier.create(eventService.createUser(appUser))
+                .verifyError(IllegalArgumentException.class);
+    }
+
+    @Test
+    void findEventByUser() {
+        StepVerifier.create(eventService.findEventByUser(0).filter(e -> e.getId() == 100))
+                .assertNext(event -> assertThat(event.getSummary()).isEqualTo("Birthday Party"))
+                .verifyComplete();
+    }
+
+} // The End...
@@ -0,0 +1,58 @@
+package io.baselogic.springsecurity.userdetails;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReactiveEventUserDetailsServiceTests, against the embedded Mongo.
+ *
+ * @since chapter05.02
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Slf4j
+class ReactiveEventUserDetailsServiceTests {
+
+    @Autowired
+    private ReactiveEventUserDetailsService reactiveEventUserDetailsService;
+
+
+    @Test
+    @DisplayName("findByUsername - user1")
+    void findByUsername_user1() {
+        StepVerifier.create(reactiveEventUserDetailsService.findByUsername("user1@baselogic.com"))
+                .assertNext(result -> {
+                    assertThat(result.getUsername()).isEqualTo("user1@baselogic.com");
+                    assertThat(result.getPassword()).startsWith("{bcrypt}");
+                    assertThat(AuthorityUtils.authorityListToSet(result.getAuthorities()))
+                            .containsExactly("ROLE_USER");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("findByUsername - admin1")
+    void findByUsername_admin1() {
+        StepVerifier.create(reactiveEventUserDetailsService.findByUsername("admin1@baselogic.com"))
+                .assertNext(result -> assertThat(AuthorityUtils.authorityListToSet(result.getAuthorities()))
+                        .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("findByUsername - unknown user")
+    void findByUsername_not_found() {
+        StepVerifier.create(reactiveEventUserDetailsService.findByUsername("notFound@baselogic.com"))
+                .verifyComplete();
+    }
+
+} // The End...
@@ -395,6 +395,41 @@ class EventsControllerTests {
 
     }
 
+    //-----------------------------------------------------------------------//
+    // Attendee typeahead
+    // @since chapter05.00
+    //-----------------------------------------------------------------------//
+
+    @Test
+    @DisplayName("Attendees: typeahead by partial email")
+    @WithMockEventUserDetailsUser1
+    void attendees() throws Exception {
+        mockMvc.perform(get("/events/attendees").param("email", "ADMIN"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].email").value("admin1@baselogic.com"))
+                .andExpect(jsonPath("$[0].name").value("Admin 1"))
+                .andExpect(jsonPath("$[0].password").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Attendees: typeahead is limited")
+    @WithMockEventUserDetailsUser1
+    void attendees_limit() throws Exception {
+        mockMvc.perform(get("/events/attendees").param("email", "@baselogic").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    @DisplayName("Attendees: UnAuthorized - WithAnonymousUser")
+    @WithAnonymousUser
+    void attendees_not_authenticated() throws Exception {
+        mockMvc.perform(get("/events/attendees").param("email", "user"))
+                .andExpect(status().isFound());
+    }
+
     //-----------------------------------------------------------------------//
 
     @Test
@@ -0,0 +1,75 @@
+package io.baselogic.springsecurity.configuration;
+
+import io.baselogic.springsecurity.repository.RememberMeTokenRepository;
+import io.baselogic.springsecurity.scheduling.DatabaseLease;
+import io.baselogic.springsecurity.web.authentication.rememberme.JpaPersistentTokenRepository;
+import io.baselogic.springsecurity.web.authentication.rememberme.JpaTokenRepositoryCleaner;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Description;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent Remember-Me Configuration
+ *
+ * Provides the {@link PersistentTokenRepository} used by rememberMe() in {@link SecurityConfig}, and removes the
+ * expired tokens every 'security.remember-me.cleanup.interval' with the {@link JpaTokenRepositoryCleaner}, on one
+ * node of the cluster at a time.
+ *
+ * @author mickknutson
+ *
+ * @since chapter06.03 Created
+ */
+@Configuration
+@EnableScheduling
+public class RememberMeConfig {
+
+    @Autowired
+    private RememberMeTokenRepository rememberMeTokenRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.remember-me.cleanup.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${security.remember-me.cleanup.lease-duration:1m}")
+    private Duration leaseDuration;
+
+
+    @Bean
+    @Description("Remember-Me tokens in 'persistent_logins'")
+    public PersistentTokenRepository persistentTokenRepository() {
+        return new JpaPersistentTokenRepository(rememberMeTokenRepository);
+    }
+
+    @Bean
+    @Description("Removes the expired Remember-Me tokens")
+    public JpaTokenRepositoryCleaner tokenRepositoryCleaner() {
+        return new JpaTokenRepositoryCleaner(rememberMeTokenRepository,
+                TimeUnit.SECONDS.toMillis(SecurityConfig.TOKEN_VALIDITY_SECONDS),
+                new DatabaseLease(dataSource, "rememberme-cleanup"),
+                leaseDuration,
+                chunkSize,
+                meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${security.remember-me.cleanup.initial-delay-ms:60000}",
+            fixedDelayString = "${security.remember-me.cleanup.interval-ms:600000}")
+    public void cleanupTokens() {
+        tokenRepositoryCleaner().run();
+    }
+
+} // The End...
@@ -21,6 +21,7 @@ import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.security.web.access.intercept.FilterSecurityInterceptor;
+import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -47,6 +48,7 @@ import java.util.Map;
  * @since chapter06.01 Added basic rememberMe()
  * @since chapter06.02 Added advanced rememberMe()
  * @since chapter06.02 Added ' and isFullyAuthenticated()' to 'HASROLE_ADMIN
+ * @since chapter06.03 Added persistent rememberMe() tokens, see {@link RememberMeConfig}
  */
 @Configuration
 @EnableWebSecurity
@@ -60,9 +62,15 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private static final String HASROLE_USER = "hasRole('USER')";
     private static final String HASROLE_ADMIN = "hasRole('ADMIN') and isFullyAuthenticated()";
 
+    /** Also the expiry of the {@link io.baselogic.springsecurity.web.authentication.rememberme.JpaTokenRepositoryCleaner} */
+    public static final int TOKEN_VALIDITY_SECONDS = 60;
+
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private PersistentTokenRepository persistentTokenRepository;
+
 
 
     /**
@@ -180,11 +188,12 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 //.rememberMeServices(RememberMeServices)
                 //.userDetailsService(UserDetailsService)
 
+                .tokenRepository(persistentTokenRepository)
                 .alwaysRemember(true)
                 .rememberMeCookieDomain("localhost")
                 .rememberMeCookieName("event_manager")
                 .useSecureCookie(true)
-                .tokenValiditySeconds(60)
+                .tokenValiditySeconds(TOKEN_VALIDITY_SECONDS)
         );
 
 
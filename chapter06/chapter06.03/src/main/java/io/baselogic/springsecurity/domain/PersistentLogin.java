@@ -0,0 +1,56 @@
+package io.baselogic.springsecurity.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * A persistent remember-me token, one row of the 'persistent_logins' table of
+ * {@link org.springframework.security.web.authentication.rememberme.JdbcTokenRepositoryImpl}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter06.03 Created Class
+ */
+// JPA Annotations:
+@Entity
+@Table(name = "persistent_logins")
+
+// Lombok Annotations:
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersistentLogin implements Serializable {
+
+    @Id
+    private String series;
+
+    private String username;
+
+    private String token;
+
+    @Column(name = "last_used")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date lastUsed;
+
+
+    public PersistentLogin(final PersistentRememberMeToken token) {
+        this.series = token.getSeries();
+        this.username = token.getUsername();
+        this.token = token.getTokenValue();
+        this.lastUsed = token.getDate();
+    }
+
+    private static final long serialVersionUID = 6290462838715186402L;
+
+} // The End...
@@ -0,0 +1,44 @@
+package io.baselogic.springsecurity.repository;
+
+import io.baselogic.springsecurity.domain.PersistentLogin;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+/**
+ * The persistent remember-me tokens.
+ *
+ * The deletes are single statements, without loading the tokens first.
+ *
+ * @since chapter06.03
+ */
+public interface RememberMeTokenRepository extends JpaRepository<PersistentLogin, String> {
+
+    PersistentLogin findBySeries(String series);
+
+    /**
+     * @return the number of deleted tokens of the user
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PersistentLogin p WHERE p.username = :username")
+    int deleteByUsername(@Param("username") String username);
+
+    /**
+     * Delete at most {@code chunkSize} tokens last used before {@code expiry}, in one short transaction,
+     * using the 'persistent_logins_last_used' index.
+     *
+     * @return the number of deleted tokens, less than {@code chunkSize} when no expired token is left
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM persistent_logins WHERE series IN ("
+            + "SELECT series FROM persistent_logins WHERE last_used < :expiry LIMIT :chunkSize)",
+            nativeQuery = true)
+    int deleteExpired(@Param("expiry") Date expiry, @Param("chunkSize") int chunkSize);
+
+} // The End...
@@ -0,0 +1,91 @@
+package io.baselogic.springsecurity.scheduling;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import javax.validation.constraints.NotNull;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * A named lease in the {@value #LEASES} table, so a scheduled job of a cluster only runs on one node at a time.
+ *
+ * {@link #tryAcquire(Duration)} is a single conditional UPDATE: it takes the lease when it expired, or extends it
+ * when this node already holds it. A node that stops without {@link #release()} blocks the others only until the
+ * lease expires, so the lease should be longer than one run of the job, and the job can extend it as it goes.
+ *
+ * The expiry is compared with the clock of the nodes, which are expected to be synchronized much closer than the
+ * lease duration.
+ *
+ * @author mickknutson
+ *
+ * @since chapter06.03 Created Class
+ */
+@Slf4j
+public class DatabaseLease {
+
+    public static final String LEASES = "leases";
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final String owner;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+
+    public DatabaseLease(final @NotNull DataSource dataSource, final @NotNull String name) {
+        this(new JdbcTemplate(dataSource), name, name + "-" + UUID.randomUUID(), Clock.systemUTC());
+    }
+
+    DatabaseLease(final JdbcTemplate jdbcTemplate, final String name, final String owner, final Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.name = name;
+        this.owner = owner;
+        this.clock = clock;
+    }
+
+
+    /**
+     * Take or extend the lease for {@code duration}.
+     *
+     * @return true if this node holds the lease
+     */
+    public boolean tryAcquire(final @NotNull Duration duration) {
+        Timestamp now = new Timestamp(clock.millis());
+        Timestamp until = new Timestamp(now.getTime() + duration.toMillis());
+
+        int updated = jdbcTemplate.update("UPDATE " + LEASES + " SET owner = ?, locked_until = ? "
+                        + "WHERE name = ? AND (locked_until <= ? OR owner = ?)",
+                owner, until, name, now, owner);
+        if (updated == 1) {
+            return true;
+        }
+
+        // The first node creates the lease
+        try {
+            jdbcTemplate.update("INSERT INTO " + LEASES + " (name, owner, locked_until) VALUES (?, ?, ?)",
+                    name, owner, until);
+            return true;
+        } catch (DuplicateKeyException e) {
+            log.debug("Lease '{}' is held by another node", name);
+            return false;
+        }
+    }
+
+    /**
+     * Give the lease up, if this node holds it.
+     */
+    public void release() {
+        jdbcTemplate.update("UPDATE " + LEASES + " SET locked_until = ? WHERE name = ? AND owner = ?",
+                new Timestamp(clock.millis()), name, owner);
+    }
+
+} // The End...
@@ -6,11 +6,12 @@ import org.springframework.security.web.authentication.rememberme.PersistentReme
 import org.springframework.security.web.authentication.rememberme.PersistentTokenRepository;
 
 import java.util.Date;
-import java.util.List;
 
 /**
  * JpaPersistentTokenRepository
  *
+ * Expired tokens are removed by the {@link JpaTokenRepositoryCleaner}.
+ *
  * @author Mick Knutson
  * @see PersistentTokenRepository
  */
@@ -51,10 +52,12 @@ public class JpaPersistentTokenRepository implements PersistentTokenRepository {
         }
     }
 
+    /**
+     * A single DELETE of the tokens of the user, on logout.
+     */
     @Override
     public void removeUserTokens(String username) {
-        List<PersistentLogin> tokens = this.rememberMeTokenRepository.findByUsername(username);
-        this.rememberMeTokenRepository.delete(tokens);
+        this.rememberMeTokenRepository.deleteByUsername(username);
     }
 
 } // The End...
@@ -1,27 +1,43 @@
 package io.baselogic.springsecurity.web.authentication.rememberme;
 
-import io.baselogic.springsecurity.domain.PersistentLogin;
 import io.baselogic.springsecurity.repository.RememberMeTokenRepository;
+import io.baselogic.springsecurity.scheduling.DatabaseLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.web.authentication.rememberme.JdbcTokenRepositoryImpl;
 
+import java.time.Duration;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>
- * A {@link Runnable} which can be used to clean expired persistent remember me tokens generated from
- * {@link JdbcTokenRepositoryImpl}. Note that only a single cleanup is done in {@link #run()} so consumers must loop
- * over invoking the {@link #run()} method in order to perform multiple cleanups.
+ * A {@link Runnable} which can be used to clean expired persistent remember me tokens, the 'persistent_logins' rows
+ * of {@link JpaPersistentTokenRepository} or {@link JdbcTokenRepositoryImpl}. Note that only a single cleanup is
+ * done in {@link #run()} so consumers must invoke it periodically, see
+ * {@link io.baselogic.springsecurity.configuration.RememberMeConfig}.
  * </p>
  * <p>
- * See the configuration file at <code>src/main/webapp/WEB-INF/spring/cleaner.xml</code> to learn how to hook in with <a
- * href="https://docs.spring.io/spring/docs/current/spring-framework-reference/html/scheduling.html">Spring's
- * scheduling abstraction</a>.
+ * A cleanup deletes the tokens last used before the token validity with
+ * {@link RememberMeTokenRepository#deleteExpired(Date, int)}, in chunks of {@code chunkSize} rows each in its own
+ * short transaction, so logins are never blocked behind one long delete. It only runs on the node holding the
+ * {@link DatabaseLease}, which is extended after every chunk.
  * </p>
+ * <p>
+ * Metrics are published to the {@link MeterRegistry} as:
+ * </p>
+ * <ul>
+ *     <li>{@code rememberme.tokens.removed}</li>
+ *     <li>{@code rememberme.cleanup}, the duration of a cleanup</li>
+ *     <li>{@code rememberme.cleanup.skipped}, another node held the lease</li>
+ * </ul>
  *
  * @author Mick Knutson
  *
+ * @since chapter06.03
  */
 public class JpaTokenRepositoryCleaner implements Runnable {
 
@@ -31,6 +47,16 @@ public class JpaTokenRepositoryCleaner implements Runnable {
 
     private final long tokenValidityInMs;
 
+    private final DatabaseLease lease;
+
+    private final Duration leaseDuration;
+
+    private final int chunkSize;
+
+    private final Counter removed;
+    private final Counter skipped;
+    private final Timer duration;
+
     /**
      *
      * @param rememberMeTokenRepository
@@ -38,30 +64,77 @@ public class JpaTokenRepositoryCleaner implements Runnable {
      * @param tokenValidityInMs
      *            used to calculate when a token is expired. If the {@link #run()} method is invoked, tokens older than
      *            this amount of time will be deleted. Cannot be less than 1.
+     * @param lease
+     *            the {@link DatabaseLease} that only one node holds. Cannot be null.
+     * @param leaseDuration
+     *            how long a chunk may take before another node can take over the cleanup.
+     * @param chunkSize
+     *            the maximum number of tokens deleted per transaction. Cannot be less than 1.
+     * @param meterRegistry
+     *            the {@link MeterRegistry} of the metrics. Cannot be null.
      */
     public JpaTokenRepositoryCleaner(RememberMeTokenRepository rememberMeTokenRepository,
-                                     long tokenValidityInMs) {
+                                     long tokenValidityInMs,
+                                     DatabaseLease lease,
+                                     Duration leaseDuration,
+                                     int chunkSize,
+                                     MeterRegistry meterRegistry) {
         if (rememberMeTokenRepository == null) {
-            throw new IllegalArgumentException("jdbcOperations cannot be null");
+            throw new IllegalArgumentException("rememberMeTokenRepository cannot be null");
         }
         if (tokenValidityInMs < 1) {
             throw new IllegalArgumentException("tokenValidityInMs must be greater than 0. Got " + tokenValidityInMs);
         }
+        if (lease == null || leaseDuration == null || meterRegistry == null) {
+            throw new IllegalArgumentException("lease, leaseDuration and meterRegistry cannot be null");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0. Got " + chunkSize);
+        }
         this.rememberMeTokenRepository = rememberMeTokenRepository;
         this.tokenValidityInMs = tokenValidityInMs;
+        this.lease = lease;
+        this.leaseDuration = leaseDuration;
+        this.chunkSize = chunkSize;
+
+        this.removed = meterRegistry.counter("rememberme.tokens.removed");
+        this.skipped = meterRegistry.counter("rememberme.cleanup.skipped");
+        this.duration = meterRegistry.timer("rememberme.cleanup");
     }
 
-    public void run() {
-        long expiredInMs = System.currentTimeMillis() - tokenValidityInMs;
+    /**
+     * @return the number of removed tokens
+     */
+    public long cleanup() {
+        if (!lease.tryAcquire(leaseDuration)) {
+            logger.debug("Lease '{}' is held by another node, skipping the cleanup", lease.getName());
+            skipped.increment();
+            return 0;
+        }
 
-        logger.info("Searching for persistent logins older than {}ms", tokenValidityInMs);
+        long start = System.nanoTime();
+        long total = 0;
+        try {
+            Date expiry = new Date(System.currentTimeMillis() - tokenValidityInMs);
+            int deleted;
+            do {
+                deleted = rememberMeTokenRepository.deleteExpired(expiry, chunkSize);
+                total += deleted;
+                removed.increment(deleted);
+            } while (deleted == chunkSize && lease.tryAcquire(leaseDuration));
+        } finally {
+            lease.release();
+            duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        logger.info("Removed {} persistent logins older than {}ms in {}ms", total, tokenValidityInMs,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return total;
+    }
 
+    public void run() {
         try {
-            Iterable<PersistentLogin> expired = rememberMeTokenRepository.findByLastUsedAfter(new Date(expiredInMs));
-            for(PersistentLogin pl: expired){
-                logger.info("*** Removing persistent login for {} ***", pl.getUsername());
-                rememberMeTokenRepository.delete(pl);
-            }
+            cleanup();
         } catch(Throwable t) {
             logger.error("**** Could not clean up expired persistent remember me tokens. ***", t);
         }
@@ -41,4 +41,23 @@ CREATE TABLE user_role (
                         FOREIGN KEY(user_id) REFERENCES app_users(id)
 );
 
+-- chapter06.03 Persistent remember-me tokens, see JdbcTokenRepositoryImpl.CREATE_TABLE_SQL
+CREATE TABLE persistent_logins (
+                        username VARCHAR(64) NOT NULL,
+                        series VARCHAR(64) PRIMARY KEY,
+                        token VARCHAR(64) NOT NULL,
+                        last_used TIMESTAMP NOT NULL
+);
+
+-- chapter06.03 the chunked delete of expired tokens, and removing the tokens of a user on logout
+CREATE INDEX persistent_logins_last_used ON persistent_logins(last_used);
+CREATE INDEX persistent_logins_username ON persistent_logins(username);
+
+-- chapter06.03 the lease of a scheduled job that runs on one node at a time, see DatabaseLease
+CREATE TABLE leases (
+                        name VARCHAR(64) PRIMARY KEY,
+                        owner VARCHAR(100) NOT NULL,
+                        locked_until TIMESTAMP NOT NULL
+);
+
 -- The End...
@@ -0,0 +1,124 @@
+package io.baselogic.springsecurity.web.authentication.rememberme;
+
+import io.baselogic.springsecurity.repository.RememberMeTokenRepository;
+import io.baselogic.springsecurity.scheduling.DatabaseLease;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JpaTokenRepositoryCleanerTests
+ *
+ * @since chapter06.03
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Slf4j
+class JpaTokenRepositoryCleanerTests {
+
+    private static final long VALIDITY_MS = TimeUnit.HOURS.toMillis(1);
+
+    @Autowired
+    private RememberMeTokenRepository rememberMeTokenRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private MeterRegistry meterRegistry;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        meterRegistry = new SimpleMeterRegistry();
+
+        for (int i = 0; i < 5; i++) {
+            insertToken("expired" + i, "user1@baselogic.com", System.currentTimeMillis() - 2 * VALIDITY_MS);
+        }
+        insertToken("valid0", "user1@baselogic.com", System.currentTimeMillis());
+        insertToken("valid1", "user2@baselogic.com", System.currentTimeMillis());
+    }
+
+    @AfterEach
+    void afterEachTest() {
+        jdbcTemplate.update("DELETE FROM persistent_logins");
+    }
+
+
+    @Test
+    @DisplayName("JpaTokenRepositoryCleaner - removes only the expired tokens, in chunks")
+    void cleanup() {
+        JpaTokenRepositoryCleaner cleaner = cleaner(new DatabaseLease(dataSource, "test-cleanup"));
+
+        assertThat(cleaner.cleanup()).isEqualTo(5);
+
+        assertThat(rememberMeTokenRepository.findAll())
+                .extracting("series").containsExactlyInAnyOrder("valid0", "valid1");
+        assertThat(meterRegistry.counter("rememberme.tokens.removed").count()).isEqualTo(5.0);
+        assertThat(meterRegistry.timer("rememberme.cleanup").count()).isEqualTo(1);
+
+        assertThat(cleaner.cleanup()).isZero();
+    }
+
+    @Test
+    @DisplayName("JpaTokenRepositoryCleaner - skips the cleanup while another node holds the lease")
+    void cleanup_lease_held() {
+        DatabaseLease otherNode = new DatabaseLease(dataSource, "test-cleanup-lease");
+        JpaTokenRepositoryCleaner cleaner = cleaner(new DatabaseLease(dataSource, "test-cleanup-lease"));
+
+        assertThat(otherNode.tryAcquire(Duration.ofMinutes(1))).isTrue();
+
+        assertThat(cleaner.cleanup()).isZero();
+        assertThat(rememberMeTokenRepository.count()).isEqualTo(7);
+        assertThat(meterRegistry.counter("rememberme.cleanup.skipped").count()).isEqualTo(1.0);
+
+        otherNode.release();
+
+        assertThat(cleaner.cleanup()).isEqualTo(5);
+        assertThat(otherNode.tryAcquire(Duration.ofMinutes(1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("JpaPersistentTokenRepository - removeUserTokens removes the tokens of the user only")
+    void removeUserTokens() {
+        JpaPersistentTokenRepository repository = new JpaPersistentTokenRepository(rememberMeTokenRepository);
+
+        repository.removeUserTokens("user1@baselogic.com");
+
+        assertThat(rememberMeTokenRepository.findAll()).extracting("series").containsExactly("valid1");
+        PersistentRememberMeToken token = repository.getTokenForSeries("valid1");
+        assertThat(token.getUsername()).isEqualTo("user2@baselogic.com");
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private JpaTokenRepositoryCleaner cleaner(final DatabaseLease lease) {
+        return new JpaTokenRepositoryCleaner(rememberMeTokenRepository, VALIDITY_MS, lease,
+                Duration.ofMinutes(1), 2, meterRegistry);
+    }
+
+    private void insertToken(final String series, final String username, final long lastUsed) {
+        jdbcTemplate.update("INSERT INTO persistent_logins (username, series, token, last_used) VALUES (?, ?, ?, ?)",
+                username, series, series + "-token", new Timestamp(lastUsed));
+    }
+
+} // The End...
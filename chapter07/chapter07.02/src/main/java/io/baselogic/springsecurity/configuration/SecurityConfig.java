@@ -2,8 +2,12 @@ package io.baselogic.springsecurity.configuration;
 
 import io.baselogic.springsecurity.service.DefaultEventService;
 import io.baselogic.springsecurity.service.EventService;
+import io.baselogic.springsecurity.web.authentication.preauth.x509.CertificateFingerprintUserDetailsService;
+import io.baselogic.springsecurity.web.authentication.preauth.x509.CommonNameX509PrincipalExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
@@ -20,6 +24,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.security.web.access.intercept.FilterSecurityInterceptor;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -43,6 +49,7 @@ import java.util.Map;
  * @since chapter05.01 Removed custom SQL Queries
  * @since chapter05.01 Added auth.userDetailsService(userDetailsService)
  * @since chapter07.01 Added http.x509().userDetailsService(userDetailsService);
+ * @since chapter07.02 X.509 users cached by certificate fingerprint, see {@link CertificateFingerprintUserDetailsService}
  */
 @Configuration
 @EnableWebSecurity
@@ -56,6 +63,15 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.x509-cache.max-size:10000}")
+    private int x509CacheMaxSize;
+
+    @Value("${security.x509-cache.time-to-live:15m}")
+    private Duration x509CacheTimeToLive;
+
 
     /**
      * Configure AuthenticationManager with inMemory credentials.
@@ -158,9 +174,10 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         );
 
         // SSL / TLS x509 support
+        // Equivalent to .subjectPrincipalRegex("CN=(.*?),"), with the users cached by certificate fingerprint
         http.x509()
-                .userDetailsService(userDetailsService)
-                .subjectPrincipalRegex("CN=(.*?),")
+                .x509PrincipalExtractor(new CommonNameX509PrincipalExtractor())
+                .authenticationUserDetailsService(x509UserDetailsService())
         ;
 
 
@@ -219,6 +236,21 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     }
 
 
+    /**
+     * Resolves X.509 authenticated users, cached by the SHA-256 fingerprint of the client certificate
+     * until the certificate expires or 'security.x509-cache.time-to-live' has passed.
+     *
+     * @return CertificateFingerprintUserDetailsService
+     * @since chapter07.02
+     */
+    @Bean
+    @Description("X.509 UserDetails cached by certificate fingerprint")
+    public CertificateFingerprintUserDetailsService x509UserDetailsService() {
+        return new CertificateFingerprintUserDetailsService(userDetailsService,
+                x509CacheMaxSize, x509CacheTimeToLive, meterRegistry, Clock.systemUTC());
+    }
+
+
     /**
      * Create a DelegatingPasswordEncoder
      *  see https://spring.io/blog/2017/11/01/spring-security-5-0-0-rc1-released#password-encoding
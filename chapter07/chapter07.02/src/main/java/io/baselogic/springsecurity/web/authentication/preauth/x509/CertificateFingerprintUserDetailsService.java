@@ -0,0 +1,159 @@
+package io.baselogic.springsecurity.web.authentication.preauth.x509;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.AuthenticationUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+import javax.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resolves the {@link UserDetails} of an X.509 authenticated request, caching the result by the
+ * SHA-256 fingerprint of the client certificate.
+ *
+ * Clients that reconnect with the same certificate are not looked up in the database again until the
+ * certificate expires or {@code timeToLive} has passed, whichever comes first.
+ * At most {@code maxSize} certificates are cached, the least recently used is evicted first.
+ *
+ * Metrics are published to the {@link MeterRegistry} as:
+ * <ul>
+ *     <li>{@code x509.cache.hits}</li>
+ *     <li>{@code x509.cache.misses}</li>
+ *     <li>{@code x509.cache.size}</li>
+ * </ul>
+ *
+ * @author mickknutson
+ *
+ * @since chapter07.02 Created Class
+ */
+@Slf4j
+public class CertificateFingerprintUserDetailsService
+        implements AuthenticationUserDetailsService<PreAuthenticatedAuthenticationToken> {
+
+    private final UserDetailsService userDetailsService;
+    private final int maxSize;
+    private final long timeToLiveMillis;
+    private final Clock clock;
+
+    private final Map<ByteBuffer, CachedUser> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+
+
+    public CertificateFingerprintUserDetailsService(final @NotNull UserDetailsService userDetailsService,
+                                                    final int maxSize,
+                                                    final @NotNull Duration timeToLive,
+                                                    final @NotNull MeterRegistry meterRegistry,
+                                                    final @NotNull Clock clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.userDetailsService = userDetailsService;
+        this.maxSize = maxSize;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+
+        this.cache = new LinkedHashMap<ByteBuffer, CachedUser>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<ByteBuffer, CachedUser> eldest) {
+                return size() > CertificateFingerprintUserDetailsService.this.maxSize;
+            }
+
+            private static final long serialVersionUID = -2285170936421553357L;
+        };
+
+        this.hits = meterRegistry.counter("x509.cache.hits");
+        this.misses = meterRegistry.counter("x509.cache.misses");
+        meterRegistry.gauge("x509.cache.size", this, CertificateFingerprintUserDetailsService::size);
+    }
+
+
+    @Override
+    public UserDetails loadUserDetails(final PreAuthenticatedAuthenticationToken token)
+            throws UsernameNotFoundException {
+
+        if (!(token.getCredentials() instanceof X509Certificate)) {
+            return userDetailsService.loadUserByUsername(token.getName());
+        }
+
+        X509Certificate certificate = (X509Certificate) token.getCredentials();
+        ByteBuffer fingerprint = fingerprint(certificate);
+        long now = clock.millis();
+
+        synchronized (cache) {
+            CachedUser cached = cache.get(fingerprint);
+            if (cached != null && cached.expires > now) {
+                hits.increment();
+                return cached.user;
+            }
+            if (cached != null) {
+                cache.remove(fingerprint);
+            }
+        }
+
+        misses.increment();
+        UserDetails user = userDetailsService.loadUserByUsername(token.getName());
+
+        long expires = Math.min(now + timeToLiveMillis, certificate.getNotAfter().getTime());
+        if (expires > now) {
+            synchronized (cache) {
+                cache.put(fingerprint, new CachedUser(user, expires));
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Remove every cached {@link UserDetails}, for example after a user's authorities changed.
+     */
+    public void removeAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    static ByteBuffer fingerprint(final X509Certificate certificate) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded()));
+        } catch (CertificateEncodingException e) {
+            throw new BadCredentialsException("Unable to read the client certificate", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class CachedUser {
+        private final UserDetails user;
+        private final long expires;
+
+        private CachedUser(final UserDetails user, final long expires) {
+            this.user = user;
+            this.expires = expires;
+        }
+    }
+
+} // The End...
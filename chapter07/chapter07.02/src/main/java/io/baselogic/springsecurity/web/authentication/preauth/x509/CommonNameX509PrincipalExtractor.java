@@ -0,0 +1,50 @@
+package io.baselogic.springsecurity.web.authentication.preauth.x509;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.web.authentication.preauth.x509.SubjectDnX509PrincipalExtractor;
+import org.springframework.security.web.authentication.preauth.x509.X509PrincipalExtractor;
+
+import java.security.cert.X509Certificate;
+
+/**
+ * Extracts the 'CN' of the subject DN, matching {@code subjectPrincipalRegex("CN=(.*?),")} of the
+ * {@link SubjectDnX509PrincipalExtractor}, without running a regular expression.
+ *
+ * The DN is scanned once for a case-insensitive 'CN=' and the value up to the next ',' is returned,
+ * so the only allocation is the returned String.
+ *
+ * @author mickknutson
+ *
+ * @since chapter07.02 Created Class
+ */
+public class CommonNameX509PrincipalExtractor implements X509PrincipalExtractor {
+
+    private static final String CN = "CN=";
+
+    @Override
+    public Object extractPrincipal(final X509Certificate clientCert) {
+        String subjectDN = clientCert.getSubjectDN().getName();
+        String result = extractCommonName(subjectDN);
+        if (result == null) {
+            throw new BadCredentialsException("No matching pattern was found in subject DN: " + subjectDN);
+        }
+        return result;
+    }
+
+    /**
+     * @param subjectDN such as 'CN=admin1@baselogic.com, OU=JBCP Calendar, O=JBCP, L=Park City, ST=UT, C=US'
+     * @return the 'CN' value, or null if the DN has no 'CN=' followed by a ','
+     */
+    public static String extractCommonName(final String subjectDN) {
+        int length = subjectDN.length();
+        for (int i = 0; i + CN.length() <= length; i++) {
+            if (subjectDN.regionMatches(true, i, CN, 0, CN.length())) {
+                int start = i + CN.length();
+                int end = subjectDN.indexOf(',', start);
+                return end < 0 ? null : subjectDN.substring(start, end);
+            }
+        }
+        return null;
+    }
+
+} // The End...
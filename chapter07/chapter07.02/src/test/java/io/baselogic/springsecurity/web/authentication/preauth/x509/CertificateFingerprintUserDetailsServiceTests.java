@@ -0,0 +1,174 @@
+package io.baselogic.springsecurity.web.authentication.preauth.x509;
+
+import io.baselogic.springsecurity.dao.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+import java.io.InputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * CertificateFingerprintUserDetailsServiceTests
+ *
+ * Uses the client certificate from 'keys/event_manager_clientauth.cer', valid until 2021-09-29.
+ *
+ * @since chapter07.02
+ */
+@Slf4j
+class CertificateFingerprintUserDetailsServiceTests {
+
+    private static final Instant BEFORE_EXPIRY = Instant.parse("2021-01-01T00:00:00Z");
+
+    private X509Certificate certificate;
+    private AtomicInteger lookups;
+    private UserDetailsService userDetailsService;
+    private MeterRegistry meterRegistry;
+
+
+    @BeforeEach
+    void beforeEachTest() throws Exception {
+        try (InputStream in = getClass().getResourceAsStream("/keys/event_manager_clientauth.cer")) {
+            certificate = (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(in);
+        }
+        lookups = new AtomicInteger();
+        userDetailsService = username -> {
+            lookups.incrementAndGet();
+            return TestUtils.admin1UserDetails;
+        };
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+
+    @Test
+    @DisplayName("CommonNameX509PrincipalExtractor - same result as subjectPrincipalRegex(\"CN=(.*?),\")")
+    void extractPrincipal() {
+        assertThat(new CommonNameX509PrincipalExtractor().extractPrincipal(certificate))
+                .isEqualTo("admin1@baselogic.com");
+
+        assertThat(CommonNameX509PrincipalExtractor.extractCommonName("OU=Event, cn=user1@baselogic.com, C=US"))
+                .isEqualTo("user1@baselogic.com");
+        assertThat(CommonNameX509PrincipalExtractor.extractCommonName("OU=Event, CN=user1@baselogic.com"))
+                .isNull();
+        assertThat(CommonNameX509PrincipalExtractor.extractCommonName("OU=Event, C=US"))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("loadUserDetails - cached by certificate fingerprint")
+    void loadUserDetails_cached() {
+        CertificateFingerprintUserDetailsService service = service(Clock.fixed(BEFORE_EXPIRY, ZoneOffset.UTC));
+
+        UserDetails first = service.loadUserDetails(token());
+        UserDetails second = service.loadUserDetails(token());
+
+        assertThat(second).isSameAs(first);
+        assertThat(lookups.get()).isEqualTo(1);
+        assertThat(service.size()).isEqualTo(1);
+        assertThat(meterRegistry.counter("x509.cache.hits").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("x509.cache.misses").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("loadUserDetails - entry expires with the time to live")
+    void loadUserDetails_ttl() {
+        MutableClock clock = new MutableClock(BEFORE_EXPIRY);
+        CertificateFingerprintUserDetailsService service = service(clock);
+
+        service.loadUserDetails(token());
+        clock.now = BEFORE_EXPIRY.plus(Duration.ofMinutes(16));
+        service.loadUserDetails(token());
+
+        assertThat(lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("loadUserDetails - never cached past the certificate expiry")
+    void loadUserDetails_certificate_expired() {
+        MutableClock clock = new MutableClock(certificate.getNotAfter().toInstant().minusSeconds(60));
+        CertificateFingerprintUserDetailsService service = service(clock);
+
+        service.loadUserDetails(token());
+        clock.now = certificate.getNotAfter().toInstant();
+        service.loadUserDetails(token());
+
+        assertThat(lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("removeAll - clears the cache")
+    void removeAll() {
+        CertificateFingerprintUserDetailsService service = service(Clock.fixed(BEFORE_EXPIRY, ZoneOffset.UTC));
+        service.loadUserDetails(token());
+
+        service.removeAll();
+
+        assertThat(service.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("extractPrincipal - no CN")
+    void extractPrincipal_no_cn() {
+        assertThrows(BadCredentialsException.class, () -> {
+            X509Certificate noCommonName = mock(X509Certificate.class);
+            given(noCommonName.getSubjectDN()).willReturn(() -> "OU=Event Manager, O=BASE Logic");
+
+            new CommonNameX509PrincipalExtractor().extractPrincipal(noCommonName);
+        });
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private CertificateFingerprintUserDetailsService service(final Clock clock) {
+        return new CertificateFingerprintUserDetailsService(userDetailsService,
+                10, Duration.ofMinutes(15), meterRegistry, clock);
+    }
+
+    private PreAuthenticatedAuthenticationToken token() {
+        return new PreAuthenticatedAuthenticationToken("admin1@baselogic.com", certificate);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(final Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+} // The End...
@@ -6,6 +6,7 @@ import io.baselogic.springsecurity.domain.Event;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * An interface for managing {@link Event}'s.
@@ -43,6 +44,16 @@ public interface EventDao {
      */
     List<Event> findAll();
 
+    /**
+     * Performs the action for every {@link Event}, in id order.
+     * The {@link Event}'s are streamed from the database, and not retained after the action.
+     *
+     * @param action the action to perform for each {@link Event}
+     *
+     * @since chapter09.05
+     */
+    void forEach(@NotNull Consumer<Event> action);
+
     /**
      * Creates a {@link Event} and returns the new id for that {@link Event}.
      *
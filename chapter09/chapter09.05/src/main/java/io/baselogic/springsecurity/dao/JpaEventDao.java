@@ -8,21 +8,32 @@ import org.springframework.data.domain.Example;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * A JPA implementation of {@link EventDao}.
  *
  * @author Mick Knutson
  *
+ * @since chapter09.05 Added forEach(Consumer) to stream all events
  */
 @Repository
 public class JpaEventDao implements EventDao {
 
+    /** Number of streamed events after which the persistence context is cleared */
+    private static final int CLEAR_INTERVAL = 1_000;
+
     private final EventRepository eventRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public JpaEventDao(final @NotNull EventRepository eventRepository) {
         this.eventRepository = eventRepository;
@@ -52,6 +63,24 @@ public class JpaEventDao implements EventDao {
         return eventRepository.findAll();
     }
 
+    /**
+     * Streams the events through a forward only cursor. The persistence context is cleared
+     * periodically, so the heap stays flat however many events are exported.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(final @NotNull Consumer<Event> action) {
+        try (Stream<Event> events = eventRepository.streamAll()) {
+            int count = 0;
+            for (Event event : (Iterable<Event>) events::iterator) {
+                action.accept(event);
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
 
     @Override
     public Integer save(final @NotNull @Valid Event event) {
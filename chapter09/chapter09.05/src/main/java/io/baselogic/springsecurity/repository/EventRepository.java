@@ -3,11 +3,29 @@ package io.baselogic.springsecurity.repository;
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface EventRepository extends JpaRepository<Event, Integer> {
 
     List<Event> findByOwner(AppUser appUser);
 
+    /**
+     * Stream all {@link Event}'s with their owner and attendee, in id order.
+     * The stream must be closed, and used within a transaction.
+     *
+     * @since chapter09.05
+     */
+    @Query("select e from Event e join fetch e.owner join fetch e.attendee order by e.id")
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Event> streamAll();
+
 } // The End...
@@ -10,7 +10,14 @@ import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import javax.annotation.security.RolesAllowed;
 import javax.validation.constraints.NotNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -24,12 +31,16 @@ import java.util.List;
  * @since chapter04.03 added jdbcOperations.update for appUsers_authorities
  * @since chapter05.01 Removed Jdbc functions
  * @since chapter05.01 Added JPA Support
+ * @since chapter09.05 Added exportAllEvents()
  *
  */
 @Service
 @Validated
 public class DefaultEventService implements EventService {
 
+    /** Size of the character buffer of an export */
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final EventDao eventDao;
     private final UserDao userDao;
 
@@ -60,6 +71,31 @@ public class DefaultEventService implements EventService {
         return eventDao.findAll();
     }
 
+    /**
+     * Also annotated here: JSR-250 annotations are not inherited from the interface by the class based proxy.
+     */
+    @Override
+    @RolesAllowed("ADMIN")
+    public EventExport exportAllEvents(final @NotNull EventExportFormat format) {
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+            EventExportFormat.EventWriter eventWriter = format.open(writer);
+            try {
+                eventDao.forEach(event -> {
+                    try {
+                        eventWriter.write(event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            eventWriter.flush();
+            writer.flush();
+        };
+    }
+
     @Override
     public Integer createEvent(Event event) {
         return eventDao.save(event);
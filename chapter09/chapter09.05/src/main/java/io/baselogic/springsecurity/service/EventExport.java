@@ -0,0 +1,30 @@
+package io.baselogic.springsecurity.service;
+
+import io.baselogic.springsecurity.domain.Event;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A prepared export of {@link Event}'s, see {@link EventService#exportAllEvents(EventExportFormat)}.
+ *
+ * Access is checked when the export is created, the {@link Event}'s are only read when it is written,
+ * which can be on another thread, such as for a
+ * {@link org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter09.05 Created Class
+ */
+@FunctionalInterface
+public interface EventExport {
+
+    /**
+     * Stream the {@link Event}'s to {@code out}. {@code out} is flushed, but not closed.
+     *
+     * @param out the {@link OutputStream} to write to
+     * @throws IOException if {@code out} cannot be written to
+     */
+    void writeTo(OutputStream out) throws IOException;
+
+} // The End...
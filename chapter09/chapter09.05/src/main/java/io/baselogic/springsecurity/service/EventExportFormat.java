@@ -0,0 +1,179 @@
+package io.baselogic.springsecurity.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Event;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+
+/**
+ * The formats {@link Event}'s can be exported in, see {@link EventService#exportAllEvents(EventExportFormat)}.
+ *
+ * Each format writes one {@link Event} at a time, so nothing but the current row is held in memory.
+ *
+ * @author mickknutson
+ *
+ * @since chapter09.05 Created Class
+ */
+public enum EventExportFormat {
+
+    /**
+     * RFC 4180 comma separated values, with a header row.
+     */
+    CSV("text/csv", "csv") {
+        @Override
+        public EventWriter open(final Writer out) throws IOException {
+            out.write("id,when,summary,description,owner,attendee\r\n");
+            return new EventWriter() {
+                @Override
+                public void write(final Event event) throws IOException {
+                    out.write(String.valueOf(event.getId()));
+                    out.write(',');
+                    out.write(format(event.getWhen()));
+                    out.write(',');
+                    quote(out, event.getSummary());
+                    out.write(',');
+                    quote(out, event.getDescription());
+                    out.write(',');
+                    quote(out, email(event.getOwner()));
+                    out.write(',');
+                    quote(out, email(event.getAttendee()));
+                    out.write("\r\n");
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+            };
+        }
+    },
+
+    /**
+     * Newline delimited JSON, one {@link Event} object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public EventWriter open(final Writer out) throws IOException {
+            JsonGenerator json = JSON_FACTORY.createGenerator(out);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            return new EventWriter() {
+                @Override
+                public void write(final Event event) throws IOException {
+                    json.writeStartObject();
+                    json.writeNumberField("id", event.getId());
+                    json.writeStringField("when", format(event.getWhen()));
+                    json.writeStringField("summary", event.getSummary());
+                    json.writeStringField("description", event.getDescription());
+                    json.writeStringField("owner", email(event.getOwner()));
+                    json.writeStringField("attendee", email(event.getAttendee()));
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    json.flush();
+                }
+            };
+        }
+    };
+
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String mediaType;
+    private final String extension;
+
+    EventExportFormat(final String mediaType, final String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Start an export, writing any header to {@code out}.
+     *
+     * @param out the buffered {@link Writer} to export to
+     * @return an {@link EventWriter} for the rows
+     * @throws IOException if {@code out} cannot be written to
+     */
+    public abstract EventWriter open(Writer out) throws IOException;
+
+    /**
+     * @param name 'csv' or 'ndjson', ignoring case
+     * @return the {@link EventExportFormat}
+     * @throws IllegalArgumentException for any other name
+     */
+    public static EventExportFormat fromName(final String name) {
+        for (EventExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + name);
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    /**
+     * Writes {@link Event}'s in an {@link EventExportFormat}.
+     */
+    public interface EventWriter {
+
+        void write(Event event) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static String format(final Calendar when) {
+        if (when == null) {
+            return "";
+        }
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(
+                OffsetDateTime.ofInstant(when.toInstant(), when.getTimeZone().toZoneId()));
+    }
+
+    private static String email(final AppUser appUser) {
+        return appUser == null ? null : appUser.getEmail();
+    }
+
+    private static void quote(final Writer out, final String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quoted) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+} // The End...
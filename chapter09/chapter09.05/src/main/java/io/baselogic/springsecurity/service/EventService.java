@@ -15,6 +15,7 @@ import java.util.List;
  * @since chapter01.00
  * @since chapter09.04 added @PreAuthorize("hasRole('ADMIN')") to findAllEvents()
  * @since chapter09.05 updated @RolesAllowed("hasRole('ADMIN')") to findAllEvents()
+ * @since chapter09.05 added @RolesAllowed("ADMIN") exportAllEvents()
  *
  */
 public interface EventService {
@@ -59,6 +60,16 @@ public interface EventService {
     @RolesAllowed("ADMIN")
     List<Event> findAllEvents();
 
+    /**
+     * Prepares an export of all the available {@link Event}'s.
+     * Guarded like {@link #findAllEvents()}, the {@link Event}'s are streamed when the export is written.
+     *
+     * @param format the {@link EventExportFormat}
+     * @return the {@link EventExport} to write
+     */
+    @RolesAllowed("ADMIN")
+    EventExport exportAllEvents(EventExportFormat format);
+
 
 
 
@@ -2,6 +2,8 @@ package io.baselogic.springsecurity.web.controllers;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
+import io.baselogic.springsecurity.service.EventExport;
+import io.baselogic.springsecurity.service.EventExportFormat;
 import io.baselogic.springsecurity.service.EventService;
 import io.baselogic.springsecurity.service.UserContext;
 import io.baselogic.springsecurity.web.model.EventDto;
@@ -9,12 +11,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.servlet.http.HttpServletRequest;
@@ -26,6 +34,7 @@ import java.util.Calendar;
  *
  * @since chapter01.00
  * @since chapter09.02 showCreateLink() method
+ * @since chapter09.05 exportEvents() method
  */
 @Controller
 @RequestMapping("/events")
@@ -57,6 +66,31 @@ public class EventsController {
         return new ModelAndView(EVENT_LIST_VIEW, "events", eventService.findAllEvents());
     }
 
+    /**
+     * Streams all events as 'csv' or 'ndjson' without loading them into memory.
+     * {@link EventService#exportAllEvents(EventExportFormat)} is only allowed for ADMIN,
+     * so access is denied before the response is started.
+     *
+     * @param format 'csv' or 'ndjson'
+     * @return the streamed export
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents(final @RequestParam(defaultValue = "csv") String format) {
+        EventExportFormat exportFormat;
+        try {
+            exportFormat = EventExportFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        EventExport export = eventService.exportAllEvents(exportFormat);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"events." + exportFormat.getExtension() + "\"")
+                .body(export::writeTo);
+    }
+
     @GetMapping("/my")
     public ModelAndView userEvents() {
         AppUser currentAppUser = userContext.getCurrentUser();
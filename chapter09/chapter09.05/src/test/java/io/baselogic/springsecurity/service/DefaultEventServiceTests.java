@@ -13,13 +13,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.when;
 import static org.mockito.Mockito.verify;
 
@@ -29,6 +36,7 @@ import static org.mockito.Mockito.verify;
  * @since chapter01.00
  * @since chapter09.04 Added @WithMockEventUserDetailsAdmin1 to findAllEvents()
  * @since chapter09.04 Added @WithMockEventUserDetailsUser1 to findAllEvents_user1()
+ * @since chapter09.05 Added exportAllEvents()
  */
 @ExtendWith(SpringExtension.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -117,6 +125,60 @@ class DefaultEventServiceTests {
 
     }
 
+    @Test
+    @WithMockEventUserDetailsAdmin1
+    @SuppressWarnings("unchecked")
+    void exportAllEvents_csv() throws Exception {
+        Event event = Event.builder()
+                .id(42)
+                .summary("Lunch, \"the\" usual")
+                .description("Eating lunch together")
+                .when(Calendar.getInstance())
+                .owner(TestUtils.owner)
+                .attendee(TestUtils.attendee)
+                .build();
+        willAnswer(invocation -> {
+            ((Consumer<Event>) invocation.getArgument(0)).accept(event);
+            return null;
+        }).given(eventDao).forEach(any(Consumer.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        eventService.exportAllEvents(EventExportFormat.CSV).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,when,summary,description,owner,attendee");
+        assertThat(lines[1]).startsWith("42,")
+                .contains(",\"Lunch, \"\"the\"\" usual\",Eating lunch together,")
+                .endsWith("," + TestUtils.owner.getEmail() + "," + TestUtils.attendee.getEmail());
+    }
+
+    @Test
+    @WithMockEventUserDetailsAdmin1
+    @SuppressWarnings("unchecked")
+    void exportAllEvents_ndjson() throws Exception {
+        willAnswer(invocation -> {
+            TestUtils.TEST_EVENTS.forEach((Consumer<Event>) invocation.getArgument(0));
+            return null;
+        }).given(eventDao).forEach(any(Consumer.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        eventService.exportAllEvents(EventExportFormat.NDJSON).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":42,");
+        assertThat(lines[1]).startsWith("{\"id\":24,");
+    }
+
+    @Test
+    @WithMockEventUserDetailsUser1
+    void exportAllEvents_user1() {
+        assertThrows(AccessDeniedException.class, () -> {
+            eventService.exportAllEvents(EventExportFormat.CSV);
+        });
+    }
+
     @Test
     void createEvent() {
 
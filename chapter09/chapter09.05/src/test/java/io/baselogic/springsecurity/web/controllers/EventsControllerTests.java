@@ -26,6 +26,7 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -141,6 +142,57 @@ class EventsControllerTests {
     }
 
 
+    //-----------------------------------------------------------------------//
+    // Export Events
+    // @since chapter09.05
+    //-----------------------------------------------------------------------//
+
+    @Test
+    @DisplayName("MockMvc Export Events - admin1 - csv")
+    @WithMockEventUserDetailsAdmin1
+    void exportEvents_csv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/events/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"events.csv\""))
+                .andExpect(content().string(CoreMatchers.startsWith("id,when,summary,description,owner,attendee\r\n100,")))
+                .andExpect(content().string(containsString("Birthday Party")));
+    }
+
+    @Test
+    @DisplayName("MockMvc Export Events - admin1 - ndjson")
+    @WithMockEventUserDetailsAdmin1
+    void exportEvents_ndjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/events/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CoreMatchers.startsWith("{\"id\":100,")));
+    }
+
+    @Test
+    @DisplayName("MockMvc Export Events - admin1 - unsupported format")
+    @WithMockEventUserDetailsAdmin1
+    void exportEvents_unsupported_format() throws Exception {
+        mockMvc.perform(get("/events/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("MockMvc Export Events - user1")
+    @WithMockEventUserDetailsUser1
+    void exportEvents_user1() throws Exception {
+        mockMvc.perform(get("/events/export"))
+                .andExpect(status().isForbidden());
+    }
+
+
     //-----------------------------------------------------------------------//
     // All User Events
     //-----------------------------------------------------------------------//
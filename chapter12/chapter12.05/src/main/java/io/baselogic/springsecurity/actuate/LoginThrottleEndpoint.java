@@ -0,0 +1,41 @@
+package io.baselogic.springsecurity.actuate;
+
+import io.baselogic.springsecurity.authentication.LoginAttemptThrottle;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import javax.validation.constraints.NotNull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the {@link LoginAttemptThrottle} state:
+ * http://localhost:8080/actuator/loginthrottle
+ *
+ * The blocked keys are usernames and remote addresses, so the endpoint requires the ADMIN role,
+ * see {@link io.baselogic.springsecurity.configuration.SecurityConfig}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created Class
+ */
+@Endpoint(id = "loginthrottle")
+public class LoginThrottleEndpoint {
+
+    private final LoginAttemptThrottle throttle;
+
+    public LoginThrottleEndpoint(final @NotNull LoginAttemptThrottle throttle) {
+        this.throttle = throttle;
+    }
+
+    @ReadOperation
+    public Map<String, Object> loginThrottle() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", throttle.size());
+        result.put("capacity", throttle.capacity());
+        result.put("occupancy", throttle.occupancy());
+        result.put("blocked", throttle.blocked());
+        return result;
+    }
+
+} // The End...
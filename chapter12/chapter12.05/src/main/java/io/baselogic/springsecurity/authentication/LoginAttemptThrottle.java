@@ -0,0 +1,344 @@
+package io.baselogic.springsecurity.authentication;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import javax.validation.constraints.NotNull;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts failed logins in a sliding window, and blocks for {@code blockDuration} once too many failures
+ * were counted within {@code window}. Every failure is counted three times, each with its own limit:
+ * <ul>
+ *     <li>per username and remote address, {@code maxFailures}: one user mistyping a password</li>
+ *     <li>per remote address, {@code maxFailuresPerAddress}: one address spraying passwords over many usernames</li>
+ *     <li>per username, {@code maxFailuresPerUsername}: many addresses guessing the password of one user</li>
+ * </ul>
+ * A login is blocked while any of the three is blocked. A successful login only resets the counter of
+ * its username and remote address.
+ *
+ * Counters are split over a power of two number of stripes, each guarded by its own lock, so concurrent
+ * logins for different keys rarely contend. Each counter is a time wheel of {@link #BUCKETS} buckets
+ * covering the window; buckets are cleared as the wheel turns, so no timer thread is needed.
+ *
+ * Memory is bounded: each of the three holds at most {@code maxEntries} counters, spread over the stripes in
+ * least recently used order. Expired counters are swept from the eldest end on every write. When a stripe is
+ * full the least recently used counter that is not blocked is dropped, so new usernames cannot evict a block.
+ *
+ * Failures and successes are taken from the {@link AuthenticationFailureBadCredentialsEvent} and
+ * {@link AuthenticationSuccessEvent} published by the AuthenticationManager.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created Class
+ */
+@Slf4j
+public class LoginAttemptThrottle {
+
+    static final int BUCKETS = 10;
+
+    public static final String ANY = "*";
+
+    private final long bucketMillis;
+    private final long windowMillis;
+    private final long blockMillis;
+    private final int maxEntriesPerStripe;
+    private final Clock clock;
+
+    private final Counters pairs;
+    private final Counters addresses;
+    private final Counters usernames;
+    private final Counter blockedAttempts;
+
+
+    public LoginAttemptThrottle(final int maxFailures,
+                                final int maxFailuresPerAddress,
+                                final int maxFailuresPerUsername,
+                                final @NotNull Duration window,
+                                final @NotNull Duration blockDuration,
+                                final int maxEntries,
+                                final int stripes,
+                                final @NotNull MeterRegistry meterRegistry,
+                                final @NotNull Clock clock) {
+        if (maxFailures < 1 || maxFailuresPerAddress < 1 || maxFailuresPerUsername < 1
+                || maxEntries < 1 || stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException(
+                    "maxFailures and maxEntries must be greater than 0, stripes must be a power of two");
+        }
+        this.bucketMillis = Math.max(1L, window.toMillis() / BUCKETS);
+        this.windowMillis = bucketMillis * BUCKETS;
+        this.blockMillis = blockDuration.toMillis();
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / stripes);
+        this.clock = clock;
+
+        this.pairs = new Counters(maxFailures, stripes);
+        this.addresses = new Counters(maxFailuresPerAddress, stripes);
+        this.usernames = new Counters(maxFailuresPerUsername, stripes);
+
+        this.blockedAttempts = meterRegistry.counter("login.throttle.blocked");
+        meterRegistry.gauge("login.throttle.entries", this, LoginAttemptThrottle::size);
+    }
+
+    /**
+     * @return the key of a counter, {@link #ANY} stands for every username or every remote address
+     */
+    public static String key(final String username, final String remoteAddress) {
+        return normalize(username) + '|' + remoteAddress;
+    }
+
+
+    /**
+     * @return milliseconds until the username and remote address are unblocked, or 0 if login attempts are allowed.
+     */
+    public long blockedForMillis(final String username, final String remoteAddress) {
+        long now = clock.millis();
+        long remaining = Math.max(pairs.blockedForMillis(key(username, remoteAddress), now),
+                Math.max(addresses.blockedForMillis(key(ANY, remoteAddress), now),
+                        usernames.blockedForMillis(key(username, ANY), now)));
+        if (remaining > 0) {
+            blockedAttempts.increment();
+            return remaining;
+        }
+        return 0L;
+    }
+
+    public void recordFailure(final String username, final String remoteAddress) {
+        long now = clock.millis();
+        pairs.recordFailure(key(username, remoteAddress), now);
+        addresses.recordFailure(key(ANY, remoteAddress), now);
+        usernames.recordFailure(key(username, ANY), now);
+    }
+
+    public void recordSuccess(final String username, final String remoteAddress) {
+        pairs.remove(key(username, remoteAddress));
+    }
+
+    @EventListener
+    public void onFailure(final AuthenticationFailureBadCredentialsEvent event) {
+        String remoteAddress = remoteAddressOf(event.getAuthentication());
+        if (remoteAddress != null) {
+            recordFailure(event.getAuthentication().getName(), remoteAddress);
+        }
+    }
+
+    @EventListener
+    public void onSuccess(final AuthenticationSuccessEvent event) {
+        String remoteAddress = remoteAddressOf(event.getAuthentication());
+        if (remoteAddress != null) {
+            recordSuccess(event.getAuthentication().getName(), remoteAddress);
+        }
+    }
+
+
+    //-----------------------------------------------------------------------//
+    // Actuator
+
+    /**
+     * @return the currently blocked keys, with the remaining block time in milliseconds
+     */
+    public Map<String, Long> blocked() {
+        long now = clock.millis();
+        Map<String, Long> result = new LinkedHashMap<>();
+        pairs.blocked(now, result);
+        addresses.blocked(now, result);
+        usernames.blocked(now, result);
+        return result;
+    }
+
+    /**
+     * @return the number of counters held in each stripe
+     */
+    public List<Integer> occupancy() {
+        List<Integer> result = new ArrayList<>(pairs.stripes.length);
+        for (int i = 0; i < pairs.stripes.length; i++) {
+            result.add(pairs.stripes[i].size() + addresses.stripes[i].size() + usernames.stripes[i].size());
+        }
+        return result;
+    }
+
+    public int size() {
+        return pairs.size() + addresses.size() + usernames.size();
+    }
+
+    public int capacity() {
+        return maxEntriesPerStripe * pairs.stripes.length * 3;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private static String normalize(final String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String remoteAddressOf(final Authentication authentication) {
+        if (!(authentication.getDetails() instanceof WebAuthenticationDetails)) {
+            return null;
+        }
+        return ((WebAuthenticationDetails) authentication.getDetails()).getRemoteAddress();
+    }
+
+    /**
+     * The striped counters of one kind of key, with their own limit.
+     */
+    private final class Counters {
+        private final int maxFailures;
+        private final Stripe[] stripes;
+
+        private Counters(final int maxFailures, final int stripes) {
+            this.maxFailures = maxFailures;
+            this.stripes = new Stripe[stripes];
+            for (int i = 0; i < stripes; i++) {
+                this.stripes[i] = new Stripe();
+            }
+        }
+
+        private long blockedForMillis(final String key, final long now) {
+            Stripe stripe = stripeFor(key);
+            synchronized (stripe) {
+                Window window = stripe.windows.get(key);
+                return window == null ? 0L : Math.max(0L, window.blockedUntil - now);
+            }
+        }
+
+        private void recordFailure(final String key, final long now) {
+            long bucket = now / bucketMillis;
+            Stripe stripe = stripeFor(key);
+            synchronized (stripe) {
+                stripe.sweep(now);
+                Window window = stripe.windows.get(key);
+                if (window == null) {
+                    stripe.evict(now);
+                    window = new Window(bucket);
+                    stripe.windows.put(key, window);
+                }
+                if (window.increment(bucket) >= maxFailures && window.blockedUntil <= now) {
+                    window.blockedUntil = now + blockMillis;
+                    log.warn("*** Blocking login attempts for '{}' for {} ms", key, blockMillis);
+                }
+                window.lastFailure = now;
+            }
+        }
+
+        private void remove(final String key) {
+            Stripe stripe = stripeFor(key);
+            synchronized (stripe) {
+                stripe.windows.remove(key);
+            }
+        }
+
+        private void blocked(final long now, final Map<String, Long> result) {
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    stripe.windows.forEach((key, window) -> {
+                        if (window.blockedUntil > now) {
+                            result.put(key, window.blockedUntil - now);
+                        }
+                    });
+                }
+            }
+        }
+
+        private int size() {
+            int size = 0;
+            for (Stripe stripe : stripes) {
+                size += stripe.size();
+            }
+            return size;
+        }
+
+        private Stripe stripeFor(final String key) {
+            int h = key.hashCode();
+            return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+        }
+    }
+
+    private final class Stripe {
+        private final Map<String, Window> windows = new LinkedHashMap<>(16, 0.75f, true);
+
+        private synchronized int size() {
+            return windows.size();
+        }
+
+        /**
+         * Remove expired counters from the least recently used end of the stripe.
+         */
+        private void sweep(final long now) {
+            Iterator<Window> iterator = windows.values().iterator();
+            while (iterator.hasNext()) {
+                Window window = iterator.next();
+                if (window.lastFailure + windowMillis > now || window.blockedUntil > now) {
+                    return;
+                }
+                iterator.remove();
+            }
+        }
+
+        /**
+         * Make room for a new counter, dropping the least recently used counter that is not blocked,
+         * or the least recently used one if every counter is blocked.
+         */
+        private void evict(final long now) {
+            if (windows.size() < maxEntriesPerStripe) {
+                return;
+            }
+            Iterator<Window> iterator = windows.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().blockedUntil <= now) {
+                    iterator.remove();
+                    return;
+                }
+            }
+            iterator = windows.values().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * A time wheel of failure counts, one bucket per {@code bucketMillis}.
+     */
+    private static final class Window {
+        private final int[] buckets = new int[BUCKETS];
+        private long currentBucket;
+        private int total;
+        private long lastFailure;
+        private long blockedUntil;
+
+        private Window(final long bucket) {
+            this.currentBucket = bucket;
+        }
+
+        private int increment(final long bucket) {
+            long elapsed = bucket - currentBucket;
+            if (elapsed >= BUCKETS) {
+                Arrays.fill(buckets, 0);
+                total = 0;
+            } else {
+                for (long b = currentBucket + 1; b <= bucket; b++) {
+                    int index = (int) (b % BUCKETS);
+                    total -= buckets[index];
+                    buckets[index] = 0;
+                }
+            }
+            currentBucket = Math.max(currentBucket, bucket);
+            buckets[(int) (currentBucket % BUCKETS)]++;
+            return ++total;
+        }
+    }
+
+} // The End...
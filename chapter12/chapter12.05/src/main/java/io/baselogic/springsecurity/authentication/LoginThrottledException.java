@@ -0,0 +1,41 @@
+package io.baselogic.springsecurity.authentication;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when an authentication request is rejected because the server is
+ * not accepting any more login attempts at the moment.
+ * The request was not checked against the stored credentials.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created Class
+ */
+public class LoginThrottledException extends AuthenticationServiceException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(final String message) {
+        this(message, 1L);
+    }
+
+    public LoginThrottledException(final String message, final long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public LoginThrottledException(final String message, final Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = 1L;
+    }
+
+    /**
+     * @return seconds the client should wait before the next login attempt
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    private static final long serialVersionUID = -2473306512786411390L;
+
+} // The End...
@@ -0,0 +1,64 @@
+package io.baselogic.springsecurity.configuration;
+
+import io.baselogic.springsecurity.actuate.LoginThrottleEndpoint;
+import io.baselogic.springsecurity.authentication.LoginAttemptThrottle;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Description;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Login Throttle Configuration
+ *
+ * Blocks a username and remote address, a remote address or a username after too many failed logins,
+ * see {@link LoginAttemptThrottle}.
+ * The filter is added to the filter chain in {@link SecurityConfig}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created
+ */
+@Configuration
+public class LoginThrottleConfig {
+
+    @Value("${security.login-throttle.max-failures:5}")
+    private int maxFailures;
+
+    @Value("${security.login-throttle.max-failures-per-address:20}")
+    private int maxFailuresPerAddress;
+
+    @Value("${security.login-throttle.max-failures-per-username:20}")
+    private int maxFailuresPerUsername;
+
+    @Value("${security.login-throttle.window:5m}")
+    private Duration window;
+
+    @Value("${security.login-throttle.block-duration:15m}")
+    private Duration blockDuration;
+
+    @Value("${security.login-throttle.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${security.login-throttle.stripes:64}")
+    private int stripes;
+
+
+    @Bean
+    @Description("Sliding window failed login counters")
+    public LoginAttemptThrottle loginAttemptThrottle(final MeterRegistry meterRegistry) {
+        return new LoginAttemptThrottle(maxFailures, maxFailuresPerAddress, maxFailuresPerUsername,
+                window, blockDuration, maxEntries, stripes,
+                meterRegistry, Clock.systemUTC());
+    }
+
+    @Bean
+    @Description("Actuator endpoint for the login throttle")
+    public LoginThrottleEndpoint loginThrottleEndpoint(final LoginAttemptThrottle loginAttemptThrottle) {
+        return new LoginThrottleEndpoint(loginAttemptThrottle);
+    }
+
+} // The End...
@@ -1,9 +1,19 @@
 package io.baselogic.springsecurity.configuration;
 
+import io.baselogic.springsecurity.authentication.LoginAttemptThrottle;
+import io.baselogic.springsecurity.authentication.LoginThrottledException;
+import io.baselogic.springsecurity.crypto.password.BoundedPasswordEncoder;
 import io.baselogic.springsecurity.service.DefaultEventService;
 import io.baselogic.springsecurity.service.EventService;
+import io.baselogic.springsecurity.userdetails.EventUserDetailsService;
+import io.baselogic.springsecurity.web.access.expression.EventWebSecurityExpressionHandler;
+import io.baselogic.springsecurity.web.authentication.LoginThrottlingFilter;
+import io.baselogic.springsecurity.web.context.SignedCookieSecurityContextRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
@@ -12,6 +22,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -20,8 +32,15 @@ import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.security.web.access.intercept.FilterSecurityInterceptor;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.DelegatingAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -49,6 +68,12 @@ import java.util.Map;
  * @since chapter12.03 Configuring expired session redirect
  * @since chapter12.04 Added .maxSessionsPreventsLogin(true) for Preventing authentication instead of forcing logout
  * @since chapter12.05 Updated .maximumSessions(2)
+ * @since chapter12.05 Verify passwords on a bounded {@link BoundedPasswordEncoder} executor
+ * @since chapter12.05 Configurable bcrypt strength, with stored hashes upgraded on login
+ * @since chapter12.05 Role checks use the precomputed authority bitmask, see {@link EventWebSecurityExpressionHandler}
+ * @since chapter12.05 Added {@link LoginThrottlingFilter} to block repeated failed logins
+ * @since chapter12.05 Optional stateless mode, see {@link SignedCookieSecurityContextRepository}
+ * @since chapter12.05 Restricted /actuator/loginthrottle to ADMIN
  */
 @Configuration
 @EnableWebSecurity //(debug = true)
@@ -56,15 +81,40 @@ import java.util.Map;
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private static final String HASANYROLE_ANONYMOUS = "hasAnyRole('ANONYMOUS', 'USER')";
-    private static final String HASROLE_USER = "hasRole('USER')";
-    private static final String HASROLE_ADMIN = "hasRole('ADMIN')";
+    private static final String HASROLE_USER = "hasEventRole('USER')";
+    private static final String HASROLE_ADMIN = "hasEventRole('ADMIN')";
 
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private EventUserDetailsService eventUserDetailsService;
+
     @Autowired
     private SessionRegistry sessionRegistry;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+
+    /** Only available with 'security.stateless.enabled=true', see {@link StatelessSecurityConfig} */
+    @Autowired
+    private ObjectProvider<SignedCookieSecurityContextRepository> signedCookieSecurityContextRepository;
+
+    /** Number of password hashing threads, defaults to the number of available processors */
+    @Value("${security.password-hashing.parallelism:0}")
+    private int passwordHashingParallelism;
+
+    /** Number of login requests allowed to wait for a password hashing thread */
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    /** BCrypt strength, see BCryptPasswordEncoderMain --calibrate */
+    @Value("${security.password-encoder.bcrypt-strength:4}")
+    private int bcryptStrength;
+
 
     /**
      * Configure AuthenticationManager with inMemory credentials.
@@ -84,6 +134,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
      * @param auth       AuthenticationManagerBuilder
      * @throws Exception Authentication exception
      *
+     * @since chapter12.05 Added userDetailsPasswordManager() to re-hash outdated passwords on login
      */
     @Description("Configure AuthenticationManager with inMemory credentials")
     @Override
@@ -91,6 +142,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         auth
                 .userDetailsService(userDetailsService)
                 .passwordEncoder(passwordEncoder())
+                .userDetailsPasswordManager(eventUserDetailsService)
         ;
     }
 
@@ -126,9 +178,12 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
         //NOSONAR
         http.authorizeRequests(authorizeRequests -> authorizeRequests
+                .expressionHandler(eventWebSecurityExpressionHandler())
 
                 // Allow anyone to use H2 (NOTE: NOT FOR PRODUCTION USE EVER !!! )
                 .antMatchers("/admin/h2/**").permitAll()
+                // The blocked usernames and remote addresses are only for administrators
+                .antMatchers("/actuator/loginthrottle/**").access(HASROLE_ADMIN)
                 .antMatchers("/actuator/**").permitAll()
 
                 .antMatchers("/registration/*").permitAll()
@@ -150,31 +205,60 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         http.formLogin(form -> form
                 .loginPage("/login/form")
                 .loginProcessingUrl("/login")
-                .failureUrl("/login/form?error")
+                .failureHandler(authenticationFailureHandler())
                 .usernameParameter("username") // redundant
                 .passwordParameter("password") // redundant
                 .defaultSuccessUrl("/default", true)
                 .permitAll()
         );
 
+        // Reject blocked username / remote address pairs before the AuthenticationManager
+        http.addFilterBefore(
+                new LoginThrottlingFilter(loginAttemptThrottle, authenticationFailureHandler(),
+                        "/login", "username"),
+                UsernamePasswordAuthenticationFilter.class);
+
+        SignedCookieSecurityContextRepository statelessRepository =
+                signedCookieSecurityContextRepository.getIfAvailable();
+
         // Logout Configuration
-        http.logout(form -> form
-                .logoutUrl("/logout")
-                .logoutSuccessUrl("/login/form?logout")
-                .permitAll()
-        );
+        http.logout(form -> {
+            form
+                    .logoutUrl("/logout")
+                    .logoutSuccessUrl("/login/form?logout")
+                    .permitAll();
+            if (statelessRepository != null) {
+                form.addLogoutHandler((request, response, authentication) ->
+                        statelessRepository.removeCookie(response));
+            }
+        });
 
 
-        // Session Management
-        http.sessionManagement( session -> session
-                .sessionFixation().migrateSession() // default
+        if (statelessRepository != null) {
+            // Stateless: the SecurityContext is kept in a signed cookie, and no HttpSession is created
+            log.info("*** Stateless mode: SecurityContext is stored in a signed cookie");
+            http.securityContext(context -> context
+                    .securityContextRepository(statelessRepository)
+            );
+            http.sessionManagement(session -> session
+                    .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            );
+            http.requestCache(cache -> cache
+                    .requestCache(new NullRequestCache())
+            );
 
-                .maximumSessions(2)
-                .sessionRegistry(sessionRegistry)
+        } else {
+            // Session Management
+            http.sessionManagement( session -> session
+                    .sessionFixation().migrateSession() // default
 
-                .expiredUrl("/login/form?expired")
-                .maxSessionsPreventsLogin(true)
-        );
+                    .maximumSessions(2)
+                    .sessionRegistry(sessionRegistry)
+
+                    .expiredUrl("/login/form?expired")
+                    .maxSessionsPreventsLogin(true)
+            );
+        }
 
 
         // Allow anonymous users
@@ -222,6 +306,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/webjars/**")
         ;
 
+        web.expressionHandler(eventWebSecurityExpressionHandler());
+
         // Thymeleaf needs to use the Thymeleaf configured FilterSecurityInterceptor
         // and not the default Filter from AutoConfiguration.
         final HttpSecurity http = getHttp();
@@ -254,6 +340,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
      * @return DelegatingPasswordEncoder
      * @since chapter02.01
      * @since chapter04.04 changed to BCrypt Password Encoder
+     * @since chapter12.05 wrapped in a {@link BoundedPasswordEncoder} so hashing does not run on request threads
+     * @since chapter12.05 bcrypt strength set by 'security.password-encoder.bcrypt-strength'.
+     *                     Hashes with a lower strength are upgraded by {@link EventUserDetailsService} on login.
      */
     @Bean
     @Description("Configure Password Encoder")
@@ -261,9 +350,51 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
         String idForEncode = "bcrypt";
         Map<String, PasswordEncoder> encoders = new HashMap<>();
-        encoders.put(idForEncode, new BCryptPasswordEncoder(4));
+        encoders.put(idForEncode, new BCryptPasswordEncoder(bcryptStrength));
+
+        int parallelism = passwordHashingParallelism > 0 ?
+                passwordHashingParallelism : Runtime.getRuntime().availableProcessors();
+
+        return new BoundedPasswordEncoder(new DelegatingPasswordEncoder(idForEncode, encoders),
+                parallelism, passwordHashingQueueCapacity, meterRegistry);
+    }
+
+
+    /**
+     * Adds hasEventRole() and hasEventAuthority() to the access expressions.
+     *
+     * @return EventWebSecurityExpressionHandler
+     * @since chapter12.05
+     */
+    @Bean
+    @Description("Configure Web Security Expression Handler")
+    public EventWebSecurityExpressionHandler eventWebSecurityExpressionHandler() {
+        return new EventWebSecurityExpressionHandler();
+    }
+
+
+    /**
+     * Failed logins are redirected back to the login form, except a {@link LoginThrottledException}
+     * which answers with '503 Service Unavailable' and a 'Retry-After' header.
+     *
+     * @return AuthenticationFailureHandler
+     * @since chapter12.05
+     */
+    @Bean
+    @Description("Configure Authentication Failure Handler")
+    public AuthenticationFailureHandler authenticationFailureHandler() {
+
+        LinkedHashMap<Class<? extends AuthenticationException>, AuthenticationFailureHandler> handlers =
+                new LinkedHashMap<>();
+        handlers.put(LoginThrottledException.class, (request, response, exception) -> {
+            log.warn("*** Login throttled: {}", exception.getMessage());
+            response.setHeader("Retry-After",
+                    String.valueOf(((LoginThrottledException) exception).getRetryAfterSeconds()));
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, exception.getMessage());
+        });
 
-        return new DelegatingPasswordEncoder(idForEncode, encoders);
+        return new DelegatingAuthenticationFailureHandler(handlers,
+                new SimpleUrlAuthenticationFailureHandler("/login/form?error"));
     }
 
 
@@ -0,0 +1,53 @@
+package io.baselogic.springsecurity.configuration;
+
+import io.baselogic.springsecurity.web.context.SecurityContextCookieCodec;
+import io.baselogic.springsecurity.web.context.SignedCookieSecurityContextRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Description;
+
+import java.time.Clock;
+
+/**
+ * Stateless Security Context Configuration
+ *
+ * Enabled with 'security.stateless.enabled=true'. The {@link org.springframework.security.core.context.SecurityContext}
+ * is then kept in a signed cookie instead of the HttpSession, see {@link SignedCookieSecurityContextRepository}.
+ * The repository is added to the filter chain in {@link SecurityConfig}.
+ *
+ * To rotate keys, add the new key first in 'security.stateless.keys' and keep the old key after it
+ * until 'security.stateless.max-age' has passed. The properties are bound to {@link StatelessSecurityProperties}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created
+ */
+@Configuration
+@ConditionalOnProperty(name = "security.stateless.enabled", havingValue = "true")
+@EnableConfigurationProperties(StatelessSecurityProperties.class)
+public class StatelessSecurityConfig {
+
+    private final StatelessSecurityProperties properties;
+
+    public StatelessSecurityConfig(final StatelessSecurityProperties properties) {
+        this.properties = properties;
+    }
+
+
+    @Bean
+    @Description("Signs and verifies the security context cookie")
+    public SecurityContextCookieCodec securityContextCookieCodec() {
+        return new SecurityContextCookieCodec(properties.getKeys(), properties.getAuthorities(),
+                properties.isEncrypt(), properties.getMaxAge(), Clock.systemUTC());
+    }
+
+    @Bean
+    @Description("Stateless cookie based SecurityContextRepository")
+    public SignedCookieSecurityContextRepository signedCookieSecurityContextRepository() {
+        return new SignedCookieSecurityContextRepository(securityContextCookieCodec(), properties.getCookieName(),
+                properties.getMaxAge(), properties.isSecureCookie());
+    }
+
+} // The End...
@@ -0,0 +1,51 @@
+package io.baselogic.springsecurity.configuration;
+
+import io.baselogic.springsecurity.web.context.SignedCookieSecurityContextRepository;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The 'security.stateless.*' properties of {@link StatelessSecurityConfig}.
+ *
+ * The lists bind either a YAML list or a comma separated value:
+ * <pre>
+ *  security:
+ *    stateless:
+ *      keys:
+ *        - k2:&lt;base64 secret&gt;
+ *        - k1:&lt;previous base64 secret&gt;
+ * </pre>
+ * or 'security.stateless.keys=k2:...,k1:...'.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created Class
+ */
+@ConfigurationProperties(prefix = "security.stateless")
+@Getter
+@Setter
+public class StatelessSecurityProperties {
+
+    private boolean enabled;
+
+    /** 'id:base64-secret' entries, the first key signs */
+    private List<String> keys = new ArrayList<>();
+
+    /** Bit order of the authority mask, must be the same on every node */
+    private List<String> authorities = new ArrayList<>(Arrays.asList("ROLE_USER", "ROLE_ADMIN"));
+
+    private boolean encrypt;
+
+    private Duration maxAge = Duration.ofMinutes(30);
+
+    private String cookieName = SignedCookieSecurityContextRepository.DEFAULT_COOKIE_NAME;
+
+    private boolean secureCookie = true;
+
+} // The End...
@@ -0,0 +1,64 @@
+package io.baselogic.springsecurity.configuration;
+
+import io.baselogic.springsecurity.userdetails.BoundedUserCache;
+import io.baselogic.springsecurity.userdetails.EventUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Description;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.authentication.CachingUserDetailsService;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+
+/**
+ * User Cache Configuration
+ *
+ * Wraps the {@link EventUserDetailsService} with a {@link CachingUserDetailsService} so form login,
+ * remember-me and X.509 lookups do not hit the database on every request.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created
+ */
+@Configuration
+public class UserCacheConfig {
+
+    @Value("${security.user-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${security.user-cache.time-to-live:5m}")
+    private Duration timeToLive;
+
+
+    @Bean
+    @Description("Bounded, TTL based UserCache")
+    public BoundedUserCache userCache(final MeterRegistry meterRegistry) {
+        return new BoundedUserCache(maxSize, timeToLive, meterRegistry);
+    }
+
+    /**
+     * The {@link UserDetailsService} used by {@link SecurityConfig}. Marked as {@link Primary} so that
+     * it is injected instead of the un-cached 'userDetailsService'.
+     *
+     * @param userDetailsService the un-cached {@link EventUserDetailsService}
+     * @param userCache the {@link UserCache} to store loaded users in
+     * @return CachingUserDetailsService
+     */
+    @Bean
+    @Primary
+    @Description("Caching decorator for the 'userDetailsService'")
+    public CachingUserDetailsService cachingUserDetailsService(
+            final @Qualifier("userDetailsService") UserDetailsService userDetailsService,
+            final UserCache userCache) {
+
+        CachingUserDetailsService result = new CachingUserDetailsService(userDetailsService);
+        result.setUserCache(userCache);
+        return result;
+    }
+
+} // The End...
@@ -0,0 +1,67 @@
+package io.baselogic.springsecurity.core.authority;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable, interned set of {@link GrantedAuthority}'s together with a bitmask of the same authorities.
+ * Instances are obtained from {@link AuthoritySets} and shared between all users with the same authorities.
+ * A de-serialized instance is re-interned, as bits are assigned per JVM.
+ *
+ * @author Mick Knutson
+ *
+ * @since chapter12.05 Created Class
+ */
+public final class AuthoritySet implements Serializable {
+
+    private final long mask;
+    private final List<GrantedAuthority> authorities;
+
+    AuthoritySet(final long mask, final List<GrantedAuthority> authorities) {
+        this.mask = mask;
+        this.authorities = authorities;
+    }
+
+    /**
+     * @return the bitmask of this set, see {@link AuthoritySets#bit(String)}
+     */
+    public long getMask() {
+        return mask;
+    }
+
+    /**
+     * @return an unmodifiable {@link List} of the {@link GrantedAuthority}'s in this set
+     */
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * A single bit test, no iteration or String comparison.
+     *
+     * @param authority such as 'ROLE_USER'
+     * @return true if the authority is in this set
+     */
+    public boolean hasAuthority(final String authority) {
+        long bit = AuthoritySets.bit(authority);
+        return bit != 0L && (mask & bit) == bit;
+    }
+
+    @Override
+    public String toString() {
+        return authorities.toString();
+    }
+
+    private Object readResolve() {
+        return AuthoritySets.intern(authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList()));
+    }
+
+    private static final long serialVersionUID = -6062640478356224316L;
+
+} // The End...
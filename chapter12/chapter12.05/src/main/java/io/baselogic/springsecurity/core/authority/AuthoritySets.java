@@ -0,0 +1,117 @@
+package io.baselogic.springsecurity.core.authority;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Interns {@link AuthoritySet}'s so every user with the same combination of roles shares one immutable
+ * {@link GrantedAuthority} collection, instead of allocating a new list each time Spring Security asks
+ * for {@link org.springframework.security.core.userdetails.UserDetails#getAuthorities()}.
+ *
+ * Each authority name is assigned one bit the first time it is seen. At most 64 distinct authorities are supported.
+ *
+ * @author Mick Knutson
+ *
+ * @since chapter12.05 Created Class
+ */
+public final class AuthoritySets {
+
+    private static final int MAX_AUTHORITIES = Long.SIZE;
+
+    private static final Map<String, Integer> BITS = new ConcurrentHashMap<>();
+    private static final List<String> NAMES = Collections.synchronizedList(new ArrayList<>());
+    private static final Map<Long, AuthoritySet> SETS = new ConcurrentHashMap<>();
+
+    public static final AuthoritySet EMPTY = new AuthoritySet(0L, Collections.emptyList());
+
+    private AuthoritySets() {}
+
+
+    /**
+     * Derive the {@link AuthoritySet} from the persisted {@link Role}'s of the {@link AppUser}.
+     *
+     * @param appUser the {@link AppUser} with roles loaded from 'user_role'
+     * @return the shared {@link AuthoritySet}
+     */
+    public static AuthoritySet of(final @NotNull AppUser appUser) {
+        if (appUser.getRoles() == null) {
+            return EMPTY;
+        }
+        return intern(appUser.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * @param authorities authority names, such as 'ROLE_USER'
+     * @return the shared {@link AuthoritySet} for this combination of authorities
+     */
+    public static AuthoritySet intern(final @NotNull Collection<String> authorities) {
+        long mask = 0L;
+        for (String authority : authorities) {
+            mask |= register(authority);
+        }
+        return forMask(mask);
+    }
+
+    /**
+     * @param mask bitmask of registered authorities
+     * @return the shared {@link AuthoritySet} for the mask
+     */
+    public static AuthoritySet forMask(final long mask) {
+        if (mask == 0L) {
+            return EMPTY;
+        }
+        return SETS.computeIfAbsent(mask, m -> {
+            List<GrantedAuthority> authorities = new ArrayList<>(Long.bitCount(m));
+            for (int i = 0; i < MAX_AUTHORITIES; i++) {
+                if ((m & (1L << i)) != 0) {
+                    authorities.add(new SimpleGrantedAuthority(NAMES.get(i)));
+                }
+            }
+            return new AuthoritySet(m, Collections.unmodifiableList(authorities));
+        });
+    }
+
+    /**
+     * @param authority authority name, such as 'ROLE_USER'
+     * @return the bit of an already registered authority, or 0 if it was never seen.
+     */
+    public static long bit(final String authority) {
+        Integer index = authority == null ? null : BITS.get(authority);
+        return index == null ? 0L : 1L << index;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private static long register(final String authority) {
+        Integer index = BITS.get(authority);
+        if (index == null) {
+            synchronized (NAMES) {
+                index = BITS.get(authority);
+                if (index == null) {
+                    if (NAMES.size() == MAX_AUTHORITIES) {
+                        throw new IllegalStateException("More than " + MAX_AUTHORITIES + " distinct authorities");
+                    }
+                    index = NAMES.size();
+                    NAMES.add(authority);
+                    BITS.put(authority, index);
+                }
+            }
+        }
+        return 1L << index;
+    }
+
+} // The End...
@@ -2,11 +2,12 @@ package io.baselogic.springsecurity.core.authority;
 
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.EventUserDetails;
+import io.baselogic.springsecurity.domain.Role;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.User;
 
 import javax.validation.constraints.NotNull;
+import java.util.Arrays;
 import java.util.Collection;
 
 /**
@@ -17,16 +18,35 @@ import java.util.Collection;
 
  * @since chapter03.03
  * @since chapter04.01 added {@link UserAuthorityUtils#getUserEmail(Object)} method
+ * @since chapter12.05 authorities derived from {@link Role}'s and interned as {@link AuthoritySet}'s
  *
  */
 public interface UserAuthorityUtils {
 
+    AuthoritySet USER_AUTHORITIES = AuthoritySets.intern(Arrays.asList("ROLE_USER"));
+    AuthoritySet ADMIN_AUTHORITIES = AuthoritySets.intern(Arrays.asList("ROLE_ADMIN", "ROLE_USER"));
+
     public static Collection<GrantedAuthority> createAuthorities(final @NotNull AppUser appUser) {
+        return createAuthoritySet(appUser).getAuthorities();
+    }
+
+    /**
+     * Derive the shared {@link AuthoritySet} from the persisted {@link Role}'s of the {@link AppUser}.
+     * Only an {@link AppUser} that was not loaded with its roles, {@code getRoles() == null}, falls back to the
+     * email based rule. A user whose roles were all revoked has an empty set of roles, and no authorities.
+     *
+     * @since chapter12.05
+     */
+    public static AuthoritySet createAuthoritySet(final @NotNull AppUser appUser) {
+        if (appUser.getRoles() != null) {
+            return AuthoritySets.of(appUser);
+        }
+
         String username = appUser.getEmail();
         if (username.startsWith("admin")) {
-            return AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER");
+            return ADMIN_AUTHORITIES;
         }
-        return AuthorityUtils.createAuthorityList("ROLE_USER");
+        return USER_AUTHORITIES;
     }
 
     public static String getUserEmail(final @NotNull Object user) {
@@ -1,20 +1,39 @@
 package io.baselogic.springsecurity.crypto.bcrypt;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
 
 /**
  * A utility class that can be used to convert passwords to use BCrypt.
  * Implementation of PasswordEncoder that uses the BCrypt strong hashing function.
  *
+ * Also a calibration harness: with <code>--calibrate [targetMillis]</code> it measures the verification
+ * latency of bcrypt, scrypt, Argon2 and PBKDF2 on this host with increasing cost settings, and recommends
+ * the strongest setting of each that still verifies within <code>targetMillis</code> (default 250ms).
+ * Use the bcrypt recommendation for 'security.password-encoder.bcrypt-strength'.
+ *
  * @author Mick Knutson
  * @see BCryptPasswordEncoder
+ * @since chapter12.05 Added the password encoder calibration harness
  */
 @Slf4j
 public final class BCryptPasswordEncoderMain {
 
+    public static final String CALIBRATE = "--calibrate";
+    public static final long DEFAULT_TARGET_MILLIS = 250L;
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int SAMPLES = 3;
+
     public static String encode(final String password) {
         BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
         return passwordEncoder.encode(password);
@@ -26,14 +45,118 @@ public final class BCryptPasswordEncoderMain {
         return passwordEncoder.matches(rawPassword, encodedPassword);
     }
 
+
+    //-----------------------------------------------------------------------//
+    // @since chapter12.05 Calibration
+
+    /**
+     * Measure the average {@link PasswordEncoder#matches(CharSequence, String)} latency in milliseconds.
+     *
+     * @param passwordEncoder the {@link PasswordEncoder} to measure
+     * @return average verification time in milliseconds
+     */
+    public static double measure(final PasswordEncoder passwordEncoder) {
+        String encoded = passwordEncoder.encode(CALIBRATION_PASSWORD);
+
+        // warm up
+        passwordEncoder.matches(CALIBRATION_PASSWORD, encoded);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            passwordEncoder.matches(CALIBRATION_PASSWORD, encoded);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / SAMPLES;
+    }
+
+    /**
+     * Increase the cost from {@code minCost} (doubling the cost each step when {@code doubling} is set,
+     * otherwise adding one) until the verification latency exceeds {@code targetMillis} or {@code maxCost}
+     * is reached.
+     *
+     * @return the highest cost that verifies within {@code targetMillis},
+     *         or {@code minCost} if even that is too slow.
+     */
+    public static int calibrate(final String algorithm,
+                                final IntFunction<PasswordEncoder> encoderForCost,
+                                final int minCost,
+                                final int maxCost,
+                                final boolean doubling,
+                                final long targetMillis,
+                                final StringBuilder report) {
+        int recommended = minCost;
+        for (int cost = minCost; cost <= maxCost; cost = doubling ? cost * 2 : cost + 1) {
+            double millis = measure(encoderForCost.apply(cost));
+            report.append(String.format("%n  %-8s cost=%-9d %10.2f ms", algorithm, cost, millis));
+            if (millis > targetMillis) {
+                break;
+            }
+            recommended = cost;
+        }
+        return recommended;
+    }
+
+    /**
+     * Calibrate bcrypt (strength), scrypt (cpuCost), Argon2 (memory in KB) and PBKDF2 (iterations).
+     *
+     * @param targetMillis the target verification latency in milliseconds
+     * @return recommended cost setting per algorithm
+     */
+    public static Map<String, Integer> calibrate(final long targetMillis) {
+        StringBuilder report = new StringBuilder(2_000);
+        report.append("\n------------------------------------------------");
+        report.append("\nCalibrating PasswordEncoders for a verification target of ")
+                .append(targetMillis).append(" ms");
+        report.append("\n------------------------------------------------");
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+
+        result.put("bcrypt", calibrate("bcrypt",
+                BCryptPasswordEncoder::new,
+                4, 16, false, targetMillis, report));
+
+        result.put("scrypt", calibrate("scrypt",
+                cpuCost -> new SCryptPasswordEncoder(cpuCost, 8, 1, 32, 16),
+                1 << 10, 1 << 20, true, targetMillis, report));
+
+        result.put("argon2", calibrate("argon2",
+                memory -> new Argon2PasswordEncoder(16, 32, 1, memory, 3),
+                1 << 10, 1 << 20, true, targetMillis, report));
+
+        result.put("pbkdf2", calibrate("pbkdf2",
+                iterations -> new Pbkdf2PasswordEncoder("", iterations, 256),
+                10_000, 10_240_000, true, targetMillis, report));
+
+        report.append("\n\n------------------------------------------------");
+        report.append("\nRecommended settings:");
+        report.append("\n  bcrypt   strength   = ").append(result.get("bcrypt"));
+        report.append("\n  scrypt   cpuCost    = ").append(result.get("scrypt"));
+        report.append("\n  argon2   memory(KB) = ").append(result.get("argon2"));
+        report.append("\n  pbkdf2   iterations = ").append(result.get("pbkdf2"));
+        report.append("\n------------------------------------------------\n\n");
+
+        log.info(report.toString());
+        return result;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
     /**
      * Encode a single password if supplied as args[0]
      * Otherwise, encode the standard passwords:
      * <pre>"user1", "admin1", "user2", "admin", "test"</pre>
      *
+     * Run the calibration with <pre>--calibrate [targetMillis]</pre>
+     *
      * @param args single password to encode
      */
     public static void main(final String[] args) {
+        if (args != null && args.length > 0 && CALIBRATE.equals(args[0])) {
+            long targetMillis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_TARGET_MILLIS;
+            calibrate(targetMillis);
+            return;
+        }
+
         StringBuilder sb = new StringBuilder(1_000);
         sb.append("\n------------------------------------------------");
         sb.append("\nLets encrypt our standard passwords with our PasswordEncoder:");
@@ -0,0 +1,140 @@
+package io.baselogic.springsecurity.crypto.password;
+
+import io.baselogic.springsecurity.authentication.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PasswordEncoder} that runs {@link PasswordEncoder#matches(CharSequence, String)} of a delegate
+ * on a dedicated, bounded executor.
+ *
+ * At most {@code parallelism} hashes are computed at the same time, and at most {@code queueCapacity}
+ * requests wait for a hashing thread. Any further request fails fast with a {@link LoginThrottledException},
+ * so a credential-stuffing burst cannot take all the CPU away from browsing traffic.
+ *
+ * {@link PasswordEncoder#encode(CharSequence)} is used by registration, password changes and the hash
+ * upgrade after a login, none of which should fail because of a login burst. It runs on the calling thread
+ * instead, waiting for one of {@code parallelism} permits that are separate from the login executor.
+ *
+ * Metrics are published to the {@link MeterRegistry} as:
+ * <ul>
+ *     <li>{@code password.hash.latency}</li>
+ *     <li>{@code password.hash.queue.depth}</li>
+ *     <li>{@code password.hash.active}</li>
+ *     <li>{@code password.hash.rejected}</li>
+ * </ul>
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created Class
+ * @since chapter12.05 encode() has its own bounded path and never throws a {@link LoginThrottledException}
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore encodePermits;
+
+    private final Timer latency;
+    private final Counter rejected;
+
+
+    public BoundedPasswordEncoder(final @NotNull PasswordEncoder delegate,
+                                  final int parallelism,
+                                  final int queueCapacity,
+                                  final @NotNull MeterRegistry meterRegistry) {
+        if (parallelism < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("parallelism and queueCapacity must be greater than 0");
+        }
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodePermits = new Semaphore(parallelism, true);
+
+        this.latency = meterRegistry.timer("password.hash.latency");
+        this.rejected = meterRegistry.counter("password.hash.rejected");
+        meterRegistry.gauge("password.hash.queue.depth", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("password.hash.active", executor, ThreadPoolExecutor::getActiveCount);
+
+        log.info("*** Password hashing executor: parallelism={}, queueCapacity={}", parallelism, queueCapacity);
+    }
+
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        try {
+            encodePermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while encoding the password", e);
+        }
+        try {
+            return latency.record(() -> delegate.encode(rawPassword));
+        } finally {
+            encodePermits.release();
+        }
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stop the hashing threads. Invoked by Spring when the context is closed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private <T> T execute(final Callable<T> hash) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> latency.recordCallable(hash));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new LoginThrottledException("Too many login attempts, please try again later.", e);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new AuthenticationServiceException("Interrupted while verifying the password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new AuthenticationServiceException("Unable to verify the password", e.getCause());
+        }
+    }
+
+} // The End...
@@ -22,6 +22,7 @@ import java.util.Set;
  *
  * @author Mick Knutson
  * @since chapter05.01 Created Class
+ * @since chapter12.05 Added updatePassword()
  */
 @Repository
 @Validated
@@ -76,4 +77,16 @@ public class JpaUserDao implements UserDao {
         return result.getId();
     }
 
+    /**
+     * @since chapter12.05
+     */
+    @Override
+    @Transactional
+    public void updatePassword(final @NotNull Integer id, final @NotEmpty String encodedPassword) {
+        AppUser appUser = appUserRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("No AppUser found with id " + id));
+
+        appUser.setPassword(encodedPassword);
+    }
+
 } // The End...
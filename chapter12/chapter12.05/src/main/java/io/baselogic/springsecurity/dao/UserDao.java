@@ -61,4 +61,17 @@ public interface UserDao {
      */
     Integer save(@NotNull AppUser appUser);
 
+    /**
+     * Replaces the stored (encoded) password of an existing {@link AppUser}.
+     *
+     * @param id
+     *            the {@link AppUser#getId()} of the {@link AppUser} to update.
+     * @param encodedPassword
+     *            the new, already encoded, password.
+     * @throws IllegalArgumentException
+     *             if the {@link AppUser} cannot be found.
+     * @since chapter12.05
+     */
+    void updatePassword(@NotNull Integer id, @NotEmpty String encodedPassword);
+
 } // The End...
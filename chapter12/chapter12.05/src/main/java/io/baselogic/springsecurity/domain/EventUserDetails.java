@@ -1,5 +1,6 @@
 package io.baselogic.springsecurity.domain;
 
+import io.baselogic.springsecurity.core.authority.AuthoritySet;
 import io.baselogic.springsecurity.core.authority.UserAuthorityUtils;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,23 +22,48 @@ import java.util.Collection;
  *
  * @author mickknutson
  * @since chapter03.04
+ * @since chapter12.05 authorities are computed once, when the user is loaded
  *
  */
 public class EventUserDetails
         extends AppUser
         implements UserDetails {
 
+    private final AuthoritySet authoritySet;
+
     public EventUserDetails(AppUser appUser) {
         setId(appUser.getId());
         setEmail(appUser.getEmail());
         setFirstName(appUser.getFirstName());
         setLastName(appUser.getLastName());
         setPassword(appUser.getPassword());
+
+        this.authoritySet = appUser instanceof EventUserDetails ?
+                ((EventUserDetails) appUser).authoritySet : UserAuthorityUtils.createAuthoritySet(appUser);
+    }
+
+    /**
+     * A principal restored with a known {@link AuthoritySet}, such as from a signed cookie.
+     *
+     * @since chapter12.05
+     */
+    public EventUserDetails(AppUser appUser, AuthoritySet authoritySet) {
+        setId(appUser.getId());
+        setEmail(appUser.getEmail());
+        setFirstName(appUser.getFirstName());
+        setLastName(appUser.getLastName());
+        setPassword(appUser.getPassword());
+
+        this.authoritySet = authoritySet;
     }
 
     @Override
     public Collection<GrantedAuthority> getAuthorities() {
-        return UserAuthorityUtils.createAuthorities(this);
+        return authoritySet.getAuthorities();
+    }
+
+    public AuthoritySet getAuthoritySet() {
+        return authoritySet;
     }
 
     @Override
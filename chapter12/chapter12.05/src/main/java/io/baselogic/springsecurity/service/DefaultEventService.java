@@ -5,6 +5,7 @@ import io.baselogic.springsecurity.dao.UserDao;
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.Event;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Service;
@@ -24,6 +25,7 @@ import java.util.List;
  * @since chapter04.03 added jdbcOperations.update for appUsers_authorities
  * @since chapter05.01 Removed Jdbc functions
  * @since chapter05.01 Added JPA Support
+ * @since chapter12.05 Evict created users from the {@link UserCache}
  *
  */
 @Service
@@ -35,14 +37,18 @@ public class DefaultEventService implements EventService {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final UserCache userCache;
+
 
     @Autowired
     public DefaultEventService(final @NotNull EventDao eventDao,
                                final @NotNull UserDao userDao,
-                               final PasswordEncoder passwordEncoder) {
+                               final PasswordEncoder passwordEncoder,
+                               final @NotNull UserCache userCache) {
         this.eventDao = eventDao;
         this.userDao = userDao;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
     }
 
     @Override
@@ -85,7 +91,12 @@ public class DefaultEventService implements EventService {
         String encodedPassword = passwordEncoder.encode(appUser.getPassword());
         appUser.setPassword(encodedPassword);
 
-        return userDao.save(appUser);
+        Integer userId = userDao.save(appUser);
+
+        // Never serve a stale UserDetails for a (re-)created email address:
+        userCache.removeUserFromCache(appUser.getEmail());
+
+        return userId;
     }
 
 } // The End...
\ No newline at end of file
@@ -5,6 +5,7 @@ import io.baselogic.springsecurity.core.authority.UserAuthorityUtils;
 import io.baselogic.springsecurity.domain.AppUser;
 import io.baselogic.springsecurity.domain.EventUserDetails;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.authentication.configurers.provisioning.JdbcUserDetailsManagerConfigurer;
@@ -16,6 +17,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -31,19 +34,27 @@ import javax.validation.constraints.NotNull;
  * @since chapter03.04 simplify setCurrentUser(AppUser)
  * @since chapter04.01 Removed @Qualifier("eventUserDetailsService") to no longer require EventUserDetailsService.
  * @since chapter04.02 added conversion to/from {@link org.springframework.security.core.userdetails.User}
+ * @since chapter12.05 resolve the {@link AppUser} from the {@link EventUserDetails} principal without a query
  */
 @Component
 public class SpringSecurityUserContext implements UserContext {
 
+    /** Request attribute used to memo the {@link AppUser} loaded from the database */
+    static final String CURRENT_USER_ATTRIBUTE = SpringSecurityUserContext.class.getName() + ".CURRENT_USER";
+
     private final EventService eventService;
     private final UserDetailsService userDetailsService;
+    private final boolean resolveFromPrincipal;
 
     @Autowired
     public SpringSecurityUserContext(final @NotNull EventService eventService,
-                                     final @NotNull UserDetailsService userDetailsService) {
+                                     final @NotNull UserDetailsService userDetailsService,
+                                     final @Value("${security.user-context.resolve-from-principal:true}")
+                                             boolean resolveFromPrincipal) {
 
         this.eventService = eventService;
         this.userDetailsService = userDetailsService;
+        this.resolveFromPrincipal = resolveFromPrincipal;
     }
 
 
@@ -57,6 +68,10 @@ public class SpringSecurityUserContext implements UserContext {
      * Additionally I added {@link UserAuthorityUtils#getUserEmail(Object)} call as
      * with the default {@link JdbcUserDetailsManagerConfigurer}, we get a {@link User}
      * not a {@link EventUserDetails}.
+     *
+     * @since chapter12.05 When 'security.user-context.resolve-from-principal' is true (the default) and the
+     * principal is a {@link EventUserDetails}, the {@link AppUser} is built from the principal and no query is
+     * issued. Otherwise the {@link AppUser} is loaded once per request and memoized as a request attribute.
      */
     @Override
     public AppUser getCurrentUser() {
@@ -66,18 +81,39 @@ public class SpringSecurityUserContext implements UserContext {
             return null;
         }
 
+        Object principal = authentication.getPrincipal();
+        if (resolveFromPrincipal && principal instanceof EventUserDetails) {
+            EventUserDetails userDetails = (EventUserDetails) principal;
+            return AppUser.builder()
+                    .id(userDetails.getId())
+                    .email(userDetails.getEmail())
+                    .firstName(userDetails.getFirstName())
+                    .lastName(userDetails.getLastName())
+                    .build();
+        }
+
         // NOTE: authentication.getPrincipal() returns {@link User} if we use the default
         // {@link JdbcUserDetailsManagerConfigurer}, but {@link EventUserDetails} when we use a custom
         // {@link EventUserDetailsService}
-        String email = UserAuthorityUtils.getUserEmail(
-                authentication.getPrincipal()
-        );
+        String email = UserAuthorityUtils.getUserEmail(principal);
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object memo = attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (memo instanceof AppUser && ((AppUser) memo).getEmail().equals(email)) {
+                return (AppUser) memo;
+            }
+        }
 
         AppUser result = eventService.findUserByEmail(email);
         if (result == null) {
             throw new IllegalStateException(
                     "Spring Security is not in synch with AppUsers. Could not find user with email " + email);
         }
+
+        if (attributes != null) {
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, result, RequestAttributes.SCOPE_REQUEST);
+        }
         return result;
     }
 
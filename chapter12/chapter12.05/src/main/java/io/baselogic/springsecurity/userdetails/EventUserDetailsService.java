@@ -7,7 +7,9 @@ import io.baselogic.springsecurity.service.DefaultEventService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -30,17 +32,21 @@ import javax.validation.constraints.NotNull;
  * @since chapter03.05 Removed Class
  * @since chapter05.01 Re-Created Class from chapter03.04
  * @since chapter05.01 Added custom Service name @Service("userDetailsService")
+ * @since chapter12.05 Implements {@link UserDetailsPasswordService} to store upgraded password hashes
  *
  */
 @Service("userDetailsService")
 @Slf4j
-public class EventUserDetailsService implements UserDetailsService {
+public class EventUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserDao userDao;
+    private final UserCache userCache;
 
     @Autowired
-    public EventUserDetailsService(final @NotNull UserDao userDao) {
+    public EventUserDetailsService(final @NotNull UserDao userDao,
+                                   final @NotNull UserCache userCache) {
         this.userDao = userDao;
+        this.userCache = userCache;
     }
 
 
@@ -59,4 +65,24 @@ public class EventUserDetailsService implements UserDetailsService {
         return new EventUserDetails(appUser);
     }
 
+    /**
+     * Called by the {@link org.springframework.security.authentication.dao.DaoAuthenticationProvider}
+     * after a successful login when the stored password hash needs upgrading, such as when the
+     * bcrypt strength was raised. The cached {@link UserDetails} is evicted.
+     *
+     * @since chapter12.05
+     */
+    @Override
+    public UserDetails updatePassword(final UserDetails user, final String newPassword) {
+        log.info("*** Upgrading password encoding for '{}'", user.getUsername());
+        EventUserDetails userDetails = (EventUserDetails) user;
+
+        userDao.updatePassword(userDetails.getId(), newPassword);
+        userCache.removeUserFromCache(userDetails.getUsername());
+
+        EventUserDetails result = new EventUserDetails(userDetails);
+        result.setPassword(newPassword);
+        return result;
+    }
+
 } // The End...
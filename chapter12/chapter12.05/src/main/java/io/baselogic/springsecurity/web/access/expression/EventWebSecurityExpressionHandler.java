@@ -0,0 +1,31 @@
+package io.baselogic.springsecurity.web.access.expression;
+
+import org.springframework.security.access.expression.SecurityExpressionOperations;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.FilterInvocation;
+import org.springframework.security.web.access.expression.DefaultWebSecurityExpressionHandler;
+
+/**
+ * A {@link DefaultWebSecurityExpressionHandler} creating {@link EventWebSecurityExpressionRoot}'s.
+ *
+ * @author Mick Knutson
+ *
+ * @since chapter12.05 Created Class
+ */
+public class EventWebSecurityExpressionHandler extends DefaultWebSecurityExpressionHandler {
+
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    @Override
+    protected SecurityExpressionOperations createSecurityExpressionRoot(final Authentication authentication,
+                                                                        final FilterInvocation fi) {
+        EventWebSecurityExpressionRoot root = new EventWebSecurityExpressionRoot(authentication, fi);
+        root.setPermissionEvaluator(getPermissionEvaluator());
+        root.setTrustResolver(trustResolver);
+        root.setRoleHierarchy(getRoleHierarchy());
+        return root;
+    }
+
+} // The End...
@@ -0,0 +1,48 @@
+package io.baselogic.springsecurity.web.access.expression;
+
+import io.baselogic.springsecurity.core.authority.AuthoritySet;
+import io.baselogic.springsecurity.domain.EventUserDetails;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.FilterInvocation;
+import org.springframework.security.web.access.expression.WebSecurityExpressionRoot;
+
+/**
+ * Adds {@code hasEventRole('USER')} and {@code hasEventAuthority('ROLE_USER')} to the web security expressions.
+ *
+ * For an {@link EventUserDetails} principal the check is a single bit test against the precomputed
+ * {@link AuthoritySet}, for any other principal it falls back to scanning the granted authorities.
+ *
+ * @author Mick Knutson
+ *
+ * @since chapter12.05 Created Class
+ */
+public class EventWebSecurityExpressionRoot extends WebSecurityExpressionRoot {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    public EventWebSecurityExpressionRoot(final Authentication authentication, final FilterInvocation fi) {
+        super(authentication, fi);
+    }
+
+    public final boolean hasEventRole(final String role) {
+        return hasEventAuthority(role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role);
+    }
+
+    public final boolean hasEventAuthority(final String authority) {
+        Authentication authentication = getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        if (authentication.getPrincipal() instanceof EventUserDetails) {
+            return ((EventUserDetails) authentication.getPrincipal()).getAuthoritySet().hasAuthority(authority);
+        }
+        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
+            if (authority.equals(grantedAuthority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+} // The End...
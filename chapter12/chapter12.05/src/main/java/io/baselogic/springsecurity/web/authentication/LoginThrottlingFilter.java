@@ -0,0 +1,69 @@
+package io.baselogic.springsecurity.web.authentication;
+
+import io.baselogic.springsecurity.authentication.LoginAttemptThrottle;
+import io.baselogic.springsecurity.authentication.LoginThrottledException;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+
+/**
+ * Rejects a login request for a blocked username or remote address before it reaches the
+ * {@link org.springframework.security.authentication.AuthenticationManager}, so a blocked attempt
+ * costs neither a database lookup nor a password hash.
+ *
+ * Must be added before the
+ * {@link org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter}.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created Class
+ */
+public class LoginThrottlingFilter extends OncePerRequestFilter {
+
+    private final LoginAttemptThrottle throttle;
+    private final AuthenticationFailureHandler failureHandler;
+    private final RequestMatcher loginRequestMatcher;
+    private final String usernameParameter;
+
+
+    public LoginThrottlingFilter(final @NotNull LoginAttemptThrottle throttle,
+                                 final @NotNull AuthenticationFailureHandler failureHandler,
+                                 final @NotNull String loginProcessingUrl,
+                                 final @NotNull String usernameParameter) {
+        this.throttle = throttle;
+        this.failureHandler = failureHandler;
+        this.loginRequestMatcher = new AntPathRequestMatcher(loginProcessingUrl, "POST");
+        this.usernameParameter = usernameParameter;
+    }
+
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !loginRequestMatcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+
+        long blockedForMillis = throttle.blockedForMillis(request.getParameter(usernameParameter),
+                request.getRemoteAddr());
+        if (blockedForMillis > 0) {
+            failureHandler.onAuthenticationFailure(request, response,
+                    new LoginThrottledException("Too many failed login attempts, please try again later.",
+                            (blockedForMillis + 999) / 1000));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+} // The End...
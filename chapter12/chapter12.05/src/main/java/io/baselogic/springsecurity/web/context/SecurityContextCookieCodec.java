@@ -0,0 +1,293 @@
+package io.baselogic.springsecurity.web.context;
+
+import io.baselogic.springsecurity.core.authority.AuthoritySets;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.EventUserDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import javax.validation.constraints.NotNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Encodes a minimal {@link EventUserDetails} principal (id, email, authority bitmask and issue time) into a
+ * cookie value, and decodes it again, see {@link SignedCookieSecurityContextRepository}.
+ *
+ * The value is {@code keyId.body.mac}, where the mac is an HMAC-SHA256 over {@code keyId.body}.
+ * With encryption enabled the body is AES-GCM encrypted before it is signed.
+ *
+ * Keys are configured as {@code id:base64-secret}. The first key signs new cookies, the other keys are
+ * only used to verify cookies issued before a key rotation. Secrets must be at least 32 bytes.
+ *
+ * Authority bits are assigned by position in the configured authority list, so every node in a cluster
+ * decodes the same mask to the same authorities. Authorities that are not in the list are not stored.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created Class
+ */
+@Slf4j
+public class SecurityContextCookieCodec {
+
+    private static final byte VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Map<String, Key> keys = new LinkedHashMap<>();
+    private final Key signingKey;
+    private final List<String> authorities;
+    private final boolean encrypt;
+    private final Duration maxAge;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+
+    public SecurityContextCookieCodec(final @NotNull List<String> keys,
+                                      final @NotNull List<String> authorities,
+                                      final boolean encrypt,
+                                      final @NotNull Duration maxAge,
+                                      final @NotNull Clock clock) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("At least one key is required");
+        }
+        if (authorities.size() > Long.SIZE) {
+            throw new IllegalArgumentException("At most " + Long.SIZE + " authorities are supported");
+        }
+        for (String key : keys) {
+            Key parsed = Key.parse(key);
+            this.keys.put(parsed.id, parsed);
+        }
+        this.signingKey = this.keys.values().iterator().next();
+        this.authorities = new ArrayList<>(authorities);
+        this.encrypt = encrypt;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+
+    /**
+     * @return the cookie value for the principal, issued now
+     */
+    public String encode(final @NotNull EventUserDetails user) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(VERSION);
+            out.writeInt(user.getId());
+            out.writeUTF(user.getEmail());
+            out.writeLong(mask(user));
+            out.writeLong(clock.instant().getEpochSecond());
+            out.flush();
+
+            byte[] body = encrypt ? encrypt(signingKey, bytes.toByteArray()) : bytes.toByteArray();
+            String signed = signingKey.id + '.' + ENCODER.encodeToString(body);
+            return signed + '.' + ENCODER.encodeToString(mac(signingKey, signed));
+
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to encode the security context", e);
+        }
+    }
+
+    /**
+     * @return the decoded principal, or null if the value is malformed, not signed by a known key or expired
+     */
+    public Token decode(final String value) {
+        if (value == null) {
+            return null;
+        }
+        int first = value.indexOf('.');
+        int last = value.lastIndexOf('.');
+        if (first < 1 || last == first) {
+            return null;
+        }
+
+        Key key = keys.get(value.substring(0, first));
+        if (key == null) {
+            log.debug("Security context cookie signed with an unknown key");
+            return null;
+        }
+
+        try {
+            String signed = value.substring(0, last);
+            if (!MessageDigest.isEqual(mac(key, signed), DECODER.decode(value.substring(last + 1)))) {
+                log.debug("Security context cookie with an invalid signature");
+                return null;
+            }
+
+            byte[] body = DECODER.decode(value.substring(first + 1, last));
+            DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(encrypt ? decrypt(key, body) : body));
+            if (in.readByte() != VERSION) {
+                return null;
+            }
+            AppUser appUser = AppUser.builder()
+                    .id(in.readInt())
+                    .email(in.readUTF())
+                    .build();
+            long mask = in.readLong();
+            Instant issuedAt = Instant.ofEpochSecond(in.readLong());
+
+            Instant now = clock.instant();
+            if (issuedAt.plus(maxAge).isBefore(now) || issuedAt.isAfter(now.plusSeconds(60))) {
+                return null;
+            }
+            return new Token(new EventUserDetails(appUser, AuthoritySets.intern(names(mask))), issuedAt, key == signingKey);
+
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            log.debug("Invalid security context cookie: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the token should be re-issued: older than half the max age, or signed by an old key
+     */
+    public boolean needsRefresh(final @NotNull Token token) {
+        return !token.currentKey || token.issuedAt.plus(maxAge.dividedBy(2)).isBefore(clock.instant());
+    }
+
+    public long mask(final @NotNull EventUserDetails user) {
+        long mask = 0L;
+        for (GrantedAuthority authority : user.getAuthorities()) {
+            int index = authorities.indexOf(authority.getAuthority());
+            if (index < 0) {
+                log.warn("*** Authority '{}' is not configured for the stateless cookie and is dropped",
+                        authority.getAuthority());
+                continue;
+            }
+            mask |= 1L << index;
+        }
+        return mask;
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private List<String> names(final long mask) {
+        List<String> result = new ArrayList<>(Long.bitCount(mask));
+        for (int i = 0; i < authorities.size(); i++) {
+            if ((mask & (1L << i)) != 0) {
+                result.add(authorities.get(i));
+            }
+        }
+        return result;
+    }
+
+    private static byte[] mac(final Key key, final String signed) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(key.macKey);
+        return mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private byte[] encrypt(final Key key, final byte[] plain) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, key.encryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+        byte[] encrypted = cipher.doFinal(plain);
+
+        byte[] result = new byte[IV_LENGTH + encrypted.length];
+        System.arraycopy(iv, 0, result, 0, IV_LENGTH);
+        System.arraycopy(encrypted, 0, result, IV_LENGTH, encrypted.length);
+        return result;
+    }
+
+    private static byte[] decrypt(final Key key, final byte[] body) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key.encryptionKey, new GCMParameterSpec(TAG_BITS, body, 0, IV_LENGTH));
+        return cipher.doFinal(body, IV_LENGTH, body.length - IV_LENGTH);
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    /**
+     * A decoded cookie.
+     */
+    public static final class Token {
+        private final EventUserDetails user;
+        private final Instant issuedAt;
+        private final boolean currentKey;
+
+        private Token(final EventUserDetails user, final Instant issuedAt, final boolean currentKey) {
+            this.user = user;
+            this.issuedAt = issuedAt;
+            this.currentKey = currentKey;
+        }
+
+        public EventUserDetails getUser() {
+            return user;
+        }
+
+        public Instant getIssuedAt() {
+            return issuedAt;
+        }
+    }
+
+    /**
+     * Separate signing and encryption keys, derived from one configured secret.
+     */
+    private static final class Key {
+        private final String id;
+        private final SecretKeySpec macKey;
+        private final SecretKeySpec encryptionKey;
+
+        private Key(final String id, final byte[] secret) throws GeneralSecurityException {
+            this.id = id;
+            this.macKey = new SecretKeySpec(derive(secret, "mac"), "HmacSHA256");
+            this.encryptionKey = new SecretKeySpec(derive(secret, "enc"), "AES");
+        }
+
+        private static Key parse(final String key) {
+            int separator = key.indexOf(':');
+            String id = separator < 0 ? "" : key.substring(0, separator).trim();
+            if (!KEY_ID.matcher(id).matches()) {
+                throw new IllegalArgumentException("Keys must be configured as 'id:base64-secret', "
+                        + "with an id of letters, digits, '_' or '-'");
+            }
+            byte[] secret = Base64.getDecoder().decode(key.substring(separator + 1).trim());
+            if (secret.length < MIN_SECRET_LENGTH) {
+                throw new IllegalArgumentException("The secret of key '" + id + "' must be at least "
+                        + MIN_SECRET_LENGTH + " bytes");
+            }
+            try {
+                return new Key(id, secret);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to derive the keys for '" + id + "'", e);
+            }
+        }
+
+        private static byte[] derive(final byte[] secret, final String purpose) throws GeneralSecurityException {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return mac.doFinal(purpose.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+} // The End...
@@ -0,0 +1,167 @@
+package io.baselogic.springsecurity.web.context;
+
+import io.baselogic.springsecurity.domain.EventUserDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SaveContextOnUpdateOrErrorResponseWrapper;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+/**
+ * A stateless {@link SecurityContextRepository}: instead of an {@link javax.servlet.http.HttpSession},
+ * the authenticated {@link EventUserDetails} is kept in a signed (and optionally encrypted) cookie,
+ * see {@link SecurityContextCookieCodec}. Any node holding the keys can restore the context, so no
+ * session replication or sticky sessions are needed.
+ *
+ * The cookie is only re-written when the principal changes, or when it is old enough to need a refresh,
+ * and it is written before the response is committed, like {@code HttpSessionSecurityContextRepository}.
+ * An anonymous or empty context removes the cookie.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created Class
+ */
+@Slf4j
+public class SignedCookieSecurityContextRepository implements SecurityContextRepository {
+
+    public static final String DEFAULT_COOKIE_NAME = "EVENT_CONTEXT";
+
+    private final SecurityContextCookieCodec codec;
+    private final String cookieName;
+    private final int maxAgeSeconds;
+    private final boolean secure;
+
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+
+    public SignedCookieSecurityContextRepository(final @NotNull SecurityContextCookieCodec codec,
+                                                 final @NotNull String cookieName,
+                                                 final @NotNull Duration maxAge,
+                                                 final boolean secure) {
+        this.codec = codec;
+        this.cookieName = cookieName;
+        this.maxAgeSeconds = (int) maxAge.getSeconds();
+        this.secure = secure;
+    }
+
+
+    @Override
+    public SecurityContext loadContext(final HttpRequestResponseHolder requestResponseHolder) {
+        HttpServletRequest request = requestResponseHolder.getRequest();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+
+        String value = readCookie(request);
+        SecurityContextCookieCodec.Token token = codec.decode(value);
+        if (token != null) {
+            EventUserDetails user = token.getUser();
+            context.setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        } else if (value != null) {
+            log.debug("*** Ignoring an invalid or expired '{}' cookie", cookieName);
+        }
+
+        requestResponseHolder.setResponse(new SaveToCookieResponseWrapper(
+                requestResponseHolder.getResponse(), request, token));
+        return context;
+    }
+
+    @Override
+    public void saveContext(final SecurityContext context,
+                            final HttpServletRequest request,
+                            final HttpServletResponse response) {
+        SaveToCookieResponseWrapper wrapper = WebUtils.getNativeResponse(response, SaveToCookieResponseWrapper.class);
+        if (wrapper == null) {
+            throw new IllegalStateException("Cannot invoke saveContext on response " + response
+                    + ". You must use the HttpRequestResponseHolder.response after invoking loadContext");
+        }
+        if (!wrapper.isContextSaved()) {
+            wrapper.saveContext(context);
+        }
+    }
+
+    @Override
+    public boolean containsContext(final HttpServletRequest request) {
+        return readCookie(request) != null;
+    }
+
+    /**
+     * Remove the cookie, such as on logout.
+     */
+    public void removeCookie(final HttpServletResponse response) {
+        response.addCookie(cookie("", 0));
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private String readCookie(final HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, cookieName);
+        return cookie == null ? null : cookie.getValue();
+    }
+
+    private Cookie cookie(final String value, final int maxAge) {
+        Cookie cookie = new Cookie(cookieName, value);
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(secure);
+        cookie.setMaxAge(maxAge);
+        return cookie;
+    }
+
+    /**
+     * Writes the cookie for the {@link SecurityContext} when the response is committed, or when the
+     * {@code SecurityContextPersistenceFilter} saves the context, whichever happens first.
+     */
+    private final class SaveToCookieResponseWrapper extends SaveContextOnUpdateOrErrorResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final SecurityContextCookieCodec.Token loaded;
+
+        private SaveToCookieResponseWrapper(final HttpServletResponse response,
+                                            final HttpServletRequest request,
+                                            final SecurityContextCookieCodec.Token loaded) {
+            super(response, true);
+            this.request = request;
+            this.loaded = loaded;
+        }
+
+        @Override
+        protected void saveContext(final SecurityContext context) {
+            Authentication authentication = context.getAuthentication();
+
+            if (authentication == null || trustResolver.isAnonymous(authentication)
+                    || !(authentication.getPrincipal() instanceof EventUserDetails)) {
+                if (readCookie(request) != null) {
+                    log.debug("*** No authenticated EventUserDetails, removing the '{}' cookie", cookieName);
+                    removeCookie(this);
+                }
+                return;
+            }
+
+            EventUserDetails user = (EventUserDetails) authentication.getPrincipal();
+            if (loaded != null && sameUser(loaded.getUser(), user) && !codec.needsRefresh(loaded)) {
+                return;
+            }
+            addCookie(cookie(codec.encode(user), maxAgeSeconds));
+        }
+
+        private boolean sameUser(final EventUserDetails loadedUser, final EventUserDetails user) {
+            return loadedUser.getId().equals(user.getId())
+                    && loadedUser.getEmail().equals(user.getEmail())
+                    && codec.mask(loadedUser) == codec.mask(user);
+        }
+    }
+
+} // The End...
@@ -82,6 +82,7 @@ public class EventsController {
      * @param eventDto Event data transfer Object
      *
      * @since chapter03.04 removed user id check (currentAppUser.getId() == 0 ? 1 : 0;)
+     * @since chapter12.05 use the current user's email instead of re-loading the user by id
      *
      */
     @PostMapping(value = "/new", params = "auto")
@@ -95,10 +96,7 @@ public class EventsController {
         AppUser currentAppUser = userContext.getCurrentUser();
 
         // @since chapter03.04 removed user id check
-        Integer attendeeId = currentAppUser.getId();
-
-        AppUser attendee = eventService.findUserById(attendeeId);
-        eventDto.setAttendeeEmail(attendee.getEmail());
+        eventDto.setAttendeeEmail(currentAppUser.getEmail());
 
         return EVENT_CREATE_VIEW;
     }
@@ -0,0 +1,81 @@
+package io.baselogic.springsecurity.actuate;
+
+import io.baselogic.springsecurity.annotations.WithMockEventUserDetailsAdmin1;
+import io.baselogic.springsecurity.annotations.WithMockEventUserDetailsUser1;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * LoginThrottleEndpointTests
+ *
+ * @since chapter12.05
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Slf4j
+public class LoginThrottleEndpointTests {
+
+    private MockMvc mockMvc;
+
+
+    @BeforeEach
+    void beforeEachTest(WebApplicationContext context) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    @Test
+    @DisplayName("Login Throttle Endpoint - anonymous - login required")
+    @WithAnonymousUser
+    void loginThrottle_anonymous() throws Exception {
+        mockMvc.perform(get("/actuator/loginthrottle"))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Location", endsWith("/login/form")));
+    }
+
+    @Test
+    @DisplayName("Login Throttle Endpoint - user1 - forbidden")
+    @WithMockEventUserDetailsUser1
+    void loginThrottle_user1() throws Exception {
+        mockMvc.perform(get("/actuator/loginthrottle"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Login Throttle Endpoint - admin1")
+    @WithMockEventUserDetailsAdmin1
+    void loginThrottle_admin1() throws Exception {
+        mockMvc.perform(get("/actuator/loginthrottle"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.blocked").isMap())
+                .andExpect(jsonPath("$.capacity").isNumber());
+    }
+
+    @Test
+    @DisplayName("Health Endpoint - anonymous - still public")
+    @WithAnonymousUser
+    void health_anonymous() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+} // The End...
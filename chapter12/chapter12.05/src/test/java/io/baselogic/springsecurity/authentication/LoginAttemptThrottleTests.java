@@ -0,0 +1,195 @@
+package io.baselogic.springsecurity.authentication;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * LoginAttemptThrottleTests
+ *
+ * @since chapter12.05
+ */
+@Slf4j
+class LoginAttemptThrottleTests {
+
+    private static final String USERNAME = "User1@baselogic.com";
+    private static final String ADDRESS = "127.0.0.1";
+    private static final String KEY = LoginAttemptThrottle.key(USERNAME, ADDRESS);
+
+    private MutableClock clock;
+    private LoginAttemptThrottle throttle;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        clock = new MutableClock();
+        throttle = new LoginAttemptThrottle(3, 5, 4, Duration.ofMinutes(1), Duration.ofMinutes(5),
+                8, 2, new SimpleMeterRegistry(), clock);
+    }
+
+
+    @Test
+    @DisplayName("LoginAttemptThrottle - blocked after maxFailures within the window")
+    void recordFailure_blocks() {
+        throttle.recordFailure(USERNAME, ADDRESS);
+        throttle.recordFailure(USERNAME, ADDRESS);
+        assertThat(throttle.blockedForMillis(USERNAME, ADDRESS)).isZero();
+
+        throttle.recordFailure(USERNAME, ADDRESS);
+        assertThat(throttle.blockedForMillis(USERNAME, ADDRESS)).isEqualTo(Duration.ofMinutes(5).toMillis());
+        assertThat(throttle.blocked()).containsOnlyKeys(KEY);
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(throttle.blockedForMillis(USERNAME, ADDRESS)).isZero();
+    }
+
+    @Test
+    @DisplayName("LoginAttemptThrottle - failures slide out of the window")
+    void recordFailure_window_slides() {
+        throttle.recordFailure(USERNAME, ADDRESS);
+        throttle.recordFailure(USERNAME, ADDRESS);
+        clock.advance(Duration.ofSeconds(61));
+
+        throttle.recordFailure(USERNAME, ADDRESS);
+        assertThat(throttle.blockedForMillis(USERNAME, ADDRESS)).isZero();
+    }
+
+    @Test
+    @DisplayName("LoginAttemptThrottle - success resets the counter")
+    void recordSuccess_resets() {
+        throttle.recordFailure(USERNAME, ADDRESS);
+        throttle.recordFailure(USERNAME, ADDRESS);
+        throttle.recordSuccess(USERNAME, ADDRESS);
+        throttle.recordFailure(USERNAME, ADDRESS);
+
+        assertThat(throttle.blockedForMillis(USERNAME, ADDRESS)).isZero();
+    }
+
+    @Test
+    @DisplayName("LoginAttemptThrottle - key is per username and remote address")
+    void key_per_address() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure(USERNAME, ADDRESS);
+        }
+        assertThat(throttle.blockedForMillis("user1@baselogic.com", "127.0.0.1")).isPositive();
+        assertThat(throttle.blockedForMillis("user1@baselogic.com", "10.0.0.1")).isZero();
+    }
+
+    @Test
+    @DisplayName("LoginAttemptThrottle - password spraying blocks the remote address")
+    void password_spraying() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure("user" + i + "@baselogic.com", ADDRESS);
+        }
+        assertThat(throttle.blockedForMillis("user99@baselogic.com", ADDRESS)).isZero();
+
+        throttle.recordFailure("user4@baselogic.com", ADDRESS);
+        throttle.recordSuccess("user4@baselogic.com", ADDRESS);
+
+        assertThat(throttle.blockedForMillis("user99@baselogic.com", ADDRESS))
+                .isEqualTo(Duration.ofMinutes(5).toMillis());
+        assertThat(throttle.blockedForMillis("user99@baselogic.com", "10.0.0.1")).isZero();
+        assertThat(throttle.blocked()).containsOnlyKeys(LoginAttemptThrottle.key(LoginAttemptThrottle.ANY, ADDRESS));
+    }
+
+    @Test
+    @DisplayName("LoginAttemptThrottle - failures from many addresses block the username")
+    void distributed_guessing() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure(USERNAME, "10.0.0." + i);
+        }
+
+        assertThat(throttle.blockedForMillis(USERNAME, "10.0.0.99")).isPositive();
+        assertThat(throttle.blockedForMillis("user2@baselogic.com", "10.0.0.99")).isZero();
+        assertThat(throttle.blocked()).containsOnlyKeys(LoginAttemptThrottle.key(USERNAME, LoginAttemptThrottle.ANY));
+    }
+
+    @Test
+    @DisplayName("LoginAttemptThrottle - new usernames do not evict a block")
+    void blocked_not_evicted() {
+        throttle = new LoginAttemptThrottle(3, 5, 4, Duration.ofMinutes(1), Duration.ofMinutes(5),
+                8, 1, new SimpleMeterRegistry(), clock);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure(USERNAME, ADDRESS);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            throttle.recordFailure("user" + i + "@baselogic.com", "10.0.1." + i);
+        }
+
+        assertThat(throttle.size()).isLessThanOrEqualTo(throttle.capacity());
+        assertThat(throttle.blockedForMillis(USERNAME, ADDRESS)).isPositive();
+    }
+
+    @Test
+    @DisplayName("LoginAttemptThrottle - memory is bounded")
+    void bounded() {
+        for (int i = 0; i < 100; i++) {
+            throttle.recordFailure("user" + i, "127.0.0.1");
+        }
+        assertThat(throttle.size()).isLessThanOrEqualTo(throttle.capacity());
+        assertThat(throttle.occupancy()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("LoginAttemptThrottle - expired counters are swept")
+    void expired_swept() {
+        throttle = new LoginAttemptThrottle(3, 5, 4, Duration.ofMinutes(1), Duration.ofMinutes(5),
+                8, 1, new SimpleMeterRegistry(), clock);
+        throttle.recordFailure(USERNAME, ADDRESS);
+        clock.advance(Duration.ofMinutes(2));
+
+        throttle.recordFailure(USERNAME + "x", ADDRESS + "x");
+        throttle.recordFailure(USERNAME + "y", ADDRESS + "y");
+
+        // Two counters per username and remote address, remote address and username
+        assertThat(throttle.size()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("LoginAttemptThrottle - stripes must be a power of two")
+    void invalid_stripes() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new LoginAttemptThrottle(3, 5, 4, Duration.ofMinutes(1), Duration.ofMinutes(5),
+                    8, 3, new SimpleMeterRegistry(), clock);
+        });
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2020-07-03T00:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+} // The End...
@@ -0,0 +1,95 @@
+package io.baselogic.springsecurity.core.authority;
+
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * AuthoritySetsTests
+ *
+ * @since chapter12.05
+ */
+@Slf4j
+class AuthoritySetsTests {
+
+    @Test
+    @DisplayName("AuthoritySets - same combination of roles shares one instance")
+    void intern_identity() {
+        AuthoritySet first = AuthoritySets.intern(Arrays.asList("ROLE_ADMIN", "ROLE_USER"));
+        AuthoritySet second = AuthoritySets.intern(Arrays.asList("ROLE_USER", "ROLE_ADMIN"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getAuthorities()).hasSize(2);
+        assertThat(first.hasAuthority("ROLE_ADMIN")).isTrue();
+        assertThat(first.hasAuthority("ROLE_USER")).isTrue();
+        assertThat(first.hasAuthority("ROLE_UNKNOWN")).isFalse();
+        assertThat(first.hasAuthority(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("AuthoritySets - derived from persisted Roles")
+    void of_roles() {
+        AppUser appUser = AppUser.builder()
+                .email("admin1@baselogic.com")
+                .roles(new HashSet<>(Arrays.asList(role("ROLE_USER"), role("ROLE_ADMIN"))))
+                .build();
+
+        AuthoritySet result = AuthoritySets.of(appUser);
+
+        assertThat(result).isSameAs(AuthoritySets.intern(Arrays.asList("ROLE_ADMIN", "ROLE_USER")));
+    }
+
+    @Test
+    @DisplayName("AuthoritySets - no roles")
+    void of_no_roles() {
+        assertThat(AuthoritySets.of(new AppUser())).isSameAs(AuthoritySets.EMPTY);
+        assertThat(AuthoritySets.intern(Collections.emptyList())).isSameAs(AuthoritySets.EMPTY);
+    }
+
+    @Test
+    @DisplayName("AuthoritySets - authorities are immutable")
+    void authorities_unmodifiable() {
+        AuthoritySet result = AuthoritySets.intern(Collections.singletonList("ROLE_USER"));
+
+        assertThrows(UnsupportedOperationException.class, () -> {
+            result.getAuthorities().clear();
+        });
+    }
+
+    @Test
+    @DisplayName("AuthoritySets - de-serialized set is re-interned")
+    void serialization() throws Exception {
+        AuthoritySet original = AuthoritySets.intern(Collections.singletonList("ROLE_USER"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(original);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(in.readObject()).isSameAs(original);
+        }
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private static Role role(final String name) {
+        Role role = new Role();
+        role.setName(name);
+        return role;
+    }
+
+} // The End...
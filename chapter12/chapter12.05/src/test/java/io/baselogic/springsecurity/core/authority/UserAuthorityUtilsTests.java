@@ -1,6 +1,9 @@
 package io.baselogic.springsecurity.core.authority;
 
 import io.baselogic.springsecurity.dao.TestUtils;
+import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.EventUserDetails;
+import io.baselogic.springsecurity.domain.Role;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.security.core.GrantedAuthority;
 
 import java.util.Collection;
+import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -27,6 +31,56 @@ class UserAuthorityUtilsTests {
         assertThat(authorities.size()).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("UserAuthorityUtilsTests - createAuthorities - email fallback is interned")
+    void createAuthorities_admin_fallback() {
+        Collection<GrantedAuthority> first = UserAuthorityUtils.createAuthorities(TestUtils.admin1);
+        Collection<GrantedAuthority> second = UserAuthorityUtils.createAuthorities(TestUtils.owner);
+
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("UserAuthorityUtilsTests - createAuthoritySet - from persisted Roles")
+    void createAuthoritySet_roles() {
+        Role admin = new Role();
+        admin.setName("ROLE_ADMIN");
+        AppUser appUser = AppUser.builder()
+                .email("user1@baselogic.com")
+                .roles(Collections.singleton(admin))
+                .build();
+
+        AuthoritySet result = UserAuthorityUtils.createAuthoritySet(appUser);
+
+        assertThat(result.hasAuthority("ROLE_ADMIN")).isTrue();
+        assertThat(result.hasAuthority("ROLE_USER")).isFalse();
+    }
+
+    @Test
+    @DisplayName("UserAuthorityUtilsTests - createAuthoritySet - admin email with all roles revoked")
+    void createAuthoritySet_admin_email_no_roles() {
+        AppUser appUser = AppUser.builder()
+                .email("admin2@baselogic.com")
+                .roles(Collections.emptySet())
+                .build();
+
+        AuthoritySet result = UserAuthorityUtils.createAuthoritySet(appUser);
+
+        assertThat(result).isSameAs(AuthoritySets.EMPTY);
+        assertThat(result.hasAuthority("ROLE_ADMIN")).isFalse();
+        assertThat(UserAuthorityUtils.createAuthorities(appUser)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("UserAuthorityUtilsTests - EventUserDetails computes authorities once")
+    void eventUserDetails_authorities() {
+        EventUserDetails userDetails = new EventUserDetails(TestUtils.admin1);
+
+        assertThat(userDetails.getAuthorities()).isSameAs(userDetails.getAuthorities());
+        assertThat(new EventUserDetails(userDetails).getAuthoritySet()).isSameAs(userDetails.getAuthoritySet());
+    }
+
 
     @Test
     @DisplayName("UserAuthorityUtilsTests - getUserEmail - AppUser")
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
@@ -66,4 +68,21 @@ class BCryptPasswordEncoderMainTests {
         assertThat("result").isNotEqualTo("completed");
     }
 
+    @Test
+    @DisplayName("BCryptPasswordEncoderMain - calibrate")
+    void calibrate() {
+        Map<String, Integer> result = BCryptPasswordEncoderMain.calibrate(1L);
+
+        assertThat(result).containsOnlyKeys("bcrypt", "scrypt", "argon2", "pbkdf2");
+        assertThat(result.get("bcrypt")).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("BCryptPasswordEncoderMain - main method - calibrate")
+    void main_calibrate() {
+        String[] args = {BCryptPasswordEncoderMain.CALIBRATE, "1"};
+        BCryptPasswordEncoderMain.main(args);
+        assertThat("result").isNotEqualTo("completed");
+    }
+
 } // The End...
@@ -0,0 +1,164 @@
+package io.baselogic.springsecurity.crypto.password;
+
+import io.baselogic.springsecurity.authentication.LoginThrottledException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * BoundedPasswordEncoderTests
+ *
+ * @since chapter12.05
+ */
+@Slf4j
+class BoundedPasswordEncoderTests {
+
+    private MeterRegistry meterRegistry;
+    private BoundedPasswordEncoder passwordEncoder;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, meterRegistry);
+    }
+
+    @AfterEach
+    void afterEachTest() {
+        passwordEncoder.shutdown();
+    }
+
+
+    @Test
+    @DisplayName("BoundedPasswordEncoder - encode and matches")
+    void encode_and_matches() {
+        String encoded = passwordEncoder.encode("user1");
+
+        assertThat(passwordEncoder.matches("user1", encoded)).isTrue();
+        assertThat(passwordEncoder.matches("admin1", encoded)).isFalse();
+        assertThat(meterRegistry.timer("password.hash.latency").count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("BoundedPasswordEncoder - fails fast when the queue is full")
+    void matches_queue_full() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        passwordEncoder.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry);
+
+        // One running, one queued:
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<Boolean> running = callers.submit(() -> passwordEncoder.matches("a", "b"));
+        while (meterRegistry.get("password.hash.active").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+        Future<Boolean> queued = callers.submit(() -> passwordEncoder.matches("a", "b"));
+        while (meterRegistry.get("password.hash.queue.depth").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(LoginThrottledException.class, () -> {
+            passwordEncoder.matches("a", "b");
+        });
+        assertThat(meterRegistry.counter("password.hash.rejected").count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+        callers.shutdown();
+    }
+
+    @Test
+    @DisplayName("BoundedPasswordEncoder - encode is not throttled by a full login queue")
+    void encode_queue_full() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        passwordEncoder.shutdown();
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry);
+
+        // Login executor saturated:
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<Boolean> running = callers.submit(() -> passwordEncoder.matches("a", "b"));
+        while (meterRegistry.get("password.hash.active").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+        Future<Boolean> queued = callers.submit(() -> passwordEncoder.matches("a", "b"));
+        while (meterRegistry.get("password.hash.queue.depth").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        String encoded = passwordEncoder.encode("user1");
+
+        assertThat(encoded).startsWith("$2a$04$");
+        assertThat(meterRegistry.counter("password.hash.rejected").count()).isEqualTo(0);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+        callers.shutdown();
+    }
+
+    @Test
+    @DisplayName("BoundedPasswordEncoder - delegate exceptions are re-thrown")
+    void matches_delegate_exception() {
+        PasswordEncoder failing = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw new IllegalStateException("delegate failure");
+            }
+        };
+        passwordEncoder.shutdown();
+        passwordEncoder = new BoundedPasswordEncoder(failing, 1, 1, new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, () -> {
+            passwordEncoder.matches("user1", "user1");
+        });
+    }
+
+    @Test
+    @DisplayName("BoundedPasswordEncoder - invalid parallelism")
+    void invalid_parallelism() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 0, 1, meterRegistry);
+        });
+    }
+
+} // The End...
@@ -8,12 +8,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * JpaEventDaoTests
@@ -119,5 +121,23 @@ class JpaUserDaoTests {
         assertThat(appUsers.size()).isGreaterThanOrEqualTo(4);
     }
 
+    //-----------------------------------------------------------------------//
+
+    @Test
+    void updatePassword() {
+        userDao.updatePassword(2, "{bcrypt}upgraded");
+
+        AppUser appUser = userDao.findById(2);
+        assertThat(appUser.getPassword()).isEqualTo("{bcrypt}upgraded");
+    }
+
+    @Test
+    void updatePassword_unknown_user() {
+        // The IllegalArgumentException is translated by the @Repository
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> {
+            userDao.updatePassword(4242, "{bcrypt}upgraded");
+        });
+    }
+
 
 } // The End...
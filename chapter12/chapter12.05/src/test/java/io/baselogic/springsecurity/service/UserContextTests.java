@@ -2,6 +2,7 @@ package io.baselogic.springsecurity.service;
 
 import io.baselogic.springsecurity.dao.TestUtils;
 import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.EventUserDetails;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
  *
  * @since chapter1.00
  * @since chapter4.02 Can only setCurrentUser() with a user that exist in the db.
+ * @since chapter12.05 getCurrentUser() resolves the AppUser from the EventUserDetails principal.
  */
 @ExtendWith(SpringExtension.class)
 @Transactional
@@ -82,4 +85,34 @@ class UserContextTests {
         assertThat(result).isNull();
     }
 
+    @Test
+    @DisplayName("getCurrentUser resolved from the EventUserDetails principal without a database lookup")
+    void getCurrentUser_from_principal() {
+        // Not in the database:
+        EventUserDetails principal = new EventUserDetails(TestUtils.TEST_APP_USER_1);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
+
+        AppUser result = userContext.getCurrentUser();
+
+        assertThat(result).isNotNull();
+        assertThat(result).isNotSameAs(principal);
+        assertThat(result.getId()).isEqualTo(42);
+        assertThat(result.getEmail()).isEqualTo(TestUtils.TEST_APP_USER_1.getEmail());
+        assertThat(result.getPassword()).isNull();
+    }
+
+    @Test
+    @DisplayName("getCurrentUser with a non EventUserDetails principal loads the AppUser")
+    void getCurrentUser_from_database() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(TestUtils.springUserUser, null)
+        );
+
+        assertThrows(IllegalStateException.class, () -> {
+            userContext.getCurrentUser();
+        });
+    }
+
 } // The End...
@@ -3,6 +3,7 @@ package io.baselogic.springsecurity.userdetails;
 import io.baselogic.springsecurity.dao.TestUtils;
 import io.baselogic.springsecurity.dao.UserDao;
 import io.baselogic.springsecurity.domain.AppUser;
+import io.baselogic.springsecurity.domain.EventUserDetails;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 
 /**
  * DefaultEventServiceTests
@@ -106,4 +108,17 @@ class EventUserDetailsServiceTests {
     }
 
 
+    @Test
+    @DisplayName("updatePassword - stores the upgraded hash")
+    void updatePassword() {
+        EventUserDetails user = new EventUserDetails(TestUtils.user1);
+
+        UserDetails result = eventUserDetailsService.updatePassword(user, "{bcrypt}upgraded");
+
+        then(userDao).should().updatePassword(TestUtils.user1.getId(), "{bcrypt}upgraded");
+        assertThat(result.getPassword()).isEqualTo("{bcrypt}upgraded");
+        assertThat(user.getPassword()).isEqualTo(TestUtils.user1.getPassword());
+    }
+
+
 } // The End...
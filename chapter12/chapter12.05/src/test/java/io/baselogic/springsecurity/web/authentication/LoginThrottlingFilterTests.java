@@ -0,0 +1,91 @@
+package io.baselogic.springsecurity.web.authentication;
+
+import io.baselogic.springsecurity.authentication.LoginAttemptThrottle;
+import io.baselogic.springsecurity.authentication.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.AuthenticationException;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LoginThrottlingFilterTests
+ *
+ * @since chapter12.05
+ */
+@Slf4j
+class LoginThrottlingFilterTests {
+
+    private LoginAttemptThrottle throttle;
+    private LoginThrottlingFilter filter;
+    private AuthenticationException failure;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        failure = null;
+        throttle = new LoginAttemptThrottle(1, 10, 10, Duration.ofMinutes(1), Duration.ofMinutes(5),
+                8, 1, new SimpleMeterRegistry(), Clock.systemUTC());
+        filter = new LoginThrottlingFilter(throttle,
+                (request, response, exception) -> failure = exception,
+                "/login", "username");
+    }
+
+
+    @Test
+    @DisplayName("LoginThrottlingFilter - allowed login continues the chain")
+    void allowed() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(login("user1@baselogic.com"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(failure).isNull();
+    }
+
+    @Test
+    @DisplayName("LoginThrottlingFilter - blocked login never reaches the AuthenticationManager")
+    void blocked() throws Exception {
+        throttle.recordFailure("user1@baselogic.com", "127.0.0.1");
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(login("user1@baselogic.com"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(failure).isInstanceOf(LoginThrottledException.class);
+        assertThat(((LoginThrottledException) failure).getRetryAfterSeconds()).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("LoginThrottlingFilter - other requests are not checked")
+    void not_login() throws Exception {
+        throttle.recordFailure("user1@baselogic.com", "127.0.0.1");
+        MockHttpServletRequest request = login("user1@baselogic.com");
+        request.setMethod("GET");
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private static MockHttpServletRequest login(final String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.setRemoteAddr("127.0.0.1");
+        request.setParameter("username", username);
+        return request;
+    }
+
+} // The End...
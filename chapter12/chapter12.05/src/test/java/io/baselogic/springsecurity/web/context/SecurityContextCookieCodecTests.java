@@ -0,0 +1,166 @@
+package io.baselogic.springsecurity.web.context;
+
+import io.baselogic.springsecurity.dao.TestUtils;
+import io.baselogic.springsecurity.domain.EventUserDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * SecurityContextCookieCodecTests
+ *
+ * @since chapter12.05
+ */
+class SecurityContextCookieCodecTests {
+
+    static final String KEY_1 = "k1:MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+    static final String KEY_2 = "k2:ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=";
+    static final List<String> AUTHORITIES = Arrays.asList("ROLE_USER", "ROLE_ADMIN");
+
+    private MutableClock clock;
+    private SecurityContextCookieCodec codec;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        clock = new MutableClock();
+        codec = codec(Collections.singletonList(KEY_1), false);
+    }
+
+
+    @Test
+    @DisplayName("SecurityContextCookieCodec - encode and decode")
+    void encode_decode() {
+        String value = codec.encode(TestUtils.admin1UserDetails);
+
+        assertThat(value).startsWith("k1.");
+        SecurityContextCookieCodec.Token token = codec.decode(value);
+        assertThat(token).isNotNull();
+
+        EventUserDetails user = token.getUser();
+        assertThat(user.getId()).isEqualTo(1);
+        assertThat(user.getEmail()).isEqualTo("admin1@baselogic.com");
+        assertThat(user.getPassword()).isNull();
+        assertThat(user.getAuthoritySet()).isSameAs(TestUtils.admin1UserDetails.getAuthoritySet());
+        assertThat(token.getIssuedAt()).isEqualTo(clock.now);
+    }
+
+    @Test
+    @DisplayName("SecurityContextCookieCodec - encrypted encode and decode")
+    void encode_decode_encrypted() {
+        codec = codec(Collections.singletonList(KEY_1), true);
+        String value = codec.encode(TestUtils.user1UserDetails);
+
+        SecurityContextCookieCodec.Token token = codec.decode(value);
+        assertThat(token).isNotNull();
+        assertThat(token.getUser().getEmail()).isEqualTo("user1@baselogic.com");
+        assertThat(token.getUser().getAuthorities()).hasSize(1);
+
+        // A random IV, so never the same value twice
+        assertThat(codec.encode(TestUtils.user1UserDetails)).isNotEqualTo(value);
+    }
+
+    @Test
+    @DisplayName("SecurityContextCookieCodec - tampered values are rejected")
+    void decode_tampered() {
+        String value = codec.encode(TestUtils.user1UserDetails);
+        int body = value.indexOf('.') + 3;
+        char changed = value.charAt(body) == 'A' ? 'B' : 'A';
+        String tampered = value.substring(0, body) + changed + value.substring(body + 1);
+
+        assertThat(codec.decode(tampered)).isNull();
+        assertThat(codec.decode("k1.abc")).isNull();
+        assertThat(codec.decode("nonsense")).isNull();
+        assertThat(codec.decode("k9.abc.def")).isNull();
+        assertThat(codec.decode(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("SecurityContextCookieCodec - old keys verify, new key signs")
+    void key_rotation() {
+        String old = codec.encode(TestUtils.user1UserDetails);
+
+        SecurityContextCookieCodec rotated = codec(Arrays.asList(KEY_2, KEY_1), false);
+        SecurityContextCookieCodec.Token token = rotated.decode(old);
+        assertThat(token).isNotNull();
+        assertThat(rotated.needsRefresh(token)).isTrue();
+
+        String current = rotated.encode(TestUtils.user1UserDetails);
+        assertThat(current).startsWith("k2.");
+        assertThat(rotated.needsRefresh(rotated.decode(current))).isFalse();
+
+        // Once the old key is removed
+        assertThat(codec(Collections.singletonList(KEY_2), false).decode(old)).isNull();
+    }
+
+    @Test
+    @DisplayName("SecurityContextCookieCodec - refresh after half the max age, expired after the max age")
+    void decode_expired() {
+        String value = codec.encode(TestUtils.user1UserDetails);
+
+        clock.advance(Duration.ofMinutes(16));
+        SecurityContextCookieCodec.Token token = codec.decode(value);
+        assertThat(token).isNotNull();
+        assertThat(codec.needsRefresh(token)).isTrue();
+
+        clock.advance(Duration.ofMinutes(15));
+        assertThat(codec.decode(value)).isNull();
+    }
+
+    @Test
+    @DisplayName("SecurityContextCookieCodec - invalid keys")
+    void invalid_keys() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            codec(Collections.emptyList(), false);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            codec(Collections.singletonList("k1:c2hvcnQ="), false);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            codec(Collections.singletonList("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="), false);
+        });
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private SecurityContextCookieCodec codec(final List<String> keys, final boolean encrypt) {
+        return new SecurityContextCookieCodec(keys, AUTHORITIES, encrypt, Duration.ofMinutes(30), clock);
+    }
+
+    static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2020-07-03T00:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+} // The End...
@@ -0,0 +1,149 @@
+package io.baselogic.springsecurity.web.context;
+
+import io.baselogic.springsecurity.dao.TestUtils;
+import io.baselogic.springsecurity.domain.EventUserDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+
+import javax.servlet.http.Cookie;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * SignedCookieSecurityContextRepositoryTests
+ *
+ * @since chapter12.05
+ */
+class SignedCookieSecurityContextRepositoryTests {
+
+    private static final String COOKIE = SignedCookieSecurityContextRepository.DEFAULT_COOKIE_NAME;
+
+    private SecurityContextCookieCodecTests.MutableClock clock;
+    private SecurityContextCookieCodec codec;
+    private SignedCookieSecurityContextRepository repository;
+
+
+    @BeforeEach
+    void beforeEachTest() {
+        clock = new SecurityContextCookieCodecTests.MutableClock();
+        codec = new SecurityContextCookieCodec(Collections.singletonList(SecurityContextCookieCodecTests.KEY_1),
+                SecurityContextCookieCodecTests.AUTHORITIES, true, Duration.ofMinutes(30), clock);
+        repository = new SignedCookieSecurityContextRepository(codec, COOKIE, Duration.ofMinutes(30), true);
+    }
+
+
+    @Test
+    @DisplayName("SignedCookieSecurityContextRepository - no cookie, empty context")
+    void loadContext_no_cookie() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        HttpRequestResponseHolder holder = new HttpRequestResponseHolder(request, new MockHttpServletResponse());
+
+        SecurityContext context = repository.loadContext(holder);
+
+        assertThat(context.getAuthentication()).isNull();
+        assertThat(repository.containsContext(request)).isFalse();
+    }
+
+    @Test
+    @DisplayName("SignedCookieSecurityContextRepository - save, then load on the next request")
+    void saveContext_loadContext() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpRequestResponseHolder holder = new HttpRequestResponseHolder(new MockHttpServletRequest(), response);
+        repository.loadContext(holder);
+
+        repository.saveContext(authenticated(TestUtils.admin1UserDetails), holder.getRequest(), holder.getResponse());
+
+        Cookie cookie = response.getCookie(COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.isHttpOnly()).isTrue();
+        assertThat(cookie.getSecure()).isTrue();
+        assertThat(cookie.getMaxAge()).isEqualTo(1800);
+
+        // Next request
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        holder = new HttpRequestResponseHolder(request, new MockHttpServletResponse());
+
+        SecurityContext context = repository.loadContext(holder);
+
+        assertThat(repository.containsContext(request)).isTrue();
+        EventUserDetails user = (EventUserDetails) context.getAuthentication().getPrincipal();
+        assertThat(user.getEmail()).isEqualTo("admin1@baselogic.com");
+        assertThat(context.getAuthentication().getAuthorities())
+                .extracting("authority").containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("SignedCookieSecurityContextRepository - unchanged principal is not re-written until refresh")
+    void saveContext_unchanged() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(COOKIE, codec.encode(TestUtils.user1UserDetails)));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpRequestResponseHolder holder = new HttpRequestResponseHolder(request, response);
+        SecurityContext context = repository.loadContext(holder);
+        repository.saveContext(context, holder.getRequest(), holder.getResponse());
+
+        assertThat(response.getCookie(COOKIE)).isNull();
+
+        // After half the max age
+        clock.advance(Duration.ofMinutes(20));
+        response = new MockHttpServletResponse();
+        holder = new HttpRequestResponseHolder(request, response);
+        context = repository.loadContext(holder);
+        repository.saveContext(context, holder.getRequest(), holder.getResponse());
+
+        assertThat(response.getCookie(COOKIE)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("SignedCookieSecurityContextRepository - anonymous context removes the cookie")
+    void saveContext_anonymous() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(COOKIE, codec.encode(TestUtils.user1UserDetails)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpRequestResponseHolder holder = new HttpRequestResponseHolder(request, response);
+        repository.loadContext(holder);
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new AnonymousAuthenticationToken("key", "anonymous",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        repository.saveContext(context, holder.getRequest(), holder.getResponse());
+
+        Cookie cookie = response.getCookie(COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isZero();
+        assertThat(cookie.getValue()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("SignedCookieSecurityContextRepository - saveContext requires the wrapped response")
+    void saveContext_not_wrapped() {
+        assertThrows(IllegalStateException.class, () -> {
+            repository.saveContext(authenticated(TestUtils.user1UserDetails),
+                    new MockHttpServletRequest(), new MockHttpServletResponse());
+        });
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    private static SecurityContext authenticated(final EventUserDetails user) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        return context;
+    }
+
+} // The End...
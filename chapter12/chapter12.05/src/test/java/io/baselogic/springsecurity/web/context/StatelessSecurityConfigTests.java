@@ -0,0 +1,124 @@
+package io.baselogic.springsecurity.web.context;
+
+import io.baselogic.springsecurity.configuration.StatelessSecurityProperties;
+import io.baselogic.springsecurity.dao.TestUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.http.Cookie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Stateless mode, 'security.stateless.enabled=true', with the keys bound from an indexed list
+ * like the YAML list in application.yml.
+ *
+ * @author mickknutson
+ *
+ * @since chapter12.05 Created
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+        "security.stateless.enabled=true",
+        "security.stateless.keys[0]=" + SecurityContextCookieCodecTests.KEY_2,
+        "security.stateless.keys[1]=" + SecurityContextCookieCodecTests.KEY_1,
+        "security.stateless.max-age=10m"
+})
+@Slf4j
+public class StatelessSecurityConfigTests {
+
+    private static final String COOKIE = SignedCookieSecurityContextRepository.DEFAULT_COOKIE_NAME;
+
+    @Autowired
+    private StatelessSecurityProperties properties;
+
+    private MockMvc mockMvc;
+
+
+    @BeforeEach
+    void beforeEachTest(WebApplicationContext context) {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+
+    //-----------------------------------------------------------------------//
+
+    @Test
+    @DisplayName("Stateless - keys bound from a list")
+    public void properties() {
+        assertThat(properties.getKeys())
+                .containsExactly(SecurityContextCookieCodecTests.KEY_2, SecurityContextCookieCodecTests.KEY_1);
+        assertThat(properties.getAuthorities()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(properties.getMaxAge().toMinutes()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Stateless - login, cookie round trip and logout - user1")
+    public void login_cookie_logout() throws Exception {
+
+        // Login: the SecurityContext is written to the cookie, not to an HttpSession.
+        // authenticated() loads the context of the request, so it is only asserted on the next request
+        MvcResult login = mockMvc.perform(formLogin()
+                        .user(TestUtils.user1.getEmail())
+                        .password("user1"))
+                .andExpect(redirectedUrl("/default"))
+                .andExpect(cookie().exists(COOKIE))
+                .andExpect(cookie().maxAge(COOKIE, 600))
+                .andExpect(cookie().httpOnly(COOKIE, true))
+                .andReturn();
+
+        assertThat(login.getRequest().getSession(false)).isNull();
+        Cookie cookie = login.getResponse().getCookie(COOKIE);
+
+        // Cookie round trip: the next request is authenticated from the cookie alone
+        MvcResult myEvents = mockMvc.perform(get("/events/my").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(authenticated().withUsername(TestUtils.user1.getEmail()))
+                .andReturn();
+
+        assertThat(myEvents.getRequest().getSession(false)).isNull();
+
+        // Logout: the cookie is removed
+        mockMvc.perform(post("/logout").with(csrf()).cookie(cookie))
+                .andExpect(redirectedUrl("/login/form?logout"))
+                .andExpect(cookie().maxAge(COOKIE, 0))
+                .andExpect(cookie().value(COOKIE, ""));
+
+        // Without the cookie the user is anonymous again
+        mockMvc.perform(get("/events/my"))
+                .andExpect(status().isFound())
+                .andExpect(header().string("Location", endsWith("/login/form")))
+                .andExpect(unauthenticated());
+    }
+
+    @Test
+    @DisplayName("Stateless - tampered cookie - anonymous")
+    public void tampered_cookie() throws Exception {
+        mockMvc.perform(get("/events/my").cookie(new Cookie(COOKIE, "k2.tampered.value")))
+                .andExpect(status().isFound())
+                .andExpect(unauthenticated());
+    }
+
+} // The End...